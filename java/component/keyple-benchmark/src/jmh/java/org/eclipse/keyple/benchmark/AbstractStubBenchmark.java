@@ -0,0 +1,69 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import org.eclipse.keyple.core.service.Reader;
+import org.eclipse.keyple.core.service.SmartCardService;
+import org.eclipse.keyple.core.service.util.ContactCardCommonProtocols;
+import org.eclipse.keyple.core.service.util.ContactlessCardCommonProtocols;
+import org.eclipse.keyple.plugin.stub.StubPlugin;
+import org.eclipse.keyple.plugin.stub.StubPluginFactory;
+import org.eclipse.keyple.plugin.stub.StubReader;
+import org.eclipse.keyple.plugin.stub.StubSupportedProtocols;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base state of the benchmarks operating a stub PO reader and a stub SAM reader.
+ *
+ * <p>The stub plugin is registered for the whole trial, a {@link StubCalypsoPo} and a {@link
+ * StubCalypsoSam} are inserted in their respective readers.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractStubBenchmark {
+
+  private static final String PLUGIN_NAME = "benchmarkStubPlugin";
+  private static final String PO_READER_NAME = "poReader";
+  private static final String SAM_READER_NAME = "samReader";
+
+  protected Reader poReader;
+  protected Reader samReader;
+
+  @Setup(Level.Trial)
+  public void registerStubPlugin() {
+    StubPlugin stubPlugin =
+        (StubPlugin)
+            SmartCardService.getInstance()
+                .registerPlugin(new StubPluginFactory(PLUGIN_NAME, null, null));
+
+    stubPlugin.plugReader(PO_READER_NAME, true, true);
+    poReader = stubPlugin.getReader(PO_READER_NAME);
+    poReader.activateProtocol(
+        StubSupportedProtocols.ISO_14443_4.name(),
+        ContactlessCardCommonProtocols.ISO_14443_4.name());
+    ((StubReader) poReader).insertCard(new StubCalypsoPo());
+
+    stubPlugin.plugReader(SAM_READER_NAME, false, true);
+    samReader = stubPlugin.getReader(SAM_READER_NAME);
+    samReader.activateProtocol(
+        StubSupportedProtocols.ISO_7816_3.name(), ContactCardCommonProtocols.ISO_7816_3.name());
+    ((StubReader) samReader).insertCard(new StubCalypsoSam());
+  }
+
+  @TearDown(Level.Trial)
+  public void unregisterStubPlugin() {
+    SmartCardService.getInstance().unregisterPlugin(PLUGIN_NAME);
+  }
+}
@@ -0,0 +1,155 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.calypso.command.PoClass;
+import org.eclipse.keyple.calypso.command.po.builder.ReadRecordsCmdBuild;
+import org.eclipse.keyple.calypso.command.po.parser.GetDataFciRespPars;
+import org.eclipse.keyple.calypso.command.po.parser.security.CloseSessionRespPars;
+import org.eclipse.keyple.calypso.command.po.parser.storedvalue.SvGetRespPars;
+import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.bertlv.TLV;
+import org.eclipse.keyple.core.util.bertlv.Tag;
+import org.eclipse.keyple.core.util.bertlv.TlvIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading of APDU responses: full data out copy versus in-place accessors, and decoding of the
+ * responses of a Calypso transaction by the parsers. The reading of an FCI compares the sequential
+ * {@link TLV} parsing with the single pass {@link TlvIndex}.
+ *
+ * <p>To be run with the gc profiler to compare the allocation rates (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApduResponseBenchmark {
+
+  private static final String RECORD = "00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC";
+  private static final String SV_GET_REV32 =
+      "001122334455667755A55A665544332211"
+          + "000001"
+          + "123422AA33"
+          + "000001000001"
+          + "5678AABBCCDD1234564567"
+          + "0001"
+          + "12356789BBBBCCDDEE234567"
+          + "000001"
+          + "45689000";
+  private static final String CLOSE_SESSION = "0011223344556677" + "9000";
+  private static final String FCI =
+      "6F238409315449432E49434131A516BF0C13C708000000001122334453070A3C2305141001" + "9000";
+
+  private static final Tag TAG_DF_NAME = new Tag(0x04, Tag.CONTEXT, Tag.TagType.PRIMITIVE, 1);
+  private static final Tag TAG_SERIAL_NUMBER = new Tag(0x07, Tag.PRIVATE, Tag.TagType.PRIMITIVE, 1);
+  private static final Tag TAG_STARTUP_INFO =
+      new Tag(0x13, Tag.APPLICATION, Tag.TagType.PRIMITIVE, 1);
+
+  private ApduResponse readRecordsResponse;
+  private ApduResponse svGetResponse;
+  private ApduResponse closeSessionResponse;
+  private ApduResponse fciResponse;
+  private final TlvIndex tlvIndex = new TlvIndex();
+  private ReadRecordsCmdBuild readRecordsCmdBuild;
+  private byte[] svGetHeader;
+
+  @Setup
+  public void setUp() {
+    StringBuilder records = new StringBuilder();
+    for (int i = 1; i <= 4; i++) {
+      records.append(String.format("%02X%02X", i, RECORD.length() / 2)).append(RECORD);
+    }
+    readRecordsResponse =
+        new ApduResponse(ByteArrayUtil.fromHex(records.toString() + "9000"), null);
+    readRecordsCmdBuild =
+        new ReadRecordsCmdBuild(
+            PoClass.ISO, 1, 1, ReadRecordsCmdBuild.ReadMode.MULTIPLE_RECORD, 4 * 31);
+    svGetResponse = new ApduResponse(ByteArrayUtil.fromHex(SV_GET_REV32), null);
+    svGetHeader = ByteArrayUtil.fromHex("007C010900");
+    closeSessionResponse = new ApduResponse(ByteArrayUtil.fromHex(CLOSE_SESSION), null);
+    fciResponse = new ApduResponse(ByteArrayUtil.fromHex(FCI), null);
+  }
+
+  /** Baseline: reading a 2-byte value after a copy of the whole data out. */
+  @Benchmark
+  public int getDataOut_copy() {
+    return ByteArrayUtil.twoBytesToInt(readRecordsResponse.getDataOut(), 2);
+  }
+
+  /** Same value read in place. */
+  @Benchmark
+  public int getUnsignedShort_inPlace() {
+    return readRecordsResponse.getUnsignedShort(2);
+  }
+
+  @Benchmark
+  public int getDataOutBuffer_view() {
+    return readRecordsResponse.getDataOutBuffer().getShort(2);
+  }
+
+  @Benchmark
+  public void readRecordsParser(Blackhole blackhole) {
+    blackhole.consume(readRecordsCmdBuild.createResponseParser(readRecordsResponse).getRecords());
+  }
+
+  @Benchmark
+  public void svGetParser(Blackhole blackhole) {
+    SvGetRespPars svGetRespPars = new SvGetRespPars(svGetHeader, svGetResponse, null);
+    blackhole.consume(svGetRespPars.getBalance());
+    blackhole.consume(svGetRespPars.getTransactionNumber());
+  }
+
+  @Benchmark
+  public void closeSessionParser(Blackhole blackhole) {
+    CloseSessionRespPars closeSessionRespPars =
+        new CloseSessionRespPars(closeSessionResponse, null);
+    blackhole.consume(closeSessionRespPars.getSignatureLo());
+    blackhole.consume(closeSessionRespPars.getPostponedData());
+  }
+
+  /** Baseline: sequential search of the FCI data objects, each one being copied. */
+  @Benchmark
+  public void fciTlv_sequential(Blackhole blackhole) {
+    TLV tlv = new TLV(fciResponse.getBytes());
+    tlv.parse(TAG_DF_NAME, 0);
+    blackhole.consume(tlv.getValue());
+    tlv.parse(TAG_SERIAL_NUMBER, tlv.getPosition());
+    blackhole.consume(tlv.getValue());
+    tlv.parse(TAG_STARTUP_INFO, tlv.getPosition());
+    blackhole.consume(tlv.getValue());
+  }
+
+  /** Same data objects located with a reused index, without copy. */
+  @Benchmark
+  public void fciTlvIndex_reused(Blackhole blackhole) {
+    TlvIndex index = tlvIndex.index(fciResponse.getBytes(), 0, fciResponse.getDataOutLength());
+    blackhole.consume(index.getValueOffset(index.indexOf(0x84)));
+    blackhole.consume(index.getValueOffset(index.indexOf(0xC7)));
+    blackhole.consume(index.getValueOffset(index.indexOf(0x53)));
+  }
+
+  @Benchmark
+  public void fciParser(Blackhole blackhole) {
+    GetDataFciRespPars getDataFciRespPars = new GetDataFciRespPars(fciResponse, null);
+    blackhole.consume(getDataFciRespPars.getApplicationSerialNumber());
+    blackhole.consume(getDataFciRespPars.getDiscretionaryData());
+  }
+}
@@ -0,0 +1,71 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Hexadecimal conversions of {@link ByteArrayUtil} for typical APDU sizes. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ByteArrayUtilBenchmark {
+
+  @Param({"5", "32", "261"})
+  private int length;
+
+  private byte[] bytes;
+  private String hex;
+  private StringBuilder sb;
+  private byte[] dest;
+
+  @Setup
+  public void prepareData() {
+    bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (i * 31);
+    }
+    hex = ByteArrayUtil.toHex(bytes);
+    sb = new StringBuilder(2 * length);
+    dest = new byte[length];
+  }
+
+  @Benchmark
+  public String toHex() {
+    return ByteArrayUtil.toHex(bytes);
+  }
+
+  @Benchmark
+  public byte[] fromHex() {
+    return ByteArrayUtil.fromHex(hex);
+  }
+
+  @Benchmark
+  public StringBuilder appendHex() {
+    sb.setLength(0);
+    return ByteArrayUtil.appendHex(sb, bytes, 0, bytes.length);
+  }
+
+  @Benchmark
+  public byte[] fromHexIntoArray() {
+    ByteArrayUtil.fromHex(hex, dest, 0);
+    return dest;
+  }
+}
@@ -0,0 +1,82 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.calypso.transaction.PoSelection;
+import org.eclipse.keyple.calypso.transaction.PoSelector;
+import org.eclipse.keyple.core.card.selection.CardSelectionCache;
+import org.eclipse.keyple.core.card.selection.CardSelectionsResult;
+import org.eclipse.keyple.core.card.selection.CardSelectionsService;
+import org.eclipse.keyple.core.card.selection.CardSelector;
+import org.eclipse.keyple.core.card.selection.MultiSelectionProcessing;
+import org.eclipse.keyple.core.service.util.ContactlessCardCommonProtocols;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Explicit selection of a Calypso PO on a stub reader with {@link
+ * CardSelectionsService#processExplicitSelections}, including the reading of a file, with or
+ * without a {@link CardSelectionCache} (repeated taps of the same PO).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CardSelectionBenchmark extends AbstractStubBenchmark {
+
+  private CardSelectionsService cardSelectionsService;
+  private CardSelectionsService cachedCardSelectionsService;
+
+  @Setup
+  public void prepareSelection() {
+    cardSelectionsService = newPoCardSelectionsService(null);
+    cachedCardSelectionsService =
+        newPoCardSelectionsService(new CardSelectionCache(100, TimeUnit.MINUTES.toMillis(10)));
+  }
+
+  /** Selection prepared once and processed at each invocation. */
+  @Benchmark
+  public CardSelectionsResult processExplicitSelections() {
+    return cardSelectionsService.processExplicitSelections(poReader);
+  }
+
+  /** Preparation and processing of the selection at each invocation. */
+  @Benchmark
+  public CardSelectionsResult prepareAndProcessExplicitSelections() {
+    return newPoCardSelectionsService(null).processExplicitSelections(poReader);
+  }
+
+  /** Selection prepared once, the PO identification data being taken from the cache. */
+  @Benchmark
+  public CardSelectionsResult processExplicitSelections_cached() {
+    return cachedCardSelectionsService.processExplicitSelections(poReader);
+  }
+
+  private static CardSelectionsService newPoCardSelectionsService(
+      CardSelectionCache cardSelectionCache) {
+    CardSelectionsService cardSelectionsService =
+        new CardSelectionsService(MultiSelectionProcessing.FIRST_MATCH, cardSelectionCache);
+    PoSelection poSelection =
+        new PoSelection(
+            PoSelector.builder()
+                .cardProtocol(ContactlessCardCommonProtocols.ISO_14443_4.name())
+                .aidSelector(
+                    CardSelector.AidSelector.builder().aidToSelect(StubCalypsoPo.AID).build())
+                .invalidatedPo(PoSelector.InvalidatedPo.REJECT)
+                .build());
+    poSelection.prepareReadRecordFile(StubCalypsoPo.SFI_ENVIRONMENT_AND_HOLDER, 1);
+    cardSelectionsService.prepareSelection(poSelection);
+    return cardSelectionsService;
+  }
+}
@@ -0,0 +1,103 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.card.message.ApduRequest;
+import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.card.message.CardRequest;
+import org.eclipse.keyple.core.card.message.CardResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.json.KeypleGsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JSON serialization and deserialization with {@link KeypleGsonParser} of the card requests and
+ * responses exchanged by the distributed components.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KeypleGsonParserBenchmark {
+
+  private static final String[] APDU_REQUESTS = {
+    "00A404000A A0000004040125090101 00",
+    "00B2013C00",
+    "00B2014400",
+    "00B201F400",
+    "00E200401D00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC"
+  };
+
+  private static final String[] APDU_RESPONSES = {
+    "6F238409315449432E49434131A516BF0C13C708000000001122334453070A3C23121410019000",
+    "24B92848080000131A50001200000000000000000000000000000000009000",
+    "00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000",
+    "00000000000000000000000000000000000000000000000000000000009000",
+    "9000"
+  };
+
+  private Gson parser;
+  private CardRequest cardRequest;
+  private CardResponse cardResponse;
+  private String cardRequestJson;
+  private String cardResponseJson;
+
+  @Setup
+  public void prepareMessages() {
+    parser = KeypleGsonParser.getParser();
+
+    List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+    for (String apdu : APDU_REQUESTS) {
+      apduRequests.add(
+          new ApduRequest(ByteArrayUtil.fromHex(apdu.replace(" ", "")), false).setName("Request"));
+    }
+    cardRequest = new CardRequest(apduRequests);
+
+    List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+    for (String apdu : APDU_RESPONSES) {
+      apduResponses.add(new ApduResponse(ByteArrayUtil.fromHex(apdu), null));
+    }
+    cardResponse = new CardResponse(true, apduResponses);
+
+    cardRequestJson = parser.toJson(cardRequest);
+    cardResponseJson = parser.toJson(cardResponse);
+  }
+
+  @Benchmark
+  public String serializeCardRequest() {
+    return parser.toJson(cardRequest);
+  }
+
+  @Benchmark
+  public CardRequest deserializeCardRequest() {
+    return parser.fromJson(cardRequestJson, CardRequest.class);
+  }
+
+  @Benchmark
+  public String serializeCardResponse() {
+    return parser.toJson(cardResponse);
+  }
+
+  @Benchmark
+  public CardResponse deserializeCardResponse() {
+    return parser.fromJson(cardResponseJson, CardResponse.class);
+  }
+}
@@ -0,0 +1,69 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.card.message.ApduRequest;
+import org.eclipse.keyple.core.card.message.CardRequest;
+import org.eclipse.keyple.core.card.message.CardResponse;
+import org.eclipse.keyple.core.card.message.ChannelControl;
+import org.eclipse.keyple.core.card.message.ProxyReader;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Transmission of a {@link CardRequest} to a stub reader, i.e. the processing of the request by
+ * {@code AbstractLocalReader.processCardRequest}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LocalReaderBenchmark extends AbstractStubBenchmark {
+
+  private ProxyReader proxyReader;
+  private CardRequest singleApduRequest;
+  private CardRequest multipleApduRequest;
+
+  @Setup
+  public void prepareCardRequests() {
+    proxyReader = (ProxyReader) poReader;
+
+    ApduRequest readEnvironment = new ApduRequest(ByteArrayUtil.fromHex("00B2013C00"), false);
+    ApduRequest readContractList = new ApduRequest(ByteArrayUtil.fromHex("00B201F400"), false);
+
+    List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+    apduRequests.add(readEnvironment);
+    singleApduRequest = new CardRequest(apduRequests);
+
+    apduRequests = new ArrayList<ApduRequest>();
+    for (int i = 0; i < 4; i++) {
+      apduRequests.add(readEnvironment);
+      apduRequests.add(readContractList);
+    }
+    multipleApduRequest = new CardRequest(apduRequests);
+  }
+
+  @Benchmark
+  public CardResponse transmitSingleApdu() {
+    return proxyReader.transmitCardRequest(singleApduRequest, ChannelControl.KEEP_OPEN);
+  }
+
+  @Benchmark
+  public CardResponse transmitMultipleApdus() {
+    return proxyReader.transmitCardRequest(multipleApduRequest, ChannelControl.KEEP_OPEN);
+  }
+}
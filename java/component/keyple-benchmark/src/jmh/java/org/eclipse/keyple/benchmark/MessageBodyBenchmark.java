@@ -0,0 +1,120 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.card.message.ApduRequest;
+import org.eclipse.keyple.core.card.message.CardRequest;
+import org.eclipse.keyple.core.card.message.ChannelControl;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.json.KeypleGsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building and reading of the body of a {@code TRANSMIT} message of the distributed components.
+ *
+ * <p>The {@code nested} benchmarks follow the former path, where the card request is encoded as a
+ * JSON string inside a tree model body and decoded in two passes. The {@code streaming} benchmarks
+ * follow the single pass path, where the card request is streamed directly into and from the body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MessageBodyBenchmark {
+
+  private static final String[] APDU_REQUESTS = {
+    "00B2013C00", "00B2014400", "00B201F400", "00B2011C00", "00B2015400"
+  };
+
+  private Gson parser;
+  private TypeAdapter<CardRequest> cardRequestAdapter;
+  private CardRequest cardRequest;
+  private String nestedBody;
+  private String streamingBody;
+
+  @Setup
+  public void prepareMessages() throws IOException {
+    parser = KeypleGsonParser.getParser();
+    cardRequestAdapter = parser.getAdapter(CardRequest.class);
+
+    List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+    for (String apdu : APDU_REQUESTS) {
+      apduRequests.add(new ApduRequest(ByteArrayUtil.fromHex(apdu), false).setName("Request"));
+    }
+    cardRequest = new CardRequest(apduRequests);
+
+    nestedBody = buildNestedBody();
+    streamingBody = buildStreamingBody();
+  }
+
+  @Benchmark
+  public String buildNestedBody() {
+    JsonObject body = new JsonObject();
+    body.addProperty("cardRequest", parser.toJson(cardRequest, CardRequest.class));
+    body.addProperty("channelControl", ChannelControl.KEEP_OPEN.name());
+    return body.toString();
+  }
+
+  @Benchmark
+  public String buildStreamingBody() throws IOException {
+    StringWriter buffer = new StringWriter();
+    JsonWriter writer = new JsonWriter(buffer);
+    writer.beginObject();
+    writer.name("cardRequest");
+    parser.toJson(cardRequest, CardRequest.class, writer);
+    writer.name("channelControl").value(ChannelControl.KEEP_OPEN.name());
+    writer.endObject();
+    return buffer.toString();
+  }
+
+  @Benchmark
+  public CardRequest readNestedBody() {
+    JsonObject body = parser.fromJson(nestedBody, JsonObject.class);
+    ChannelControl.valueOf(body.get("channelControl").getAsString());
+    return parser.fromJson(body.get("cardRequest").getAsString(), CardRequest.class);
+  }
+
+  @Benchmark
+  public CardRequest readStreamingBody() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(streamingBody));
+    CardRequest result = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      if ("cardRequest".equals(name)) {
+        result = cardRequestAdapter.read(reader);
+      } else if ("channelControl".equals(name)) {
+        ChannelControl.valueOf(reader.nextString());
+      } else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return result;
+  }
+}
@@ -0,0 +1,90 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import com.google.gson.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.card.message.ApduRequest;
+import org.eclipse.keyple.core.card.message.CardRequest;
+import org.eclipse.keyple.core.card.message.ChannelControl;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.json.KeypleGsonParser;
+import org.eclipse.keyple.distributed.MessageDto;
+import org.eclipse.keyple.distributed.impl.MessageDtoCodecs;
+import org.eclipse.keyple.distributed.spi.MessageDtoCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Encoding and decoding of a {@code TRANSMIT} {@link MessageDto} with the standard codecs of the
+ * distributed network module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MessageDtoCodecBenchmark {
+
+  private static final String[] APDU_REQUESTS = {
+    "00B2013C00", "00B2014400", "00B201F400", "00B2011C00", "00B2015400"
+  };
+
+  @Param({MessageDtoCodecs.JSON_CODEC_NAME, MessageDtoCodecs.BINARY_CODEC_NAME})
+  public String codecName;
+
+  private MessageDtoCodec codec;
+  private MessageDto msg;
+  private byte[] encodedMsg;
+
+  @Setup
+  public void prepareMessage() {
+    codec = MessageDtoCodecs.getCodec(codecName);
+
+    List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+    for (String apdu : APDU_REQUESTS) {
+      apduRequests.add(new ApduRequest(ByteArrayUtil.fromHex(apdu), false).setName("Request"));
+    }
+    JsonObject body = new JsonObject();
+    body.add(
+        "cardRequest",
+        KeypleGsonParser.getParser().toJsonTree(new CardRequest(apduRequests), CardRequest.class));
+    body.addProperty("channelControl", ChannelControl.KEEP_OPEN.name());
+
+    msg =
+        new MessageDto()
+            .setSessionId("5f3a2b1c-9d8e-4f7a-b6c5-d4e3f2a1b0c9")
+            .setAction(MessageDto.Action.TRANSMIT.name())
+            .setClientNodeId("b0c9d4e3-f2a1-4f7a-b6c5-5f3a2b1c9d8e")
+            .setServerNodeId("9d8e4f7a-b6c5-d4e3-f2a1-b0c95f3a2b1c")
+            .setLocalReaderName("stubReader")
+            .setRemoteReaderName("a1b0c9d4-e3f2-4f7a-b6c5-5f3a2b1c9d8e")
+            .setBody(body.toString());
+    encodedMsg = codec.encode(msg);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return codec.encode(msg);
+  }
+
+  @Benchmark
+  public MessageDto decode() {
+    return codec.decode(encodedMsg);
+  }
+}
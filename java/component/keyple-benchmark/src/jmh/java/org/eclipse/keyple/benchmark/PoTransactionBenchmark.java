@@ -0,0 +1,89 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
+import org.eclipse.keyple.calypso.transaction.CalypsoPo;
+import org.eclipse.keyple.calypso.transaction.CalypsoSam;
+import org.eclipse.keyple.calypso.transaction.PoSecuritySettings;
+import org.eclipse.keyple.calypso.transaction.PoSelection;
+import org.eclipse.keyple.calypso.transaction.PoSelector;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamSelection;
+import org.eclipse.keyple.calypso.transaction.SamSelector;
+import org.eclipse.keyple.core.card.selection.CardResource;
+import org.eclipse.keyple.core.card.selection.CardSelectionsService;
+import org.eclipse.keyple.core.card.selection.CardSelector;
+import org.eclipse.keyple.core.service.util.ContactlessCardCommonProtocols;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Complete Calypso secure session on stub readers: opening with the reading of a file, reading of a
+ * second file in session, closing with ratification.
+ *
+ * <p>The PO and the SAM are selected once for the trial; each invocation operates a new {@link
+ * PoTransaction}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PoTransactionBenchmark extends AbstractStubBenchmark {
+
+  private static final byte DEFAULT_KIF_DEBIT = (byte) 0x30;
+
+  private CardResource<CalypsoPo> poResource;
+  private PoSecuritySettings poSecuritySettings;
+
+  @Setup
+  public void selectPoAndSam() {
+    CardSelectionsService samSelection = new CardSelectionsService();
+    samSelection.prepareSelection(
+        new SamSelection(
+            SamSelector.builder().samRevision(SamRevision.C1).serialNumber(".*").build()));
+    CalypsoSam calypsoSam =
+        (CalypsoSam) samSelection.processExplicitSelections(samReader).getActiveSmartCard();
+
+    CardSelectionsService poSelection = new CardSelectionsService();
+    poSelection.prepareSelection(
+        new PoSelection(
+            PoSelector.builder()
+                .cardProtocol(ContactlessCardCommonProtocols.ISO_14443_4.name())
+                .aidSelector(
+                    CardSelector.AidSelector.builder().aidToSelect(StubCalypsoPo.AID).build())
+                .build()));
+    CalypsoPo calypsoPo =
+        (CalypsoPo) poSelection.processExplicitSelections(poReader).getActiveSmartCard();
+
+    poResource = new CardResource<CalypsoPo>(poReader, calypsoPo);
+    poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(
+                new CardResource<CalypsoSam>(samReader, calypsoSam))
+            .sessionDefaultKif(
+                PoTransaction.SessionSetting.AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT)
+            .build();
+  }
+
+  @Benchmark
+  public CalypsoPo secureSession() {
+    PoTransaction poTransaction = new PoTransaction(poResource, poSecuritySettings);
+    poTransaction.prepareReadRecordFile(StubCalypsoPo.SFI_EVENT_LOG, 1);
+    poTransaction.processOpening(PoTransaction.SessionSetting.AccessLevel.SESSION_LVL_DEBIT);
+    poTransaction.prepareReadRecordFile(StubCalypsoPo.SFI_CONTRACT_LIST, 1);
+    poTransaction.processPoCommands();
+    poTransaction.processClosing();
+    return poResource.getSmartCard();
+  }
+}
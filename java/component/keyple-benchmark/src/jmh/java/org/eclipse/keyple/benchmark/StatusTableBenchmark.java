@@ -0,0 +1,158 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.calypso.command.po.PoCommandStatus;
+import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoCommandException;
+import org.eclipse.keyple.calypso.command.po.parser.ReadRecordsRespPars;
+import org.eclipse.keyple.calypso.command.po.parser.UpdateRecordRespPars;
+import org.eclipse.keyple.calypso.command.po.parser.security.CloseSessionRespPars;
+import org.eclipse.keyple.calypso.command.sam.parser.security.DigestCloseRespPars;
+import org.eclipse.keyple.calypso.command.sam.parser.security.DigestInitRespPars;
+import org.eclipse.keyple.calypso.command.sam.parser.security.DigestUpdateRespPars;
+import org.eclipse.keyple.core.card.command.AbstractApduResponseParser;
+import org.eclipse.keyple.core.card.command.exception.KeypleCardCommandException;
+import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Status word checking of the responses of a Calypso transaction: lookup in the primitive status
+ * tables of the parsers versus the legacy boxed {@code Map<Integer, StatusProperties>} lookup, and
+ * reporting of an absent record (6A83) by exception, stackless exception or status category.
+ *
+ * <p>To be run with the gc profiler to compare the allocation rates (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatusTableBenchmark {
+
+  private AbstractApduResponseParser[] successfulParsers;
+  private AbstractApduResponseParser[] parsers;
+  private AbstractApduResponseParser[] legacyParsers;
+  private ReadRecordsRespPars absentRecordParser;
+
+  @Setup
+  public void setUp() {
+    ApduResponse success = response("9000");
+    ApduResponse record = response("0011223344556677889000");
+    ApduResponse signature = response("001122339000");
+    successfulParsers =
+        new AbstractApduResponseParser[] {
+          new ReadRecordsRespPars(record, null),
+          new DigestInitRespPars(success, null),
+          new DigestUpdateRespPars(success, null),
+          new UpdateRecordRespPars(success, null),
+          new DigestUpdateRespPars(success, null),
+          new DigestCloseRespPars(signature, null),
+          new CloseSessionRespPars(signature, null)
+        };
+    parsers = new AbstractApduResponseParser[successfulParsers.length + 2];
+    System.arraycopy(successfulParsers, 0, parsers, 0, successfulParsers.length);
+    parsers[successfulParsers.length] = new UpdateRecordRespPars(response("6981"), null);
+    parsers[successfulParsers.length + 1] = new ReadRecordsRespPars(response("6A83"), null);
+    absentRecordParser = new ReadRecordsRespPars(response("6A83"), null);
+    legacyParsers = new AbstractApduResponseParser[parsers.length];
+    for (int i = 0; i < parsers.length; i++) {
+      legacyParsers[i] = new LegacyRespPars(parsers[i].getApduResponse());
+    }
+  }
+
+  private static ApduResponse response(String hex) {
+    return new ApduResponse(ByteArrayUtil.fromHex(hex), null);
+  }
+
+  @Benchmark
+  public void checkStatus() {
+    for (AbstractApduResponseParser parser : successfulParsers) {
+      parser.checkStatus();
+    }
+  }
+
+  @Benchmark
+  public void isSuccessful(Blackhole blackhole) {
+    for (AbstractApduResponseParser parser : parsers) {
+      blackhole.consume(parser.isSuccessful());
+    }
+  }
+
+  /** Baseline: same status words looked up in a boxed map. */
+  @Benchmark
+  public void isSuccessful_legacyMap(Blackhole blackhole) {
+    for (AbstractApduResponseParser parser : legacyParsers) {
+      blackhole.consume(parser.isSuccessful());
+    }
+  }
+
+  /** Baseline: absent record reported by an exception with its stack trace. */
+  @Benchmark
+  public Object absentRecord_checkStatus() {
+    try {
+      absentRecordParser.checkStatus();
+      return null;
+    } catch (CalypsoPoCommandException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object absentRecord_checkStatus_stackless() {
+    KeypleCardCommandException.setStackTraceEnabled(false);
+    try {
+      absentRecordParser.checkStatus();
+      return null;
+    } catch (CalypsoPoCommandException e) {
+      return e;
+    } finally {
+      KeypleCardCommandException.setStackTraceEnabled(true);
+    }
+  }
+
+  @Benchmark
+  public PoCommandStatus absentRecord_getStatus() {
+    return absentRecordParser.getStatus();
+  }
+
+  /** Parser relying on the legacy map based status table. */
+  private static final class LegacyRespPars extends AbstractApduResponseParser {
+
+    private static final Map<Integer, StatusProperties> STATUS_TABLE;
+
+    static {
+      Map<Integer, StatusProperties> m =
+          new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+      m.put(0x6981, new StatusProperties("Command forbidden.", KeypleCardCommandException.class));
+      m.put(0x6A83, new StatusProperties("Record not found.", KeypleCardCommandException.class));
+      STATUS_TABLE = m;
+    }
+
+    LegacyRespPars(ApduResponse response) {
+      super(response, null);
+    }
+
+    @Override
+    protected Map<Integer, StatusProperties> getStatusTable() {
+      return STATUS_TABLE;
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.stub.StubSmartCard;
+
+/**
+ * Scripted Calypso PO (rev 3.1) answering the commands of a selection followed by a secure session
+ * reading two files.
+ */
+final class StubCalypsoPo extends StubSmartCard {
+
+  static final String AID = "315449432E49434131";
+  static final byte SFI_ENVIRONMENT_AND_HOLDER = (byte) 0x07;
+  static final byte SFI_EVENT_LOG = (byte) 0x08;
+  static final byte SFI_CONTRACT_LIST = (byte) 0x1E;
+
+  private static final String CARD_PROTOCOL = "ISO_14443_4";
+  private static final String ATR_HEX = "3B8880010000000000718100F9";
+
+  StubCalypsoPo() {
+    /* Select Application */
+    addHexCommand(
+        "00A4 0400 09 315449432E49434131 00",
+        "6F238409315449432E49434131A516BF0C13C708 0000000011223344 53070A3C23121410019000");
+    /* Read Records - EnvironmentAndHolder (SFI=07) */
+    addHexCommand("00B2013C00", "24B92848080000131A50001200000000000000000000000000000000009000");
+    /* Open Secure Session V3.1 - reading of EventLog (SFI=08) */
+    addHexCommand(
+        "008A0B4104C1C2C3C400",
+        "030490980030791D01112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000");
+    /* Read Records - ContractList (SFI=1E) */
+    addHexCommand("00B201F400", "00000000000000000000000000000000000000000000000000000000009000");
+    /* Close Secure Session - ratification asked */
+    addHexCommand("008E8000040506070800", "010203049000");
+    /* Ratification */
+    addHexCommand("00B2000000", "6B00");
+  }
+
+  @Override
+  public byte[] getATR() {
+    return ByteArrayUtil.fromHex(ATR_HEX);
+  }
+
+  @Override
+  public String getCardProtocol() {
+    return CARD_PROTOCOL;
+  }
+}
@@ -0,0 +1,54 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.stub.StubSmartCard;
+
+/**
+ * Scripted Calypso SAM (C1) answering the commands of the secure session of {@link StubCalypsoPo}.
+ */
+final class StubCalypsoSam extends StubSmartCard {
+
+  private static final String CARD_PROTOCOL = "ISO_7816_3";
+  private static final String ATR_HEX = "3B3F9600805A0080C120000012345678829000";
+
+  StubCalypsoSam() {
+    /* Select Diversifier */
+    addHexCommand("8014 0000 08 0000000011223344", "9000");
+    /* Get Challenge */
+    addHexCommand("8084000004", "C1C2C3C49000");
+    /* Digest Init */
+    addHexCommand(
+        "808A00FF273079030490980030791D01112233445566778899AABBCCDDEEFF00112233445566778899AABBCC",
+        "9000");
+    /* Digest Update */
+    addHexCommand("808C00000500B201F400", "9000");
+    /* Digest Update */
+    addHexCommand(
+        "808C00001F00000000000000000000000000000000000000000000000000000000009000", "9000");
+    /* Digest Close */
+    addHexCommand("808E000004", "050607089000");
+    /* Digest Authenticate */
+    addHexCommand("808200000401020304", "9000");
+  }
+
+  @Override
+  public byte[] getATR() {
+    return ByteArrayUtil.fromHex(ATR_HEX);
+  }
+
+  @Override
+  public String getCardProtocol() {
+    return CARD_PROTOCOL;
+  }
+}
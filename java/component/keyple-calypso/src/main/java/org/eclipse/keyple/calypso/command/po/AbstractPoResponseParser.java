@@ -86,6 +86,26 @@ public abstract class AbstractPoResponseParser extends AbstractApduResponseParse
     return e;
   }
 
+  /**
+   * Gets the category of the status word of the response.
+   *
+   * <p>Unlike {@link #checkStatus()}, this method does not create any exception when the status is
+   * not successful.
+   *
+   * @return A not null reference
+   * @since 1.1
+   */
+  public final PoCommandStatus getStatus() {
+    StatusProperties props = getStatusProperties();
+    if (props == null) {
+      return PoCommandStatus.UNKNOWN;
+    }
+    if (props.isSuccessful()) {
+      return PoCommandStatus.SUCCESS;
+    }
+    return PoCommandStatus.fromExceptionClass(props.getExceptionClass());
+  }
+
   /**
    * {@inheritDoc}
    *
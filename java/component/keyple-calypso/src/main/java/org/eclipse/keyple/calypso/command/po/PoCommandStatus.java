@@ -0,0 +1,97 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.command.po;
+
+import org.eclipse.keyple.calypso.command.po.exception.*;
+import org.eclipse.keyple.core.card.command.exception.KeypleCardCommandException;
+
+/**
+ * Defines the categories of the status words returned by a PO in response to a command.
+ *
+ * <p>Each unsuccessful category matches the {@link CalypsoPoCommandException} which is thrown when
+ * the status of the response is checked.
+ *
+ * @since 1.1
+ */
+public enum PoCommandStatus {
+
+  /** successful status. */
+  SUCCESS(null),
+
+  /** see {@link CalypsoPoAccessForbiddenException}. */
+  ACCESS_FORBIDDEN(CalypsoPoAccessForbiddenException.class),
+
+  /** see {@link CalypsoPoDataAccessException} (e.g. file or record not found). */
+  DATA_ACCESS(CalypsoPoDataAccessException.class),
+
+  /** see {@link CalypsoPoDataOutOfBoundsException}. */
+  DATA_OUT_OF_BOUNDS(CalypsoPoDataOutOfBoundsException.class),
+
+  /** see {@link CalypsoPoIllegalArgumentException}. */
+  ILLEGAL_ARGUMENT(CalypsoPoIllegalArgumentException.class),
+
+  /** see {@link CalypsoPoIllegalParameterException}. */
+  ILLEGAL_PARAMETER(CalypsoPoIllegalParameterException.class),
+
+  /** see {@link CalypsoPoPinException}. */
+  PIN(CalypsoPoPinException.class),
+
+  /** see {@link CalypsoPoSecurityContextException}. */
+  SECURITY_CONTEXT(CalypsoPoSecurityContextException.class),
+
+  /** see {@link CalypsoPoSecurityDataException}. */
+  SECURITY_DATA(CalypsoPoSecurityDataException.class),
+
+  /** see {@link CalypsoPoSessionBufferOverflowException}. */
+  SESSION_BUFFER_OVERFLOW(CalypsoPoSessionBufferOverflowException.class),
+
+  /** see {@link CalypsoPoTerminatedException}. */
+  TERMINATED(CalypsoPoTerminatedException.class),
+
+  /** status not referenced, see {@link CalypsoPoUnknownStatusException}. */
+  UNKNOWN(CalypsoPoUnknownStatusException.class);
+
+  private static final PoCommandStatus[] VALUES = values();
+
+  private final Class<? extends KeypleCardCommandException> exceptionClass;
+
+  PoCommandStatus(Class<? extends KeypleCardCommandException> exceptionClass) {
+    this.exceptionClass = exceptionClass;
+  }
+
+  /**
+   * Indicates if the status is successful.
+   *
+   * @return true if the status is {@link #SUCCESS}
+   * @since 1.1
+   */
+  public boolean isSuccessful() {
+    return this == SUCCESS;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the status associated to the exception class of an unsuccessful status word.
+   *
+   * @param exceptionClass the exception class provided by the status table (nullable)
+   * @return {@link #UNKNOWN} if the exception class is not associated to a category
+   */
+  static PoCommandStatus fromExceptionClass(
+      Class<? extends KeypleCardCommandException> exceptionClass) {
+    for (PoCommandStatus status : VALUES) {
+      if (status.exceptionClass == exceptionClass && status != SUCCESS) {
+        return status;
+      }
+    }
+    return UNKNOWN;
+  }
+}
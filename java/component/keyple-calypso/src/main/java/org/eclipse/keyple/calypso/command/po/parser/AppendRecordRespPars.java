@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.AppendRecordCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.*;
@@ -26,11 +24,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public final class AppendRecordRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6B00,
         new StatusProperties(
@@ -61,17 +58,17 @@ public final class AppendRecordRespPars extends AbstractPoResponseParser {
         new StatusProperties(
             "Command not allowed (no current EF).", CalypsoPoDataAccessException.class));
     m.put(0x6A82, new StatusProperties("File not found.", CalypsoPoDataAccessException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /**
@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.DecreaseCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.*;
@@ -27,11 +25,10 @@ import org.eclipse.keyple.core.util.ByteArrayUtil;
  */
 public final class DecreaseRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6400,
         new StatusProperties(
@@ -65,17 +62,17 @@ public final class DecreaseRespPars extends AbstractPoResponseParser {
         new StatusProperties("P1 or P2 value not supported.", CalypsoPoDataAccessException.class));
     m.put(
         0x6103, new StatusProperties("Successful execution (possible only in ISO7816 T=0).", null));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /**
@@ -96,9 +93,9 @@ public final class DecreaseRespPars extends AbstractPoResponseParser {
    * @since 0.9
    */
   public int getNewValue() {
-    byte[] newValueBuffer = getApduResponse().getDataOut();
-    if (newValueBuffer.length == 3) {
-      return ByteArrayUtil.threeBytesToInt(newValueBuffer, 0);
+    ApduResponse apduResponse = getApduResponse();
+    if (apduResponse.getDataOutLength() == 3) {
+      return ByteArrayUtil.threeBytesToInt(apduResponse.getBytes(), 0);
     } else {
       throw new IllegalStateException(
           "No counter value available in response to the Decrease command.");
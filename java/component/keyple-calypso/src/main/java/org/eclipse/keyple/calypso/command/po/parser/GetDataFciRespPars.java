@@ -11,11 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser;
 
-import static org.eclipse.keyple.core.util.bertlv.Tag.TagType.CONSTRUCTED;
-import static org.eclipse.keyple.core.util.bertlv.Tag.TagType.PRIMITIVE;
-
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.GetDataFciCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoDataAccessException;
@@ -23,8 +18,7 @@ import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoIllegalParameter
 import org.eclipse.keyple.core.card.command.AbstractApduResponseParser;
 import org.eclipse.keyple.core.card.message.ApduResponse;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
-import org.eclipse.keyple.core.util.bertlv.TLV;
-import org.eclipse.keyple.core.util.bertlv.Tag;
+import org.eclipse.keyple.core.util.bertlv.TlvIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,11 +32,10 @@ import org.slf4j.LoggerFactory;
 public final class GetDataFciRespPars extends AbstractPoResponseParser {
   private static final Logger logger = LoggerFactory.getLogger(GetDataFciRespPars.class);
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6A88,
         new StatusProperties(
@@ -57,39 +50,37 @@ public final class GetDataFciRespPars extends AbstractPoResponseParser {
     m.put(
         0x6283,
         new StatusProperties("Successful execution, FCI request and DF is invalidated.", null));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /* BER-TLV tags definitions */
   /* FCI Template: application class, constructed, tag number Fh => tag field 6Fh */
-  private static final Tag TAG_FCI_TEMPLATE = new Tag(0x0F, Tag.APPLICATION, CONSTRUCTED, 1);
+  private static final int TAG_FCI_TEMPLATE = 0x6F;
   /* DF Name: context-specific class, primitive, tag number 4h => tag field 84h */
-  private static final Tag TAG_DF_NAME = new Tag(0x04, Tag.CONTEXT, PRIMITIVE, 1);
+  private static final int TAG_DF_NAME = 0x84;
   /*
    * FCI Proprietary Template: context-specific class, constructed, tag number 5h => tag field A5h
    */
-  private static final Tag TAG_FCI_PROPRIETARY_TEMPLATE =
-      new Tag(0x05, Tag.CONTEXT, CONSTRUCTED, 1);
+  private static final int TAG_FCI_PROPRIETARY_TEMPLATE = 0xA5;
   /*
    * FCI Issuer Discretionary Data: context-specific class, constructed, tag number Ch => tag
    * field BF0Ch
    */
-  private static final Tag TAG_FCI_ISSUER_DISCRETIONARY_DATA =
-      new Tag(0x0C, Tag.CONTEXT, CONSTRUCTED, 2);
+  private static final int TAG_FCI_ISSUER_DISCRETIONARY_DATA = 0xBF0C;
   /* Application Serial Number: private class, primitive, tag number 7h => tag field C7h */
-  private static final Tag TAG_APPLICATION_SERIAL_NUMBER = new Tag(0x07, Tag.PRIVATE, PRIMITIVE, 1);
+  private static final int TAG_APPLICATION_SERIAL_NUMBER = 0xC7;
   /* Discretionary Data: application class, primitive, tag number 13h => tag field 53h */
-  private static final Tag TAG_DISCRETIONARY_DATA = new Tag(0x13, Tag.APPLICATION, PRIMITIVE, 1);
+  private static final int TAG_DISCRETIONARY_DATA = 0x53;
 
   /** attributes result of th FCI parsing */
   private boolean isDfInvalidated = false;
@@ -129,7 +120,6 @@ public final class GetDataFciRespPars extends AbstractPoResponseParser {
    */
   public GetDataFciRespPars(ApduResponse response, GetDataFciCmdBuild builder) {
     super(response, builder);
-    TLV tlv;
 
     /* check the command status to determine if the DF has been invalidated */
     if (response.getStatusCode() == 0x6283) {
@@ -138,57 +128,74 @@ public final class GetDataFciRespPars extends AbstractPoResponseParser {
       isDfInvalidated = true;
     }
 
-    /* parse the raw data with the help of the TLV class */
+    /* parse the raw data with the help of the TLV index */
     try {
-      /* init TLV object with the raw data and extract the FCI Template */
-      final byte[] responseData = response.getBytes();
-      tlv = new TLV(responseData);
+      /*
+       * index all the data objects of the FCI in a single pass, the lengths of the templates are
+       * not checked to accept the variable length structures (CL-SEL-TLVSTRUC.1)
+       */
+      TlvIndex tlvIndex = new TlvIndex().setLenient(true);
+      try {
+        tlvIndex.index(response.getBytes(), 0, response.getDataOutLength());
+      } catch (IllegalArgumentException e) {
+        /* the data objects preceding the malformed one remain available */
+        logger.debug("Malformed data in the FCI BER-TLV data structure ({})", e.getMessage());
+      }
 
       /* Get the FCI template */
-      if (!tlv.parse(TAG_FCI_TEMPLATE, 0)) {
+      int fciTemplate = tlvIndex.indexOf(TlvIndex.ROOT, TAG_FCI_TEMPLATE);
+      if (fciTemplate < 0) {
         logger.error("FCI parsing error: FCI template tag not found.");
         return;
       }
 
       /* Get the DF Name */
-      if (!tlv.parse(TAG_DF_NAME, tlv.getPosition())) {
+      int dfNameIndex = tlvIndex.indexOf(fciTemplate, TAG_DF_NAME);
+      if (dfNameIndex < 0) {
         logger.error("FCI parsing error: DF name tag not found.");
         return;
       }
 
-      dfName = tlv.getValue();
+      dfName = tlvIndex.getValue(dfNameIndex);
 
       /* Get the FCI Proprietary Template */
-      if (!tlv.parse(TAG_FCI_PROPRIETARY_TEMPLATE, tlv.getPosition())) {
+      int fciProprietaryTemplate = tlvIndex.indexOf(fciTemplate, TAG_FCI_PROPRIETARY_TEMPLATE);
+      if (fciProprietaryTemplate < 0) {
         logger.error("FCI parsing error: FCI proprietary template tag not found.");
         return;
       }
 
       /* Get the FCI Issuer Discretionary Data */
-      if (!tlv.parse(TAG_FCI_ISSUER_DISCRETIONARY_DATA, tlv.getPosition())) {
+      int fciIssuerDiscretionaryData =
+          tlvIndex.indexOf(fciProprietaryTemplate, TAG_FCI_ISSUER_DISCRETIONARY_DATA);
+      if (fciIssuerDiscretionaryData < 0) {
         logger.error("FCI parsing error: FCI issuer discretionary data tag not found.");
         return;
       }
 
       /* Get the Application Serial Number */
-      if (!tlv.parse(TAG_APPLICATION_SERIAL_NUMBER, tlv.getPosition())) {
+      int applicationSNIndex =
+          tlvIndex.indexOf(fciIssuerDiscretionaryData, TAG_APPLICATION_SERIAL_NUMBER);
+      if (applicationSNIndex < 0) {
         logger.error("FCI parsing error: serial number tag not found.");
         return;
       }
 
-      applicationSN = tlv.getValue();
+      applicationSN = tlvIndex.getValue(applicationSNIndex);
 
       if (logger.isDebugEnabled()) {
         logger.debug("Application Serial Number = {}", ByteArrayUtil.toHex(applicationSN));
       }
 
       /* Get the Discretionary Data */
-      if (!tlv.parse(TAG_DISCRETIONARY_DATA, tlv.getPosition())) {
+      int discretionaryDataIndex =
+          tlvIndex.indexOf(fciIssuerDiscretionaryData, TAG_DISCRETIONARY_DATA);
+      if (discretionaryDataIndex < 0) {
         logger.error("FCI parsing error: discretionary data tag not found.");
         return;
       }
 
-      discretionaryData = tlv.getValue();
+      discretionaryData = tlvIndex.getValue(discretionaryDataIndex);
 
       if (logger.isDebugEnabled()) {
         logger.debug("Discretionary Data = {}", ByteArrayUtil.toHex(discretionaryData));
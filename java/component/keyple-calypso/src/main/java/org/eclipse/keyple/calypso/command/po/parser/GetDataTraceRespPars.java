@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.GetDataTraceCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoDataAccessException;
@@ -29,11 +27,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public final class GetDataTraceRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6A88,
         new StatusProperties(
@@ -48,7 +45,7 @@ public final class GetDataTraceRespPars extends AbstractPoResponseParser {
     m.put(
         0x6283,
         new StatusProperties("Successful execution, FCI request and DF is invalidated.", null));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
@@ -66,10 +63,10 @@ public final class GetDataTraceRespPars extends AbstractPoResponseParser {
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 }
@@ -25,11 +25,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public final class ReadRecordsRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6981,
         new StatusProperties(
@@ -57,17 +56,17 @@ public final class ReadRecordsRespPars extends AbstractPoResponseParser {
     m.put(
         0x6B00,
         new StatusProperties("P2 value not supported", CalypsoPoIllegalParameterException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /**
@@ -89,6 +88,9 @@ public final class ReadRecordsRespPars extends AbstractPoResponseParser {
    *
    * <p>An empty map is returned if no data is available.
    *
+   * <p>If a multiple records response is truncated, the missing bytes of the last record are set to
+   * zero.
+   *
    * @return a map of records
    * @since 0.9
    */
@@ -97,13 +99,20 @@ public final class ReadRecordsRespPars extends AbstractPoResponseParser {
     if (((ReadRecordsCmdBuild) builder).getReadMode() == ReadRecordsCmdBuild.ReadMode.ONE_RECORD) {
       records.put(((ReadRecordsCmdBuild) builder).getFirstRecordNumber(), response.getDataOut());
     } else {
-      byte[] apdu = response.getDataOut();
-      int apduLen = apdu.length;
+      int dataOutLength = response.getDataOutLength();
+      int apduLen = dataOutLength;
       int index = 0;
       while (apduLen > 0) {
-        byte recordNb = apdu[index++];
-        byte len = apdu[index++];
-        records.put((int) recordNb, Arrays.copyOfRange(apdu, index, index + len));
+        byte recordNb = response.getByte(index++);
+        byte len = response.getByte(index++);
+        if (index + len <= dataOutLength) {
+          records.put((int) recordNb, response.getDataOut(index, len));
+        } else {
+          // truncated response: the missing bytes of the last record are set to zero
+          records.put(
+              (int) recordNb,
+              Arrays.copyOf(response.getDataOut(index, dataOutLength - index), len));
+        }
         index = index + len;
         apduLen = apduLen - 2 - len;
       }
@@ -11,10 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser;
 
-import static org.eclipse.keyple.core.util.bertlv.Tag.TagType.PRIMITIVE;
-
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.SelectFileCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoDataAccessException;
@@ -22,8 +18,7 @@ import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoIllegalParameter
 import org.eclipse.keyple.core.card.command.AbstractApduResponseParser;
 import org.eclipse.keyple.core.card.message.ApduResponse;
 import org.eclipse.keyple.core.util.Assert;
-import org.eclipse.keyple.core.util.bertlv.TLV;
-import org.eclipse.keyple.core.util.bertlv.Tag;
+import org.eclipse.keyple.core.util.bertlv.TlvIndex;
 
 /**
  * Parses the response to a Select File command.
@@ -33,17 +28,16 @@ import org.eclipse.keyple.core.util.bertlv.Tag;
  *     and made available using the corresponding getter.
  */
 public final class SelectFileRespPars extends AbstractPoResponseParser {
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6700,
         new StatusProperties("Lc value not supported.", CalypsoPoIllegalParameterException.class));
     m.put(0x6A82, new StatusProperties("File not found.", CalypsoPoDataAccessException.class));
     m.put(0x6119, new StatusProperties("Correct execution (ISO7816 T=0).", null));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   private byte[] proprietaryInformation;
@@ -51,15 +45,15 @@ public final class SelectFileRespPars extends AbstractPoResponseParser {
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /* Proprietary Information: context-specific class, primitive, tag number 5h => tag field 85h */
-  private static final Tag TAG_PROPRIETARY_INFORMATION = new Tag(0x05, Tag.CONTEXT, PRIMITIVE, 1);
+  private static final int TAG_PROPRIETARY_INFORMATION = 0x85;
 
   /**
    * Instantiates a new SelectFileRespPars.
@@ -80,11 +74,21 @@ public final class SelectFileRespPars extends AbstractPoResponseParser {
    */
   public byte[] getProprietaryInformation() {
     if (proprietaryInformation == null) {
-      TLV tlv = new TLV(response.getDataOut());
-      if (!tlv.parse(TAG_PROPRIETARY_INFORMATION, 0)) {
-        throw new IllegalStateException("Proprietary information: tag not found.");
+      TlvIndex tlvIndex = new TlvIndex();
+      String malformedData = null;
+      try {
+        tlvIndex.index(response.getBytes(), 0, response.getDataOutLength());
+      } catch (IllegalArgumentException e) {
+        // the data objects preceding the malformed one remain available
+        malformedData = e.getMessage();
+      }
+      int index = tlvIndex.indexOf(TAG_PROPRIETARY_INFORMATION);
+      if (index < 0) {
+        throw new IllegalStateException(
+            "Proprietary information: "
+                + (malformedData != null ? malformedData : "tag not found."));
       }
-      proprietaryInformation = tlv.getValue();
+      proprietaryInformation = tlvIndex.getValue(index);
       Assert.getInstance().isEqual(proprietaryInformation.length, 23, "proprietaryInformation");
     }
     return proprietaryInformation;
@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser.security;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.PoRevision;
 import org.eclipse.keyple.calypso.command.po.builder.security.*;
@@ -28,11 +26,10 @@ import org.eclipse.keyple.core.util.ByteArrayUtil;
  */
 public abstract class AbstractOpenSessionRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6700,
         new StatusProperties("Lc value not supported.", CalypsoPoIllegalParameterException.class));
@@ -74,17 +71,17 @@ public abstract class AbstractOpenSessionRespPars extends AbstractPoResponsePars
             "P1 or P2 value not supported (key index incorrect, wrong P2).",
             CalypsoPoIllegalParameterException.class));
     m.put(0x61FF, new StatusProperties("Correct execution (ISO7816 T=0).", null));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /** The secure session. */
@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser.security;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.security.ChangeKeyCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.*;
@@ -25,11 +23,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  * @since 0.9
  */
 public class ChangeKeyRespPars extends AbstractPoResponseParser {
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6700,
         new StatusProperties(
@@ -63,7 +60,7 @@ public class ChangeKeyRespPars extends AbstractPoResponseParser {
     m.put(
         0x6B00,
         new StatusProperties("Incorrect P1, P2.", CalypsoPoIllegalParameterException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
@@ -80,10 +77,10 @@ public class ChangeKeyRespPars extends AbstractPoResponseParser {
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 }
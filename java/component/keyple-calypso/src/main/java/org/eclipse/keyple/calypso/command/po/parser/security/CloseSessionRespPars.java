@@ -11,9 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser.security;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.security.CloseSessionCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoAccessForbiddenException;
@@ -29,11 +26,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public final class CloseSessionRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6700,
         new StatusProperties(
@@ -49,17 +45,17 @@ public final class CloseSessionRespPars extends AbstractPoResponseParser {
     m.put(
         0x6985,
         new StatusProperties("No session was opened.", CalypsoPoAccessForbiddenException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /** The signatureLo. */
@@ -77,19 +73,20 @@ public final class CloseSessionRespPars extends AbstractPoResponseParser {
    */
   public CloseSessionRespPars(ApduResponse response, CloseSessionCmdBuild builder) {
     super(response, builder);
-    parse(response.getDataOut());
+    parse(response);
   }
 
-  private void parse(byte[] response) {
-    if (response.length == 8) {
-      signatureLo = Arrays.copyOfRange(response, 4, 8);
-      postponedData = Arrays.copyOfRange(response, 1, 4);
-    } else if (response.length == 4) {
-      signatureLo = Arrays.copyOfRange(response, 0, 4);
+  private void parse(ApduResponse response) {
+    int dataOutLength = response.getDataOutLength();
+    if (dataOutLength == 8) {
+      signatureLo = response.getDataOut(4, 4);
+      postponedData = response.getDataOut(1, 3);
+    } else if (dataOutLength == 4) {
+      signatureLo = response.getDataOut(0, 4);
     } else {
-      if (response.length != 0) {
+      if (dataOutLength != 0) {
         throw new IllegalArgumentException(
-            "Unexpected length in response to CloseSecureSession command: " + response.length);
+            "Unexpected length in response to CloseSecureSession command: " + dataOutLength);
       }
     }
   }
@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser.security;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.security.InvalidateCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoAccessForbiddenException;
@@ -29,11 +27,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public final class InvalidateRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6400,
         new StatusProperties(
@@ -50,7 +47,7 @@ public final class InvalidateRespPars extends AbstractPoResponseParser {
         0x6985,
         new StatusProperties(
             "Access forbidden (DF context is invalid).", CalypsoPoAccessForbiddenException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
@@ -67,10 +64,10 @@ public final class InvalidateRespPars extends AbstractPoResponseParser {
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 }
@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser.storedvalue;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvDebitCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoIllegalParameterException;
@@ -68,11 +66,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public class SvDebitRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6400,
         new StatusProperties(
@@ -96,7 +93,7 @@ public class SvDebitRespPars extends AbstractPoResponseParser {
         0x6200,
         new StatusProperties(
             "Successful execution, response data postponed until session closing.", null));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
@@ -109,9 +106,8 @@ public class SvDebitRespPars extends AbstractPoResponseParser {
   public SvDebitRespPars(ApduResponse response, SvDebitCmdBuild builder) {
     super(response, builder);
     /* the permitted lengths are 0 (in session), 3 (not 3.2) or 6 (3.2) */
-    if (response.getDataOut().length != 0
-        && response.getDataOut().length != 3
-        && response.getDataOut().length != 6) {
+    int dataOutLength = response.getDataOutLength();
+    if (dataOutLength != 0 && dataOutLength != 3 && dataOutLength != 6) {
       throw new IllegalStateException("Bad length in response to SV Debit command.");
     }
   }
@@ -131,10 +127,10 @@ public class SvDebitRespPars extends AbstractPoResponseParser {
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 }
@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.po.parser.storedvalue;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvGetCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoIllegalParameterException;
@@ -31,11 +29,10 @@ import org.eclipse.keyple.core.util.ByteArrayUtil;
  */
 public final class SvGetRespPars extends AbstractPoResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6982,
         new StatusProperties(
@@ -54,17 +51,17 @@ public final class SvGetRespPars extends AbstractPoResponseParser {
     m.put(
         0x6D00,
         new StatusProperties("SV function not present.", CalypsoPoIllegalParameterException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   private final byte currentKVC;
@@ -87,21 +84,22 @@ public final class SvGetRespPars extends AbstractPoResponseParser {
    */
   public SvGetRespPars(byte[] svCommandHeader, ApduResponse response, SvGetCmdBuild builder) {
     super(response, builder);
-    byte[] poResponse = response.getDataOut();
+    // the data out is read in place, it starts at the offset 0 of the raw response
+    byte[] poResponse = response.getBytes();
     // keep the command header
     this.svCommandHeader = svCommandHeader;
-    switch (poResponse.length) {
+    switch (response.getDataOutLength()) {
       case 0x21: /* Compatibility mode, Reload */
       case 0x1E: /* Compatibility mode, Debit or Undebit */
         challengeOut = new byte[2];
         previousSignatureLo = new byte[3];
-        currentKVC = poResponse[0];
-        transactionNumber = ByteArrayUtil.twoBytesToInt(poResponse, 1);
+        currentKVC = response.getByte(0);
+        transactionNumber = response.getUnsignedShort(1);
         System.arraycopy(poResponse, 3, previousSignatureLo, 0, 3);
-        challengeOut[0] = poResponse[6];
-        challengeOut[1] = poResponse[7];
+        challengeOut[0] = response.getByte(6);
+        challengeOut[1] = response.getByte(7);
         balance = ByteArrayUtil.threeBytesSignedToInt(poResponse, 8);
-        if (poResponse.length == 0x21) {
+        if (response.getDataOutLength() == 0x21) {
           /* Reload */
           loadLog = new SvLoadLogRecord(poResponse, 11);
           debitLog = null;
@@ -115,8 +113,8 @@ public final class SvGetRespPars extends AbstractPoResponseParser {
         challengeOut = new byte[8];
         previousSignatureLo = new byte[6];
         System.arraycopy(poResponse, 0, challengeOut, 0, 8);
-        currentKVC = poResponse[8];
-        transactionNumber = ByteArrayUtil.twoBytesToInt(poResponse, 9);
+        currentKVC = response.getByte(8);
+        transactionNumber = response.getUnsignedShort(9);
         System.arraycopy(poResponse, 11, previousSignatureLo, 0, 6);
         balance = ByteArrayUtil.threeBytesSignedToInt(poResponse, 17);
         loadLog = new SvLoadLogRecord(poResponse, 20);
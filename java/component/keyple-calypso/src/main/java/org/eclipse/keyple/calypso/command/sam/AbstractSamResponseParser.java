@@ -11,7 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.sam;
 
-import java.util.HashMap;
 import java.util.Map;
 import org.eclipse.keyple.calypso.command.sam.exception.*;
 import org.eclipse.keyple.core.card.command.AbstractApduResponseParser;
@@ -26,28 +25,36 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public abstract class AbstractSamResponseParser extends AbstractApduResponseParser {
 
-  protected static final Map<Integer, StatusProperties> STATUS_TABLE;
+  protected static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractApduResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6D00,
         new StatusProperties("Instruction unknown.", CalypsoSamIllegalParameterException.class));
     m.put(
         0x6E00,
         new StatusProperties("Class not supported.", CalypsoSamIllegalParameterException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
-   * {@inheritDoc}
+   * Read-only view of {@link #STATUS_CODE_TABLE}.
    *
    * @since 0.9
+   * @deprecated Use {@link #STATUS_CODE_TABLE} instead.
+   */
+  @Deprecated
+  protected static final Map<Integer, StatusProperties> STATUS_TABLE = STATUS_CODE_TABLE.asMap();
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /**
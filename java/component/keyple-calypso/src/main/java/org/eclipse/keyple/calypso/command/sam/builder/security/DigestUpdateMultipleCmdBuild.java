@@ -43,7 +43,7 @@ public class DigestUpdateMultipleCmdBuild
       this.defaultRevision = revision;
     }
     byte cla = this.defaultRevision.getClassByte();
-    byte p1 = (byte) 0x00;
+    byte p1 = (byte) 0x80;
     byte p2 = encryptedSession ? (byte) 0x80 : (byte) 0x00;
 
     if (digestData == null || digestData.length > 255) {
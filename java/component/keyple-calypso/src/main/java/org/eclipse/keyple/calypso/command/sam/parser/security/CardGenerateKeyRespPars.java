@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.sam.parser.security;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.sam.AbstractSamResponseParser;
 import org.eclipse.keyple.calypso.command.sam.builder.security.CardGenerateKeyCmdBuild;
 import org.eclipse.keyple.calypso.command.sam.exception.CalypsoSamAccessForbiddenException;
@@ -28,11 +26,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public class CardGenerateKeyRespPars extends AbstractSamResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractSamResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractSamResponseParser.STATUS_CODE_TABLE);
     m.put(0x6700, new StatusProperties("Incorrect Lc.", CalypsoSamIllegalParameterException.class));
     m.put(
         0x6985,
@@ -51,17 +48,17 @@ public class CardGenerateKeyRespPars extends AbstractSamResponseParser {
         new StatusProperties(
             "Record not found: ciphering key or key to cipher not found",
             CalypsoSamDataAccessException.class));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /**
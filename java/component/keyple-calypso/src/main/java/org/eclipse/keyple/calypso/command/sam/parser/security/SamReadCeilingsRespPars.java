@@ -11,8 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.sam.parser.security;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.eclipse.keyple.calypso.command.sam.AbstractSamResponseParser;
 import org.eclipse.keyple.calypso.command.sam.builder.security.SamReadCeilingsCmdBuild;
 import org.eclipse.keyple.calypso.command.sam.exception.CalypsoSamCounterOverflowException;
@@ -26,11 +24,10 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
  */
 public class SamReadCeilingsRespPars extends AbstractSamResponseParser {
 
-  private static final Map<Integer, StatusProperties> STATUS_TABLE;
+  private static final StatusTable STATUS_CODE_TABLE;
 
   static {
-    Map<Integer, StatusProperties> m =
-        new HashMap<Integer, StatusProperties>(AbstractSamResponseParser.STATUS_TABLE);
+    StatusTable.Builder m = StatusTable.builder(AbstractSamResponseParser.STATUS_CODE_TABLE);
     m.put(
         0x6900,
         new StatusProperties(
@@ -39,17 +36,17 @@ public class SamReadCeilingsRespPars extends AbstractSamResponseParser {
         0x6A00,
         new StatusProperties("Incorrect P1 or P2.", CalypsoSamIllegalParameterException.class));
     m.put(0x6200, new StatusProperties("Correct execution with warning: data not signed.", null));
-    STATUS_TABLE = m;
+    STATUS_CODE_TABLE = m.build();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @since 0.9
+   * @since 1.1
    */
   @Override
-  protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+  protected StatusTable getStatusCodeTable() {
+    return STATUS_CODE_TABLE;
   }
 
   /**
@@ -11,8 +11,8 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.transaction;
 
+import com.google.gson.annotations.JsonAdapter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.keyple.calypso.command.PoClass;
 import org.eclipse.keyple.calypso.command.po.PoRevision;
 import org.eclipse.keyple.calypso.command.po.parser.GetDataFciRespPars;
@@ -84,11 +84,16 @@ public class CalypsoPo extends AbstractSmartCard {
   private final int modificationsCounterMax;
   private boolean modificationCounterIsInBytes = true;
   private DirectoryHeader directoryHeader;
-  private final Map<Byte, ElementaryFile> efBySfi = new ConcurrentHashMap<Byte, ElementaryFile>();
-  private final Map<Byte, ElementaryFile> efBySfiBackup =
-      new ConcurrentHashMap<Byte, ElementaryFile>();
-  private final Map<Short, Byte> sfiByLid = new ConcurrentHashMap<Short, Byte>();
-  private final Map<Short, Byte> sfiByLidBackup = new ConcurrentHashMap<Short, Byte>();
+  private static final ElementaryFile[] NO_FILES = new ElementaryFile[0];
+  // EF having the SFI n at index n, the length is the highest known SFI + 1
+  @JsonAdapter(ElementaryFilesJsonAdapter.class)
+  private ElementaryFile[] efBySfi = NO_FILES;
+
+  private transient Map<Byte, ElementaryFile> filesView;
+  // copy-on-write backup: original state of the EFs modified since the last backup
+  private boolean isFilesBackupActive;
+  // lazily created, null on an image deserialized from the previous format
+  private Map<Byte, FileBackup> fileBackupBySfi;
   private Boolean isDfRatified = null;
   private Integer pinAttemptCounter;
   private Integer svBalance;
@@ -193,6 +198,36 @@ public class CalypsoPo extends AbstractSmartCard {
     }
   }
 
+  /**
+   * (package-private)<br>
+   * Constructor creating the initial content from a PO previously created from the same selection
+   * data, without parsing them again.
+   *
+   * <p>Only the identification data are copied, the data of the files and of the stored value are
+   * not.
+   *
+   * @param cardSelectionResponse the response to the selection application command
+   * @param template a PO created from a response with the same FCI and ATR
+   * @since 1.1
+   */
+  CalypsoPo(CardSelectionResponse cardSelectionResponse, CalypsoPo template) {
+    super(cardSelectionResponse);
+    isConfidentialSessionModeSupported = template.isConfidentialSessionModeSupported;
+    isDeselectRatificationSupported = template.isDeselectRatificationSupported;
+    isSvFeatureAvailable = template.isSvFeatureAvailable;
+    isPinFeatureAvailable = template.isPinFeatureAvailable;
+    isPublicAuthenticationSupported = template.isPublicAuthenticationSupported;
+    isDfInvalidated = template.isDfInvalidated;
+    poClass = template.poClass;
+    // the arrays are exposed by the getters, the template must keep its own copies
+    calypsoSerialNumber = template.calypsoSerialNumber.clone();
+    startupInfo = template.startupInfo.clone();
+    revision = template.revision;
+    dfName = template.dfName != null ? template.dfName.clone() : null;
+    modificationsCounterMax = template.modificationsCounterMax;
+    modificationCounterIsInBytes = template.modificationCounterIsInBytes;
+  }
+
   /**
    * Resolve the PO revision from the application type byte
    *
@@ -704,7 +739,7 @@ public class CalypsoPo extends AbstractSmartCard {
    * @since 0.9
    */
   public final ElementaryFile getFileBySfi(byte sfi) {
-    ElementaryFile ef = efBySfi.get(sfi);
+    ElementaryFile ef = getFile(sfi);
     if (ef == null) {
       throw new NoSuchElementException(
           "EF with SFI [0x" + Integer.toHexString(sfi & 0xFF) + "] is not found.");
@@ -723,24 +758,41 @@ public class CalypsoPo extends AbstractSmartCard {
    * @since 0.9
    */
   public final ElementaryFile getFileByLid(short lid) {
-    Byte sfi = sfiByLid.get(lid);
-    if (sfi == null) {
-      throw new NoSuchElementException(
-          "EF with LID [" + Integer.toHexString(lid & 0xFFFF) + "] is not found.");
+    for (ElementaryFile ef : efBySfi) {
+      if (ef != null && ef.getHeader() != null && ef.getHeader().getLid() == lid) {
+        return ef;
+      }
     }
-    return efBySfi.get(sfi);
+    throw new NoSuchElementException(
+        "EF with LID [" + Integer.toHexString(lid & 0xFFFF) + "] is not found.");
   }
 
   /**
    * Gets a reference to a map of all known Elementary Files by their associated SFI.<br>
    * Note that if a secure session is actually running, then the map contains all session
-   * modifications, which can be canceled if the secure session fails.
+   * modifications, which can be canceled if the secure session fails.<br>
+   * The returned map is a read-only view backed by the PO image.
    *
    * @return a not null reference (may be empty if no one EF is set).
    * @since 0.9
    */
   public final Map<Byte, ElementaryFile> getAllFiles() {
-    return efBySfi;
+    if (filesView == null) {
+      filesView = new FilesView();
+    }
+    return filesView;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the EF having the provided SFI.
+   *
+   * @param sfi the SFI
+   * @return null if the EF is not known.
+   */
+  private ElementaryFile getFile(byte sfi) {
+    int index = sfi & 0xFF;
+    return index < efBySfi.length ? efBySfi[index] : null;
   }
 
   /**
@@ -751,14 +803,31 @@ public class CalypsoPo extends AbstractSmartCard {
    * @return a not null reference.
    */
   private ElementaryFile getOrCreateFile(byte sfi) {
-    ElementaryFile ef = efBySfi.get(sfi);
+    ElementaryFile ef = getFile(sfi);
     if (ef == null) {
       ef = new ElementaryFile(sfi);
-      efBySfi.put(sfi, ef);
+      int index = sfi & 0xFF;
+      if (index >= efBySfi.length) {
+        efBySfi = Arrays.copyOf(efBySfi, index + 1);
+      }
+      efBySfi[index] = ef;
     }
     return ef;
   }
 
+  /**
+   * (private)<br>
+   * Removes the EF having the provided SFI.
+   *
+   * @param sfi the SFI
+   */
+  private void removeFile(byte sfi) {
+    int index = sfi & 0xFF;
+    if (index < efBySfi.length) {
+      efBySfi[index] = null;
+    }
+  }
+
   /**
    * Indicates if the PIN is blocked. The maximum number of incorrect PIN submissions has been
    * reached.
@@ -806,9 +875,9 @@ public class CalypsoPo extends AbstractSmartCard {
    * @param header the file header (should be not null)
    */
   final void setFileHeader(byte sfi, FileHeader header) {
+    backupFile(sfi);
     ElementaryFile ef = getOrCreateFile(sfi);
     ef.setHeader(header);
-    sfiByLid.put(header.getLid(), sfi);
   }
 
   /**
@@ -822,6 +891,7 @@ public class CalypsoPo extends AbstractSmartCard {
    * @param content the content (should be not empty)
    */
   final void setContent(byte sfi, int numRecord, byte[] content) {
+    backupRecord(sfi, numRecord);
     ElementaryFile ef = getOrCreateFile(sfi);
     ef.getData().setContent(numRecord, content);
   }
@@ -836,6 +906,7 @@ public class CalypsoPo extends AbstractSmartCard {
    * @param content the counter value (should be not null and 3 bytes length)
    */
   final void setCounter(byte sfi, int numCounter, byte[] content) {
+    backupRecord(sfi, 1);
     ElementaryFile ef = getOrCreateFile(sfi);
     ef.getData().setCounter(numCounter, content);
   }
@@ -854,6 +925,7 @@ public class CalypsoPo extends AbstractSmartCard {
    * @param offset the offset (should be {@code >=} 0)
    */
   final void setContent(byte sfi, int numRecord, byte[] content, int offset) {
+    backupRecord(sfi, numRecord);
     ElementaryFile ef = getOrCreateFile(sfi);
     ef.getData().setContent(numRecord, content, offset);
   }
@@ -871,6 +943,7 @@ public class CalypsoPo extends AbstractSmartCard {
    * @param content the content (should be not empty)
    */
   final void fillContent(byte sfi, int numRecord, byte[] content) {
+    backupRecord(sfi, numRecord);
     ElementaryFile ef = getOrCreateFile(sfi);
     ef.getData().fillContent(numRecord, content);
   }
@@ -887,6 +960,14 @@ public class CalypsoPo extends AbstractSmartCard {
    * @param content the content (should be not empty)
    */
   final void addCyclicContent(byte sfi, byte[] content) {
+    FileBackup fileBackup = backupFile(sfi);
+    if (fileBackup != null && getFile(sfi) != null) {
+      // all the records are shifted
+      FileData data = getFile(sfi).getData();
+      for (int numRecord = data.getLastRecordNumber() + 1; numRecord >= 1; numRecord--) {
+        fileBackup.backupRecord(numRecord, data);
+      }
+    }
     ElementaryFile ef = getOrCreateFile(sfi);
     ef.getData().addCyclicContent(content);
   }
@@ -894,11 +975,13 @@ public class CalypsoPo extends AbstractSmartCard {
   /**
    * (package-private)<br>
    * Make a backup of the Elementary Files.<br>
-   * This method should be used before starting a PO secure session.
+   * This method should be used before starting a PO secure session.<br>
+   * The backup is made in copy-on-write mode: no file is copied here, only the original content of
+   * the records modified afterwards is kept.
    */
   final void backupFiles() {
-    copyMapFiles(efBySfi, efBySfiBackup);
-    copyMapSfi(sfiByLid, sfiByLidBackup);
+    getFileBackups().clear();
+    isFilesBackupActive = true;
   }
 
   /**
@@ -908,33 +991,193 @@ public class CalypsoPo extends AbstractSmartCard {
    * secure session is aborted.
    */
   final void restoreFiles() {
-    copyMapFiles(efBySfiBackup, efBySfi);
-    copyMapSfi(sfiByLidBackup, sfiByLid);
+    Map<Byte, FileBackup> fileBackups = getFileBackups();
+    for (Map.Entry<Byte, FileBackup> entry : fileBackups.entrySet()) {
+      ElementaryFile ef = getFile(entry.getKey());
+      if (entry.getValue().restore(ef)) {
+        removeFile(entry.getKey());
+      }
+    }
+    fileBackups.clear();
   }
 
   /**
    * (private)<br>
-   * Copy a map of ElementaryFile by SFI to another one by cloning each element.
+   * Gets the backups of the EFs, creates the map if needed.
    *
-   * @param src the source (should be not null)
-   * @param dest the destination (should be not null)
+   * @return a not null reference.
    */
-  private static void copyMapFiles(Map<Byte, ElementaryFile> src, Map<Byte, ElementaryFile> dest) {
-    dest.clear();
-    for (Map.Entry<Byte, ElementaryFile> entry : src.entrySet()) {
-      dest.put(entry.getKey(), new ElementaryFile(entry.getValue()));
+  private Map<Byte, FileBackup> getFileBackups() {
+    if (fileBackupBySfi == null) {
+      fileBackupBySfi = new HashMap<Byte, FileBackup>();
     }
+    return fileBackupBySfi;
   }
 
   /**
    * (private)<br>
-   * Copy a map of SFI by LID to another one by cloning each element.
+   * Gets the backup of the EF having the provided SFI, creates it if the EF is modified for the
+   * first time since the last call to {@link #backupFiles()}.
    *
-   * @param src the source (should be not null)
-   * @param dest the destination (should be not null)
+   * @param sfi the SFI
+   * @return null if no backup is active.
    */
-  private static void copyMapSfi(Map<Short, Byte> src, Map<Short, Byte> dest) {
-    dest.clear();
-    dest.putAll(src);
+  private FileBackup backupFile(byte sfi) {
+    if (!isFilesBackupActive) {
+      return null;
+    }
+    Map<Byte, FileBackup> fileBackups = getFileBackups();
+    FileBackup fileBackup = fileBackups.get(sfi);
+    if (fileBackup == null) {
+      fileBackup = new FileBackup(getFile(sfi));
+      fileBackups.put(sfi, fileBackup);
+    }
+    return fileBackup;
+  }
+
+  /**
+   * (private)<br>
+   * Keeps the original content of the record #numRecord of the EF having the provided SFI, if not
+   * already done since the last call to {@link #backupFiles()}.
+   *
+   * @param sfi the SFI
+   * @param numRecord the record number
+   */
+  private void backupRecord(byte sfi, int numRecord) {
+    FileBackup fileBackup = backupFile(sfi);
+    if (fileBackup != null && getFile(sfi) != null) {
+      fileBackup.backupRecord(numRecord, getFile(sfi).getData());
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Original state of an EF modified since the last backup.
+   */
+  private static final class FileBackup {
+    private final boolean isFileExisting;
+    private final FileHeader header;
+    // original content of the modified records, null if the record was not set
+    private final Map<Integer, byte[]> recordBackups = new HashMap<Integer, byte[]>();
+
+    /**
+     * (private)<br>
+     * Constructor.
+     *
+     * @param ef the EF before its first modification, null if it does not exist yet
+     */
+    private FileBackup(ElementaryFile ef) {
+      this.isFileExisting = ef != null;
+      this.header = ef != null ? ef.getHeader() : null;
+    }
+
+    /**
+     * (private)<br>
+     * Keeps a copy of the record #numRecord if it is modified for the first time.
+     *
+     * @param numRecord the record number
+     * @param data the current data of the EF
+     */
+    private void backupRecord(int numRecord, FileData data) {
+      if (isFileExisting && !recordBackups.containsKey(numRecord)) {
+        byte[] content = data.getRecord(numRecord);
+        recordBackups.put(numRecord, content != null ? content.clone() : null);
+      }
+    }
+
+    /**
+     * (private)<br>
+     * Restores the original state of the provided EF.
+     *
+     * @param ef the current EF
+     * @return true if the EF did not exist and should be removed.
+     */
+    private boolean restore(ElementaryFile ef) {
+      if (!isFileExisting) {
+        return true;
+      }
+      ef.setHeader(header);
+      for (Map.Entry<Integer, byte[]> entry : recordBackups.entrySet()) {
+        ef.getData().restoreContent(entry.getKey(), entry.getValue());
+      }
+      return false;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Read-only map view of the known EFs, keyed by SFI.
+   */
+  private final class FilesView extends AbstractMap<Byte, ElementaryFile> {
+
+    @Override
+    public ElementaryFile get(Object key) {
+      return key instanceof Byte ? getFile((Byte) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public Set<Map.Entry<Byte, ElementaryFile>> entrySet() {
+      return new AbstractSet<Map.Entry<Byte, ElementaryFile>>() {
+        @Override
+        public Iterator<Map.Entry<Byte, ElementaryFile>> iterator() {
+          final ElementaryFile[] files = efBySfi;
+          return new Iterator<Map.Entry<Byte, ElementaryFile>>() {
+            private int index = findNext(files, 0);
+
+            @Override
+            public boolean hasNext() {
+              return index < files.length;
+            }
+
+            @Override
+            public Map.Entry<Byte, ElementaryFile> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              ElementaryFile ef = files[index];
+              index = findNext(files, index + 1);
+              return new AbstractMap.SimpleImmutableEntry<Byte, ElementaryFile>(ef.getSfi(), ef);
+            }
+
+            @Override
+            public void remove() {
+              throw new UnsupportedOperationException();
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          int size = 0;
+          for (ElementaryFile ef : efBySfi) {
+            if (ef != null) {
+              size++;
+            }
+          }
+          return size;
+        }
+      };
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Finds the index of the next known EF.
+   *
+   * @param files the EFs array
+   * @param from the index from which the search starts
+   * @return the array length if there's no more EF.
+   */
+  private static int findNext(ElementaryFile[] files, int from) {
+    int i = from;
+    while (i < files.length && files[i] == null) {
+      i++;
+    }
+    return i;
   }
 }
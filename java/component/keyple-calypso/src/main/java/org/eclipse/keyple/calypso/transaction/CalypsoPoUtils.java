@@ -21,10 +21,7 @@ import org.eclipse.keyple.calypso.command.po.AbstractPoCommandBuilder;
 import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
 import org.eclipse.keyple.calypso.command.po.builder.*;
 import org.eclipse.keyple.calypso.command.po.builder.security.AbstractOpenSessionCmdBuild;
-import org.eclipse.keyple.calypso.command.po.builder.security.CloseSessionCmdBuild;
-import org.eclipse.keyple.calypso.command.po.builder.security.PoGetChallengeCmdBuild;
 import org.eclipse.keyple.calypso.command.po.builder.security.VerifyPinCmdBuild;
-import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvGetCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoCommandException;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoPinException;
 import org.eclipse.keyple.calypso.command.po.parser.AppendRecordRespPars;
@@ -115,12 +112,6 @@ final class CalypsoPoUtils {
   public static final int SV_DEBIT_LOG_FILE_NB_REC = 3;
   public static final int SV_LOG_FILE_REC_LENGTH = 29;
 
-  private static byte[] poChallenge;
-  private static byte svKvc;
-  private static byte[] svGetHeader;
-  private static byte[] svGetData;
-  private static byte[] svOperationSignature;
-
   /** Private constructor */
   private CalypsoPoUtils() {}
 
@@ -132,17 +123,13 @@ final class CalypsoPoUtils {
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
    * @param openSessionCmdBuild the Open Secure Session command builder
-   * @param apduResponse the response received
-   * @return the created response parser
+   * @param openSessionRespPars the parser of the response received
+   * @return the response parser
    */
   private static AbstractOpenSessionRespPars updateCalypsoPoOpenSession(
       CalypsoPo calypsoPo,
       AbstractOpenSessionCmdBuild<AbstractOpenSessionRespPars> openSessionCmdBuild,
-      ApduResponse apduResponse) {
-    // create parser
-    AbstractOpenSessionRespPars openSessionRespPars =
-        openSessionCmdBuild.createResponseParser(apduResponse);
-
+      AbstractOpenSessionRespPars openSessionRespPars) {
     calypsoPo.setDfRatified(openSessionRespPars.wasRatified());
 
     byte[] recordDataRead = openSessionRespPars.getRecordDataRead();
@@ -160,16 +147,12 @@ final class CalypsoPoUtils {
   /**
    * Checks the response to a Close Session command
    *
-   * @param closeSessionCmdBuild the Close Session command builder
-   * @param apduResponse the response received
-   * @return the created response parser
+   * @param closeSessionRespPars the parser of the response received
+   * @return the response parser
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static CloseSessionRespPars updateCalypsoPoCloseSession(
-      CloseSessionCmdBuild closeSessionCmdBuild, ApduResponse apduResponse) {
-    CloseSessionRespPars closeSessionRespPars =
-        closeSessionCmdBuild.createResponseParser(apduResponse);
-
+      CloseSessionRespPars closeSessionRespPars) {
     closeSessionRespPars.checkStatus();
 
     return closeSessionRespPars;
@@ -182,16 +165,14 @@ final class CalypsoPoUtils {
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
    * @param readRecordsCmdBuild the Read Records command builder
-   * @param apduResponse the response received
-   * @return the created response parser
+   * @param readRecordsRespPars the parser of the response received
+   * @return the response parser
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static ReadRecordsRespPars updateCalypsoPoReadRecords(
-      CalypsoPo calypsoPo, ReadRecordsCmdBuild readRecordsCmdBuild, ApduResponse apduResponse) {
-    // create parser
-    ReadRecordsRespPars readRecordsRespPars =
-        readRecordsCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo,
+      ReadRecordsCmdBuild readRecordsCmdBuild,
+      ReadRecordsRespPars readRecordsRespPars) {
     readRecordsRespPars.checkStatus();
 
     // iterate over read records to fill the CalypsoPo
@@ -208,14 +189,11 @@ final class CalypsoPoUtils {
    * DirectoryHeader} is updated
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
-   * @param selectFileCmdBuild the Select File command builder
-   * @param apduResponse the response received
+   * @param selectFileRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static SelectFileRespPars updateCalypsoPoSelectFile(
-      CalypsoPo calypsoPo, SelectFileCmdBuild selectFileCmdBuild, ApduResponse apduResponse) {
-    SelectFileRespPars selectFileRespPars = selectFileCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo, SelectFileRespPars selectFileRespPars) {
     selectFileRespPars.checkStatus();
 
     byte[] proprietaryInformation = selectFileRespPars.getProprietaryInformation();
@@ -244,14 +222,13 @@ final class CalypsoPoUtils {
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
    * @param updateRecordCmdBuild the Update Record command builder
-   * @param apduResponse the response received
+   * @param updateRecordRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static UpdateRecordRespPars updateCalypsoPoUpdateRecord(
-      CalypsoPo calypsoPo, UpdateRecordCmdBuild updateRecordCmdBuild, ApduResponse apduResponse) {
-    UpdateRecordRespPars updateRecordRespPars =
-        updateRecordCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo,
+      UpdateRecordCmdBuild updateRecordCmdBuild,
+      UpdateRecordRespPars updateRecordRespPars) {
     updateRecordRespPars.checkStatus();
 
     calypsoPo.setContent(
@@ -270,14 +247,13 @@ final class CalypsoPoUtils {
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
    * @param writeRecordCmdBuild the Write Record command builder
-   * @param apduResponse the response received
+   * @param writeRecordRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static WriteRecordRespPars updateCalypsoPoWriteRecord(
-      CalypsoPo calypsoPo, WriteRecordCmdBuild writeRecordCmdBuild, ApduResponse apduResponse) {
-    WriteRecordRespPars writeRecordRespPars =
-        writeRecordCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo,
+      WriteRecordCmdBuild writeRecordCmdBuild,
+      WriteRecordRespPars writeRecordRespPars) {
     writeRecordRespPars.checkStatus();
 
     calypsoPo.fillContent(
@@ -295,14 +271,13 @@ final class CalypsoPoUtils {
    *
    * @param appendRecordCmdBuild the Append Records command builder
    * @param calypsoPo the {@link CalypsoPo} object to update
-   * @param apduResponse the response received
+   * @param appendRecordRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static AppendRecordRespPars updateCalypsoPoAppendRecord(
-      CalypsoPo calypsoPo, AppendRecordCmdBuild appendRecordCmdBuild, ApduResponse apduResponse) {
-    AppendRecordRespPars appendRecordRespPars =
-        appendRecordCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo,
+      AppendRecordCmdBuild appendRecordCmdBuild,
+      AppendRecordRespPars appendRecordRespPars) {
     appendRecordRespPars.checkStatus();
 
     calypsoPo.addCyclicContent(
@@ -318,19 +293,17 @@ final class CalypsoPoUtils {
    *
    * @param decreaseCmdBuild the Decrease command builder
    * @param calypsoPo the {@link CalypsoPo} object to update
-   * @param apduResponse the response received
+   * @param decreaseRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static DecreaseRespPars updateCalypsoPoDecrease(
-      CalypsoPo calypsoPo, DecreaseCmdBuild decreaseCmdBuild, ApduResponse apduResponse) {
-    DecreaseRespPars decreaseRespPars = decreaseCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo, DecreaseCmdBuild decreaseCmdBuild, DecreaseRespPars decreaseRespPars) {
     decreaseRespPars.checkStatus();
 
     calypsoPo.setContent(
         (byte) decreaseCmdBuild.getSfi(),
         1,
-        apduResponse.getDataOut(),
+        decreaseRespPars.getApduResponse().getDataOut(),
         3 * (decreaseCmdBuild.getCounterNumber() - 1));
 
     return decreaseRespPars;
@@ -343,19 +316,17 @@ final class CalypsoPoUtils {
    *
    * @param increaseCmdBuild the Increase command builder
    * @param calypsoPo the {@link CalypsoPo} object to update
-   * @param apduResponse the response received
+   * @param increaseRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static IncreaseRespPars updateCalypsoPoIncrease(
-      CalypsoPo calypsoPo, IncreaseCmdBuild increaseCmdBuild, ApduResponse apduResponse) {
-    IncreaseRespPars increaseRespPars = increaseCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo, IncreaseCmdBuild increaseCmdBuild, IncreaseRespPars increaseRespPars) {
     increaseRespPars.checkStatus();
 
     calypsoPo.setContent(
         (byte) increaseCmdBuild.getSfi(),
         1,
-        apduResponse.getDataOut(),
+        increaseRespPars.getApduResponse().getDataOut(),
         3 * (increaseCmdBuild.getCounterNumber() - 1));
 
     return increaseRespPars;
@@ -363,21 +334,17 @@ final class CalypsoPoUtils {
 
   /**
    * Parses the response to a Get Challenge command received from the PO <br>
-   * The PO challenge value is stored in {@link CalypsoPoUtils} and made available through a
-   * dedicated getters for later use
+   * The PO challenge value is stored in the {@link PoTransactionContext} for later use
    *
-   * @param poGetChallengeCmdBuild the Get Challenge command builder
-   * @param apduResponse the response received
+   * @param context the context of the current transaction
+   * @param poGetChallengeRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static PoGetChallengeRespPars updateCalypsoPoGetChallenge(
-      PoGetChallengeCmdBuild poGetChallengeCmdBuild, ApduResponse apduResponse) {
-    PoGetChallengeRespPars poGetChallengeRespPars =
-        poGetChallengeCmdBuild.createResponseParser(apduResponse);
-
+      PoTransactionContext context, PoGetChallengeRespPars poGetChallengeRespPars) {
     poGetChallengeRespPars.checkStatus();
 
-    poChallenge = apduResponse.getDataOut();
+    context.setPoChallenge(poGetChallengeRespPars.getApduResponse().getDataOut());
 
     return poGetChallengeRespPars;
   }
@@ -391,13 +358,13 @@ final class CalypsoPoUtils {
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
    * @param verifyPinCmdBuild the Verify PIN command builder
-   * @param apduResponse the response received
+   * @param verifyPinRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static VerifyPinRespPars updateCalypsoVerifyPin(
-      CalypsoPo calypsoPo, VerifyPinCmdBuild verifyPinCmdBuild, ApduResponse apduResponse) {
-    VerifyPinRespPars verifyPinRespPars = verifyPinCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo,
+      VerifyPinCmdBuild verifyPinCmdBuild,
+      VerifyPinRespPars verifyPinRespPars) {
     calypsoPo.setPinAttemptRemaining(verifyPinRespPars.getRemainingAttemptCounter());
 
     try {
@@ -417,18 +384,16 @@ final class CalypsoPoUtils {
   /**
    * Updates the {@link CalypsoPo} object with the response to an SV Get command received from the
    * PO <br>
-   * The SV Data values (KVC, command header, response data) are stored in {@link CalypsoPoUtils}
-   * and made available through a dedicated getters for later use<br>
+   * The SV Data values (KVC, command header, response data) are stored in the {@link
+   * PoTransactionContext} for later use<br>
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
-   * @param svGetCmdBuild the SV Get command builder
-   * @param apduResponse the response received
+   * @param context the context of the current transaction
+   * @param svGetRespPars the parser of the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static SvGetRespPars updateCalypsoPoSvGet(
-      CalypsoPo calypsoPo, SvGetCmdBuild svGetCmdBuild, ApduResponse apduResponse) {
-    SvGetRespPars svGetRespPars = svGetCmdBuild.createResponseParser(apduResponse);
-
+      CalypsoPo calypsoPo, PoTransactionContext context, SvGetRespPars svGetRespPars) {
     svGetRespPars.checkStatus();
 
     calypsoPo.setSvData(
@@ -437,9 +402,10 @@ final class CalypsoPoUtils {
         svGetRespPars.getLoadLog(),
         svGetRespPars.getDebitLog());
 
-    svKvc = svGetRespPars.getCurrentKVC();
-    svGetHeader = svGetRespPars.getSvGetCommandHeader();
-    svGetData = svGetRespPars.getApduResponse().getBytes();
+    context.setSvGetData(
+        svGetRespPars.getCurrentKVC(),
+        svGetRespPars.getSvGetCommandHeader(),
+        svGetRespPars.getApduResponse().getBytes());
 
     return svGetRespPars;
   }
@@ -447,22 +413,19 @@ final class CalypsoPoUtils {
   /**
    * Checks the response to a SV Operation command (reload, debit or undebit) response received from
    * the PO<br>
-   * Keep the PO SV signature if any (command executed outside a secure session).
+   * Keep the PO SV signature if any (command executed outside a secure session) in the {@link
+   * PoTransactionContext}.
    *
-   * @param svOperationCmdBuild the SV Operation command builder (SvReloadCmdBuild, SvDebitCmdBuild
-   *     or SvUndebitCmdBuild)
-   * @param apduResponse the response received
+   * @param context the context of the current transaction
+   * @param svOperationRespPars the parser of the response received (SvReloadRespPars,
+   *     SvDebitRespPars or SvUndebitRespPars)
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static AbstractPoResponseParser updateCalypsoPoSvOperation(
-      AbstractPoCommandBuilder<? extends AbstractPoResponseParser> svOperationCmdBuild,
-      ApduResponse apduResponse) {
-    AbstractPoResponseParser svOperationRespPars =
-        svOperationCmdBuild.createResponseParser(apduResponse);
-
+      PoTransactionContext context, AbstractPoResponseParser svOperationRespPars) {
     svOperationRespPars.checkStatus();
 
-    svOperationSignature = svOperationRespPars.getApduResponse().getDataOut();
+    context.setSvOperationSignature(svOperationRespPars.getApduResponse().getDataOut());
 
     return svOperationRespPars;
   }
@@ -470,16 +433,11 @@ final class CalypsoPoUtils {
   /**
    * Checks the response to Invalidate/Rehabilitate commands
    *
-   * @param invalidateRehabilitateCmdBuild the Invalidate or Rehabilitate response parser
-   * @param apduResponse the response received
+   * @param invalidateRehabilitateRespPars the Invalidate or Rehabilitate response parser
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static AbstractPoResponseParser updateCalypsoInvalidateRehabilitate(
-      AbstractPoCommandBuilder<? extends AbstractPoResponseParser> invalidateRehabilitateCmdBuild,
-      ApduResponse apduResponse) {
-    AbstractPoResponseParser invalidateRehabilitateRespPars =
-        invalidateRehabilitateCmdBuild.createResponseParser(apduResponse);
-
+      AbstractPoResponseParser invalidateRehabilitateRespPars) {
     invalidateRehabilitateRespPars.checkStatus();
 
     return invalidateRehabilitateRespPars;
@@ -620,55 +578,87 @@ final class CalypsoPoUtils {
    * Fills the CalypsoPo with the PO's response to a single command
    *
    * @param calypsoPo the {@link CalypsoPo} object to fill with the provided response from the PO
+   * @param context the context of the current transaction, updated with the data to be kept
    * @param commandBuilder the builder of the command that get the response
    * @param apduResponse the APDU response returned by the PO to the command
+   * @return the created response parser
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   static AbstractPoResponseParser updateCalypsoPo(
       CalypsoPo calypsoPo,
+      PoTransactionContext context,
       AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder,
       ApduResponse apduResponse) {
+    return updateCalypsoPo(
+        calypsoPo, context, commandBuilder, commandBuilder.createResponseParser(apduResponse));
+  }
+
+  /**
+   * (package-private)<br>
+   * Fills the CalypsoPo with the PO's response to a single command, already parsed by the caller
+   *
+   * @param calypsoPo the {@link CalypsoPo} object to fill with the provided response from the PO
+   * @param context the context of the current transaction, updated with the data to be kept
+   * @param commandBuilder the builder of the command that get the response
+   * @param responseParser the parser created by the command builder for the response
+   * @return the provided response parser
+   * @throws CalypsoPoCommandException if a response from the PO was unexpected
+   * @since 1.1
+   */
+  static AbstractPoResponseParser updateCalypsoPo(
+      CalypsoPo calypsoPo,
+      PoTransactionContext context,
+      AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder,
+      AbstractPoResponseParser responseParser) {
     switch (commandBuilder.getCommandRef()) {
       case READ_RECORDS:
         return updateCalypsoPoReadRecords(
-            calypsoPo, (ReadRecordsCmdBuild) commandBuilder, apduResponse);
+            calypsoPo, (ReadRecordsCmdBuild) commandBuilder, (ReadRecordsRespPars) responseParser);
       case SELECT_FILE:
-        return updateCalypsoPoSelectFile(
-            calypsoPo, (SelectFileCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoSelectFile(calypsoPo, (SelectFileRespPars) responseParser);
       case UPDATE_RECORD:
         return updateCalypsoPoUpdateRecord(
-            calypsoPo, (UpdateRecordCmdBuild) commandBuilder, apduResponse);
+            calypsoPo,
+            (UpdateRecordCmdBuild) commandBuilder,
+            (UpdateRecordRespPars) responseParser);
       case WRITE_RECORD:
         return updateCalypsoPoWriteRecord(
-            calypsoPo, (WriteRecordCmdBuild) commandBuilder, apduResponse);
+            calypsoPo, (WriteRecordCmdBuild) commandBuilder, (WriteRecordRespPars) responseParser);
       case APPEND_RECORD:
         return updateCalypsoPoAppendRecord(
-            calypsoPo, (AppendRecordCmdBuild) commandBuilder, apduResponse);
+            calypsoPo,
+            (AppendRecordCmdBuild) commandBuilder,
+            (AppendRecordRespPars) responseParser);
       case DECREASE:
-        return updateCalypsoPoDecrease(calypsoPo, (DecreaseCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoDecrease(
+            calypsoPo, (DecreaseCmdBuild) commandBuilder, (DecreaseRespPars) responseParser);
       case INCREASE:
-        return updateCalypsoPoIncrease(calypsoPo, (IncreaseCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoIncrease(
+            calypsoPo, (IncreaseCmdBuild) commandBuilder, (IncreaseRespPars) responseParser);
       case OPEN_SESSION_10:
       case OPEN_SESSION_24:
       case OPEN_SESSION_31:
       case OPEN_SESSION_32:
         return updateCalypsoPoOpenSession(
-            calypsoPo, (AbstractOpenSessionCmdBuild) commandBuilder, apduResponse);
+            calypsoPo,
+            (AbstractOpenSessionCmdBuild) commandBuilder,
+            (AbstractOpenSessionRespPars) responseParser);
       case CLOSE_SESSION:
-        return updateCalypsoPoCloseSession((CloseSessionCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoCloseSession((CloseSessionRespPars) responseParser);
       case GET_CHALLENGE:
-        return updateCalypsoPoGetChallenge((PoGetChallengeCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoGetChallenge(context, (PoGetChallengeRespPars) responseParser);
       case VERIFY_PIN:
-        return updateCalypsoVerifyPin(calypsoPo, (VerifyPinCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoVerifyPin(
+            calypsoPo, (VerifyPinCmdBuild) commandBuilder, (VerifyPinRespPars) responseParser);
       case SV_GET:
-        return updateCalypsoPoSvGet(calypsoPo, (SvGetCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoSvGet(calypsoPo, context, (SvGetRespPars) responseParser);
       case SV_RELOAD:
       case SV_DEBIT:
       case SV_UNDEBIT:
-        return updateCalypsoPoSvOperation(commandBuilder, apduResponse);
+        return updateCalypsoPoSvOperation(context, responseParser);
       case INVALIDATE:
       case REHABILITATE:
-        return updateCalypsoInvalidateRehabilitate(commandBuilder, apduResponse);
+        return updateCalypsoInvalidateRehabilitate(responseParser);
       case CHANGE_KEY:
       case GET_DATA_FCI:
       case GET_DATA_TRACE:
@@ -683,12 +673,14 @@ final class CalypsoPoUtils {
    * Fills the CalypsoPo with the PO's responses to a list of commands
    *
    * @param calypsoPo the {@link CalypsoPo} object to fill with the provided response from the PO
+   * @param context the context of the current transaction, updated with the data to be kept
    * @param commandBuilders the list of builders that get the responses
    * @param apduResponses the APDU responses returned by the PO to all commands
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   static void updateCalypsoPo(
       CalypsoPo calypsoPo,
+      PoTransactionContext context,
       List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> commandBuilders,
       List<ApduResponse> apduResponses) {
     Iterator<ApduResponse> responseIterator = apduResponses.iterator();
@@ -697,7 +689,7 @@ final class CalypsoPoUtils {
       for (AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder :
           commandBuilders) {
         ApduResponse apduResponse = responseIterator.next();
-        updateCalypsoPo(calypsoPo, commandBuilder, apduResponse);
+        updateCalypsoPo(calypsoPo, context, commandBuilder, apduResponse);
       }
     }
   }
@@ -743,55 +735,4 @@ final class CalypsoPoUtils {
   static SelectFileCmdBuild prepareSelectFile(PoClass poClass, SelectFileControl selectControl) {
     return new SelectFileCmdBuild(poClass, selectControl);
   }
-
-  /**
-   * (package-private)<br>
-   * Gets the challenge received from the PO
-   *
-   * @return an array of bytes containing the challenge bytes (variable length according to the
-   *     revision of the PO). May be null if the challenge is not available.
-   */
-  static byte[] getPoChallenge() {
-    return poChallenge;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the SV KVC from the PO
-   *
-   * @return the SV KVC byte.
-   */
-  static byte getSvKvc() {
-    return svKvc;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the SV Get command header
-   *
-   * @return a byte array containing the SV Get command header.
-   */
-  static byte[] getSvGetHeader() {
-    return svGetHeader;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the SV Get command response data
-   *
-   * @return a byte array containing the SV Get command response data.
-   */
-  static byte[] getSvGetData() {
-    return svGetData;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the last SV Operation signature (SV Reload, Debit or Undebit)
-   *
-   * @return a byte array containing the SV Operation signature or null if not available.
-   */
-  static byte[] getSvOperationSignature() {
-    return svOperationSignature;
-  }
 }
@@ -0,0 +1,179 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+import java.util.Arrays;
+
+/**
+ * (package-private)<br>
+ * Stores the PO data blocks to be sent to the SAM for the digest computation of a Secure Session.
+ *
+ * <p>All blocks are appended to a single growable byte array (the arena) which is kept from one
+ * session to the next: clearing the cache only resets the indexes. The only copies made are those
+ * required to build the SAM commands.
+ *
+ * <p>An instance is owned by a single {@link SamCommandProcessor} and is not thread-safe.
+ *
+ * @since 1.1
+ */
+final class DigestDataCache {
+
+  private static final int INITIAL_DATA_CAPACITY = 512;
+  private static final int INITIAL_BLOCKS_CAPACITY = 16;
+
+  /** The arena containing the concatenation of all blocks */
+  private byte[] data;
+  /** blockEnds[i] is the end offset (exclusive) of the block i in the arena */
+  private int[] blockEnds;
+  /** The number of blocks currently stored */
+  private int blocksNumber;
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @since 1.1
+   */
+  DigestDataCache() {
+    data = new byte[INITIAL_DATA_CAPACITY];
+    blockEnds = new int[INITIAL_BLOCKS_CAPACITY];
+  }
+
+  /**
+   * (package-private)<br>
+   * Removes all blocks, the allocated storage is kept for reuse.
+   *
+   * @since 1.1
+   */
+  void clear() {
+    blocksNumber = 0;
+  }
+
+  /**
+   * (package-private)<br>
+   * Appends a full byte array as a new block.
+   *
+   * @param block the data to append (must be not null)
+   * @since 1.1
+   */
+  void add(byte[] block) {
+    add(block, 0, block.length);
+  }
+
+  /**
+   * (package-private)<br>
+   * Appends a part of a byte array as a new block.
+   *
+   * @param src the source array (must be not null)
+   * @param offset the offset of the first byte to copy in src
+   * @param length the number of bytes to copy
+   * @since 1.1
+   */
+  void add(byte[] src, int offset, int length) {
+    int start = getDataLength();
+    ensureCapacity(start + length);
+    System.arraycopy(src, offset, data, start, length);
+    blockEnds[blocksNumber++] = start + length;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the number of blocks currently stored
+   * @since 1.1
+   */
+  int size() {
+    return blocksNumber;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return true if no block is stored
+   * @since 1.1
+   */
+  boolean isEmpty() {
+    return blocksNumber == 0;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @param index the index of the block
+   * @return the length of the designated block
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @since 1.1
+   */
+  int getBlockLength(int index) {
+    return getBlockEnd(index) - getBlockStart(index);
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets a copy of a block.
+   *
+   * @param index the index of the block
+   * @return a new byte array
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @since 1.1
+   */
+  byte[] getBlock(int index) {
+    return Arrays.copyOfRange(data, getBlockStart(index), getBlockEnd(index));
+  }
+
+  /**
+   * (package-private)<br>
+   * Copies a block into the provided array.
+   *
+   * @param index the index of the block
+   * @param dest the destination array
+   * @param destOffset the position in the destination array
+   * @return the number of copied bytes
+   * @throws IndexOutOfBoundsException if the index is out of range or the destination too short
+   * @since 1.1
+   */
+  int copyBlock(int index, byte[] dest, int destOffset) {
+    int start = getBlockStart(index);
+    int length = getBlockEnd(index) - start;
+    System.arraycopy(data, start, dest, destOffset, length);
+    return length;
+  }
+
+  private int getDataLength() {
+    return blocksNumber == 0 ? 0 : blockEnds[blocksNumber - 1];
+  }
+
+  private int getBlockStart(int index) {
+    checkIndex(index);
+    return index == 0 ? 0 : blockEnds[index - 1];
+  }
+
+  private int getBlockEnd(int index) {
+    checkIndex(index);
+    return blockEnds[index];
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= blocksNumber) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + blocksNumber);
+    }
+  }
+
+  private void ensureCapacity(int dataCapacity) {
+    if (dataCapacity > data.length) {
+      data = Arrays.copyOf(data, Math.max(dataCapacity, data.length * 2));
+    }
+    if (blocksNumber == blockEnds.length) {
+      blockEnds = Arrays.copyOf(blockEnds, blockEnds.length * 2);
+    }
+  }
+}
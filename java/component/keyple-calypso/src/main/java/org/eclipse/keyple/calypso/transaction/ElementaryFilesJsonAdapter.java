@@ -0,0 +1,75 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+import com.google.gson.*;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * (package-private)<br>
+ * Serializer/Deserializer of the EFs of a {@link CalypsoPo}.
+ *
+ * <p>The array indexed by SFI is exchanged as an object whose keys are the SFIs of the known EFs,
+ * the JSON shape of the former {@code Map<Byte, ElementaryFile>}.
+ *
+ * @since 1.1
+ */
+final class ElementaryFilesJsonAdapter
+    implements JsonSerializer<ElementaryFile[]>, JsonDeserializer<ElementaryFile[]> {
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public JsonElement serialize(
+      ElementaryFile[] files, Type type, JsonSerializationContext jsonSerializationContext) {
+
+    JsonObject output = new JsonObject();
+    for (ElementaryFile ef : files) {
+      if (ef != null) {
+        output.add(String.valueOf(ef.getSfi()), jsonSerializationContext.serialize(ef));
+      }
+    }
+    return output;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The SFIs are checked against the range allowed by the PO so that a malformed input cannot
+   * lead to a huge allocation.
+   *
+   * @since 1.1
+   */
+  @Override
+  public ElementaryFile[] deserialize(
+      JsonElement jsonElement, Type type, JsonDeserializationContext jsonDeserializationContext)
+      throws JsonParseException {
+
+    ElementaryFile[] files = new ElementaryFile[0];
+    for (Map.Entry<String, JsonElement> entry : jsonElement.getAsJsonObject().entrySet()) {
+      int index = Integer.parseInt(entry.getKey());
+      if (index < CalypsoPoUtils.SFI_MIN || index > CalypsoPoUtils.SFI_MAX) {
+        throw new JsonParseException("Invalid SFI " + entry.getKey());
+      }
+      if (index >= files.length) {
+        files = Arrays.copyOf(files, index + 1);
+      }
+      files[index] = jsonDeserializationContext.deserialize(entry.getValue(), ElementaryFile.class);
+    }
+    return files;
+  }
+}
@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.transaction;
 
+import com.google.gson.annotations.JsonAdapter;
 import java.io.Serializable;
 import java.util.*;
 import org.eclipse.keyple.core.util.Assert;
@@ -23,7 +24,13 @@ import org.eclipse.keyple.core.util.ByteArrayUtil;
  */
 public class FileData implements Serializable {
 
-  private final TreeMap<Integer, byte[]> records = new TreeMap<Integer, byte[]>();
+  private static final byte[][] NO_RECORDS = new byte[0][];
+
+  // content of the record #n at index n - 1, the length is the number of the last known record
+  @JsonAdapter(RecordsJsonAdapter.class)
+  private byte[][] records = NO_RECORDS;
+
+  private transient SortedMap<Integer, byte[]> recordsView;
 
   /**
    * (package-private)<br>
@@ -41,20 +48,26 @@ public class FileData implements Serializable {
    * @since 0.9
    */
   FileData(FileData source) {
-    SortedMap<Integer, byte[]> sourceContent = source.getAllRecordsContent();
-    for (Map.Entry<Integer, byte[]> entry : sourceContent.entrySet()) {
-      records.put(entry.getKey(), Arrays.copyOf(entry.getValue(), entry.getValue().length));
+    records = new byte[source.records.length][];
+    for (int i = 0; i < records.length; i++) {
+      if (source.records[i] != null) {
+        records[i] = source.records[i].clone();
+      }
     }
   }
 
   /**
-   * Gets a reference to all known records content.
+   * Gets a reference to all known records content.<br>
+   * The returned map is a view backed by the file data.
    *
    * @return a not null map eventually empty if there's no content.
    * @since 0.9
    */
   public SortedMap<Integer, byte[]> getAllRecordsContent() {
-    return records;
+    if (recordsView == null) {
+      recordsView = new RecordsView();
+    }
+    return recordsView;
   }
 
   /**
@@ -78,7 +91,7 @@ public class FileData implements Serializable {
    * @since 0.9
    */
   public byte[] getContent(int numRecord) {
-    byte[] content = records.get(numRecord);
+    byte[] content = getRecord(numRecord);
     if (content == null) {
       throw new NoSuchElementException("Record #" + numRecord + " is not set.");
     }
@@ -104,7 +117,7 @@ public class FileData implements Serializable {
         .greaterOrEqual(dataOffset, 0, "dataOffset")
         .greaterOrEqual(dataLength, 1, "dataLength");
 
-    byte[] content = records.get(numRecord);
+    byte[] content = getRecord(numRecord);
     if (content == null) {
       throw new NoSuchElementException("Record #" + numRecord + " is not set.");
     }
@@ -146,7 +159,7 @@ public class FileData implements Serializable {
 
     Assert.getInstance().greaterOrEqual(numCounter, 1, "numCounter");
 
-    byte[] rec1 = records.get(1);
+    byte[] rec1 = getRecord(1);
     if (rec1 == null) {
       throw new NoSuchElementException("Record #1 is not set.");
     }
@@ -182,7 +195,7 @@ public class FileData implements Serializable {
    */
   public SortedMap<Integer, Integer> getAllCountersValue() {
     SortedMap<Integer, Integer> result = new TreeMap<Integer, Integer>();
-    byte[] rec1 = records.get(1);
+    byte[] rec1 = getRecord(1);
     if (rec1 == null) {
       throw new NoSuchElementException("Record #1 is not set.");
     }
@@ -202,7 +215,7 @@ public class FileData implements Serializable {
    * @since 0.9
    */
   void setContent(int numRecord, byte[] content) {
-    records.put(numRecord, content);
+    putRecord(numRecord, content);
   }
 
   /**
@@ -232,7 +245,7 @@ public class FileData implements Serializable {
   void setContent(int numRecord, byte[] content, int offset) {
     byte[] newContent;
     int newLength = offset + content.length;
-    byte[] oldContent = records.get(numRecord);
+    byte[] oldContent = getRecord(numRecord);
     if (oldContent == null) {
       newContent = new byte[newLength];
     } else if (oldContent.length <= offset) {
@@ -245,7 +258,7 @@ public class FileData implements Serializable {
       newContent = oldContent;
     }
     System.arraycopy(content, 0, newContent, offset, content.length);
-    records.put(numRecord, newContent);
+    putRecord(numRecord, newContent);
   }
 
   /**
@@ -260,14 +273,14 @@ public class FileData implements Serializable {
    * @since 0.9
    */
   void fillContent(int numRecord, byte[] content) {
-    byte[] actualContent = records.get(numRecord);
+    byte[] actualContent = getRecord(numRecord);
     if (actualContent == null) {
-      records.put(numRecord, content);
+      putRecord(numRecord, content);
     } else if (actualContent.length < content.length) {
       for (int i = 0; i < actualContent.length; i++) {
         content[i] |= actualContent[i];
       }
-      records.put(numRecord, content);
+      putRecord(numRecord, content);
     } else {
       for (int i = 0; i < content.length; i++) {
         actualContent[i] |= content[i];
@@ -286,25 +299,254 @@ public class FileData implements Serializable {
    * @since 0.9
    */
   void addCyclicContent(byte[] content) {
-    ArrayList<Integer> descendingKeys = new ArrayList<Integer>(records.descendingKeySet());
-    for (Integer i : descendingKeys) {
-      records.put(i + 1, records.get(i));
+    byte[][] newRecords = Arrays.copyOf(records, records.length + 1);
+    for (int i = records.length - 1; i >= 0; i--) {
+      if (records[i] != null) {
+        newRecords[i + 1] = records[i];
+      }
+    }
+    newRecords[0] = content;
+    records = newRecords;
+  }
+
+  /**
+   * (package-private)<br>
+   * Restores the content of the specified record #numRecord as it was before a secure session.
+   *
+   * @param numRecord the record number (should be {@code >=} 1)
+   * @param content the original content, null if the record was not set
+   * @since 1.1
+   */
+  void restoreContent(int numRecord, byte[] content) {
+    if (content == null) {
+      removeRecord(numRecord);
+    } else {
+      putRecord(numRecord, content);
     }
-    records.put(1, content);
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets a reference to the known content of a specific record.
+   *
+   * @param numRecord the record number
+   * @return null if the record #numRecord is not set.
+   * @since 1.1
+   */
+  byte[] getRecord(int numRecord) {
+    return numRecord >= 1 && numRecord <= records.length ? records[numRecord - 1] : null;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the number of the last known record.
+   *
+   * @return 0 if there's no content.
+   * @since 1.1
+   */
+  int getLastRecordNumber() {
+    return records.length;
+  }
+
+  /**
+   * (private)<br>
+   * Sets the content of the record #numRecord, the records array is extended if needed.
+   *
+   * @param numRecord the record number (should be {@code >=} 1)
+   * @param content the content (should be not null)
+   */
+  private void putRecord(int numRecord, byte[] content) {
+    if (numRecord > records.length) {
+      records = Arrays.copyOf(records, numRecord);
+    }
+    records[numRecord - 1] = content;
+  }
+
+  /**
+   * (private)<br>
+   * Removes the content of the record #numRecord, the records array is shrunk if needed.
+   *
+   * @param numRecord the record number
+   * @return the previous content, null if the record was not set.
+   */
+  private byte[] removeRecord(int numRecord) {
+    byte[] content = getRecord(numRecord);
+    if (content != null) {
+      records[numRecord - 1] = null;
+      int length = records.length;
+      while (length > 0 && records[length - 1] == null) {
+        length--;
+      }
+      if (length < records.length) {
+        records = Arrays.copyOf(records, length);
+      }
+    }
+    return content;
   }
 
   @Override
   public String toString() {
     final StringBuilder sb = new StringBuilder("FileData{");
     sb.append("records={");
-    for (Map.Entry<Integer, byte[]> rec : records.entrySet()) {
-      sb.append("(");
-      sb.append(rec.getKey());
-      sb.append("=0x");
-      sb.append(ByteArrayUtil.toHex(rec.getValue()));
-      sb.append(")");
+    for (int i = 0; i < records.length; i++) {
+      if (records[i] != null) {
+        sb.append("(");
+        sb.append(i + 1);
+        sb.append("=0x");
+        sb.append(ByteArrayUtil.toHex(records[i]));
+        sb.append(")");
+      }
     }
     sb.append("}}");
     return sb.toString();
   }
+
+  /**
+   * (private)<br>
+   * Sorted map view of the records, keyed by record number.<br>
+   * Sub-maps are snapshots and are not backed by the file data.
+   */
+  private final class RecordsView extends AbstractMap<Integer, byte[]>
+      implements SortedMap<Integer, byte[]> {
+
+    @Override
+    public byte[] get(Object key) {
+      return key instanceof Integer ? getRecord((Integer) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return get(key) != null;
+    }
+
+    @Override
+    public byte[] put(Integer key, byte[] value) {
+      Assert.getInstance().greaterOrEqual(key, 1, "numRecord").notNull(value, "content");
+      byte[] previous = getRecord(key);
+      putRecord(key, value);
+      return previous;
+    }
+
+    @Override
+    public byte[] remove(Object key) {
+      return key instanceof Integer ? removeRecord((Integer) key) : null;
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, byte[]>> entrySet() {
+      return new AbstractSet<Map.Entry<Integer, byte[]>>() {
+        @Override
+        public Iterator<Map.Entry<Integer, byte[]>> iterator() {
+          return new RecordsIterator();
+        }
+
+        @Override
+        public int size() {
+          int size = 0;
+          for (byte[] record : records) {
+            if (record != null) {
+              size++;
+            }
+          }
+          return size;
+        }
+      };
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+      return null;
+    }
+
+    @Override
+    public SortedMap<Integer, byte[]> subMap(Integer fromKey, Integer toKey) {
+      return new TreeMap<Integer, byte[]>(this).subMap(fromKey, toKey);
+    }
+
+    @Override
+    public SortedMap<Integer, byte[]> headMap(Integer toKey) {
+      return new TreeMap<Integer, byte[]>(this).headMap(toKey);
+    }
+
+    @Override
+    public SortedMap<Integer, byte[]> tailMap(Integer fromKey) {
+      return new TreeMap<Integer, byte[]>(this).tailMap(fromKey);
+    }
+
+    @Override
+    public Integer firstKey() {
+      for (int i = 0; i < records.length; i++) {
+        if (records[i] != null) {
+          return i + 1;
+        }
+      }
+      throw new NoSuchElementException();
+    }
+
+    @Override
+    public Integer lastKey() {
+      if (records.length == 0) {
+        throw new NoSuchElementException();
+      }
+      return records.length;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Iterator on the known records, in ascending record number order.
+   */
+  private final class RecordsIterator implements Iterator<Map.Entry<Integer, byte[]>> {
+    private int nextIndex;
+    private int lastNumRecord;
+
+    /**
+     * (private)<br>
+     * Constructor.
+     */
+    private RecordsIterator() {
+      nextIndex = findNext(0);
+    }
+
+    /**
+     * (private)<br>
+     * Finds the index of the next known record.
+     *
+     * @param from the index from which the search starts
+     * @return records length if there's no more record.
+     */
+    private int findNext(int from) {
+      int i = from;
+      while (i < records.length && records[i] == null) {
+        i++;
+      }
+      return i;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextIndex < records.length;
+    }
+
+    @Override
+    public Map.Entry<Integer, byte[]> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      lastNumRecord = nextIndex + 1;
+      Map.Entry<Integer, byte[]> entry =
+          new AbstractMap.SimpleImmutableEntry<Integer, byte[]>(lastNumRecord, records[nextIndex]);
+      nextIndex = findNext(nextIndex + 1);
+      return entry;
+    }
+
+    @Override
+    public void remove() {
+      if (lastNumRecord == 0) {
+        throw new IllegalStateException();
+      }
+      removeRecord(lastNumRecord);
+      lastNumRecord = 0;
+    }
+  }
 }
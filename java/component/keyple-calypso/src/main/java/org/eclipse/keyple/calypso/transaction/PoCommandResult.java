@@ -0,0 +1,109 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+import org.eclipse.keyple.calypso.command.po.AbstractPoResponseParser;
+import org.eclipse.keyple.calypso.command.po.CalypsoPoCommand;
+import org.eclipse.keyple.calypso.command.po.PoCommandStatus;
+
+/**
+ * Result of a PO command processed by {@link PoTransaction#processPoCommandsAndGetResults()}.
+ *
+ * <p>The unsuccessful status words are reported by the result instead of being thrown as a {@link
+ * org.eclipse.keyple.calypso.command.po.exception.CalypsoPoCommandException}.
+ *
+ * @since 1.1
+ */
+public final class PoCommandResult {
+
+  private final CalypsoPoCommand command;
+  private final PoCommandStatus status;
+  private final int statusCode;
+  private final String statusInformation;
+
+  /**
+   * (package-private)<br>
+   * Creates the result of a command from its response parser.
+   *
+   * @param command the command reference
+   * @param responseParser the parser of the response (should not be null)
+   */
+  PoCommandResult(CalypsoPoCommand command, AbstractPoResponseParser responseParser) {
+    this.command = command;
+    this.status = responseParser.getStatus();
+    this.statusCode = responseParser.getApduResponse().getStatusCode();
+    this.statusInformation = responseParser.getStatusInformation();
+  }
+
+  /**
+   * Gets the reference of the command.
+   *
+   * @return A not null reference
+   * @since 1.1
+   */
+  public CalypsoPoCommand getCommand() {
+    return command;
+  }
+
+  /**
+   * Gets the category of the status word returned by the PO.
+   *
+   * @return A not null reference
+   * @since 1.1
+   */
+  public PoCommandStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Gets the status word returned by the PO.
+   *
+   * @return An int value
+   * @since 1.1
+   */
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Gets the information associated to the status word.
+   *
+   * @return null if the status word is not referenced
+   * @since 1.1
+   */
+  public String getStatusInformation() {
+    return statusInformation;
+  }
+
+  /**
+   * Indicates if the command was successful.
+   *
+   * <p>The {@link CalypsoPo} is updated only with the data of the successful commands.
+   *
+   * @return true if the status is {@link PoCommandStatus#SUCCESS}
+   * @since 1.1
+   */
+  public boolean isSuccessful() {
+    return status.isSuccessful();
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("PoCommandResult{");
+    sb.append("command=").append(command);
+    sb.append(", status=").append(status);
+    sb.append(", statusCode=").append(String.format("%04X", statusCode));
+    sb.append(", statusInformation='").append(statusInformation).append('\'');
+    sb.append('}');
+    return sb.toString();
+  }
+}
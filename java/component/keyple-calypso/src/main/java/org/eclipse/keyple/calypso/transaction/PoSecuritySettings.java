@@ -15,6 +15,7 @@ import static org.eclipse.keyple.calypso.transaction.PoTransaction.SessionSettin
 
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.eclipse.keyple.calypso.KeyReference;
 import org.eclipse.keyple.core.card.selection.CardResource;
 
@@ -43,6 +44,9 @@ public class PoSecuritySettings {
   private final KeyReference defaultPinCipheringKey;
   private final PoTransaction.SvSettings.LogRead svGetLogReadMode;
   private final PoTransaction.SvSettings.NegativeBalance svNegativeBalance;
+  private final boolean samDigestUpdateMultipleEnabled;
+  private final Executor sessionTerminalChallengePrefetchExecutor;
+  private final Executor samDigestStreamingExecutor;
 
   public static final ModificationMode defaultSessionModificationMode = ModificationMode.ATOMIC;
   public static final RatificationMode defaultRatificationMode = RatificationMode.CLOSE_RATIFIED;
@@ -67,6 +71,10 @@ public class PoSecuritySettings {
     this.defaultPinCipheringKey = builder.defaultPinCipheringKey;
     this.svGetLogReadMode = builder.svGetLogReadMode;
     this.svNegativeBalance = builder.svNegativeBalance;
+    this.samDigestUpdateMultipleEnabled = builder.samDigestUpdateMultipleEnabled;
+    this.sessionTerminalChallengePrefetchExecutor =
+        builder.sessionTerminalChallengePrefetchExecutor;
+    this.samDigestStreamingExecutor = builder.samDigestStreamingExecutor;
   }
 
   /**
@@ -94,6 +102,9 @@ public class PoSecuritySettings {
     KeyReference defaultPinCipheringKey = nullPinCipheringKey;
     PoTransaction.SvSettings.LogRead svGetLogReadMode = defaultSvGetLogReadMode;
     PoTransaction.SvSettings.NegativeBalance svNegativeBalance = defaultSvNegativeBalance;
+    boolean samDigestUpdateMultipleEnabled;
+    Executor sessionTerminalChallengePrefetchExecutor;
+    Executor samDigestStreamingExecutor;
 
     /**
      * Constructor
@@ -243,6 +254,79 @@ public class PoSecuritySettings {
       return this;
     }
 
+    /**
+     * Enables or disables the grouping of the session digest data into SAM Digest Update Multiple
+     * commands<br>
+     * The default value is false
+     *
+     * <p>When enabled, and if the SAM revision supports it, the PO data exchanged during the secure
+     * session are sent to the SAM in as few Digest Update Multiple commands as possible instead of
+     * one Digest Update command per PO command or response.
+     *
+     * @param samDigestUpdateMultipleEnabled true to enable the use of Digest Update Multiple
+     * @return the builder instance
+     * @since 1.1
+     */
+    public PoSecuritySettingsBuilder samDigestUpdateMultiple(
+        boolean samDigestUpdateMultipleEnabled) {
+      this.samDigestUpdateMultipleEnabled = samDigestUpdateMultipleEnabled;
+      return this;
+    }
+
+    /**
+     * Enables the pre-fetching of the SAM terminal challenge<br>
+     * By default, the terminal challenge is requested from the SAM when the secure session is
+     * opened.
+     *
+     * <p>When enabled, the SAM Select Diversifier and Get Challenge commands are sent by the
+     * provided executor as soon as the {@link PoTransaction} is created, in parallel with the
+     * preparation and the other PO exchanges preceding the session opening. {@link
+     * PoTransaction#processOpening(AccessLevel)} then starts directly with the PO exchange when the
+     * challenge is ready. After a session has been closed, a new pre-fetching is started when a
+     * modifying command (e.g. Update Record, Increase) is prepared.
+     *
+     * <p>The pre-fetched challenge is kept across the PO exchanges performed outside a session. If
+     * other SAM commands are needed before the session opening (e.g. for a PIN or SV operation), it
+     * is requested again once these commands have been processed. It is dropped when the PO channel
+     * is released (see {@link PoTransaction#prepareReleasePoChannel()}) and by {@link
+     * PoTransaction#processCancel()}, one of which must take place before releasing the SAM
+     * resource. Dropping a challenge waits for the completion of its SAM exchange if the executor
+     * has already started it, so no command is sent to the SAM in the background afterwards.
+     *
+     * @param executor the executor used to send the SAM commands in the background, null to disable
+     *     the pre-fetching
+     * @return the builder instance
+     * @since 1.1
+     */
+    public PoSecuritySettingsBuilder sessionTerminalChallengePrefetch(Executor executor) {
+      this.sessionTerminalChallengePrefetchExecutor = executor;
+      return this;
+    }
+
+    /**
+     * Enables the streaming of the session digest data to the SAM<br>
+     * By default, the digest data of a secure session are sent to the SAM when the session is
+     * closed.
+     *
+     * <p>When enabled, the Digest Init and Digest Update commands are sent by the provided executor
+     * as soon as the PO responses are received (session opening and each {@link
+     * PoTransaction#processPoCommands()} inside the session), in parallel with the following PO
+     * exchanges. {@link PoTransaction#processClosing()} then only sends the remaining data and the
+     * Digest Close command.
+     *
+     * <p>An error raised by the SAM during a background exchange is reported by the next operation
+     * involving the SAM.
+     *
+     * @param executor the executor used to send the SAM commands in the background, null to disable
+     *     the streaming
+     * @return the builder instance
+     * @since 1.1
+     */
+    public PoSecuritySettingsBuilder samDigestStreaming(Executor executor) {
+      this.samDigestStreamingExecutor = executor;
+      return this;
+    }
+
     /**
      * Build a new {@code PoSecuritySettings}.
      *
@@ -367,4 +451,36 @@ public class PoSecuritySettings {
   PoTransaction.SvSettings.NegativeBalance getSvNegativeBalance() {
     return svNegativeBalance;
   }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return true if the use of the SAM Digest Update Multiple command is enabled
+   * @since 1.1
+   */
+  boolean isSamDigestUpdateMultipleEnabled() {
+    return samDigestUpdateMultipleEnabled;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the executor used to pre-fetch the SAM terminal challenge, null if the pre-fetching is
+   *     disabled
+   * @since 1.1
+   */
+  Executor getSessionTerminalChallengePrefetchExecutor() {
+    return sessionTerminalChallengePrefetchExecutor;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the executor used to stream the digest data to the SAM, null if the streaming is
+   *     disabled
+   * @since 1.1
+   */
+  Executor getSamDigestStreamingExecutor() {
+    return samDigestStreamingExecutor;
+  }
 }
@@ -21,6 +21,7 @@ import org.eclipse.keyple.calypso.transaction.exception.CalypsoDesynchronizedExc
 import org.eclipse.keyple.core.card.message.ApduResponse;
 import org.eclipse.keyple.core.card.message.CardSelectionResponse;
 import org.eclipse.keyple.core.card.selection.AbstractCardSelection;
+import org.eclipse.keyple.core.card.selection.CardSelectionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -127,22 +128,70 @@ public class PoSelection
    */
   @Override
   protected CalypsoPo parse(CardSelectionResponse cardSelectionResponse) {
+    checkResponsesCount(cardSelectionResponse);
+    return updateCalypsoPo(new CalypsoPo(cardSelectionResponse), cardSelectionResponse);
+  }
 
-    List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> commandBuilders =
-        getCommandBuilders();
-    List<ApduResponse> apduResponses = cardSelectionResponse.getCardResponse().getApduResponses();
+  /**
+   * Parses the provided {@link CardSelectionResponse} and create a {@link CalypsoPo} object,
+   * reusing the PO identification data already parsed from the same FCI or ATR if available in the
+   * cache.
+   *
+   * <p>The responses to the additional APDU commands executed after the selection are processed in
+   * all cases.
+   *
+   * @param cardSelectionResponse A reference to a {@link CardSelectionResponse}
+   * @param cardSelectionCache The cache of the already parsed POs
+   * @return A new {@link CalypsoPo}
+   * @throws CalypsoDesynchronizedExchangesException if the number of responses is different from
+   *     the number of requests
+   * @throws CalypsoPoCommandException if a response from the PO was unexpected
+   * @since 1.1
+   */
+  @Override
+  protected CalypsoPo parse(
+      CardSelectionResponse cardSelectionResponse, CardSelectionCache cardSelectionCache) {
+    checkResponsesCount(cardSelectionResponse);
+    /* the cached PO only holds the identification data, it is never returned */
+    CalypsoPo template =
+        (CalypsoPo) cardSelectionCache.get(this, cardSelectionResponse.getSelectionStatus());
+    if (template == null) {
+      template = new CalypsoPo(cardSelectionResponse);
+      cardSelectionCache.put(this, cardSelectionResponse.getSelectionStatus(), template);
+    }
+    return updateCalypsoPo(new CalypsoPo(cardSelectionResponse, template), cardSelectionResponse);
+  }
 
-    if (commandBuilders.size() != apduResponses.size()) {
+  /**
+   * (private)<br>
+   * Checks that a response has been received for each additional APDU command.
+   *
+   * @throws CalypsoDesynchronizedExchangesException if the number of responses is different from
+   *     the number of requests
+   */
+  private void checkResponsesCount(CardSelectionResponse cardSelectionResponse) {
+    if (getCommandBuilders().size()
+        != cardSelectionResponse.getCardResponse().getApduResponses().size()) {
       throw new CalypsoDesynchronizedExchangesException(
           "Mismatch in the number of requests/responses");
     }
+  }
 
-    CalypsoPo calypsoPo = new CalypsoPo(cardSelectionResponse);
-
+  /**
+   * (private)<br>
+   * Updates the {@link CalypsoPo} with the responses to the additional APDU commands.
+   *
+   * @throws CalypsoPoCommandException if a response from the PO was unexpected
+   */
+  private CalypsoPo updateCalypsoPo(
+      CalypsoPo calypsoPo, CardSelectionResponse cardSelectionResponse) {
+    List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> commandBuilders =
+        getCommandBuilders();
     if (!commandBuilders.isEmpty()) {
-      CalypsoPoUtils.updateCalypsoPo(calypsoPo, commandBuilders, apduResponses);
+      List<ApduResponse> apduResponses = cardSelectionResponse.getCardResponse().getApduResponses();
+      CalypsoPoUtils.updateCalypsoPo(
+          calypsoPo, new PoTransactionContext(), commandBuilders, apduResponses);
     }
-
     return calypsoPo;
   }
 }
@@ -16,6 +16,7 @@ import static org.eclipse.keyple.calypso.command.po.CalypsoPoCommand.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.keyple.calypso.SelectFileControl;
@@ -126,6 +127,20 @@ public class PoTransaction {
   private SvSettings.Action svAction;
   /** The {@link ChannelControl} action */
   private ChannelControl channelControl;
+  /** The data received from the PO and kept for the rest of the transaction */
+  private final PoTransactionContext poTransactionContext = new PoTransactionContext();
+  /** The response handler updating the CalypsoPo and throwing an exception on failure */
+  private final PoResponseHandler calypsoPoUpdater =
+      new PoResponseHandler() {
+        @Override
+        public boolean onResponse(
+            AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder,
+            ApduResponse apduResponse) {
+          CalypsoPoUtils.updateCalypsoPo(
+              calypsoPo, poTransactionContext, commandBuilder, apduResponse);
+          return true;
+        }
+      };
 
   /**
    * Constructor.
@@ -144,6 +159,8 @@ public class PoTransaction {
     this.poSecuritySettings = poSecuritySettings;
 
     samCommandProcessor = new SamCommandProcessor(poResource, poSecuritySettings);
+
+    prefetchSessionTerminalChallenge();
   }
 
   /**
@@ -249,7 +266,8 @@ public class PoTransaction {
     // the parser used for an internal usage here.
     AbstractOpenSessionRespPars poOpenSessionPars =
         (AbstractOpenSessionRespPars)
-            CalypsoPoUtils.updateCalypsoPo(calypsoPo, openSessionCmdBuild, poApduResponses.get(0));
+            CalypsoPoUtils.updateCalypsoPo(
+                calypsoPo, poTransactionContext, openSessionCmdBuild, poApduResponses.get(0));
     // Build the Digest Init command from PO Open Session
     // the session challenge is needed for the SAM digest computation
     byte[] sessionCardChallenge = poOpenSessionPars.getPoChallenge();
@@ -286,11 +304,13 @@ public class PoTransaction {
       samCommandProcessor.pushPoExchangeDataList(poApduRequests, poApduResponses, 1);
     }
 
+    streamSamDigest();
+
     // Remove Open Secure Session response and create a new CardResponse
     poApduResponses.remove(0);
 
     // update CalypsoPo with the received data
-    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poCommands, poApduResponses);
+    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poTransactionContext, poCommands, poApduResponses);
 
     sessionState = SessionState.SESSION_OPEN;
   }
@@ -336,6 +356,27 @@ public class PoTransaction {
   private void processAtomicPoCommands(
       List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> poCommands,
       ChannelControl channelControl) {
+    processAtomicPoCommands(poCommands, channelControl, calypsoPoUpdater);
+  }
+
+  /**
+   * (private)<br>
+   * Transmits the PO commands as described in {@link #processAtomicPoCommands(List,
+   * ChannelControl)} and hands each response over to the provided handler.
+   *
+   * @param poCommands the po commands
+   * @param channelControl indicated if the card channel of the PO reader must be closed after the
+   *     last command
+   * @param responseHandler the handler called for each response, in the order of the commands
+   * @return false if the handler reported the failure of an SV operation, true otherwise
+   * @throws CalypsoPoTransactionException if a functional error occurs (including PO and SAM IO
+   *     errors)
+   * @throws CalypsoPoCommandException if a response from the PO was unexpected
+   */
+  private boolean processAtomicPoCommands(
+      List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> poCommands,
+      ChannelControl channelControl,
+      PoResponseHandler responseHandler) {
 
     // Get the PO ApduRequest List
     List<ApduRequest> poApduRequests = getApduRequests(poCommands);
@@ -357,9 +398,31 @@ public class PoTransaction {
     // Session.
     if (sessionState == SessionState.SESSION_OPEN) {
       samCommandProcessor.pushPoExchangeDataList(poApduRequests, poApduResponses, 0);
+      streamSamDigest();
     }
 
-    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poCommands, poCardResponse.getApduResponses());
+    boolean svOperationFailed = false;
+    for (int i = 0; i < poCommands.size(); i++) {
+      AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder =
+          poCommands.get(i);
+      if (!responseHandler.onResponse(commandBuilder, poApduResponses.get(i))) {
+        CalypsoPoCommand command = commandBuilder.getCommandRef();
+        svOperationFailed |= command == SV_RELOAD || command == SV_DEBIT || command == SV_UNDEBIT;
+      }
+    }
+    return !svOperationFailed;
+  }
+
+  /**
+   * (private)<br>
+   * Sends the digest data collected so far to the SAM in the background if the streaming of the
+   * digest data is enabled in the {@link PoSecuritySettings}.
+   */
+  private void streamSamDigest() {
+    Executor executor = poSecuritySettings.getSamDigestStreamingExecutor();
+    if (executor != null) {
+      samCommandProcessor.feedDigest(executor);
+    }
   }
 
   /**
@@ -491,7 +554,8 @@ public class PoTransaction {
     // Check the commands executed before closing the secure session (only responses to these
     // commands
     // will be taken into account)
-    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poModificationCommands, poApduResponses);
+    CalypsoPoUtils.updateCalypsoPo(
+        calypsoPo, poTransactionContext, poModificationCommands, poApduResponses);
 
     // Check the PO's response to Close Secure Session
     CloseSessionRespPars poCloseSessionPars;
@@ -499,7 +563,10 @@ public class PoTransaction {
       poCloseSessionPars =
           (CloseSessionRespPars)
               CalypsoPoUtils.updateCalypsoPo(
-                  calypsoPo, closeSessionCmdBuild, poApduResponses.get(closeCommandIndex));
+                  calypsoPo,
+                  poTransactionContext,
+                  closeSessionCmdBuild,
+                  poApduResponses.get(closeCommandIndex));
     } catch (CalypsoPoSecurityDataException ex) {
       throw new CalypsoPoCloseSecureSessionException("Invalid PO session", ex);
     }
@@ -622,6 +689,26 @@ public class PoTransaction {
     }
   }
 
+  /**
+   * (private)<br>
+   * Handler of the responses to the PO commands transmitted by {@link
+   * #processAtomicPoCommands(List, ChannelControl, PoResponseHandler)}.
+   */
+  private interface PoResponseHandler {
+
+    /**
+     * Handles the response to a PO command.
+     *
+     * @param commandBuilder the builder of the command
+     * @param apduResponse the response received from the PO
+     * @return false if the command failed without an exception being thrown, true otherwise
+     * @throws CalypsoPoCommandException if a response from the PO was unexpected
+     */
+    boolean onResponse(
+        AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder,
+        ApduResponse apduResponse);
+  }
+
   /**
    * The PO Transaction State defined with the elements: ‘IOError’, ‘SEInserted’ and ‘SERemoval’.
    */
@@ -938,16 +1025,38 @@ public class PoTransaction {
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private void processPoCommandsOutOfSession(ChannelControl channelControl) {
+    processPoCommandsOutOfSession(channelControl, calypsoPoUpdater);
+  }
+
+  /**
+   * (private)<br>
+   * Process all prepared PO commands (outside a Secure Session) and hands each response over to
+   * the provided handler.
+   *
+   * <p>The SV signature returned by the PO is not checked if the handler reported the failure of
+   * the SV operation.
+   *
+   * @param channelControl indicates if the card channel of the PO reader must be closed after the
+   *     last command
+   * @param responseHandler the handler called for each response, in the order of the commands
+   * @throws CalypsoPoTransactionException if a functional error occurs (including PO and SAM IO
+   *     errors)
+   * @throws CalypsoPoCommandException if a response from the PO was unexpected
+   */
+  private void processPoCommandsOutOfSession(
+      ChannelControl channelControl, PoResponseHandler responseHandler) {
 
     // PO commands sent outside a Secure Session. No modifications buffer limitation.
-    processAtomicPoCommands(poCommandManager.getPoCommandBuilders(), channelControl);
+    boolean svOperationAccepted =
+        processAtomicPoCommands(
+            poCommandManager.getPoCommandBuilders(), channelControl, responseHandler);
 
     // sets the flag indicating that the commands have been executed
     poCommandManager.notifyCommandsProcessed();
 
     // If an SV transaction was performed, we check the signature returned by the PO here
-    if (poCommandManager.isSvOperationCompleteOneTime()) {
-      samCommandProcessor.checkSvStatus(CalypsoPoUtils.getSvOperationSignature());
+    if (poCommandManager.isSvOperationCompleteOneTime() && svOperationAccepted) {
+      samCommandProcessor.checkSvStatus(poTransactionContext.getSvOperationSignature());
     }
   }
 
@@ -1047,6 +1156,60 @@ public class PoTransaction {
     }
   }
 
+  /**
+   * Process all previously prepared PO commands outside a Secure Session and reports the status of
+   * each command instead of throwing an exception when a status word is not successful.
+   *
+   * <p>This variant is intended for applications which expect some commands to fail, for example
+   * when probing files or records which may be absent from the PO (status words 6A82 or 6A83).
+   * Since no {@link CalypsoPoCommandException} is created, the cost of the unsuccessful commands is
+   * the same as the cost of the successful ones.
+   *
+   * <ul>
+   *   <li>All APDUs resulting from prepared commands are grouped in a {@link CardRequest} and sent
+   *       to the PO.
+   *   <li>The {@link CalypsoPo} object is updated with the result of the successful commands only.
+   *   <li>The PO channel is closed depending on whether or not prepareReleasePoChannel has been
+   *       called.
+   * </ul>
+   *
+   * @return A not null list containing the result of each prepared command, in the order of
+   *     preparation
+   * @throws CalypsoPoTransactionIllegalStateException if a Secure Session is open
+   * @throws CalypsoPoTransactionException if a functional error occurs (including PO and SAM IO
+   *     errors)
+   * @throws CalypsoSamCommandException if a response from the SAM was unexpected
+   * @since 1.1
+   */
+  public final List<PoCommandResult> processPoCommandsAndGetResults() {
+    checkSessionIsNotOpen();
+
+    final List<PoCommandResult> results =
+        new ArrayList<PoCommandResult>(poCommandManager.getPoCommandBuilders().size());
+
+    processPoCommandsOutOfSession(
+        channelControl,
+        new PoResponseHandler() {
+          @Override
+          public boolean onResponse(
+              AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder,
+              ApduResponse apduResponse) {
+            AbstractPoResponseParser responseParser =
+                commandBuilder.createResponseParser(apduResponse);
+            boolean successful = responseParser.isSuccessful();
+            if (successful) {
+              responseParser =
+                  CalypsoPoUtils.updateCalypsoPo(
+                      calypsoPo, poTransactionContext, commandBuilder, responseParser);
+            }
+            results.add(new PoCommandResult(commandBuilder.getCommandRef(), responseParser));
+            return successful;
+          }
+        });
+
+    return results;
+  }
+
   /**
    * Terminates the Secure Session sequence started with {@link
    * #processOpening(SessionSetting.AccessLevel)}.
@@ -1193,6 +1356,16 @@ public class PoTransaction {
    * @since 0.9
    */
   public final void processCancel() {
+    if (samCommandProcessor != null) {
+      // the session is aborted, the results of the background SAM exchanges are irrelevant
+      dropPrefetchedTerminalChallenge();
+      try {
+        samCommandProcessor.waitForDigestFeed();
+      } catch (RuntimeException e) {
+        logger.debug("Digest data streaming failed: {}", e.getMessage());
+      }
+    }
+
     // PO ApduRequest List to hold Close Secure Session command
     List<ApduRequest> poApduRequests = new ArrayList<ApduRequest>();
 
@@ -1271,7 +1444,7 @@ public class PoTransaction {
 
       // Get the encrypted PIN with the help of the SAM
       byte[] cipheredPin =
-          samCommandProcessor.getCipheredPinData(CalypsoPoUtils.getPoChallenge(), pin, null);
+          samCommandProcessor.getCipheredPinData(poTransactionContext.getPoChallenge(), pin, null);
       poCommandManager.addRegularCommand(
           new VerifyPinCmdBuild(
               calypsoPo.getPoClass(), PinTransmissionMode.ENCRYPTED, cipheredPin));
@@ -1309,6 +1482,40 @@ public class PoTransaction {
       return poReader.transmitCardRequest(poCardRequest, channelControl);
     } catch (KeypleReaderIOException e) {
       throw new CalypsoPoIOException("PO IO Exception while transmitting commands.", e);
+    } finally {
+      if (channelControl == ChannelControl.CLOSE_AFTER) {
+        // no session can be opened anymore with this PO
+        dropPrefetchedTerminalChallenge();
+      }
+    }
+  }
+
+  /**
+   * Starts the pre-fetching of the SAM terminal challenge if enabled in the {@link
+   * PoSecuritySettings}
+   *
+   * <p>Called when the transaction is created and when a modifying command is prepared outside a
+   * Secure Session, i.e. when a session opening is expected. Does nothing if a pre-fetching is
+   * already pending.
+   */
+  private void prefetchSessionTerminalChallenge() {
+    if (sessionState != SessionState.SESSION_OPEN
+        && poSecuritySettings != null
+        && poSecuritySettings.getSessionTerminalChallengePrefetchExecutor() != null) {
+      samCommandProcessor.prefetchSessionTerminalChallenge(
+          poSecuritySettings.getSessionTerminalChallengePrefetchExecutor());
+    }
+  }
+
+  /**
+   * Drops the pre-fetched SAM terminal challenge if any, so that no SAM command is sent in the
+   * background anymore
+   *
+   * @throws CalypsoSamIOException if the current thread is interrupted while waiting.
+   */
+  private void dropPrefetchedTerminalChallenge() {
+    if (samCommandProcessor != null) {
+      samCommandProcessor.dropPrefetchedTerminalChallenge();
     }
   }
 
@@ -1633,6 +1840,7 @@ public class PoTransaction {
         .isInRange((int) sfi, CalypsoPoUtils.SFI_MIN, CalypsoPoUtils.SFI_MAX, "sfi");
 
     // create the builder and add it to the list of commands
+    prefetchSessionTerminalChallenge();
     poCommandManager.addRegularCommand(
         new AppendRecordCmdBuild(calypsoPo.getPoClass(), sfi, recordData));
   }
@@ -1660,6 +1868,7 @@ public class PoTransaction {
             recordNumber, CalypsoPoUtils.NB_REC_MIN, CalypsoPoUtils.NB_REC_MAX, "recordNumber");
 
     // create the builder and add it to the list of commands
+    prefetchSessionTerminalChallenge();
     poCommandManager.addRegularCommand(
         new UpdateRecordCmdBuild(calypsoPo.getPoClass(), sfi, recordNumber, recordData));
   }
@@ -1687,6 +1896,7 @@ public class PoTransaction {
             recordNumber, CalypsoPoUtils.NB_REC_MIN, CalypsoPoUtils.NB_REC_MAX, "recordNumber");
 
     // create the builder and add it to the list of commands
+    prefetchSessionTerminalChallenge();
     poCommandManager.addRegularCommand(
         new WriteRecordCmdBuild(calypsoPo.getPoClass(), sfi, recordNumber, recordData));
   }
@@ -1717,6 +1927,7 @@ public class PoTransaction {
             incValue, CalypsoPoUtils.CNT_VALUE_MIN, CalypsoPoUtils.CNT_VALUE_MAX, "incValue");
 
     // create the builder and add it to the list of commands
+    prefetchSessionTerminalChallenge();
     poCommandManager.addRegularCommand(
         new IncreaseCmdBuild(calypsoPo.getPoClass(), sfi, counterNumber, incValue));
   }
@@ -1747,6 +1958,7 @@ public class PoTransaction {
             decValue, CalypsoPoUtils.CNT_VALUE_MIN, CalypsoPoUtils.CNT_VALUE_MAX, "decValue");
 
     // create the builder and add it to the list of commands
+    prefetchSessionTerminalChallenge();
     poCommandManager.addRegularCommand(
         new DecreaseCmdBuild(calypsoPo.getPoClass(), sfi, counterNumber, decValue));
   }
@@ -1902,7 +2114,7 @@ public class PoTransaction {
             calypsoPo.getPoClass(),
             calypsoPo.getRevision(),
             amount,
-            CalypsoPoUtils.getSvKvc(),
+            poTransactionContext.getSvKvc(),
             date,
             time,
             free);
@@ -1910,7 +2122,9 @@ public class PoTransaction {
     // get the security data from the SAM
     byte[] svReloadComplementaryData =
         samCommandProcessor.getSvReloadComplementaryData(
-            svReloadCmdBuild, CalypsoPoUtils.getSvGetHeader(), CalypsoPoUtils.getSvGetData());
+            svReloadCmdBuild,
+            poTransactionContext.getSvGetHeader(),
+            poTransactionContext.getSvGetData());
 
     // finalize the SvReload command builder with the data provided by the SAM
     svReloadCmdBuild.finalizeBuilder(svReloadComplementaryData);
@@ -1963,14 +2177,16 @@ public class PoTransaction {
             calypsoPo.getPoClass(),
             calypsoPo.getRevision(),
             amount,
-            CalypsoPoUtils.getSvKvc(),
+            poTransactionContext.getSvKvc(),
             date,
             time);
 
     // get the security data from the SAM
     byte[] svDebitComplementaryData =
         samCommandProcessor.getSvDebitComplementaryData(
-            svDebitCmdBuild, CalypsoPoUtils.getSvGetHeader(), CalypsoPoUtils.getSvGetData());
+            svDebitCmdBuild,
+            poTransactionContext.getSvGetHeader(),
+            poTransactionContext.getSvGetData());
 
     // finalize the SvDebit command builder with the data provided by the SAM
     svDebitCmdBuild.finalizeBuilder(svDebitComplementaryData);
@@ -1997,14 +2213,16 @@ public class PoTransaction {
             calypsoPo.getPoClass(),
             calypsoPo.getRevision(),
             amount,
-            CalypsoPoUtils.getSvKvc(),
+            poTransactionContext.getSvKvc(),
             date,
             time);
 
     // get the security data from the SAM
     byte[] svDebitComplementaryData =
         samCommandProcessor.getSvUndebitComplementaryData(
-            svUndebitCmdBuild, CalypsoPoUtils.getSvGetHeader(), CalypsoPoUtils.getSvGetData());
+            svUndebitCmdBuild,
+            poTransactionContext.getSvGetHeader(),
+            poTransactionContext.getSvGetData());
 
     // finalize the SvUndebit command builder with the data provided by the SAM
     svUndebitCmdBuild.finalizeBuilder(svDebitComplementaryData);
@@ -2120,6 +2338,7 @@ public class PoTransaction {
     if (calypsoPo.isDfInvalidated()) {
       throw new CalypsoPoTransactionIllegalStateException("This PO is already invalidated.");
     }
+    prefetchSessionTerminalChallenge();
     poCommandManager.addRegularCommand(new InvalidateCmdBuild(calypsoPo.getPoClass()));
   }
 
@@ -2136,6 +2355,7 @@ public class PoTransaction {
     if (!calypsoPo.isDfInvalidated()) {
       throw new CalypsoPoTransactionIllegalStateException("This PO is not invalidated.");
     }
+    prefetchSessionTerminalChallenge();
     poCommandManager.addRegularCommand(new RehabilitateCmdBuild(calypsoPo.getPoClass()));
   }
 }
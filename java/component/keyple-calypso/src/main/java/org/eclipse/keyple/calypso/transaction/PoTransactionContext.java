@@ -0,0 +1,126 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+/**
+ * (package-private)<br>
+ * Holds the data received from the PO during a transaction that are needed later by the same
+ * transaction: the PO challenge and the Stored Value data (SV Get command header and response, SV
+ * KVC, last SV operation signature).
+ *
+ * <p>An instance is owned by a single {@link PoTransaction} and updated by {@link CalypsoPoUtils}
+ * when the PO responses are processed, so that transactions operated in parallel on different
+ * readers do not share any state.
+ *
+ * @since 1.1
+ */
+final class PoTransactionContext {
+
+  private byte[] poChallenge;
+  private byte svKvc;
+  private byte[] svGetHeader;
+  private byte[] svGetData;
+  private byte[] svOperationSignature;
+
+  /**
+   * (package-private)<br>
+   * Gets the challenge received from the PO
+   *
+   * @return an array of bytes containing the challenge bytes (variable length according to the
+   *     revision of the PO). May be null if the challenge is not available.
+   * @since 1.1
+   */
+  byte[] getPoChallenge() {
+    return poChallenge;
+  }
+
+  /**
+   * (package-private)<br>
+   * Sets the challenge received from the PO
+   *
+   * @param poChallenge the challenge bytes.
+   * @since 1.1
+   */
+  void setPoChallenge(byte[] poChallenge) {
+    this.poChallenge = poChallenge;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the SV KVC from the PO
+   *
+   * @return the SV KVC byte.
+   * @since 1.1
+   */
+  byte getSvKvc() {
+    return svKvc;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the SV Get command header
+   *
+   * @return a byte array containing the SV Get command header or null if not available.
+   * @since 1.1
+   */
+  byte[] getSvGetHeader() {
+    return svGetHeader;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the SV Get command response data
+   *
+   * @return a byte array containing the SV Get command response data or null if not available.
+   * @since 1.1
+   */
+  byte[] getSvGetData() {
+    return svGetData;
+  }
+
+  /**
+   * (package-private)<br>
+   * Sets the data resulting from a SV Get command
+   *
+   * @param svKvc the SV KVC.
+   * @param svGetHeader the SV Get command header.
+   * @param svGetData the SV Get command response data.
+   * @since 1.1
+   */
+  void setSvGetData(byte svKvc, byte[] svGetHeader, byte[] svGetData) {
+    this.svKvc = svKvc;
+    this.svGetHeader = svGetHeader;
+    this.svGetData = svGetData;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the last SV Operation signature (SV Reload, Debit or Undebit)
+   *
+   * @return a byte array containing the SV Operation signature or null if not available.
+   * @since 1.1
+   */
+  byte[] getSvOperationSignature() {
+    return svOperationSignature;
+  }
+
+  /**
+   * (package-private)<br>
+   * Sets the last SV Operation signature (SV Reload, Debit or Undebit)
+   *
+   * @param svOperationSignature the signature returned by the PO.
+   * @since 1.1
+   */
+  void setSvOperationSignature(byte[] svOperationSignature) {
+    this.svOperationSignature = svOperationSignature;
+  }
+}
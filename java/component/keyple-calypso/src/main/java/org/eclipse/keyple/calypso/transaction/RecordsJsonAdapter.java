@@ -0,0 +1,75 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+import com.google.gson.*;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * (package-private)<br>
+ * Serializer/Deserializer of the records of a {@link FileData}.
+ *
+ * <p>The array indexed by record number is exchanged as an object whose keys are the numbers of the
+ * known records, the JSON shape of the former {@code TreeMap<Integer, byte[]>}.
+ *
+ * @since 1.1
+ */
+final class RecordsJsonAdapter implements JsonSerializer<byte[][]>, JsonDeserializer<byte[][]> {
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public JsonElement serialize(
+      byte[][] records, Type type, JsonSerializationContext jsonSerializationContext) {
+
+    JsonObject output = new JsonObject();
+    for (int i = 0; i < records.length; i++) {
+      if (records[i] != null) {
+        output.add(String.valueOf(i + 1), jsonSerializationContext.serialize(records[i]));
+      }
+    }
+    return output;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The record numbers are checked against the range allowed by the PO so that a malformed input
+   * cannot lead to a huge allocation.
+   *
+   * @since 1.1
+   */
+  @Override
+  public byte[][] deserialize(
+      JsonElement jsonElement, Type type, JsonDeserializationContext jsonDeserializationContext)
+      throws JsonParseException {
+
+    byte[][] records = new byte[0][];
+    for (Map.Entry<String, JsonElement> entry : jsonElement.getAsJsonObject().entrySet()) {
+      int numRecord = Integer.parseInt(entry.getKey());
+      if (numRecord < CalypsoPoUtils.NB_REC_MIN || numRecord > CalypsoPoUtils.NB_REC_MAX) {
+        throw new JsonParseException("Invalid record number " + entry.getKey());
+      }
+      if (numRecord > records.length) {
+        records = Arrays.copyOf(records, numRecord);
+      }
+      records[numRecord - 1] =
+          jsonDeserializationContext.deserialize(entry.getValue(), byte[].class);
+    }
+    return records;
+  }
+}
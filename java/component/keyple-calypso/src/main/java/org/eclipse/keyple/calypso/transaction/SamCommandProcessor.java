@@ -14,6 +14,11 @@ package org.eclipse.keyple.calypso.transaction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.keyple.calypso.KeyReference;
 import org.eclipse.keyple.calypso.command.po.PoRevision;
 import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvDebitCmdBuild;
@@ -21,6 +26,7 @@ import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvReloadCmdBuil
 import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvUndebitCmdBuild;
 import org.eclipse.keyple.calypso.command.sam.AbstractSamCommandBuilder;
 import org.eclipse.keyple.calypso.command.sam.AbstractSamResponseParser;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
 import org.eclipse.keyple.calypso.command.sam.builder.security.*;
 import org.eclipse.keyple.calypso.command.sam.exception.CalypsoSamCommandException;
 import org.eclipse.keyple.calypso.command.sam.parser.security.CardCipherPinRespPars;
@@ -64,6 +70,7 @@ class SamCommandProcessor {
   private static final byte CHALLENGE_LENGTH_REV32 = (byte) 0x08;
   private static final byte SIGNATURE_LENGTH_REV_INF_32 = (byte) 0x04;
   private static final byte SIGNATURE_LENGTH_REV32 = (byte) 0x08;
+  private static final int DIGEST_UPDATE_MULTIPLE_MAX_DATA_LENGTH = 255;
 
   /** The SAM resource */
   private final CardResource<CalypsoSam> samResource;
@@ -76,9 +83,9 @@ class SamCommandProcessor {
   /*
    * The digest data cache stores all PO data to be send to SAM during a Secure Session. The 1st
    * buffer is the data buffer to be provided with Digest Init. The following buffers are PO
-   * command/response pairs
+   * command/response pairs. It is owned by this processor to allow concurrent sessions.
    */
-  private static final List<byte[]> poDigestDataCache = new ArrayList<byte[]>();
+  private final DigestDataCache poDigestDataCache = new DigestDataCache();
   private boolean sessionEncryption;
   private boolean verificationMode;
   private byte workKeyRecordNumber;
@@ -87,6 +94,10 @@ class SamCommandProcessor {
   private boolean isDiversificationDone;
   private boolean isDigestInitDone;
   private boolean isDigesterInitialized;
+  /** The terminal challenge requested in advance from the SAM, null if none */
+  private TerminalChallengePrefetch prefetchedTerminalChallenge;
+  /** The digest commands being sent to the SAM in the background, null if none */
+  private FutureTask<Void> pendingDigestFeed;
 
   /**
    * Constructor
@@ -102,9 +113,182 @@ class SamCommandProcessor {
     samReader = (ProxyReader) this.samResource.getReader();
   }
 
+  /**
+   * (private)<br>
+   * The terminal challenge requested from the SAM in the background
+   *
+   * <p>The request is claimed either by the executor thread when it starts the SAM exchange, or by
+   * the transaction when it withdraws the request. Once withdrawn, the task sends nothing to the
+   * SAM even if the executor runs it later.
+   */
+  private final class TerminalChallengePrefetch implements Callable<byte[]> {
+
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    private final FutureTask<byte[]> task = new FutureTask<byte[]>(this);
+    private final Executor executor;
+
+    /**
+     * Constructor
+     *
+     * @param executor the executor sending the SAM commands
+     */
+    TerminalChallengePrefetch(Executor executor) {
+      this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the terminal challenge, null if the request has been withdrawn
+     */
+    @Override
+    public byte[] call() {
+      if (!claimed.compareAndSet(false, true)) {
+        return null;
+      }
+      return fetchSessionTerminalChallenge();
+    }
+
+    /**
+     * Withdraws the request if the SAM exchange has not started yet
+     *
+     * @return true if withdrawn, false if the SAM exchange has already started
+     */
+    boolean withdraw() {
+      return claimed.compareAndSet(false, true);
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Requests the terminal challenge from the SAM in the background
+   *
+   * <p>The SAM commands of {@link #getSessionTerminalChallenge()} are sent by the provided
+   * executor. The result is returned by the next call to {@link #getSessionTerminalChallenge()}.
+   * If other SAM commands are needed before, the challenge is dropped and requested again once
+   * these commands have been successfully processed.
+   *
+   * <p>Does nothing if a request is already pending.
+   *
+   * @param executor the executor sending the SAM commands
+   * @since 1.1
+   */
+  void prefetchSessionTerminalChallenge(Executor executor) {
+    if (prefetchedTerminalChallenge != null) {
+      return;
+    }
+    TerminalChallengePrefetch terminalChallenge = new TerminalChallengePrefetch(executor);
+    prefetchedTerminalChallenge = terminalChallenge;
+    executor.execute(terminalChallenge.task);
+  }
+
   /**
    * Gets the terminal challenge
    *
+   * <p>Returns the challenge pre-fetched with {@link #prefetchSessionTerminalChallenge(Executor)}
+   * if any, waiting for its reception if needed. Otherwise, including when the executor has not
+   * started the pre-fetching yet, the challenge is requested from the SAM by the current thread.
+   *
+   * @return the terminal challenge as an array of bytes
+   * @throws CalypsoSamIOException if the communication with the SAM has failed.
+   * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges are out of sync
+   * @throws CalypsoSamCommandException if the SAM has responded with an error status
+   * @since 0.9
+   */
+  byte[] getSessionTerminalChallenge() {
+    TerminalChallengePrefetch terminalChallenge = prefetchedTerminalChallenge;
+    prefetchedTerminalChallenge = null;
+    if (terminalChallenge == null || terminalChallenge.withdraw()) {
+      return fetchSessionTerminalChallenge();
+    }
+    return getSamExchangeResult(terminalChallenge.task, "getting terminal challenge");
+  }
+
+  /**
+   * (private)<br>
+   * Waits for the completion of a SAM exchange performed in the background and returns its result
+   *
+   * @param samExchange the SAM exchange
+   * @param description the description of the exchange, used in the error messages
+   * @return the result of the exchange
+   * @throws CalypsoSamIOException if the current thread is interrupted while waiting.
+   * @throws RuntimeException the exception raised by the exchange, if any
+   */
+  private static <T> T getSamExchangeResult(FutureTask<T> samExchange, String description) {
+    try {
+      return samExchange.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new CalypsoSamIOException("Unexpected error while " + description + ".", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CalypsoSamIOException("Interrupted while " + description + ".", e);
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Drops the pre-fetched terminal challenge if any
+   *
+   * <p>The request is withdrawn if the executor has not started it yet, otherwise the completion of
+   * its SAM exchange is awaited. Once this method has returned, no SAM command is sent in the
+   * background anymore.
+   *
+   * <p>Must be called before any other SAM exchange, the challenge being no longer valid once
+   * another command has been processed by the SAM, and before the SAM resource is released.
+   *
+   * @throws CalypsoSamIOException if the current thread is interrupted while waiting.
+   * @since 1.1
+   */
+  void dropPrefetchedTerminalChallenge() {
+    TerminalChallengePrefetch terminalChallenge = prefetchedTerminalChallenge;
+    prefetchedTerminalChallenge = null;
+    if (terminalChallenge == null || terminalChallenge.withdraw()) {
+      return;
+    }
+    try {
+      terminalChallenge.task.get();
+    } catch (ExecutionException e) {
+      // the challenge is not used, the failure will be reported by the next SAM exchange if any
+      logger.debug("Pre-fetching of the terminal challenge failed.", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CalypsoSamIOException("Interrupted while getting terminal challenge.", e);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Drops the pre-fetched terminal challenge before another SAM exchange
+   *
+   * @return the executor of the dropped pre-fetching, null if none
+   * @throws CalypsoSamIOException if the current thread is interrupted while waiting.
+   */
+  private Executor suspendTerminalChallengePrefetch() {
+    TerminalChallengePrefetch terminalChallenge = prefetchedTerminalChallenge;
+    dropPrefetchedTerminalChallenge();
+    return terminalChallenge != null ? terminalChallenge.executor : null;
+  }
+
+  /**
+   * (private)<br>
+   * Restarts the pre-fetching dropped by {@link #suspendTerminalChallengePrefetch()}
+   *
+   * @param executor the executor returned by {@link #suspendTerminalChallengePrefetch()}, null if
+   *     no pre-fetching was dropped
+   */
+  private void resumeTerminalChallengePrefetch(Executor executor) {
+    if (executor != null) {
+      prefetchSessionTerminalChallenge(executor);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Requests the terminal challenge from the SAM
+   *
    * <p>Performs key diversification if necessary by sending the SAM Select Diversifier command
    * prior to the Get Challenge command. The diversification flag is set to avoid further
    * unnecessary diversification operations.
@@ -118,9 +302,8 @@ class SamCommandProcessor {
    * @throws CalypsoSamIOException if the communication with the SAM has failed.
    * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges are out of sync
    * @throws CalypsoSamCommandException if the SAM has responded with an error status
-   * @since 0.9
    */
-  byte[] getSessionTerminalChallenge() {
+  private byte[] fetchSessionTerminalChallenge() {
     List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
 
     // diversify only if this has not already been done.
@@ -285,8 +468,7 @@ class SamCommandProcessor {
     // excluded from the digest computation. In this cas, we remove here the last byte of the
     // command buffer.
     if (request.isCase4()) {
-      poDigestDataCache.add(
-          Arrays.copyOfRange(request.getBytes(), 0, request.getBytes().length - 1));
+      poDigestDataCache.add(request.getBytes(), 0, request.getBytes().length - 1);
     } else {
       poDigestDataCache.add(request.getBytes());
     }
@@ -315,6 +497,87 @@ class SamCommandProcessor {
     }
   }
 
+  /**
+   * (private)<br>
+   * Indicates whether the digest data can be sent with Digest Update Multiple commands.
+   *
+   * <p>The feature has to be enabled in the security settings, the SAM has to be a C1 SAM and the
+   * session must not be encrypted (in this case the SAM has to return each deciphered response).
+   *
+   * @return true if Digest Update Multiple can be used
+   */
+  private boolean isDigestUpdateMultipleAllowed() {
+    return poSecuritySettings.isSamDigestUpdateMultipleEnabled()
+        && samResource.getSmartCard().getSamRevision() == SamRevision.C1
+        && !sessionEncryption;
+  }
+
+  /**
+   * (private)<br>
+   * Groups the digest data blocks starting at the provided index into Digest Update Multiple
+   * commands.
+   *
+   * <p>Each block is encoded in the command data as a length byte followed by the block itself. The
+   * order of the blocks is preserved. A group made of a single block and a block that can't fit in
+   * a command are sent with a regular Digest Update command.
+   *
+   * @param samCommands the list of commands to complete
+   * @param firstIndex the index of the first block to process
+   */
+  private void addDigestUpdateMultipleCommands(
+      List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands,
+      int firstIndex) {
+    SamRevision samRevision = samResource.getSmartCard().getSamRevision();
+    byte[] buffer = new byte[DIGEST_UPDATE_MULTIPLE_MAX_DATA_LENGTH];
+    int bufferLength = 0;
+    int groupFirstIndex = firstIndex;
+    for (int i = firstIndex; i < poDigestDataCache.size(); i++) {
+      int blockLength = poDigestDataCache.getBlockLength(i);
+      if (bufferLength + 1 + blockLength > DIGEST_UPDATE_MULTIPLE_MAX_DATA_LENGTH) {
+        // the current block doesn't fit, flush the current group
+        addDigestUpdateGroup(samCommands, samRevision, buffer, bufferLength, groupFirstIndex, i);
+        bufferLength = 0;
+        groupFirstIndex = i;
+        if (1 + blockLength > DIGEST_UPDATE_MULTIPLE_MAX_DATA_LENGTH) {
+          // the block is too long to be grouped
+          samCommands.add(
+              new DigestUpdateCmdBuild(
+                  samRevision, sessionEncryption, poDigestDataCache.getBlock(i)));
+          groupFirstIndex = i + 1;
+          continue;
+        }
+      }
+      buffer[bufferLength++] = (byte) blockLength;
+      bufferLength += poDigestDataCache.copyBlock(i, buffer, bufferLength);
+    }
+    addDigestUpdateGroup(
+        samCommands, samRevision, buffer, bufferLength, groupFirstIndex, poDigestDataCache.size());
+  }
+
+  /**
+   * (private)<br>
+   * Adds the command corresponding to a group of blocks: nothing if the group is empty, a Digest
+   * Update if it contains a single block, a Digest Update Multiple otherwise.
+   */
+  private void addDigestUpdateGroup(
+      List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands,
+      SamRevision samRevision,
+      byte[] buffer,
+      int bufferLength,
+      int groupFirstIndex,
+      int groupEndIndex) {
+    int blocksNumber = groupEndIndex - groupFirstIndex;
+    if (blocksNumber == 1) {
+      samCommands.add(
+          new DigestUpdateCmdBuild(
+              samRevision, sessionEncryption, poDigestDataCache.getBlock(groupFirstIndex)));
+    } else if (blocksNumber > 1) {
+      samCommands.add(
+          new DigestUpdateMultipleCmdBuild(
+              samRevision, sessionEncryption, Arrays.copyOf(buffer, bufferLength)));
+    }
+  }
+
   /**
    * Gets a single SAM request for all prepared SAM commands.
    *
@@ -323,7 +586,8 @@ class SamCommandProcessor {
    *
    * <ul>
    *   <li>Starts with a Digest Init command if not already done,
-   *   <li>Adds as many Digest Update commands as there are packages in the cache,
+   *   <li>Adds as many Digest Update commands as there are packages in the cache, or groups them in
+   *       Digest Update Multiple commands when allowed,
    *   <li>Appends a Digest Close command if the addDigestClose flag is set to true.
    * </ul>
    *
@@ -333,12 +597,11 @@ class SamCommandProcessor {
    */
   private List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>
       getPendingSamCommands(boolean addDigestClose) {
-    // TODO optimization with the use of Digest Update Multiple whenever possible.
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
 
-    // sanity checks
-    if (poDigestDataCache.isEmpty()) {
+    // sanity checks (the cache may be empty once the Digest Init has been sent)
+    if (!isDigestInitDone && poDigestDataCache.isEmpty()) {
       logger.debug("getSamDigestRequest: no data in cache.");
       throw new IllegalStateException("Digest data cache is empty.");
     }
@@ -351,11 +614,11 @@ class SamCommandProcessor {
       throw new IllegalStateException("Digest data cache is inconsistent.");
     }
 
+    int firstDigestUpdateIndex = 0;
     if (!isDigestInitDone) {
       // Build and append Digest Init command as first ApduRequest of the digest computation
       // process. The Digest Init command comes from the Open Secure Session response from the
-      // PO. Once added to the ApduRequest list, the data is remove from the cache to keep
-      // only couples of PO request/response
+      // PO.
       samCommands.add(
           new DigestInitCmdBuild(
               samResource.getSmartCard().getSamRevision(),
@@ -364,19 +627,24 @@ class SamCommandProcessor {
               workKeyRecordNumber,
               workKeyKif,
               workKeyKVC,
-              poDigestDataCache.get(0)));
-      poDigestDataCache.remove(0);
+              poDigestDataCache.getBlock(0)));
+      // the first buffer is skipped below to keep only couples of PO request/response
+      firstDigestUpdateIndex = 1;
       // note that the digest init has been made
       isDigestInitDone = true;
     }
 
-    // Build and append Digest Update commands
-    for (int i = 0; i < poDigestDataCache.size(); i++) {
-      samCommands.add(
-          new DigestUpdateCmdBuild(
-              samResource.getSmartCard().getSamRevision(),
-              sessionEncryption,
-              poDigestDataCache.get(i)));
+    // Build and append Digest Update (Multiple) commands
+    if (isDigestUpdateMultipleAllowed()) {
+      addDigestUpdateMultipleCommands(samCommands, firstDigestUpdateIndex);
+    } else {
+      for (int i = firstDigestUpdateIndex; i < poDigestDataCache.size(); i++) {
+        samCommands.add(
+            new DigestUpdateCmdBuild(
+                samResource.getSmartCard().getSamRevision(),
+                sessionEncryption,
+                poDigestDataCache.getBlock(i)));
+      }
     }
 
     // clears cached commands once they have been processed
@@ -396,23 +664,78 @@ class SamCommandProcessor {
   }
 
   /**
-   * Gets the terminal signature from the SAM
+   * (package-private)<br>
+   * Sends the pending digest commands to the SAM in the background
    *
-   * <p>All remaining data in the digest cache is sent to the SAM and the Digest Close command is
-   * executed.
+   * <p>The Digest Init command (if not already sent) and the Digest Update commands corresponding
+   * to the data currently in the digest cache are built here, then transmitted by the provided
+   * executor while the PO exchanges go on. The cache is emptied.
+   *
+   * <p>The next SAM exchange waits for the completion of this one and reports its errors.
+   *
+   * @param executor the executor sending the SAM commands
+   * @throws CalypsoSamIOException if the communication with the SAM has failed during the previous
+   *     background exchange.
+   * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges of the previous
+   *     background exchange are out of sync
+   * @throws CalypsoSamCommandException if the SAM has responded with an error status to the
+   *     previous background exchange
+   * @since 1.1
+   */
+  void feedDigest(Executor executor) {
+    waitForDigestFeed();
+
+    final List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
+        getPendingSamCommands(false);
+    if (samCommands.isEmpty()) {
+      return;
+    }
+
+    FutureTask<Void> digestFeed =
+        new FutureTask<Void>(
+            new Callable<Void>() {
+              @Override
+              public Void call() {
+                transmitDigestCommands(samCommands);
+                return null;
+              }
+            });
+    pendingDigestFeed = digestFeed;
+    executor.execute(digestFeed);
+  }
+
+  /**
+   * (package-private)<br>
+   * Waits for the completion of the digest commands sent in the background, if any
+   *
+   * <p>Nothing is done if no background exchange is pending.
    *
-   * @return the terminal signature
    * @throws CalypsoSamIOException if the communication with the SAM has failed.
    * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges are out of sync
    * @throws CalypsoSamCommandException if the SAM has responded with an error status
-   * @since 0.9
+   * @since 1.1
    */
-  byte[] getTerminalSignature() {
+  void waitForDigestFeed() {
+    FutureTask<Void> digestFeed = pendingDigestFeed;
+    if (digestFeed == null) {
+      return;
+    }
+    pendingDigestFeed = null;
+    getSamExchangeResult(digestFeed, "transmitting digest data");
+  }
 
-    // All remaining SAM digest operations will now run at once.
-    // Get the SAM Digest request including Digest Close from the cache manager
-    List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
-        getPendingSamCommands(true);
+  /**
+   * (private)<br>
+   * Transmits digest commands to the SAM and checks the status of all responses
+   *
+   * @param samCommands the digest commands
+   * @return the SAM responses
+   * @throws CalypsoSamIOException if the communication with the SAM has failed.
+   * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges are out of sync
+   * @throws CalypsoSamCommandException if the SAM has responded with an error status
+   */
+  private List<ApduResponse> transmitDigestCommands(
+      List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands) {
 
     CardRequest samCardRequest = new CardRequest(getApduRequests(samCommands));
 
@@ -440,6 +763,32 @@ class SamCommandProcessor {
       samCommands.get(i).createResponseParser(samApduResponses.get(i)).checkStatus();
     }
 
+    return samApduResponses;
+  }
+
+  /**
+   * Gets the terminal signature from the SAM
+   *
+   * <p>All remaining data in the digest cache is sent to the SAM and the Digest Close command is
+   * executed.
+   *
+   * @return the terminal signature
+   * @throws CalypsoSamIOException if the communication with the SAM has failed.
+   * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges are out of sync
+   * @throws CalypsoSamCommandException if the SAM has responded with an error status
+   * @since 0.9
+   */
+  byte[] getTerminalSignature() {
+
+    waitForDigestFeed();
+
+    // All remaining SAM digest operations will now run at once.
+    // Get the SAM Digest request including Digest Close from the cache manager
+    List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
+        getPendingSamCommands(true);
+
+    List<ApduResponse> samApduResponses = transmitDigestCommands(samCommands);
+
     // Get Terminal Signature from the latest response
     DigestCloseRespPars digestCloseRespPars =
         (DigestCloseRespPars)
@@ -532,6 +881,9 @@ class SamCommandProcessor {
    * @since 0.9
    */
   byte[] getCipheredPinData(byte[] poChallenge, byte[] currentPin, byte[] newPin) {
+    Executor prefetchExecutor = suspendTerminalChallengePrefetch();
+    waitForDigestFeed();
+
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
     KeyReference pinCipheringKey;
@@ -585,6 +937,8 @@ class SamCommandProcessor {
 
     cardCipherPinRespPars.checkStatus();
 
+    resumeTerminalChallengePrefetch(prefetchExecutor);
+
     return cardCipherPinRespPars.getCipheredData();
   }
 
@@ -610,6 +964,9 @@ class SamCommandProcessor {
    */
   private byte[] getSvComplementaryData(
       AbstractSamCommandBuilder<? extends AbstractSamResponseParser> svPrepareCmdBuild) {
+    Executor prefetchExecutor = suspendTerminalChallengePrefetch();
+    waitForDigestFeed();
+
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
 
@@ -647,6 +1004,8 @@ class SamCommandProcessor {
 
     svPrepareOperationRespPars.checkStatus();
 
+    resumeTerminalChallengePrefetch(prefetchExecutor);
+
     byte[] samId = samResource.getSmartCard().getSerialNumber();
     byte[] prepareOperationData = svPrepareOperationRespPars.getApduResponse().getDataOut();
 
@@ -759,6 +1118,9 @@ class SamCommandProcessor {
    * @since 0.9
    */
   void checkSvStatus(byte[] svOperationResponseData) {
+    Executor prefetchExecutor = suspendTerminalChallengePrefetch();
+    waitForDigestFeed();
+
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
 
@@ -779,5 +1141,7 @@ class SamCommandProcessor {
     SvCheckRespPars svCheckRespPars = svCheckCmdBuilder.createResponseParser(svCheckResponse);
 
     svCheckRespPars.checkStatus();
+
+    resumeTerminalChallengePrefetch(prefetchExecutor);
   }
 }
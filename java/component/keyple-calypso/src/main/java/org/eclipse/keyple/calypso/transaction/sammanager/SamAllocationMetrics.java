@@ -0,0 +1,118 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction.sammanager;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Allocation statistics of a {@link SamResourceManager}.
+ *
+ * <p>The latencies of the last successful allocations (the time elapsed between the call to {@link
+ * SamResourceManager#allocateSamResource(SamResourceManager.AllocationMode, SamIdentifier)} and the
+ * availability of the SAM resource) are kept in a fixed size window from which percentiles can be
+ * computed.
+ *
+ * <p>This class is thread-safe and lock-free: the recording of an allocation does not serialize the
+ * allocating threads. The percentiles computed while allocations are being recorded may thus miss
+ * the latest samples.
+ *
+ * @since 1.1
+ */
+public final class SamAllocationMetrics {
+
+  /** The number of latency samples kept */
+  static final int SAMPLES_WINDOW_SIZE = 1024;
+
+  private final AtomicLongArray latencySamples = new AtomicLongArray(SAMPLES_WINDOW_SIZE);
+  private final AtomicLong allocationsNumber = new AtomicLong();
+  private final AtomicLong failuresNumber = new AtomicLong();
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @since 1.1
+   */
+  SamAllocationMetrics() {}
+
+  /**
+   * (package-private)<br>
+   * Records a successful allocation.
+   *
+   * @param latencyNanos the allocation latency in nanoseconds
+   * @since 1.1
+   */
+  void recordAllocation(long latencyNanos) {
+    long sampleIndex = allocationsNumber.getAndIncrement();
+    latencySamples.set((int) (sampleIndex % SAMPLES_WINDOW_SIZE), latencyNanos);
+  }
+
+  /**
+   * (package-private)<br>
+   * Records a failed allocation (no resource available or timeout).
+   *
+   * @since 1.1
+   */
+  void recordFailure() {
+    failuresNumber.incrementAndGet();
+  }
+
+  /**
+   * Gets the number of successful allocations since the creation of the manager.
+   *
+   * @return a positive number
+   * @since 1.1
+   */
+  public long getAllocationsNumber() {
+    return allocationsNumber.get();
+  }
+
+  /**
+   * Gets the number of failed allocations since the creation of the manager.
+   *
+   * @return a positive number
+   * @since 1.1
+   */
+  public long getFailuresNumber() {
+    return failuresNumber.get();
+  }
+
+  /**
+   * Gets a percentile of the latencies of the last successful allocations (nearest-rank method).
+   *
+   * <p>For example, {@code getLatencyPercentile(99)} returns the latency below which 99% of the
+   * recent allocations were served.
+   *
+   * @param percentile the percentile, in the range ]0..100]
+   * @return the latency in nanoseconds, 0 if no allocation has been recorded yet
+   * @throws IllegalArgumentException if the percentile is out of range
+   * @since 1.1
+   */
+  public long getLatencyPercentile(double percentile) {
+    if (percentile <= 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile out of range: " + percentile);
+    }
+    int samplesNumber = (int) Math.min(allocationsNumber.get(), SAMPLES_WINDOW_SIZE);
+    if (samplesNumber == 0) {
+      return 0;
+    }
+    long[] samples = new long[samplesNumber];
+    for (int i = 0; i < samplesNumber; i++) {
+      samples[i] = latencySamples.get(i);
+    }
+    Arrays.sort(samples);
+    int rank = (int) Math.ceil(percentile / 100 * samples.length);
+    return samples[Math.max(rank, 1) - 1];
+  }
+}
@@ -0,0 +1,177 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction.sammanager;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.keyple.calypso.transaction.CalypsoSam;
+import org.eclipse.keyple.core.card.selection.CardResource;
+
+/**
+ * Factory of the standard {@link SamAllocationStrategy} implementations.
+ *
+ * @since 1.1
+ */
+public final class SamAllocationStrategies {
+
+  /** The maximum number of affinities kept by a sticky strategy */
+  static final int MAX_AFFINITIES = 4096;
+
+  private static final SamAllocationStrategy LEAST_RECENTLY_USED = new LeastRecentlyUsed();
+
+  /** Private constructor */
+  private SamAllocationStrategies() {}
+
+  /**
+   * Gets the strategy selecting the resource which has been free for the longest time.
+   *
+   * <p>This spreads the load evenly over the SAMs. It is the default strategy.
+   *
+   * @return a not null reference
+   * @since 1.1
+   */
+  public static SamAllocationStrategy leastRecentlyUsed() {
+    return LEAST_RECENTLY_USED;
+  }
+
+  /**
+   * Creates a strategy selecting the resources randomly, with a probability proportional to their
+   * observed throughput (the inverse of their average allocation duration).
+   *
+   * <p>Faster SAMs are thus selected more often. SAMs not yet used are given the highest observed
+   * throughput so that they are quickly evaluated.
+   *
+   * @return a not null reference
+   * @since 1.1
+   */
+  public static SamAllocationStrategy throughputWeighted() {
+    return new ThroughputWeighted();
+  }
+
+  /**
+   * Creates a strategy selecting, when it is free, the SAM previously allocated for the same
+   * affinity key (e.g. the same PO tapped again), and delegating to the provided strategy
+   * otherwise.
+   *
+   * <p>At most {@value #MAX_AFFINITIES} affinities are kept, all are forgotten beyond.
+   *
+   * @param fallbackStrategy the strategy used when no affinity applies
+   * @return a not null reference
+   * @throws IllegalArgumentException if the fallback strategy is null
+   * @since 1.1
+   */
+  public static SamAllocationStrategy stickyAffinity(SamAllocationStrategy fallbackStrategy) {
+    if (fallbackStrategy == null) {
+      throw new IllegalArgumentException("The fallback strategy must not be null.");
+    }
+    return new StickyAffinity(fallbackStrategy);
+  }
+
+  /**
+   * (private)<br>
+   * The candidates are provided in LRU order, the first one is chosen.
+   */
+  private static final class LeastRecentlyUsed implements SamAllocationStrategy {
+
+    @Override
+    public CardResource<CalypsoSam> select(
+        List<CardResource<CalypsoSam>> candidates, String affinityKey) {
+      return candidates.get(0);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Weighted random choice based on the statistics of the {@link
+   * SamResourceManagerDefault.ManagedSamResource}.
+   */
+  private static final class ThroughputWeighted implements SamAllocationStrategy {
+
+    private final Random random = new Random();
+
+    @Override
+    public CardResource<CalypsoSam> select(
+        List<CardResource<CalypsoSam>> candidates, String affinityKey) {
+      double[] weights = new double[candidates.size()];
+      double maxWeight = 0;
+      for (int i = 0; i < weights.length; i++) {
+        long averageBusyTime = getAverageBusyTime(candidates.get(i));
+        if (averageBusyTime > 0) {
+          weights[i] = 1.0 / averageBusyTime;
+          maxWeight = Math.max(maxWeight, weights[i]);
+        }
+      }
+      double totalWeight = 0;
+      for (int i = 0; i < weights.length; i++) {
+        if (weights[i] == 0) {
+          // not yet evaluated
+          weights[i] = maxWeight > 0 ? maxWeight : 1;
+        }
+        totalWeight += weights[i];
+      }
+      double draw = random.nextDouble() * totalWeight;
+      for (int i = 0; i < weights.length; i++) {
+        draw -= weights[i];
+        if (draw < 0) {
+          return candidates.get(i);
+        }
+      }
+      return candidates.get(candidates.size() - 1);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long getAverageBusyTime(CardResource<CalypsoSam> samResource) {
+      return samResource instanceof SamResourceManagerDefault.ManagedSamResource
+          ? ((SamResourceManagerDefault.ManagedSamResource) samResource).getAverageBusyTime()
+          : 0;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Keeps the association between the affinity keys and the names of the SAM readers.
+   */
+  private static final class StickyAffinity implements SamAllocationStrategy {
+
+    private final SamAllocationStrategy fallbackStrategy;
+    private final ConcurrentMap<String, String> samReaderNames =
+        new ConcurrentHashMap<String, String>();
+
+    private StickyAffinity(SamAllocationStrategy fallbackStrategy) {
+      this.fallbackStrategy = fallbackStrategy;
+    }
+
+    @Override
+    public CardResource<CalypsoSam> select(
+        List<CardResource<CalypsoSam>> candidates, String affinityKey) {
+      if (affinityKey == null) {
+        return fallbackStrategy.select(candidates, null);
+      }
+      String samReaderName = samReaderNames.get(affinityKey);
+      if (samReaderName != null) {
+        for (CardResource<CalypsoSam> candidate : candidates) {
+          if (samReaderName.equals(candidate.getReader().getName())) {
+            return candidate;
+          }
+        }
+      }
+      CardResource<CalypsoSam> selected = fallbackStrategy.select(candidates, affinityKey);
+      if (samReaderNames.size() >= MAX_AFFINITIES) {
+        samReaderNames.clear();
+      }
+      samReaderNames.put(affinityKey, selected.getReader().getName());
+      return selected;
+    }
+  }
+}
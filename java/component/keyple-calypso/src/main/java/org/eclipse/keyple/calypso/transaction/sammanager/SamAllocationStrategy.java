@@ -0,0 +1,41 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction.sammanager;
+
+import java.util.List;
+import org.eclipse.keyple.calypso.transaction.CalypsoSam;
+import org.eclipse.keyple.core.card.selection.CardResource;
+
+/**
+ * Strategy used by {@link SamResourceManagerDefault} to choose a SAM resource among the free ones
+ * matching an allocation request.
+ *
+ * <p>Implementations must be thread-safe: they are called concurrently and without lock by all the
+ * allocating threads. A choice is only a proposal, the manager may call the strategy again with
+ * fewer candidates if the chosen resource has been taken in the meantime.
+ *
+ * <p>Ready-made strategies are provided by {@link SamAllocationStrategies}.
+ *
+ * @since 1.1
+ */
+public interface SamAllocationStrategy {
+
+  /**
+   * Chooses a SAM resource.
+   *
+   * @param candidates the free matching resources (not empty), the least recently used first
+   * @param affinityKey the affinity key of the request (e.g. the hex PO serial number), may be null
+   * @return one of the candidates
+   * @since 1.1
+   */
+  CardResource<CalypsoSam> select(List<CardResource<CalypsoSam>> candidates, String affinityKey);
+}
@@ -32,6 +32,8 @@ public class SamIdentifier {
   SamRevision samRevision;
   String serialNumber;
   String groupReference;
+  /** The serial number compiled as a regular expression, null until first used */
+  private volatile Pattern serialNumberPattern;
 
   /** Private constructor */
   private SamIdentifier(SamIdentifierBuilder builder) {
@@ -131,6 +133,22 @@ public class SamIdentifier {
     return groupReference;
   }
 
+  /**
+   * (package-private)<br>
+   * Gets the serial number as a regular expression, compiled on first use
+   *
+   * @return the compiled serial number
+   * @since 1.1
+   */
+  Pattern getSerialNumberPattern() {
+    Pattern pattern = serialNumberPattern;
+    if (pattern == null) {
+      pattern = Pattern.compile(serialNumber);
+      serialNumberPattern = pattern;
+    }
+    return pattern;
+  }
+
   /**
    * Compare two SamIdentifiers with the following rules:
    *
@@ -157,8 +175,7 @@ public class SamIdentifier {
       return false;
     }
     if (samIdentifier.getSerialNumber() != null && !samIdentifier.getSerialNumber().isEmpty()) {
-      Pattern p = Pattern.compile(samIdentifier.getSerialNumber());
-      if (!p.matcher(serialNumber).matches()) {
+      if (!samIdentifier.getSerialNumberPattern().matcher(serialNumber).matches()) {
         return false;
       }
     }
@@ -37,12 +37,16 @@ public abstract class SamResourceManager {
     NON_BLOCKING
   }
 
+  /** The allocation statistics, to be fed by the implementations */
+  protected final SamAllocationMetrics allocationMetrics = new SamAllocationMetrics();
+
   /**
    * Allocate a SAM resource from the specified SAM group.
    *
    * <p>In the case where the allocation mode is BLOCKING, this method will wait until a SAM
    * resource becomes free and then return the reference to the allocated resource. However, the
-   * BLOCKING mode will wait a maximum time defined in milliseconds by MAX_BLOCKING_TIME.
+   * BLOCKING mode will wait a maximum time defined in milliseconds by MAX_BLOCKING_TIME. The
+   * waiting callers are served in their arrival order.
    *
    * <p>In the case where the allocation mode is NON_BLOCKING and no SAM resource is available, this
    * method will return an exception.
@@ -60,6 +64,38 @@ public abstract class SamResourceManager {
   public abstract CardResource<CalypsoSam> allocateSamResource(
       AllocationMode allocationMode, SamIdentifier samIdentifier);
 
+  /**
+   * Allocate a SAM resource from the specified SAM group for the provided PO.
+   *
+   * <p>Same as {@link #allocateSamResource(AllocationMode, SamIdentifier)}, the PO serial number
+   * allowing the implementations to allocate the same SAM again when the same PO comes back (e.g.
+   * re-tap after a communication error). The default implementation ignores it.
+   *
+   * @param allocationMode the blocking/non-blocking mode
+   * @param samIdentifier the targeted SAM identifier
+   * @param poSerialNumber the serial number of the PO (may be null)
+   * @return a SAM resource
+   * @throws CalypsoNoSamResourceAvailableException if no resource is available
+   * @throws KeypleReaderException if a reader error occurs
+   * @throws KeypleAllocationReaderException if reader allocation fails
+   * @since 1.1
+   */
+  @SuppressWarnings("deprecation")
+  public CardResource<CalypsoSam> allocateSamResource(
+      AllocationMode allocationMode, SamIdentifier samIdentifier, byte[] poSerialNumber) {
+    return allocateSamResource(allocationMode, samIdentifier);
+  }
+
+  /**
+   * Gets the allocation statistics of this manager.
+   *
+   * @return a not null reference
+   * @since 1.1
+   */
+  public SamAllocationMetrics getAllocationMetrics() {
+    return allocationMetrics;
+  }
+
   /**
    * Free a previously allocated SAM resource.
    *
@@ -11,10 +11,17 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.transaction.sammanager;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import org.eclipse.keyple.calypso.command.sam.SamRevision;
 import org.eclipse.keyple.calypso.exception.CalypsoNoSamResourceAvailableException;
@@ -51,10 +58,20 @@ public class SamResourceManagerDefault extends SamResourceManager {
   protected final Plugin samReaderPlugin;
   /* the maximum time (in milliseconds) during which the BLOCKING mode will wait */
   private final int maxBlockingTime;
+  /* the strategy choosing a resource among the free ones */
+  private final SamAllocationStrategy allocationStrategy;
   /*
-   * the sleep time between two tries (in milliseconds) during which the BLOCKING mode will wait
+   * the free resources ordered by release time (LRU first), an entry may remain briefly after the
+   * acquisition of its resource, it is then filtered out by its status
    */
-  private final int sleepTime;
+  private final Queue<ManagedSamResource> freeSamResources =
+      new ConcurrentLinkedQueue<ManagedSamResource>();
+  /* fair lock protecting the wait queue, the allocations without waiting are lock-free */
+  private final ReentrantLock allocationLock = new ReentrantLock(true);
+  /* the callers waiting for a SAM resource, served in arrival order */
+  private final SamResourceWaitQueue waitQueue = new SamResourceWaitQueue(allocationLock);
+  /* the number of callers in the waiting path */
+  private final AtomicInteger waitersNumber = new AtomicInteger();
 
   /**
    * Protected constructor, use the {@link SamResourceManagerFactory}
@@ -64,23 +81,55 @@ public class SamResourceManagerDefault extends SamResourceManager {
    *     others.
    * @param maxBlockingTime the maximum duration for which the allocateSamResource method will
    *     attempt to allocate a new reader by retrying (in milliseconds)
-   * @param sleepTime the duration to wait between two retries
+   * @param sleepTime not used anymore, the waiting callers are notified as soon as a SAM resource
+   *     is freed or inserted (must be greater than 0)
    * @throws KeypleReaderException thrown if an error occurs while getting the readers list.
    */
   protected SamResourceManagerDefault(
       Plugin plugin, String samReaderFilter, int maxBlockingTime, int sleepTime) {
+    this(
+        plugin,
+        samReaderFilter,
+        maxBlockingTime,
+        sleepTime,
+        SamAllocationStrategies.leastRecentlyUsed());
+  }
+
+  /**
+   * Protected constructor, use the {@link SamResourceManagerFactory}
+   *
+   * @param plugin the plugin through which SAM readers are accessible
+   * @param samReaderFilter the regular expression defining how to identify SAM readers among
+   *     others.
+   * @param maxBlockingTime the maximum duration for which the allocateSamResource method will
+   *     attempt to allocate a new reader by retrying (in milliseconds)
+   * @param sleepTime not used anymore, the waiting callers are notified as soon as a SAM resource
+   *     is freed or inserted (must be greater than 0)
+   * @param allocationStrategy the strategy choosing a SAM among the free ones
+   * @throws KeypleReaderException thrown if an error occurs while getting the readers list.
+   * @since 1.1
+   */
+  protected SamResourceManagerDefault(
+      Plugin plugin,
+      String samReaderFilter,
+      int maxBlockingTime,
+      int sleepTime,
+      SamAllocationStrategy allocationStrategy) {
     /*
      * Assign parameters
      */
+    if (allocationStrategy == null) {
+      throw new IllegalArgumentException("Allocation strategy must not be null");
+    }
     if (sleepTime < 1) {
       throw new IllegalArgumentException("Sleep time must be greater than 0");
     }
     if (maxBlockingTime < 1) {
       throw new IllegalArgumentException("Max Blocking Time must be greater than 0");
     }
-    this.sleepTime = sleepTime;
     this.maxBlockingTime = maxBlockingTime;
     this.samReaderPlugin = plugin;
+    this.allocationStrategy = allocationStrategy;
 
     readerObserver = new SamResourceManagerDefault.ReaderObserver();
     logger.info(
@@ -120,9 +169,9 @@ public class SamResourceManagerDefault extends SamResourceManager {
    * @param samReader the SAM reader of the resource to remove from the list.
    */
   protected void removeResource(Reader samReader) {
-    ManagedSamResource managedSamResource = localManagedSamResources.get(samReader.getName());
+    ManagedSamResource managedSamResource = localManagedSamResources.remove(samReader.getName());
     if (managedSamResource != null) {
-      localManagedSamResources.remove(samReader.getName());
+      freeSamResources.remove(managedSamResource);
       if (logger.isInfoEnabled()) {
         logger.trace(
             "Freed SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
@@ -133,70 +182,202 @@ public class SamResourceManagerDefault extends SamResourceManager {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>In BLOCKING mode, the caller is queued and wakes up as soon as a matching SAM resource is
+   * handed to it by {@link #freeSamResource(CardResource)} or by the insertion of a new SAM.
+   *
+   * @since 0.9
+   */
   @Override
   public CardResource<CalypsoSam> allocateSamResource(
       AllocationMode allocationMode, SamIdentifier samIdentifier) {
-    long maxBlockingDate = System.currentTimeMillis() + maxBlockingTime;
-    boolean noSamResourceLogged = false;
+    return allocateSamResource(allocationMode, samIdentifier, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The PO serial number is provided to the allocation strategy as affinity key.
+   *
+   * <p>When nobody is waiting, the allocation is lock-free. Otherwise, the caller is queued behind
+   * the waiters to preserve the arrival order.
+   *
+   * @since 1.1
+   */
+  @Override
+  public CardResource<CalypsoSam> allocateSamResource(
+      AllocationMode allocationMode, SamIdentifier samIdentifier, byte[] poSerialNumber) {
+    long startTime = System.nanoTime();
+    String affinityKey = poSerialNumber != null ? ByteArrayUtil.toHex(poSerialNumber) : null;
     logger.trace("Allocating SAM reader channel...");
-    while (true) {
-      synchronized (localManagedSamResources) {
-        for (Map.Entry<String, ManagedSamResource> entry : localManagedSamResources.entrySet()) {
-          ManagedSamResource managedSamResource = entry.getValue();
-          if (managedSamResource.isSamResourceFree()) {
-            if (managedSamResource.isSamMatching(samIdentifier)) {
-              managedSamResource.setSamResourceStatus(ManagedSamResource.SamResourceStatus.BUSY);
-              logger.debug("Allocation succeeded. SAM resource created.");
-              return managedSamResource;
-            }
-          }
-        }
+
+    if (allocationMode == AllocationMode.NON_BLOCKING || waitersNumber.get() == 0) {
+      ManagedSamResource managedSamResource = acquireFreeSamResource(samIdentifier, affinityKey);
+      if (managedSamResource != null) {
+        allocationMetrics.recordAllocation(System.nanoTime() - startTime);
+        logger.debug("Allocation succeeded. SAM resource created.");
+        return managedSamResource;
       }
+    }
 
-      // loop until MAX_BLOCKING_TIME in blocking mode, only once in non-blocking mode
-      if (allocationMode == AllocationMode.NON_BLOCKING) {
-        logger.trace("No SAM resources available at the moment.");
-        throw new CalypsoNoSamResourceAvailableException(
-            "No Sam resource could be allocated for samIdentifier +"
-                + samIdentifier.getGroupReference());
-      } else {
-        if (!noSamResourceLogged) {
-          /* log once the first time */
-          logger.trace("No SAM resources available at the moment.");
-          noSamResourceLogged = true;
-        }
-        try {
-          Thread.sleep(sleepTime);
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt(); // set interrupt flag
-          logger.error("Interrupt exception in Thread.sleep.");
-        }
-        if (System.currentTimeMillis() >= maxBlockingDate) {
-          logger.error(
-              "The allocation process failed. Timeout {} sec exceeded .",
-              (maxBlockingTime / 1000.0));
-          throw new CalypsoNoSamResourceAvailableException(
-              "No Sam resource could be allocated within timeout of "
-                  + maxBlockingTime
-                  + "ms for samIdentifier "
-                  + samIdentifier.getGroupReference());
+    logger.trace("No SAM resources available at the moment.");
+    if (allocationMode == AllocationMode.NON_BLOCKING) {
+      allocationMetrics.recordFailure();
+      throw new CalypsoNoSamResourceAvailableException(
+          "No Sam resource could be allocated for samIdentifier +"
+              + samIdentifier.getGroupReference());
+    }
+
+    // wait until a resource is handed to us or the timeout elapses
+    SamResourceWaitQueue.Waiter waiter;
+    allocationLock.lock();
+    try {
+      waiter = waitQueue.enqueue(samIdentifier, affinityKey);
+      waitersNumber.incrementAndGet();
+      try {
+        // a resource may have been freed before the increment of the waiters number
+        serveWaiters();
+        long remainingTime = TimeUnit.MILLISECONDS.toNanos(maxBlockingTime);
+        while (waiter.getSamResource() == null && remainingTime > 0) {
+          remainingTime = waiter.awaitNanos(remainingTime);
         }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt(); // set interrupt flag
+        logger.error("Interrupt exception while waiting for a SAM resource.");
+      } finally {
+        waitQueue.remove(waiter);
+        waitersNumber.decrementAndGet();
       }
+    } finally {
+      allocationLock.unlock();
+    }
+
+    if (waiter.getSamResource() != null) {
+      allocationMetrics.recordAllocation(System.nanoTime() - startTime);
+      logger.debug("Allocation succeeded. SAM resource handed over.");
+      return waiter.getSamResource();
     }
+    allocationMetrics.recordFailure();
+    logger.error(
+        "The allocation process failed. Timeout {} sec exceeded .", (maxBlockingTime / 1000.0));
+    throw new CalypsoNoSamResourceAvailableException(
+        "No Sam resource could be allocated within timeout of "
+            + maxBlockingTime
+            + "ms for samIdentifier "
+            + samIdentifier.getGroupReference());
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The freed resource is handed directly to the longest waiter it matches, if any.
+   *
+   * <p>Freeing a resource which is already free has no effect.
+   *
+   * @since 0.9
+   */
   @Override
   public void freeSamResource(CardResource<CalypsoSam> samResource) {
-    synchronized (localManagedSamResources) {
-      ManagedSamResource managedSamResource =
-          localManagedSamResources.get(samResource.getReader().getName());
-      if (managedSamResource != null) {
-        logger.trace("Freeing local SAM resource.");
-        managedSamResource.setSamResourceStatus(ManagedSamResource.SamResourceStatus.FREE);
+    ManagedSamResource managedSamResource =
+        localManagedSamResources.get(samResource.getReader().getName());
+    if (managedSamResource != null) {
+      logger.trace("Freeing local SAM resource.");
+      if (managedSamResource.release()) {
+        offerSamResource(managedSamResource);
       } else {
-        logger.error("SAM resource not found while freeing.");
+        logger.warn("SAM resource already free: {}", samResource.getReader().getName());
+      }
+    } else {
+      logger.error("SAM resource not found while freeing.");
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Takes a free resource matching the provided SAM identifier, chosen by the allocation strategy.
+   *
+   * <p>Lock-free: the resource is acquired by an atomic change of its status.
+   *
+   * <p>With the default least recently used strategy, the first matching resource of the free list
+   * is taken directly. The other strategies are given the list of the matching free resources.
+   *
+   * @param samIdentifier the targeted SAM identifier
+   * @param affinityKey the affinity key of the request (may be null)
+   * @return the acquired resource or null if none is available
+   */
+  private ManagedSamResource acquireFreeSamResource(
+      SamIdentifier samIdentifier, String affinityKey) {
+    if (allocationStrategy == SamAllocationStrategies.leastRecentlyUsed()) {
+      for (ManagedSamResource managedSamResource : freeSamResources) {
+        if (managedSamResource.isSamMatching(samIdentifier) && managedSamResource.tryAcquire()) {
+          freeSamResources.remove(managedSamResource);
+          return managedSamResource;
+        }
+      }
+      return null;
+    }
+    List<CardResource<CalypsoSam>> candidates = new ArrayList<CardResource<CalypsoSam>>();
+    for (ManagedSamResource managedSamResource : freeSamResources) {
+      if (managedSamResource.isSamResourceFree()
+          && managedSamResource.isSamMatching(samIdentifier)) {
+        candidates.add(managedSamResource);
+      }
+    }
+    while (!candidates.isEmpty()) {
+      CardResource<CalypsoSam> selected = allocationStrategy.select(candidates, affinityKey);
+      int index = candidates.indexOf(selected);
+      ManagedSamResource managedSamResource =
+          (ManagedSamResource) candidates.remove(index >= 0 ? index : 0);
+      if (managedSamResource.tryAcquire()) {
+        freeSamResources.remove(managedSamResource);
+        return managedSamResource;
       }
+      // taken by another thread in the meantime
     }
+    return null;
+  }
+
+  /**
+   * (private)<br>
+   * Makes a free resource available: appends it to the free list and serves the waiters if any.
+   *
+   * @param managedSamResource the free resource
+   */
+  private void offerSamResource(ManagedSamResource managedSamResource) {
+    freeSamResources.add(managedSamResource);
+    // the waiters number is read after the addition to the free list (see allocateSamResource)
+    if (waitersNumber.get() > 0) {
+      allocationLock.lock();
+      try {
+        serveWaiters();
+      } finally {
+        allocationLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Hands the free resources to the waiters, the longest waiters first.
+   *
+   * <p>Must be called while holding the allocation lock.
+   */
+  private void serveWaiters() {
+    boolean served;
+    do {
+      served = false;
+      for (SamResourceWaitQueue.Waiter waiter : waitQueue) {
+        ManagedSamResource managedSamResource =
+            acquireFreeSamResource(waiter.getSamIdentifier(), waiter.getAffinityKey());
+        if (managedSamResource != null) {
+          waitQueue.handOff(waiter, managedSamResource);
+          served = true;
+          break;
+        }
+      }
+    } while (served);
   }
 
   /**
@@ -331,49 +512,72 @@ public class SamResourceManagerDefault extends SamResourceManager {
       } catch (KeypleReaderNotFoundException e) {
         e.printStackTrace();
       }
-      synchronized (localManagedSamResources) {
-        switch (event.getEventType()) {
-          case CARD_MATCHED:
-          case CARD_INSERTED:
-            if (localManagedSamResources.containsKey(samReader.getName())) {
-              logger.trace(
-                  "Reader is already present in the local samResources -  READERNAME = {}",
-                  samReader.getName());
-              // do nothing
-              return;
-            }
+      switch (event.getEventType()) {
+        case CARD_MATCHED:
+        case CARD_INSERTED:
+          if (localManagedSamResources.containsKey(samReader.getName())) {
+            logger.trace(
+                "Reader is already present in the local samResources -  READERNAME = {}",
+                samReader.getName());
+            // do nothing
+            return;
+          }
 
-            ManagedSamResource newSamResource = null;
-            try {
-              /*
-               * although the reader allocation is dynamic, the SAM resource type is
-               * STATIC
-               */
-              newSamResource = createSamResource(samReader);
-            } catch (CalypsoNoSamResourceAvailableException e) {
-              logger.error(
-                  "Failed to create a CardResource<CalypsoSam> from {}", samReader.getName());
-            }
-            /* failures are ignored */
-            if (newSamResource != null) {
-              if (logger.isInfoEnabled()) {
-                logger.trace(
-                    "Created SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
-                    event.getReaderName(),
-                    newSamResource.getSmartCard().getSamRevision(),
-                    ByteArrayUtil.toHex(newSamResource.getSmartCard().getSerialNumber()));
-              }
-              localManagedSamResources.put(samReader.getName(), newSamResource);
+          ManagedSamResource newSamResource = null;
+          try {
+            /*
+             * although the reader allocation is dynamic, the SAM resource type is
+             * STATIC
+             */
+            newSamResource = createSamResource(samReader);
+          } catch (CalypsoNoSamResourceAvailableException e) {
+            logger.error(
+                "Failed to create a CardResource<CalypsoSam> from {}", samReader.getName());
+          }
+          /* failures are ignored */
+          if (newSamResource != null) {
+            if (logger.isInfoEnabled()) {
+              logger.trace(
+                  "Created SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
+                  event.getReaderName(),
+                  newSamResource.getSmartCard().getSamRevision(),
+                  ByteArrayUtil.toHex(newSamResource.getSmartCard().getSerialNumber()));
             }
-            break;
-          case CARD_REMOVED:
-            removeResource(samReader);
-            break;
-        }
+            addSamResource(samReader, newSamResource);
+          }
+          break;
+        case CARD_REMOVED:
+          removeResource(samReader);
+          break;
       }
     }
   }
 
+  /**
+   * (private)<br>
+   * Adds a new resource to the local resources and hands it to a waiter if possible.
+   *
+   * <p>The SAM identifier of the resource is set from the revision and the serial number of the
+   * selected SAM. A local SAM has no group reference, it matches all the group references.
+   *
+   * @param samReader the SAM reader
+   * @param managedSamResource the new resource
+   */
+  private void addSamResource(Reader samReader, ManagedSamResource managedSamResource) {
+    CalypsoSam calypsoSam = managedSamResource.getSmartCard();
+    if (calypsoSam != null) {
+      managedSamResource.setSamIdentifier(
+          SamIdentifier.builder()
+              .samRevision(calypsoSam.getSamRevision())
+              .serialNumber(ByteArrayUtil.toHex(calypsoSam.getSerialNumber()))
+              .groupReference(null)
+              .build());
+    }
+    if (localManagedSamResources.putIfAbsent(samReader.getName(), managedSamResource) == null) {
+      offerSamResource(managedSamResource);
+    }
+  }
+
   private void initSamReader(Reader samReader, ReaderObserver readerObserver) {
     /*
      * Specific to PCSC reader (no effect on Stub)
@@ -382,9 +586,7 @@ public class SamResourceManagerDefault extends SamResourceManager {
     try {
       if (samReader.isCardPresent()) {
         logger.trace("Create SAM resource: {}", samReader.getName());
-        synchronized (localManagedSamResources) {
-          localManagedSamResources.put(samReader.getName(), createSamResource(samReader));
-        }
+        addSamResource(samReader, createSamResource(samReader));
       }
     } catch (KeypleException e) {
       throw new IllegalArgumentException(
@@ -415,7 +617,13 @@ public class SamResourceManagerDefault extends SamResourceManager {
     }
 
     /** the free/busy status of the resource */
-    private SamResourceStatus samResourceStatus;
+    private final AtomicReference<SamResourceStatus> samResourceStatus;
+
+    /** the time of the last allocation (in nanoseconds) */
+    private volatile long allocationTime;
+
+    /** the moving average of the allocation durations (in nanoseconds), 0 if not yet known */
+    private volatile long averageBusyTime;
 
     /** the sam identifier */
     private SamIdentifier samIdentifier;
@@ -429,7 +637,7 @@ public class SamResourceManagerDefault extends SamResourceManager {
     public ManagedSamResource(Reader reader, CalypsoSam calypsoSam) {
       super(reader, calypsoSam);
 
-      samResourceStatus = SamResourceStatus.FREE;
+      samResourceStatus = new AtomicReference<SamResourceStatus>(SamResourceStatus.FREE);
       samIdentifier = null;
     }
 
@@ -439,7 +647,50 @@ public class SamResourceManagerDefault extends SamResourceManager {
      * @return the busy status
      */
     public boolean isSamResourceFree() {
-      return samResourceStatus.equals(SamResourceStatus.FREE);
+      return samResourceStatus.get() == SamResourceStatus.FREE;
+    }
+
+    /**
+     * (package-private)<br>
+     * Atomically changes the status from FREE to BUSY.
+     *
+     * @return true if the resource was free and is now allocated to the caller
+     * @since 1.1
+     */
+    boolean tryAcquire() {
+      if (samResourceStatus.compareAndSet(SamResourceStatus.FREE, SamResourceStatus.BUSY)) {
+        allocationTime = System.nanoTime();
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * (package-private)<br>
+     * Atomically changes the status from BUSY to FREE and updates the average allocation duration.
+     *
+     * @return true if the resource was busy and is now free, false if it was already free
+     * @since 1.1
+     */
+    boolean release() {
+      long busyTime = System.nanoTime() - allocationTime;
+      if (!samResourceStatus.compareAndSet(SamResourceStatus.BUSY, SamResourceStatus.FREE)) {
+        return false;
+      }
+      long currentAverage = averageBusyTime;
+      averageBusyTime =
+          currentAverage == 0 ? busyTime : currentAverage + (busyTime - currentAverage) / 8;
+      return true;
+    }
+
+    /**
+     * (package-private)<br>
+     *
+     * @return the moving average of the allocation durations in nanoseconds, 0 if not yet known
+     * @since 1.1
+     */
+    long getAverageBusyTime() {
+      return averageBusyTime;
     }
 
     /**
@@ -451,6 +702,16 @@ public class SamResourceManagerDefault extends SamResourceManager {
       this.samIdentifier = samIdentifier;
     }
 
+    /**
+     * (package-private)<br>
+     *
+     * @return the {@link SamIdentifier} of the current {@link ManagedSamResource} (may be null)
+     * @since 1.1
+     */
+    SamIdentifier getSamIdentifier() {
+      return samIdentifier;
+    }
+
     /**
      * Indicates whether the ManagedSamResource matches the provided SAM identifier.
      *
@@ -467,7 +728,29 @@ public class SamResourceManagerDefault extends SamResourceManager {
      * @return true or false according to the result of the correspondence test
      */
     public boolean isSamMatching(SamIdentifier samIdentifier) {
-      return samIdentifier.matches(this.samIdentifier);
+      if (this.samIdentifier == null || samIdentifier == null) {
+        return true;
+      }
+      SamRevision samRevision = samIdentifier.getSamRevision();
+      if (samRevision != null
+          && samRevision != SamRevision.AUTO
+          && samRevision != this.samIdentifier.getSamRevision()) {
+        return false;
+      }
+      String serialNumber = samIdentifier.getSerialNumber();
+      if (serialNumber != null
+          && serialNumber.length() != 0
+          && !samIdentifier
+              .getSerialNumberPattern()
+              .matcher(this.samIdentifier.getSerialNumber())
+              .matches()) {
+        return false;
+      }
+      String groupReference = samIdentifier.getGroupReference();
+      return groupReference == null
+          || groupReference.length() == 0
+          || this.samIdentifier.getGroupReference() == null
+          || groupReference.equals(this.samIdentifier.getGroupReference());
     }
 
     /**
@@ -476,7 +759,7 @@ public class SamResourceManagerDefault extends SamResourceManager {
      * @param samResourceStatus FREE/BUSY enum value
      */
     public void setSamResourceStatus(SamResourceStatus samResourceStatus) {
-      this.samResourceStatus = samResourceStatus;
+      this.samResourceStatus.set(samResourceStatus);
     }
   }
 }
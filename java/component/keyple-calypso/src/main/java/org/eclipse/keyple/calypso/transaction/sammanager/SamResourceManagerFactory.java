@@ -46,6 +46,33 @@ public abstract class SamResourceManagerFactory {
     return new SamResourceManagerDefault(plugin, samReaderFilter, maxBlockingTime, sleepTime);
   }
 
+  /**
+   * Instantiate a new SamResourceManager with a specific allocation strategy.
+   *
+   * <p>The samReaderPlugin is used to retrieve the available SAM according to the provided filter.
+   *
+   * <p>Setup a plugin observer if the reader plugin is observable.
+   *
+   * @param plugin the plugin through which SAM readers are accessible
+   * @param samReaderFilter the regular expression defining how to identify SAM readers among
+   *     others.
+   * @param maxBlockingTime the maximum duration for which the allocateSamResource method will
+   *     attempt to allocate a new reader by retrying (in milliseconds).
+   * @param allocationStrategy the strategy choosing a SAM among the free ones (see {@link
+   *     SamAllocationStrategies})
+   * @throws KeypleReaderException throw if an error occurs while getting the readers list.
+   * @return SamResourceManager working with a default plugin
+   * @since 1.1
+   */
+  public static SamResourceManager instantiate(
+      Plugin plugin,
+      String samReaderFilter,
+      int maxBlockingTime,
+      SamAllocationStrategy allocationStrategy) {
+    return new SamResourceManagerDefault(
+        plugin, samReaderFilter, maxBlockingTime, DEFAULT_SLEEP_TIME, allocationStrategy);
+  }
+
   public static SamResourceManager instantiate(Plugin plugin, String samReaderFilter) {
     return new SamResourceManagerDefault(
         plugin, samReaderFilter, MAX_BLOCKING_TIME, DEFAULT_SLEEP_TIME);
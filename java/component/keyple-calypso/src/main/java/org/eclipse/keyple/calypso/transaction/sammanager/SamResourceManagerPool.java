@@ -11,6 +11,8 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.transaction.sammanager;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.keyple.calypso.exception.CalypsoNoSamResourceAvailableException;
 import org.eclipse.keyple.calypso.transaction.CalypsoSam;
 import org.eclipse.keyple.core.card.selection.CardResource;
@@ -33,6 +35,10 @@ public class SamResourceManagerPool extends SamResourceManager {
   protected final Plugin samReaderPlugin;
   private final int maxBlockingTime;
   private final int sleepTime;
+  /* fair lock protecting the wait queue */
+  private final ReentrantLock allocationLock = new ReentrantLock(true);
+  /* the callers waiting for a SAM resource, served in arrival order */
+  private final SamResourceWaitQueue waitQueue = new SamResourceWaitQueue(allocationLock);
 
   /**
    * Protected constructor, use the {@link SamResourceManagerFactory}
@@ -40,7 +46,7 @@ public class SamResourceManagerPool extends SamResourceManager {
    * @param samPoolPlugin the reader pool plugin
    * @param maxBlockingTime the maximum duration for which the allocateSamResource method will
    *     attempt to allocate a new reader by retrying (in milliseconds).
-   * @param sleepTime the duration to wait between two retries
+   * @param sleepTime the duration to wait between two polls of the pool by the longest waiter
    */
   protected SamResourceManagerPool(PoolPlugin samPoolPlugin, int maxBlockingTime, int sleepTime) {
     if (sleepTime < 1) {
@@ -60,68 +66,243 @@ public class SamResourceManagerPool extends SamResourceManager {
   /**
    * {@inheritDoc}
    *
+   * <p>In BLOCKING mode, the callers are queued: a resource freed with {@link
+   * #freeSamResource(CardResource)} is handed directly to the longest waiter of the same group, and
+   * only the longest waiter polls the pool (every {@code sleepTime} ms) to catch the readers
+   * released by other clients of the pool.
+   *
+   * <p>The allocation lock is only held while managing the queue. The readers are taken from the
+   * pool and the SAM selection is done once the lock is released, so that the other allocations
+   * and releases are not delayed by the plugin calls and the APDU exchanges.
+   *
    * @since 0.9
    */
   @Override
   public CardResource<CalypsoSam> allocateSamResource(
       AllocationMode allocationMode, SamIdentifier samIdentifier) {
-    long maxBlockingDate = System.currentTimeMillis() + maxBlockingTime;
-    boolean noSamResourceLogged = false;
+    long startTime = System.nanoTime();
+    long remainingTime = TimeUnit.MILLISECONDS.toNanos(maxBlockingTime);
+    String groupReference = samIdentifier.getGroupReference();
+    SamResourceWaitQueue.Waiter waiter = null;
+    Reader samReader;
     logger.debug("Allocating SAM reader channel...");
-    while (true) {
-      try {
-        // virtually infinite number of readers
-        Reader samReader =
-            ((PoolPlugin) samReaderPlugin).allocateReader(samIdentifier.getGroupReference());
-        if (samReader != null) {
-          SamResourceManagerDefault.ManagedSamResource managedSamResource =
-              createSamResource(samReader);
-          logger.debug("Allocation succeeded. SAM resource created.");
-          return managedSamResource;
+    try {
+      while (true) {
+        // only the longest waiter of the group may take a reader from the pool
+        boolean isFirstOfGroup;
+        allocationLock.lock();
+        try {
+          isFirstOfGroup = isFirstOfGroup(waiter, groupReference);
+        } finally {
+          allocationLock.unlock();
+        }
+        if (isFirstOfGroup) {
+          samReader = allocateReaderFromPool(samIdentifier);
+          if (samReader != null) {
+            break;
+          }
         }
 
         // loop until MAX_BLOCKING_TIME in blocking mode, only once in non-blocking mode
         if (allocationMode == AllocationMode.NON_BLOCKING) {
           logger.trace("No SAM resources available at the moment.");
+          allocationMetrics.recordFailure();
           throw new CalypsoNoSamResourceAvailableException(
-              "No Sam resource could be allocated for samIdentifier +"
-                  + samIdentifier.getGroupReference());
-        } else {
-          if (!noSamResourceLogged) {
-            /* log once the first time */
+              "No Sam resource could be allocated for samIdentifier +" + groupReference);
+        }
+        allocationLock.lock();
+        try {
+          if (waiter == null) {
             logger.trace("No SAM resources available at the moment.");
-            noSamResourceLogged = true;
+            waiter = waitQueue.enqueue(samIdentifier);
+            // a reader may have been released to the pool before the enqueuing, poll again
+            continue;
           }
-          try {
-            Thread.sleep(sleepTime);
-          } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // set interrupt flag
-            logger.error("Interrupt exception in Thread.sleep.");
+          if (waiter.getSamResource() == null) {
+            if (remainingTime <= 0) {
+              logger.error(
+                  "The allocation process failed. Timeout {} sec exceeded .",
+                  (maxBlockingTime / 1000.0));
+              allocationMetrics.recordFailure();
+              throw new CalypsoNoSamResourceAvailableException(
+                  "No Sam resource could be allocated within timeout of "
+                      + maxBlockingTime
+                      + "ms for samIdentifier "
+                      + groupReference);
+            }
+            long waitTime =
+                isFirstOfGroup(waiter, groupReference)
+                    ? Math.min(remainingTime, TimeUnit.MILLISECONDS.toNanos(sleepTime))
+                    : remainingTime;
+            try {
+              remainingTime -= waitTime - waiter.awaitNanos(waitTime);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt(); // set interrupt flag
+              logger.error("Interrupt exception while waiting for a SAM resource.");
+              remainingTime = 0;
+            }
           }
-          if (System.currentTimeMillis() >= maxBlockingDate) {
-            logger.error(
-                "The allocation process failed. Timeout {} sec exceeded .",
-                (maxBlockingTime / 1000.0));
-            throw new CalypsoNoSamResourceAvailableException(
-                "No Sam resource could be allocated within timeout of "
-                    + maxBlockingTime
-                    + "ms for samIdentifier "
-                    + samIdentifier.getGroupReference());
+          if (waiter.getSamResource() != null) {
+            allocationMetrics.recordAllocation(System.nanoTime() - startTime);
+            logger.debug("Allocation succeeded. SAM resource handed over.");
+            return waiter.getSamResource();
           }
+        } finally {
+          allocationLock.unlock();
+        }
+      }
+    } finally {
+      if (waiter != null) {
+        allocationLock.lock();
+        try {
+          waitQueue.remove(waiter);
+          // the next waiter of the group (if any) becomes in charge of polling the pool
+          signalFirstOfGroup(groupReference);
+        } finally {
+          allocationLock.unlock();
         }
-      } catch (KeypleAllocationReaderException e) {
-        throw new KeypleAllocationReaderException(
-            "Allocation failed due to a plugin technical error", e);
-      } catch (KeypleAllocationNoReaderException e) {
-        // no reader is available, let's retry
       }
     }
+    if (waiter != null && waiter.getSamResource() != null) {
+      // a resource has been handed over while polling the pool, the reader is not needed
+      ((PoolPlugin) samReaderPlugin).releaseReader(samReader);
+      allocationMetrics.recordAllocation(System.nanoTime() - startTime);
+      logger.debug("Allocation succeeded. SAM resource handed over.");
+      return waiter.getSamResource();
+    }
+    // select the SAM outside the lock
+    SamResourceManagerDefault.ManagedSamResource managedSamResource;
+    try {
+      managedSamResource = createSamResource(samReader);
+    } catch (RuntimeException e) {
+      allocationMetrics.recordFailure();
+      ((PoolPlugin) samReaderPlugin).releaseReader(samReader);
+      throw e;
+    }
+    // keep the identifier to be able to hand the resource over to a waiter of the same group
+    managedSamResource.setSamIdentifier(samIdentifier);
+    allocationMetrics.recordAllocation(System.nanoTime() - startTime);
+    logger.debug("Allocation succeeded. SAM resource created.");
+    return managedSamResource;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The freed resource is handed directly to the longest waiter of the same group, if any.
+   * Otherwise, the reader is released to the pool.
+   *
+   * @since 0.9
+   */
   @Override
   public void freeSamResource(CardResource<CalypsoSam> samResource) {
+    String groupReference = null;
+    boolean isGroupKnown = false;
+    if (samResource instanceof SamResourceManagerDefault.ManagedSamResource) {
+      SamIdentifier samIdentifier =
+          ((SamResourceManagerDefault.ManagedSamResource) samResource).getSamIdentifier();
+      if (samIdentifier != null) {
+        groupReference = samIdentifier.getGroupReference();
+        isGroupKnown = true;
+      }
+    }
+    allocationLock.lock();
+    try {
+      if (isGroupKnown) {
+        for (SamResourceWaitQueue.Waiter waiter : waitQueue) {
+          if (isSameGroup(groupReference, waiter.getSamIdentifier().getGroupReference())) {
+            logger.debug("Handing HSM SAM resource over.");
+            waitQueue.handOff(waiter, samResource);
+            return;
+          }
+        }
+      }
+    } finally {
+      allocationLock.unlock();
+    }
     // virtually infinite number of readers
     logger.debug("Freeing HSM SAM resource.");
     ((PoolPlugin) samReaderPlugin).releaseReader(samResource.getReader());
+    allocationLock.lock();
+    try {
+      // a reader is available in the pool, let the longest waiter(s) retry
+      if (isGroupKnown) {
+        signalFirstOfGroup(groupReference);
+      } else {
+        for (SamResourceWaitQueue.Waiter waiter : waitQueue) {
+          waiter.signal();
+        }
+      }
+    } finally {
+      allocationLock.unlock();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Indicates whether no waiter of the same group has arrived before the provided one.
+   *
+   * <p>Must be called while holding the allocation lock.
+   *
+   * @param waiter the waiter, null for a caller not yet queued
+   * @param groupReference the group reference
+   * @return true if the caller may take a reader from the pool
+   */
+  private boolean isFirstOfGroup(SamResourceWaitQueue.Waiter waiter, String groupReference) {
+    for (SamResourceWaitQueue.Waiter queuedWaiter : waitQueue) {
+      if (queuedWaiter == waiter) {
+        return true;
+      }
+      if (isSameGroup(groupReference, queuedWaiter.getSamIdentifier().getGroupReference())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * (private)<br>
+   * Wakes up the longest waiter of the provided group, if any.
+   *
+   * <p>Must be called while holding the allocation lock.
+   *
+   * @param groupReference the group reference
+   */
+  private void signalFirstOfGroup(String groupReference) {
+    for (SamResourceWaitQueue.Waiter waiter : waitQueue) {
+      if (isSameGroup(groupReference, waiter.getSamIdentifier().getGroupReference())) {
+        waiter.signal();
+        return;
+      }
+    }
+  }
+
+  private static boolean isSameGroup(String groupReference1, String groupReference2) {
+    return groupReference1 == null
+        ? groupReference2 == null
+        : groupReference1.equals(groupReference2);
+  }
+
+  /**
+   * (private)<br>
+   * Tries to allocate a reader from the pool.
+   *
+   * <p>Must be called without holding the allocation lock.
+   *
+   * @param samIdentifier the targeted SAM identifier
+   * @return the reader or null if the pool has no reader available
+   * @throws KeypleAllocationReaderException if the allocation failed due to a technical error
+   */
+  private Reader allocateReaderFromPool(SamIdentifier samIdentifier) {
+    try {
+      // virtually infinite number of readers
+      return ((PoolPlugin) samReaderPlugin).allocateReader(samIdentifier.getGroupReference());
+    } catch (KeypleAllocationReaderException e) {
+      throw new KeypleAllocationReaderException(
+          "Allocation failed due to a plugin technical error", e);
+    } catch (KeypleAllocationNoReaderException e) {
+      // no reader is available
+      return null;
+    }
   }
 }
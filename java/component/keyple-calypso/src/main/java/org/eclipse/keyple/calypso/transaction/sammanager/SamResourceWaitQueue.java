@@ -0,0 +1,189 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction.sammanager;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import org.eclipse.keyple.calypso.transaction.CalypsoSam;
+import org.eclipse.keyple.core.card.selection.CardResource;
+
+/**
+ * (package-private)<br>
+ * FIFO queue of the callers waiting for a SAM resource.
+ *
+ * <p>Each waiter has its own {@link Condition} created from the lock of the manager, so that a
+ * released SAM resource can be handed directly to the longest waiter it matches instead of waking
+ * up all the waiting threads.
+ *
+ * <p>All methods must be called while holding the lock provided to the constructor.
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("deprecation")
+final class SamResourceWaitQueue implements Iterable<SamResourceWaitQueue.Waiter> {
+
+  private final Lock lock;
+  private final LinkedList<Waiter> waiters = new LinkedList<Waiter>();
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @param lock the lock protecting the manager state, must be fair to preserve the arrival order
+   * @since 1.1
+   */
+  SamResourceWaitQueue(Lock lock) {
+    this.lock = lock;
+  }
+
+  /**
+   * (package-private)<br>
+   * Appends a new waiter at the end of the queue.
+   *
+   * @param samIdentifier the SAM identifier requested by the waiter
+   * @return the new waiter
+   * @since 1.1
+   */
+  Waiter enqueue(SamIdentifier samIdentifier) {
+    return enqueue(samIdentifier, null);
+  }
+
+  /**
+   * (package-private)<br>
+   * Appends a new waiter with an affinity key at the end of the queue.
+   *
+   * @param samIdentifier the SAM identifier requested by the waiter
+   * @param affinityKey the affinity key of the request (may be null)
+   * @return the new waiter
+   * @since 1.1
+   */
+  Waiter enqueue(SamIdentifier samIdentifier, String affinityKey) {
+    Waiter waiter = new Waiter(samIdentifier, affinityKey, lock.newCondition());
+    waiters.addLast(waiter);
+    return waiter;
+  }
+
+  /**
+   * (package-private)<br>
+   * Removes a waiter from the queue (no effect if the waiter is not queued).
+   *
+   * @param waiter the waiter to remove
+   * @since 1.1
+   */
+  void remove(Waiter waiter) {
+    waiters.remove(waiter);
+  }
+
+  /**
+   * (package-private)<br>
+   * Hands a SAM resource to a waiter, removes it from the queue and wakes it up.
+   *
+   * @param waiter the waiter to serve
+   * @param samResource the resource allocated to the waiter
+   * @since 1.1
+   */
+  void handOff(Waiter waiter, CardResource<CalypsoSam> samResource) {
+    waiter.samResource = samResource;
+    waiters.remove(waiter);
+    waiter.signal();
+  }
+
+  /**
+   * (package-private)<br>
+   * Iterates the waiters from the longest waiter to the most recent one.
+   *
+   * <p>The queue must not be modified during the iteration, except by a {@link #handOff(Waiter,
+   * CardResource)} immediately followed by the end of the iteration.
+   *
+   * @return a not null iterator
+   * @since 1.1
+   */
+  @Override
+  public Iterator<Waiter> iterator() {
+    return waiters.iterator();
+  }
+
+  /**
+   * (package-private)<br>
+   * A caller waiting for a SAM resource.
+   *
+   * @since 1.1
+   */
+  static final class Waiter {
+
+    private final SamIdentifier samIdentifier;
+    private final String affinityKey;
+    private final Condition condition;
+    private CardResource<CalypsoSam> samResource;
+
+    private Waiter(SamIdentifier samIdentifier, String affinityKey, Condition condition) {
+      this.samIdentifier = samIdentifier;
+      this.affinityKey = affinityKey;
+      this.condition = condition;
+    }
+
+    /**
+     * (package-private)<br>
+     *
+     * @return the SAM identifier requested by the waiter
+     * @since 1.1
+     */
+    SamIdentifier getSamIdentifier() {
+      return samIdentifier;
+    }
+
+    /**
+     * (package-private)<br>
+     *
+     * @return the affinity key of the request (may be null)
+     * @since 1.1
+     */
+    String getAffinityKey() {
+      return affinityKey;
+    }
+
+    /**
+     * (package-private)<br>
+     *
+     * @return the SAM resource handed to the waiter, null if none has been handed yet
+     * @since 1.1
+     */
+    CardResource<CalypsoSam> getSamResource() {
+      return samResource;
+    }
+
+    /**
+     * (package-private)<br>
+     * Waits until a SAM resource is handed, the waiter is signaled or the timeout elapses.
+     *
+     * @param nanosTimeout the maximum time to wait in nanoseconds
+     * @return an estimate of the remaining time (see {@link Condition#awaitNanos(long)})
+     * @throws InterruptedException if the current thread is interrupted
+     * @since 1.1
+     */
+    long awaitNanos(long nanosTimeout) throws InterruptedException {
+      return condition.awaitNanos(nanosTimeout);
+    }
+
+    /**
+     * (package-private)<br>
+     * Wakes up the waiter.
+     *
+     * @since 1.1
+     */
+    void signal() {
+      condition.signal();
+    }
+  }
+}
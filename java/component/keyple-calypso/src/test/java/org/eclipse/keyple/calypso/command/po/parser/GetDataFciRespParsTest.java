@@ -320,6 +320,35 @@ public class GetDataFciRespParsTest {
         ByteArrayUtil.fromHex(startupInformation), parser.getDiscretionaryData());
   }
 
+  @Test
+  public void testFCIparser_FCI_malformedDataAfterDiscretionaryData() {
+    String dfName = "00112233445566778899";
+    String appSerialNumber = "AABBCCDDEEFF0011";
+    String startupInformation = "0B55AA55AA55AA";
+    /* the data object following the discretionary data exceeds the FCI */
+    ApduResponse apduResponse =
+        new ApduResponse(
+            ByteArrayUtil.fromHex(
+                "6F 27 84 0A "
+                    + dfName
+                    + " A5 19 BF0C 16 C7 08 "
+                    + appSerialNumber
+                    + " 53 07 "
+                    + startupInformation
+                    + " DD 05 99"
+                    + "9000"),
+            null);
+
+    GetDataFciRespPars parser = new GetDataFciRespPars(apduResponse, null);
+
+    Assert.assertTrue(parser.isValidCalypsoFCI());
+    Assert.assertArrayEquals(ByteArrayUtil.fromHex(dfName), parser.getDfName());
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex(appSerialNumber), parser.getApplicationSerialNumber());
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex(startupInformation), parser.getDiscretionaryData());
+  }
+
   /**
    * CL-SEL-TLVSTRUC.1<br>
    * Calypso Layer shall allow the answer to the Select Application command to be variable in length
@@ -17,6 +17,7 @@ import static org.eclipse.keyple.calypso.command.po.builder.ReadRecordsCmdBuild.
 
 import java.util.SortedMap;
 import org.eclipse.keyple.calypso.command.PoClass;
+import org.eclipse.keyple.calypso.command.po.PoCommandStatus;
 import org.eclipse.keyple.calypso.command.po.builder.ReadRecordsCmdBuild;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoCommandException;
 import org.eclipse.keyple.core.card.message.ApduResponse;
@@ -39,6 +40,12 @@ public class ReadRecordsRespParsTest {
           + String.format("02%02X", REC2.length() / 2)
           + REC2
           + SW1SW2_OK;
+  private static final String APDU_TWO_RECORDS_TRUNCATED =
+      String.format("01%02X", REC1.length() / 2)
+          + REC1
+          + String.format("02%02X", REC2.length() / 2)
+          + REC2.substring(0, 8)
+          + SW1SW2_OK;
   private static final int SFI1 = 1;
   private static final int FIRST_REC1 = 1;
   private static final int EXPECTED_LENGTH1 = REC1.length();
@@ -61,6 +68,28 @@ public class ReadRecordsRespParsTest {
     readRecordRespPars.checkStatus();
   }
 
+  @Test
+  public void readRecordRespPars_getStatus() {
+    assertThat(
+            new ReadRecordsRespPars(
+                    new ApduResponse(ByteArrayUtil.fromHex(APDU_ONE_RECORD), null), null)
+                .getStatus())
+        .isEqualTo(PoCommandStatus.SUCCESS);
+    assertThat(
+            new ReadRecordsRespPars(
+                    new ApduResponse(ByteArrayUtil.fromHex(APDU_BAD_SW1SW2), null), null)
+                .getStatus())
+        .isEqualTo(PoCommandStatus.DATA_ACCESS);
+    assertThat(
+            new ReadRecordsRespPars(new ApduResponse(ByteArrayUtil.fromHex("6982"), null), null)
+                .getStatus())
+        .isEqualTo(PoCommandStatus.SECURITY_CONTEXT);
+    assertThat(
+            new ReadRecordsRespPars(new ApduResponse(ByteArrayUtil.fromHex("6F00"), null), null)
+                .getStatus())
+        .isEqualTo(PoCommandStatus.UNKNOWN);
+  }
+
   @Test
   public void readRecordRespPars_getRecords_singleRecord() {
     ReadRecordsCmdBuild readRecordsCmdBuild =
@@ -89,4 +118,20 @@ public class ReadRecordsRespParsTest {
     assertThat(records.get(FIRST_REC1)).isEqualTo(ByteArrayUtil.fromHex(REC1));
     assertThat(records.get(FIRST_REC1 + 1)).isEqualTo(ByteArrayUtil.fromHex(REC2));
   }
+
+  @Test
+  public void readRecordRespPars_getRecords_truncatedResponse_shouldPadTheLastRecordWithZeros() {
+    ReadRecordsCmdBuild readRecordsCmdBuild =
+        new ReadRecordsCmdBuild(
+            PoClass.ISO, SFI1, FIRST_REC1, ReadMode.MULTIPLE_RECORD, EXPECTED_LENGTH2);
+    ReadRecordsRespPars readRecordRespPars =
+        readRecordsCmdBuild.createResponseParser(
+            new ApduResponse(ByteArrayUtil.fromHex(APDU_TWO_RECORDS_TRUNCATED), null));
+    readRecordRespPars.checkStatus();
+    SortedMap<Integer, byte[]> records = readRecordRespPars.getRecords();
+    assertThat(records.size()).isEqualTo(2);
+    assertThat(records.get(FIRST_REC1)).isEqualTo(ByteArrayUtil.fromHex(REC1));
+    assertThat(records.get(FIRST_REC1 + 1))
+        .isEqualTo(ByteArrayUtil.fromHex(REC2.substring(0, 8) + "000000000000000000000000"));
+  }
 }
@@ -53,4 +53,27 @@ public class SelectFileRespParsTest {
     assertThat(selectFileRespPars.getProprietaryInformation())
         .isEqualTo(ByteArrayUtil.fromHex(PROPRIETARY_INFORMATION));
   }
+
+  @Test
+  public void selectFileRespParsTest_getProprietaryInformation_malformedTrailingData() {
+    // the data object following the proprietary information exceeds the response
+    SelectFileRespPars selectFileRespPars =
+        new SelectFileRespPars(
+            new ApduResponse(
+                ByteArrayUtil.fromHex("8517" + PROPRIETARY_INFORMATION + "DD0599" + SW1SW2_OK),
+                null),
+            null);
+    assertThat(selectFileRespPars.getProprietaryInformation())
+        .isEqualTo(ByteArrayUtil.fromHex(PROPRIETARY_INFORMATION));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void selectFileRespParsTest_getProprietaryInformation_malformed_shouldThrowISE() {
+    SelectFileRespPars selectFileRespPars =
+        new SelectFileRespPars(
+            new ApduResponse(
+                ByteArrayUtil.fromHex("8518" + PROPRIETARY_INFORMATION + SW1SW2_OK), null),
+            null);
+    selectFileRespPars.getProprietaryInformation();
+  }
 }
@@ -30,9 +30,9 @@ public class DigestUpdateMultipleCmdBuildTest {
   private static final String DIGEST_DATA = "112233445566778899AA";
   private static final String SW1SW2_OK = "9000";
   private static final byte LENGTH_4 = (byte) 0x04;
-  private static final String APDU_CLA_80 = "808C00000A" + DIGEST_DATA;
-  private static final String APDU_CLA_80_ENCRYPTED_SESSION = "808C00800A" + DIGEST_DATA;
-  private static final String APDU_CLA_94 = "948C00000A" + DIGEST_DATA;
+  private static final String APDU_CLA_80 = "808C80000A" + DIGEST_DATA;
+  private static final String APDU_CLA_80_ENCRYPTED_SESSION = "808C80800A" + DIGEST_DATA;
+  private static final String APDU_CLA_94 = "948C80000A" + DIGEST_DATA;
 
   @Test
   public void digestUpdateMultipleCmdBuild_defaultRevision_createParser() {
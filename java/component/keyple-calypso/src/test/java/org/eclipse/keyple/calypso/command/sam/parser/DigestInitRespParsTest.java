@@ -13,7 +13,10 @@ package org.eclipse.keyple.calypso.command.sam.parser;
 
 import static org.assertj.core.api.Assertions.shouldHaveThrown;
 
+import java.util.HashMap;
+import java.util.Map;
 import org.eclipse.keyple.calypso.command.sam.exception.CalypsoSamCommandException;
+import org.eclipse.keyple.calypso.command.sam.builder.security.DigestInitCmdBuild;
 import org.eclipse.keyple.calypso.command.sam.parser.security.DigestInitRespPars;
 import org.eclipse.keyple.core.card.message.ApduResponse;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
@@ -40,4 +43,27 @@ public class DigestInitRespParsTest {
         new DigestInitRespPars(new ApduResponse(ByteArrayUtil.fromHex(SW1SW2_OK), null), null);
     digestInitRespPars.checkStatus();
   }
+
+  @Test
+  public void digestInitRespPars_statusTableOverridden_shouldUseTheOverriddenTable() {
+    DigestInitRespPars digestInitRespPars =
+        new LenientDigestInitRespPars(new ApduResponse(ByteArrayUtil.fromHex(SW1SW2_KO), null));
+    digestInitRespPars.checkStatus();
+  }
+
+  /** Parser of an application considering the signing key not found as successful */
+  private static class LenientDigestInitRespPars extends DigestInitRespPars {
+
+    private LenientDigestInitRespPars(ApduResponse response) {
+      super(response, (DigestInitCmdBuild) null);
+    }
+
+    @Override
+    protected Map<Integer, StatusProperties> getStatusTable() {
+      Map<Integer, StatusProperties> statusTable =
+          new HashMap<Integer, StatusProperties>(super.getStatusTable());
+      statusTable.put(0x6A83, new StatusProperties("Signing key not found."));
+      return statusTable;
+    }
+  }
 }
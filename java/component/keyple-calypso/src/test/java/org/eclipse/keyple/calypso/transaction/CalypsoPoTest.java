@@ -13,6 +13,8 @@ package org.eclipse.keyple.calypso.transaction;
 
 import static org.assertj.core.api.Assertions.*;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -370,6 +372,28 @@ public class CalypsoPoTest {
     assertThat(ref2).isSameAs(ref1);
   }
 
+  @Test
+  public void getAllFiles_shouldBeSortedAndBackedByThePoImage() {
+    Map<Byte, ElementaryFile> files = po.getAllFiles();
+    po.setContent((byte) 0x1E, 1, new byte[1]);
+    po.setContent((byte) 0x07, 1, new byte[1]);
+    assertThat(files).containsOnlyKeys((byte) 0x07, (byte) 0x1E);
+    assertThat(files.keySet()).containsExactly((byte) 0x07, (byte) 0x1E);
+    assertThat(files.get((byte) 0x07)).isSameAs(po.getFileBySfi((byte) 0x07));
+  }
+
+  @Test
+  public void getFileByLid_whenHeaderIsReplaced_shouldReturnTheFileOfTheNewLid() {
+    po.setFileHeader((byte) 1, FileHeader.builder().lid((short) 2).build());
+    po.setFileHeader((byte) 1, FileHeader.builder().lid((short) 3).build());
+    assertThat(po.getFileByLid((short) 3).getSfi()).isEqualTo((byte) 1);
+    try {
+      po.getFileByLid((short) 2);
+      shouldHaveThrown(NoSuchElementException.class);
+    } catch (NoSuchElementException e) {
+    }
+  }
+
   @Test
   public void setFileHeader_whenSfiIsNotSet_shouldCreateEf() {
     try {
@@ -469,6 +493,83 @@ public class CalypsoPoTest {
     assertThat(content).isEqualTo(contentV1);
   }
 
+  @Test
+  public void restoreFiles_shouldRestoreRecordsModifiedInPlace() {
+    po.setContent((byte) 1, 1, ByteArrayUtil.fromHex("11223344"));
+    po.setContent((byte) 1, 2, ByteArrayUtil.fromHex("55667788"));
+    byte[] record2 = po.getFileBySfi((byte) 1).getData().getContent(2);
+
+    po.backupFiles();
+
+    po.setContent((byte) 1, 1, ByteArrayUtil.fromHex("AABB"), 1);
+    po.fillContent((byte) 1, 1, ByteArrayUtil.fromHex("01"));
+    po.setCounter((byte) 1, 1, ByteArrayUtil.fromHex("000001"));
+    po.setContent((byte) 1, 3, ByteArrayUtil.fromHex("99"));
+
+    po.restoreFiles();
+
+    FileData data = po.getFileBySfi((byte) 1).getData();
+    assertThat(data.getAllRecordsContent()).containsOnlyKeys(1, 2);
+    assertThat(data.getContent(1)).isEqualTo(ByteArrayUtil.fromHex("11223344"));
+    // untouched records are not copied
+    assertThat(data.getContent(2)).isSameAs(record2);
+  }
+
+  @Test
+  public void restoreFiles_shouldRestoreCyclicContent() {
+    po.addCyclicContent((byte) 1, ByteArrayUtil.fromHex("01"));
+    po.addCyclicContent((byte) 1, ByteArrayUtil.fromHex("02"));
+
+    po.backupFiles();
+
+    po.addCyclicContent((byte) 1, ByteArrayUtil.fromHex("03"));
+    po.setContent((byte) 1, 2, ByteArrayUtil.fromHex("FF"), 0);
+
+    po.restoreFiles();
+
+    FileData data = po.getFileBySfi((byte) 1).getData();
+    assertThat(data.getAllRecordsContent()).containsOnlyKeys(1, 2);
+    assertThat(data.getContent(1)).isEqualTo(ByteArrayUtil.fromHex("02"));
+    assertThat(data.getContent(2)).isEqualTo(ByteArrayUtil.fromHex("01"));
+  }
+
+  @Test
+  public void restoreFiles_shouldRemoveFilesCreatedAfterBackup() {
+    po.setFileHeader((byte) 1, FileHeader.builder().lid((short) 2).build());
+
+    po.backupFiles();
+
+    po.setFileHeader((byte) 3, FileHeader.builder().lid((short) 4).build());
+    po.setContent((byte) 3, 1, new byte[1]);
+    po.setFileHeader((byte) 1, FileHeader.builder().lid((short) 5).build());
+
+    po.restoreFiles();
+
+    assertThat(po.getAllFiles()).containsOnlyKeys((byte) 1);
+    assertThat(po.getFileByLid((short) 2).getSfi()).isEqualTo((byte) 1);
+    assertThat(po.getFileBySfi((byte) 1).getHeader().getLid()).isEqualTo((short) 2);
+    try {
+      po.getFileByLid((short) 4);
+      shouldHaveThrown(NoSuchElementException.class);
+    } catch (NoSuchElementException e) {
+    }
+  }
+
+  @Test
+  public void restoreFiles_calledTwice_shouldRestoreTheSameBackup() {
+    po.setContent((byte) 1, 1, ByteArrayUtil.fromHex("11"));
+
+    po.backupFiles();
+
+    po.setContent((byte) 1, 1, ByteArrayUtil.fromHex("22"));
+    po.restoreFiles();
+    po.setContent((byte) 1, 1, ByteArrayUtil.fromHex("33"));
+    po.restoreFiles();
+
+    assertThat(po.getFileBySfi((byte) 1).getData().getContent(1))
+        .isEqualTo(ByteArrayUtil.fromHex("11"));
+  }
+
   @Test(expected = IllegalStateException.class)
   public void pin_NotPresented() {
     po.getPinAttemptRemaining();
@@ -564,6 +665,90 @@ public class CalypsoPoTest {
     assertThat(target).isEqualToComparingFieldByFieldRecursively(po);
   }
 
+  @Test
+  public void json_toJson_shouldKeyTheFilesBySfiAndTheRecordsByNumber() {
+    loadPo();
+
+    JsonObject files =
+        KeypleGsonParser.getParser().toJsonTree(po).getAsJsonObject().getAsJsonObject("efBySfi");
+
+    assertThat(files.entrySet()).hasSize(2);
+    JsonObject records =
+        files
+            .getAsJsonObject(String.valueOf(CalypsoPoUtils.SV_DEBIT_LOG_FILE_SFI))
+            .getAsJsonObject("data")
+            .getAsJsonObject("records");
+    assertThat(records.has("1")).isTrue();
+    assertThat(records.has("3")).isTrue();
+    assertThat(records.entrySet()).hasSize(3);
+  }
+
+  @Test
+  public void json_fromJson_mapShape_shouldRestoreTheFiles() {
+    loadPo();
+    JsonObject json = KeypleGsonParser.getParser().toJsonTree(po).getAsJsonObject();
+    JsonObject file = new JsonObject();
+    file.addProperty("sfi", 7);
+    JsonObject data = new JsonObject();
+    JsonObject records = new JsonObject();
+    records.addProperty("2", "1122");
+    data.add("records", records);
+    file.add("data", data);
+    JsonObject files = new JsonObject();
+    files.add("7", file);
+    json.add("efBySfi", files);
+
+    CalypsoPo target = KeypleGsonParser.getParser().fromJson(json, CalypsoPo.class);
+
+    assertThat(target.getAllFiles()).containsOnlyKeys((byte) 7);
+    assertThat(target.getFileBySfi((byte) 7).getData().getContent(2))
+        .isEqualTo(ByteArrayUtil.fromHex("1122"));
+    assertThat(target.getFileBySfi((byte) 7).getData().getAllRecordsContent()).containsOnlyKeys(2);
+  }
+
+  @Test
+  public void json_fromJson_withoutFileBackups_shouldBackupAndRestoreTheFiles() {
+    loadPo();
+    po.backupFiles();
+    JsonObject json = KeypleGsonParser.getParser().toJsonTree(po).getAsJsonObject();
+    json.remove("fileBackupBySfi");
+
+    CalypsoPo target = KeypleGsonParser.getParser().fromJson(json, CalypsoPo.class);
+    target.backupFiles();
+    target.setContent(CalypsoPoUtils.SV_DEBIT_LOG_FILE_SFI, 1, ByteArrayUtil.fromHex("1122"));
+    target.restoreFiles();
+
+    assertThat(target.getFileBySfi(CalypsoPoUtils.SV_DEBIT_LOG_FILE_SFI).getData().getContent(1))
+        .isEqualTo(po.getFileBySfi(CalypsoPoUtils.SV_DEBIT_LOG_FILE_SFI).getData().getContent(1));
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void json_fromJson_recordNumberOutOfRange_shouldThrowJPE() {
+    JsonObject json = buildJsonWithOneRecord("7", "256");
+    KeypleGsonParser.getParser().fromJson(json, CalypsoPo.class);
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void json_fromJson_sfiOutOfRange_shouldThrowJPE() {
+    JsonObject json = buildJsonWithOneRecord("32", "1");
+    KeypleGsonParser.getParser().fromJson(json, CalypsoPo.class);
+  }
+
+  JsonObject buildJsonWithOneRecord(String sfi, String numRecord) {
+    JsonObject json = KeypleGsonParser.getParser().toJsonTree(po).getAsJsonObject();
+    JsonObject file = new JsonObject();
+    file.addProperty("sfi", 7);
+    JsonObject data = new JsonObject();
+    JsonObject records = new JsonObject();
+    records.addProperty(numRecord, "1122");
+    data.add("records", records);
+    file.add("data", data);
+    JsonObject files = new JsonObject();
+    files.add(sfi, file);
+    json.add("efBySfi", files);
+    return json;
+  }
+
   void loadPo() {
     byte[] svLoadRecordData =
         ByteArrayUtil.fromHex("000000780000001A0000020000AABBCCDD0000DB007000000000000000");
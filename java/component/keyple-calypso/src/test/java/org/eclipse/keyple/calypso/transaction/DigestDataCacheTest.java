@@ -0,0 +1,77 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Test;
+
+public class DigestDataCacheTest {
+
+  private static final byte[] BLOCK1 = ByteArrayUtil.fromHex("00B2013C00");
+  private static final byte[] BLOCK2 = ByteArrayUtil.fromHex("112233449000");
+
+  @Test
+  public void add_getBlock_shouldReturnCopiesOfTheBlocks() {
+    DigestDataCache cache = new DigestDataCache();
+    assertThat(cache.isEmpty()).isTrue();
+    cache.add(BLOCK1);
+    cache.add(BLOCK2, 1, 3);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getBlock(0)).isEqualTo(BLOCK1).isNotSameAs(BLOCK1);
+    assertThat(cache.getBlock(1)).isEqualTo(ByteArrayUtil.fromHex("223344"));
+    assertThat(cache.getBlockLength(1)).isEqualTo(3);
+  }
+
+  @Test
+  public void copyBlock_shouldWriteAtTheProvidedOffset() {
+    DigestDataCache cache = new DigestDataCache();
+    cache.add(BLOCK1);
+    byte[] dest = new byte[BLOCK1.length + 1];
+    assertThat(cache.copyBlock(0, dest, 1)).isEqualTo(BLOCK1.length);
+    assertThat(dest).isEqualTo(ByteArrayUtil.fromHex("0000B2013C00"));
+  }
+
+  @Test
+  public void clear_shouldRemoveAllBlocks() {
+    DigestDataCache cache = new DigestDataCache();
+    cache.add(BLOCK1);
+    cache.clear();
+    assertThat(cache.isEmpty()).isTrue();
+    cache.add(BLOCK2);
+    assertThat(cache.getBlock(0)).isEqualTo(BLOCK2);
+  }
+
+  @Test
+  public void add_shouldGrowBeyondInitialCapacity() {
+    DigestDataCache cache = new DigestDataCache();
+    byte[] block = new byte[250];
+    for (int i = 0; i < 100; i++) {
+      block[0] = (byte) i;
+      cache.add(block);
+    }
+    assertThat(cache.size()).isEqualTo(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(cache.getBlockLength(i)).isEqualTo(250);
+      assertThat(cache.getBlock(i)[0]).isEqualTo((byte) i);
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getBlock_outOfRange_shouldThrowIOOBE() {
+    DigestDataCache cache = new DigestDataCache();
+    cache.add(BLOCK1);
+    cache.clear();
+    cache.getBlock(0);
+  }
+}
@@ -14,6 +14,8 @@ package org.eclipse.keyple.calypso.transaction;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.SortedMap;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
@@ -277,11 +279,12 @@ public class FileDataTest {
     file.setContent(1, data1);
     file.setContent(2, data2);
     file.addCyclicContent(data3);
-    assertThat(file.getAllRecordsContent())
+    assertThat(file.getAllRecordsContent().keySet()).containsExactly(1, 2, 3);
+    assertThat(file.getAllRecordsContent().values())
         .containsExactly(
-            entry(1, ByteArrayUtil.fromHex("333333")),
-            entry(2, ByteArrayUtil.fromHex("11")),
-            entry(3, ByteArrayUtil.fromHex("2222")));
+            ByteArrayUtil.fromHex("333333"),
+            ByteArrayUtil.fromHex("11"),
+            ByteArrayUtil.fromHex("2222"));
   }
 
   @Test
@@ -291,4 +294,42 @@ public class FileDataTest {
     assertThat(clone).isNotSameAs(file);
     assertThat(clone.getContent(1)).isNotSameAs(file.getContent(1));
   }
+
+  @Test
+  public void getAllRecordsContent_shouldBeSortedAndBackedByTheFileData() {
+    SortedMap<Integer, byte[]> records = file.getAllRecordsContent();
+    file.setContent(3, data3);
+    file.setContent(1, data1);
+    assertThat(records.keySet()).containsExactly(1, 3);
+    assertThat(records.values()).containsExactly(data1, data3);
+    assertThat(records.firstKey()).isEqualTo(1);
+    assertThat(records.lastKey()).isEqualTo(3);
+    records.put(2, data2);
+    assertThat(file.getContent(2)).isSameAs(data2);
+    assertThat(records.remove(3)).isSameAs(data3);
+    assertThat(file.getLastRecordNumber()).isEqualTo(2);
+  }
+
+  @Test
+  public void getAllRecordsContent_iteratorRemove_shouldRemoveTheRecord() {
+    file.setContent(1, data1);
+    file.setContent(4, data4);
+    Iterator<Map.Entry<Integer, byte[]>> iterator =
+        file.getAllRecordsContent().entrySet().iterator();
+    iterator.next();
+    iterator.next();
+    iterator.remove();
+    assertThat(iterator.hasNext()).isFalse();
+    assertThat(file.getAllRecordsContent()).containsOnlyKeys(1);
+    assertThat(file.getLastRecordNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void addCyclicContent_withMissingRecords_shouldShiftOnlyKnownRecords() {
+    file.setContent(1, data1);
+    file.setContent(3, data3);
+    file.addCyclicContent(data4);
+    assertThat(file.getAllRecordsContent().keySet()).containsExactly(1, 2, 3, 4);
+    assertThat(file.getAllRecordsContent().values()).containsExactly(data4, data1, data3, data3);
+  }
 }
@@ -242,4 +242,19 @@ public class PoSecuritySettingsTest {
             .build();
     assertThat(poSecuritySettings.getSvNegativeBalance()).isEqualTo(AUTHORIZED);
   }
+
+  @Test
+  public void poSecuritySettings_samDigestUpdateMultiple() {
+    Reader samReader = null;
+    CalypsoSam calypsoSam = createCalypsoSam();
+    CardResource<CalypsoSam> samResource = new CardResource<CalypsoSam>(samReader, calypsoSam);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource).build();
+    assertThat(poSecuritySettings.isSamDigestUpdateMultipleEnabled()).isFalse();
+    poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource)
+            .samDigestUpdateMultiple(true)
+            .build();
+    assertThat(poSecuritySettings.isSamDigestUpdateMultipleEnabled()).isTrue();
+  }
 }
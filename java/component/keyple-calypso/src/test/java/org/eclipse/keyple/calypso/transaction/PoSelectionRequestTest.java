@@ -19,6 +19,7 @@ import org.eclipse.keyple.core.card.message.ApduResponse;
 import org.eclipse.keyple.core.card.message.CardResponse;
 import org.eclipse.keyple.core.card.message.CardSelectionResponse;
 import org.eclipse.keyple.core.card.message.SelectionStatus;
+import org.eclipse.keyple.core.card.selection.CardSelectionCache;
 import org.eclipse.keyple.core.service.util.ContactlessCardCommonProtocols;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.junit.Assert;
@@ -154,4 +155,47 @@ public class PoSelectionRequestTest {
     Assert.assertArrayEquals(ByteArrayUtil.fromHex("01030000"), dfHeader.getKeyIndexes());
     Assert.assertEquals(0, dfHeader.getDfStatus());
   }
+
+  @Test
+  public void testParse_withCache() {
+    byte sfi1 = (byte) 0x10;
+    poSelection.prepareReadRecordFile(sfi1, 1);
+    CardSelectionCache cardSelectionCache = new CardSelectionCache(10, 60000);
+    SelectionStatus selectionStatus =
+        new SelectionStatus(
+            new AnswerToReset(ByteArrayUtil.fromHex(ATR_VALUE)), SELECT_APPLICATION_RESPONSE, true);
+
+    List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+    apduResponses.add(READ_REC_APDU_RESPONSE1);
+    CalypsoPo calypsoPo1 =
+        poSelection.parse(
+            new CardSelectionResponse(selectionStatus, new CardResponse(true, apduResponses)),
+            cardSelectionCache);
+    apduResponses = new ArrayList<ApduResponse>();
+    apduResponses.add(READ_REC_APDU_RESPONSE2);
+    CalypsoPo calypsoPo2 =
+        poSelection.parse(
+            new CardSelectionResponse(selectionStatus, new CardResponse(true, apduResponses)),
+            cardSelectionCache);
+
+    Assert.assertEquals(1, cardSelectionCache.getMissCount());
+    Assert.assertEquals(1, cardSelectionCache.getHitCount());
+    Assert.assertNotSame(calypsoPo1, calypsoPo2);
+    // identification data from the cache, file data from the current responses
+    Assert.assertEquals(calypsoPo1.getRevision(), calypsoPo2.getRevision());
+    Assert.assertEquals(
+        calypsoPo1.getApplicationSerialNumber(), calypsoPo2.getApplicationSerialNumber());
+    Assert.assertEquals(calypsoPo1.getStartupInfo(), calypsoPo2.getStartupInfo());
+    Assert.assertEquals(calypsoPo1.getDfName(), calypsoPo2.getDfName());
+    Assert.assertEquals(
+        calypsoPo1.isConfidentialSessionModeSupported(),
+        calypsoPo2.isConfidentialSessionModeSupported());
+    Assert.assertEquals(calypsoPo1.getPayloadCapacity(), calypsoPo2.getPayloadCapacity());
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex(RECORD_CONTENT1),
+        calypsoPo1.getFileBySfi(sfi1).getData().getContent());
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex(RECORD_CONTENT2),
+        calypsoPo2.getFileBySfi(sfi1).getData().getContent());
+  }
 }
@@ -0,0 +1,316 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.eclipse.keyple.calypso.transaction.PoTransaction.SessionSetting.AccessLevel;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.card.message.AnswerToReset;
+import org.eclipse.keyple.core.card.message.ApduRequest;
+import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.card.message.CardRequest;
+import org.eclipse.keyple.core.card.message.CardResponse;
+import org.eclipse.keyple.core.card.message.CardSelectionResponse;
+import org.eclipse.keyple.core.card.message.ChannelControl;
+import org.eclipse.keyple.core.card.message.ProxyReader;
+import org.eclipse.keyple.core.card.message.SelectionStatus;
+import org.eclipse.keyple.core.card.selection.CardResource;
+import org.eclipse.keyple.core.service.exception.KeypleReaderIOException;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Checks that secure sessions and stored value operations running in parallel on distinct readers
+ * do not interfere.
+ */
+public class PoTransactionConcurrencyTest {
+
+  private static final int NB_SESSIONS = 64;
+  private static final int NB_ITERATIONS = 20;
+
+  private static final String FCI_REV31 =
+      "6F238409315449432E49434131A516BF0C13C708 0000000011223344 53070A3C23121410019000";
+  private static final String ATR1 = "3B3F9600805A0080C120000012345678829000";
+
+  private static final byte FILE7 = (byte) 0x07;
+  private static final byte FILE8 = (byte) 0x08;
+  private static final byte DEFAULT_KIF_DEBIT = (byte) 0x30;
+
+  private static final String SW1SW2_OK = "9000";
+  private static final String SAM_CHALLENGE = "C1C2C3C4";
+  private static final String SAM_SIGNATURE = "12345678";
+  private static final String PO_SIGNATURE = "9ABCDEF0";
+
+  private static final String PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD =
+      "008A0B3904" + SAM_CHALLENGE + "00";
+  private static final String PO_READ_REC_SFI8_REC1_CMD = "00B2014400";
+  private static final String PO_CLOSE_SECURE_SESSION_CMD = "008E800004" + SAM_SIGNATURE + "00";
+  private static final String PO_RATIFICATION_CMD = "00B2000000";
+
+  private static final String SAM_SELECT_DIVERSIFIER_CMD = "80140000080000000011223344";
+  private static final String SAM_GET_CHALLENGE_CMD = "8084000004";
+  private static final String SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD = "808C00000500B2014400";
+  private static final String SAM_DIGEST_CLOSE_CMD = "808E000004";
+  private static final String SAM_DIGEST_AUTHENTICATE_CMD = "8082000004" + PO_SIGNATURE;
+
+  private static final String PO_SV_GET_RELOAD_CMD = "007C000700";
+  private static final String PO_SV_GET_RELOAD_RSP_END =
+      "000000790000001A0000020000123456780000DB0070";
+  private static final String PO_SV_RELOAD_CMD =
+      "00B89591171600000079000000020000123456780000DE2C8CB3D280";
+  private static final String SAM_PREPARE_LOAD_CMD_END = "B80000170000000079000000020000";
+  private static final String SAM_PREPARE_LOAD_RSP = "9591160000DE2C8CB3D280" + SW1SW2_OK;
+  private static final String SAM_SV_CHECK_CMD = "8058000003";
+
+  @Test
+  public void processClosing_parallelSessions_shouldNotShareDigestData() throws Exception {
+    runInParallel(
+        new Scenario() {
+          @Override
+          Map<String, String> poCommands(int sessionIndex) {
+            return sessionPoCommands(sessionIndex);
+          }
+
+          @Override
+          Map<String, String> samCommands(int sessionIndex) {
+            return sessionSamCommands(sessionIndex);
+          }
+
+          @Override
+          void run(int sessionIndex, ProxyReader poReader, ProxyReader samReader) {
+            runSession(sessionIndex, poReader, samReader);
+          }
+        });
+  }
+
+  @Test
+  public void processPoCommands_parallelSvReloads_shouldNotShareSvData() throws Exception {
+    runInParallel(
+        new Scenario() {
+          @Override
+          Map<String, String> poCommands(int sessionIndex) {
+            return svReloadPoCommands(sessionIndex);
+          }
+
+          @Override
+          Map<String, String> samCommands(int sessionIndex) {
+            return svReloadSamCommands(sessionIndex);
+          }
+
+          @Override
+          void run(int sessionIndex, ProxyReader poReader, ProxyReader samReader) {
+            runSvReload(sessionIndex, poReader, samReader);
+          }
+        });
+  }
+
+  /** Operates the scenario on NB_SESSIONS pairs of PO/SAM readers in parallel. */
+  private void runInParallel(final Scenario scenario) throws InterruptedException {
+    final CountDownLatch startSignal = new CountDownLatch(1);
+    final CountDownLatch doneSignal = new CountDownLatch(NB_SESSIONS);
+    final ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<Throwable>();
+
+    for (int i = 0; i < NB_SESSIONS; i++) {
+      final int sessionIndex = i;
+      final ProxyReader poReader = createStubReader("PO" + i, scenario.poCommands(i));
+      final ProxyReader samReader = createStubReader("SAM" + i, scenario.samCommands(i));
+      new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    startSignal.await();
+                    for (int j = 0; j < NB_ITERATIONS; j++) {
+                      scenario.run(sessionIndex, poReader, samReader);
+                    }
+                  } catch (Throwable t) {
+                    errors.add(t);
+                  } finally {
+                    doneSignal.countDown();
+                  }
+                }
+              })
+          .start();
+    }
+
+    startSignal.countDown();
+    assertThat(doneSignal.await(60, TimeUnit.SECONDS)).isTrue();
+    assertThat(errors).isEmpty();
+  }
+
+  private void runSession(int sessionIndex, ProxyReader poReader, ProxyReader samReader) {
+    CalypsoPo calypsoPo = createCalypsoPo();
+    CalypsoSam calypsoSam = createCalypsoSam();
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(
+                new CardResource<CalypsoSam>(samReader, calypsoSam))
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT)
+            .build();
+    PoTransaction poTransaction =
+        new PoTransaction(new CardResource<CalypsoPo>(poReader, calypsoPo), poSecuritySettings);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processPoCommands();
+    poTransaction.processClosing();
+
+    assertThat(calypsoPo.getFileBySfi(FILE7).getData().getContent(1))
+        .isEqualTo(ByteArrayUtil.fromHex(record(sessionIndex, 0x00)));
+    assertThat(calypsoPo.getFileBySfi(FILE8).getData().getContent(1))
+        .isEqualTo(ByteArrayUtil.fromHex(record(sessionIndex, 0x80)));
+  }
+
+  /** builds a 29-byte record specific to the session */
+  private static String record(int sessionIndex, int mask) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 29; i++) {
+      sb.append(String.format("%02X", (sessionIndex ^ mask) & 0xFF));
+    }
+    return sb.toString();
+  }
+
+  private static Map<String, String> sessionPoCommands(int sessionIndex) {
+    Map<String, String> commands = new HashMap<String, String>();
+    commands.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD,
+        "030490980030791D" + record(sessionIndex, 0x00) + SW1SW2_OK);
+    commands.put(PO_READ_REC_SFI8_REC1_CMD, record(sessionIndex, 0x80) + SW1SW2_OK);
+    commands.put(PO_CLOSE_SECURE_SESSION_CMD, PO_SIGNATURE + SW1SW2_OK);
+    commands.put(PO_RATIFICATION_CMD, "6B00");
+    return commands;
+  }
+
+  private static Map<String, String> sessionSamCommands(int sessionIndex) {
+    Map<String, String> commands = new HashMap<String, String>();
+    commands.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK);
+    commands.put(SAM_GET_CHALLENGE_CMD, SAM_CHALLENGE + SW1SW2_OK);
+    commands.put("808A00FF273079030490980030791D" + record(sessionIndex, 0x00), SW1SW2_OK);
+    commands.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD, SW1SW2_OK);
+    commands.put("808C00001F" + record(sessionIndex, 0x80) + SW1SW2_OK, SW1SW2_OK);
+    commands.put(SAM_DIGEST_CLOSE_CMD, SAM_SIGNATURE + SW1SW2_OK);
+    commands.put(SAM_DIGEST_AUTHENTICATE_CMD, SW1SW2_OK);
+    return commands;
+  }
+
+  private void runSvReload(int sessionIndex, ProxyReader poReader, ProxyReader samReader) {
+    CalypsoPo calypsoPo = createCalypsoPo();
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(
+                new CardResource<CalypsoSam>(samReader, createCalypsoSam()))
+            .build();
+    PoTransaction poTransaction =
+        new PoTransaction(new CardResource<CalypsoPo>(poReader, calypsoPo), poSecuritySettings);
+
+    poTransaction.prepareSvGet(
+        PoTransaction.SvSettings.Operation.RELOAD, PoTransaction.SvSettings.Action.DO);
+    poTransaction.processPoCommands();
+    poTransaction.prepareSvReload(2);
+    poTransaction.processPoCommands();
+
+    assertThat(calypsoPo.getSvBalance()).isEqualTo(sessionIndex);
+  }
+
+  /** builds a 3-byte SV balance (or signature) specific to the session */
+  private static String svValue(int sessionIndex) {
+    return String.format("%06X", sessionIndex);
+  }
+
+  private static Map<String, String> svReloadPoCommands(int sessionIndex) {
+    Map<String, String> commands = new HashMap<String, String>();
+    commands.put(
+        PO_SV_GET_RELOAD_CMD,
+        "79007221D35F0E36" + svValue(sessionIndex) + PO_SV_GET_RELOAD_RSP_END + SW1SW2_OK);
+    commands.put(PO_SV_RELOAD_CMD, svValue(sessionIndex) + SW1SW2_OK);
+    return commands;
+  }
+
+  private static Map<String, String> svReloadSamCommands(int sessionIndex) {
+    Map<String, String> commands = new HashMap<String, String>();
+    commands.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK);
+    commands.put(
+        "805601FF367C00070079007221D35F0E36"
+            + svValue(sessionIndex)
+            + PO_SV_GET_RELOAD_RSP_END
+            + SW1SW2_OK
+            + SAM_PREPARE_LOAD_CMD_END,
+        SAM_PREPARE_LOAD_RSP);
+    commands.put(SAM_SV_CHECK_CMD + svValue(sessionIndex), SW1SW2_OK);
+    return commands;
+  }
+
+  private CalypsoPo createCalypsoPo() {
+    CardSelectionResponse selectionData =
+        new CardSelectionResponse(
+            new SelectionStatus(
+                null, new ApduResponse(ByteArrayUtil.fromHex(FCI_REV31), null), true),
+            null);
+    return new CalypsoPo(selectionData);
+  }
+
+  private CalypsoSam createCalypsoSam() {
+    SelectionStatus selectionStatus =
+        new SelectionStatus(new AnswerToReset(ByteArrayUtil.fromHex(ATR1)), null, true);
+    return new CalypsoSam(new CardSelectionResponse(selectionStatus, null));
+  }
+
+  private ProxyReader createStubReader(String name, final Map<String, String> commands) {
+    ProxyReader reader = Mockito.spy(ProxyReader.class);
+    doReturn(name).when(reader).getName();
+    doReturn(true).when(reader).isContactless();
+    doAnswer(
+            new Answer<CardResponse>() {
+              @Override
+              public CardResponse answer(InvocationOnMock invocation) {
+                CardRequest cardRequest = (CardRequest) invocation.getArguments()[0];
+                List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+                for (ApduRequest apduRequest : cardRequest.getApduRequests()) {
+                  String response = commands.get(ByteArrayUtil.toHex(apduRequest.getBytes()));
+                  if (response == null) {
+                    KeypleReaderIOException ex =
+                        new KeypleReaderIOException(
+                            "No response available for this request: "
+                                + ByteArrayUtil.toHex(apduRequest.getBytes()));
+                    ex.setCardResponse(new CardResponse(true, apduResponses));
+                    throw ex;
+                  }
+                  apduResponses.add(new ApduResponse(ByteArrayUtil.fromHex(response), null));
+                }
+                return new CardResponse(true, apduResponses);
+              }
+            })
+        .when(reader)
+        .transmitCardRequest(any(CardRequest.class), any(ChannelControl.class));
+    return reader;
+  }
+
+  /** A scenario operated in parallel on distinct readers. */
+  private abstract static class Scenario {
+    abstract Map<String, String> poCommands(int sessionIndex);
+
+    abstract Map<String, String> samCommands(int sessionIndex);
+
+    abstract void run(int sessionIndex, ProxyReader poReader, ProxyReader samReader);
+  }
+}
@@ -21,8 +21,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
 import org.eclipse.keyple.calypso.SelectFileControl;
+import org.eclipse.keyple.calypso.command.po.CalypsoPoCommand;
+import org.eclipse.keyple.calypso.command.po.PoCommandStatus;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoCommandException;
+import org.eclipse.keyple.calypso.command.sam.exception.CalypsoSamCommandException;
 import org.eclipse.keyple.calypso.transaction.exception.CalypsoAtomicTransactionException;
 import org.eclipse.keyple.calypso.transaction.exception.CalypsoAuthenticationNotVerifiedException;
 import org.eclipse.keyple.calypso.transaction.exception.CalypsoPoCloseSecureSessionException;
@@ -262,6 +266,8 @@ public class PoTransactionTest {
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI7_REC1_RSP =
       "808C00001F" + FILE7_REC1_29B + SW1SW2_OK;
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD = "808C00000500B2014400";
+  private static final String SAM_DIGEST_UPDATE_MULTIPLE_READ_REC_SFI8_REC1_CMD =
+      "808C800026" + "0500B2014400" + "1F" + FILE8_REC1_29B + "9000";
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI10_REC1_CMD = "808C00000500B2018C00";
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI10_REC1_RSP_CMD =
       "808C000024001122000000000000000000000000000000000000000000000000000000000000009000";
@@ -404,6 +410,238 @@ public class PoTransactionTest {
     assertThat(calypsoPoRev31.isDfRatified()).isFalse();
   }
 
+  /* Standard opening, terminal challenge fetched as soon as the transaction is created */
+  @Test
+  public void testProcessOpening_terminalChallengePrefetch() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    List<Runnable> prefetchTasks = new ArrayList<Runnable>();
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31),
+            getPrefetchingPoSecuritySettings(prefetchTasks));
+
+    assertThat(prefetchTasks).hasSize(1);
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.prepareAppendRecord(FILE9, ByteArrayUtil.fromHex(FILE9_REC1_4B));
+    poTransaction.prepareAppendRecord(FILE9, ByteArrayUtil.fromHex(FILE9_REC1_4B));
+    assertThat(prefetchTasks).hasSize(1);
+    prefetchTasks.get(0).run();
+
+    // the SAM must not be requested again at the opening
+    samCommandsTestSet.clear();
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_APPEND_REC_SFI9_REC1_4B_CMD, SW1SW2_OK_RSP);
+
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+    assertThat(calypsoPoRev31.getFileBySfi(FILE7).getData().getContent())
+        .isEqualTo(ByteArrayUtil.fromHex(FILE7_REC1_29B));
+    verify((ProxyReader) samResource.getReader(), times(1))
+        .transmitCardRequest(any(CardRequest.class), any(ChannelControl.class));
+  }
+
+  /* Terminal challenge kept across the PO exchanges performed outside a session */
+  @Test
+  public void testProcessOpening_terminalChallengePrefetch_keptAfterPoCommands() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    List<Runnable> prefetchTasks = new ArrayList<Runnable>();
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI7_REC1_CMD, PO_READ_REC_SFI7_REC1_RSP);
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31),
+            getPrefetchingPoSecuritySettings(prefetchTasks));
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processPoCommands();
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processPoCommandsAndGetResults();
+    prefetchTasks.get(0).run();
+
+    // the SAM must not be requested again at the opening
+    samCommandsTestSet.clear();
+    poCommandsTestSet.put(PO_OPEN_SECURE_SESSION_CMD, PO_OPEN_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_APPEND_REC_SFI9_REC1_4B_CMD, SW1SW2_OK_RSP);
+
+    poTransaction.prepareAppendRecord(FILE9, ByteArrayUtil.fromHex(FILE9_REC1_4B));
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+    assertThat(prefetchTasks).hasSize(1);
+    verify((ProxyReader) samResource.getReader(), times(1))
+        .transmitCardRequest(any(CardRequest.class), any(ChannelControl.class));
+  }
+
+  /* Pending terminal challenge pre-fetching withdrawn by the release of the PO channel */
+  @Test
+  public void testProcessPoCommands_terminalChallengePrefetch_withdrawnAtChannelRelease() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    List<Runnable> prefetchTasks = new ArrayList<Runnable>();
+    poCommandsTestSet.put(PO_READ_REC_SFI7_REC1_CMD, PO_READ_REC_SFI7_REC1_RSP);
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31),
+            getPrefetchingPoSecuritySettings(prefetchTasks));
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.prepareReleasePoChannel();
+    poTransaction.processPoCommands();
+
+    // the executor runs the task after the release, nothing must be sent to the SAM
+    assertThat(prefetchTasks).hasSize(1);
+    prefetchTasks.get(0).run();
+    verify((ProxyReader) samResource.getReader(), never())
+        .transmitCardRequest(any(CardRequest.class), any(ChannelControl.class));
+  }
+
+  /* Pending terminal challenge pre-fetching withdrawn by the cancellation */
+  @Test
+  public void testProcessCancel_terminalChallengePrefetch_withdrawn() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    List<Runnable> prefetchTasks = new ArrayList<Runnable>();
+    poCommandsTestSet.put(PO_ABORT_SECURE_SESSION_CMD, SW1SW2_OK_RSP);
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31),
+            getPrefetchingPoSecuritySettings(prefetchTasks));
+
+    poTransaction.prepareAppendRecord(FILE9, ByteArrayUtil.fromHex(FILE9_REC1_4B));
+    poTransaction.processCancel();
+
+    // the executor runs the task after the cancellation, nothing must be sent to the SAM
+    assertThat(prefetchTasks).hasSize(1);
+    prefetchTasks.get(0).run();
+    verify((ProxyReader) samResource.getReader(), never())
+        .transmitCardRequest(any(CardRequest.class), any(ChannelControl.class));
+  }
+
+  /* Terminal challenge requested by the opening itself when not started by the executor */
+  @Test
+  public void testProcessOpening_terminalChallengePrefetch_notStarted() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    List<Runnable> prefetchTasks = new ArrayList<Runnable>();
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    poCommandsTestSet.put(PO_OPEN_SECURE_SESSION_CMD, PO_OPEN_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_APPEND_REC_SFI9_REC1_4B_CMD, SW1SW2_OK_RSP);
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31),
+            getPrefetchingPoSecuritySettings(prefetchTasks));
+
+    poTransaction.prepareAppendRecord(FILE9, ByteArrayUtil.fromHex(FILE9_REC1_4B));
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    // the late task must not send anything to the SAM
+    prefetchTasks.get(0).run();
+    verify((ProxyReader) samResource.getReader(), times(1))
+        .transmitCardRequest(any(CardRequest.class), any(ChannelControl.class));
+  }
+
+  /* Session digest streamed to the SAM after each PO exchange */
+  @Test
+  public void testProcessClosing_samDigestStreaming() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    final List<Runnable> digestFeeds = new ArrayList<Runnable>();
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource)
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT)
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT)
+            .samDigestStreaming(
+                new Executor() {
+                  @Override
+                  public void execute(Runnable command) {
+                    digestFeeds.add(command);
+                    command.run();
+                  }
+                })
+            .build();
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_RSP_CMD, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_RATIFICATION_CMD, PO_RATIFICATION_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+    assertThat(digestFeeds).hasSize(1);
+
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processPoCommands();
+    assertThat(digestFeeds).hasSize(2);
+
+    // the digest data already sent must not be sent again at closing
+    samCommandsTestSet.remove(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD);
+    samCommandsTestSet.remove(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD);
+    samCommandsTestSet.remove(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_RSP_CMD);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poTransaction.processClosing();
+    assertThat(digestFeeds).hasSize(2);
+    assertThat(calypsoPoRev31.getFileBySfi(FILE8).getData().getContent())
+        .isEqualTo(ByteArrayUtil.fromHex(FILE8_REC1_29B));
+  }
+
+  /* A SAM error raised while streaming the digest is reported at closing */
+  @Test(expected = CalypsoSamCommandException.class)
+  public void testProcessClosing_samDigestStreaming_samError() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource)
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT)
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT)
+            .samDigestStreaming(
+                new Executor() {
+                  @Override
+                  public void execute(Runnable command) {
+                    command.run();
+                  }
+                })
+            .build();
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD, "6985");
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_RSP_CMD, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    // the SAM error is kept until the next SAM operation
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processPoCommands();
+
+    poTransaction.processClosing();
+  }
   /* Standard opening with 1 multiple records read */
   @Test
   public void testProcessOpening_readMultipleRecords() {
@@ -664,6 +902,57 @@ public class PoTransactionTest {
         .isEqualTo(FILE7_REC4_29B_BYTES);
   }
 
+  /* process Po commands reporting the unsuccessful status words in the results */
+  @Test
+  public void testProcessPoCommandsAndGetResults_absentRecord() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    poTransaction = new PoTransaction(new CardResource<CalypsoPo>(poReader, calypsoPoRev31));
+
+    poCommandsTestSet.put(PO_READ_REC_SFI7_REC1_CMD, PO_READ_REC_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, "6A83");
+    poCommandsTestSet.put(PO_READ_REC_SFI10_REC1_CMD, "6A82");
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.prepareReadRecordFile(FILE10, 1);
+    List<PoCommandResult> results = poTransaction.processPoCommandsAndGetResults();
+
+    assertThat(results).hasSize(3);
+    assertThat(results.get(0).isSuccessful()).isTrue();
+    assertThat(results.get(0).getCommand()).isEqualTo(CalypsoPoCommand.READ_RECORDS);
+    assertThat(results.get(1).getStatus()).isEqualTo(PoCommandStatus.DATA_ACCESS);
+    assertThat(results.get(1).getStatusCode()).isEqualTo(0x6A83);
+    assertThat(results.get(2).getStatus()).isEqualTo(PoCommandStatus.DATA_ACCESS);
+    assertThat(results.get(2).getStatusInformation()).isEqualTo("File not found");
+    assertThat(calypsoPoRev31.getFileBySfi(FILE7).getData().getContent(1))
+        .isEqualTo(FILE7_REC1_29B_BYTES);
+    assertThat(calypsoPoRev31.getAllFiles()).hasSize(1);
+  }
+
+  @Test(expected = CalypsoPoTransactionIllegalStateException.class)
+  public void testProcessPoCommandsAndGetResults_sessionOpen() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource)
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT)
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT)
+            .build();
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processPoCommandsAndGetResults();
+  }
+
   /* Standard processPoCommands */
   @Test
   public void testprocessPoCommands_nominalCase() {
@@ -786,6 +1075,46 @@ public class PoTransactionTest {
         .isEqualTo(ByteArrayUtil.fromHex(FILE9_REC1_4B));
   }
 
+  /* processClosing - Digest Update Multiple enabled */
+  @Test
+  public void testProcessClosing_digestUpdateMultiple() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT)
+            .samDigestUpdateMultiple(true)
+            .build();
+
+    poTransaction =
+        new PoTransaction(
+            new CardResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    // the request and the response are grouped in a single command
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_MULTIPLE_READ_REC_SFI8_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_RATIFICATION_CMD, PO_RATIFICATION_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processPoCommands();
+    poTransaction.prepareReleasePoChannel();
+    poTransaction.processClosing();
+    assertThat(calypsoPoRev31.getFileBySfi(FILE8).getData().getContent(1))
+        .isEqualTo(ByteArrayUtil.fromHex(FILE8_REC1_29B));
+  }
+
   /* processClosing - PO fail on closing #1 Close Session is failing */
   @Test(expected = CalypsoPoCloseSecureSessionException.class)
   public void testProcessClosing_poCloseFail() {
@@ -1735,6 +2064,21 @@ public class PoTransactionTest {
     assertThat(AccessLevel.SESSION_LVL_DEBIT.getSessionKey()).isEqualTo((byte) 0x03);
   }
 
+  private PoSecuritySettings getPrefetchingPoSecuritySettings(final List<Runnable> prefetchTasks) {
+    return new PoSecuritySettings.PoSecuritySettingsBuilder(samResource)
+        .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT)
+        .sessionDefaultKeyRecordNumber(
+            AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT)
+        .sessionTerminalChallengePrefetch(
+            new Executor() {
+              @Override
+              public void execute(Runnable command) {
+                prefetchTasks.add(command);
+              }
+            })
+        .build();
+  }
+
   private CalypsoPo createCalypsoPo(String FCI) {
     CardSelectionResponse selectionData =
         new CardSelectionResponse(
@@ -20,6 +20,8 @@ import static org.mockito.Mockito.when;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.calypso.CalypsoBaseTest;
 import org.eclipse.keyple.calypso.command.sam.SamRevision;
 import org.eclipse.keyple.calypso.exception.CalypsoNoSamResourceAvailableException;
@@ -27,6 +29,7 @@ import org.eclipse.keyple.calypso.transaction.CalypsoSam;
 import org.eclipse.keyple.calypso.transaction.CalypsoSamTest;
 import org.eclipse.keyple.core.card.message.AnswerToReset;
 import org.eclipse.keyple.core.card.message.CardResponse;
+import org.eclipse.keyple.core.card.message.CardSelectionRequest;
 import org.eclipse.keyple.core.card.message.CardSelectionResponse;
 import org.eclipse.keyple.core.card.message.ChannelControl;
 import org.eclipse.keyple.core.card.message.ProxyReader;
@@ -40,11 +43,13 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+@SuppressWarnings("deprecation")
 @RunWith(MockitoJUnitRunner.class)
 public class ManagedSamResourceManagerDefaultTest extends CalypsoBaseTest {
 
@@ -112,6 +117,180 @@ public class ManagedSamResourceManagerDefaultTest extends CalypsoBaseTest {
     Assert.assertTrue(stop - start < MAX_BLOCKING_TIME);
   }
 
+  @Test
+  public void freeSamResource_shouldHandResourceToWaitersInArrivalOrder() throws Exception {
+    final SamResourceManagerDefault srmSpy = srmSpy(".*");
+    final SamIdentifier samIdentifier =
+        SamIdentifier.builder().samRevision(SamRevision.AUTO).build();
+    CardResource<CalypsoSam> samResource =
+        srmSpy.allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+
+    final List<String> allocationOrder = Collections.synchronizedList(new ArrayList<String>());
+    final CountDownLatch allocationsDone = new CountDownLatch(2);
+    Thread[] waiters = new Thread[2];
+    for (int i = 0; i < waiters.length; i++) {
+      final String waiterName = "waiter" + i;
+      waiters[i] =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  CardResource<CalypsoSam> resource =
+                      srmSpy.allocateSamResource(
+                          SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+                  allocationOrder.add(waiterName);
+                  srmSpy.freeSamResource(resource);
+                  allocationsDone.countDown();
+                }
+              });
+      waiters[i].start();
+      // let the waiter enter the queue
+      Thread.sleep(100);
+    }
+
+    srmSpy.freeSamResource(samResource);
+
+    Assert.assertTrue(allocationsDone.await(MAX_BLOCKING_TIME, TimeUnit.MILLISECONDS));
+    Assert.assertEquals(Arrays.asList("waiter0", "waiter1"), allocationOrder);
+    Assert.assertEquals(3, srmSpy.getAllocationMetrics().getAllocationsNumber());
+    Assert.assertEquals(0, srmSpy.getAllocationMetrics().getFailuresNumber());
+    Assert.assertTrue(
+        srmSpy.getAllocationMetrics().getLatencyPercentile(100)
+            >= TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+  @Test
+  public void allocateSamResource_nonBlocking_whenBusy_shouldFail() {
+    SamResourceManagerDefault srmSpy = srmSpy(".*");
+    SamIdentifier samIdentifier = SamIdentifier.builder().samRevision(SamRevision.AUTO).build();
+    srmSpy.allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, samIdentifier);
+    try {
+      srmSpy.allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, samIdentifier);
+      Assert.fail("CalypsoNoSamResourceAvailableException expected");
+    } catch (CalypsoNoSamResourceAvailableException e) {
+      // expected
+    }
+    Assert.assertEquals(1, srmSpy.getAllocationMetrics().getAllocationsNumber());
+    Assert.assertEquals(1, srmSpy.getAllocationMetrics().getFailuresNumber());
+  }
+
+  @Test
+  public void freeSamResource_twice_shouldNotDuplicateTheResource() {
+    SamResourceManagerDefault srmSpy = srmSpy(".*");
+    SamIdentifier samIdentifier = SamIdentifier.builder().samRevision(SamRevision.AUTO).build();
+    CardResource<CalypsoSam> samResource =
+        srmSpy.allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, samIdentifier);
+    srmSpy.freeSamResource(samResource);
+    srmSpy.freeSamResource(samResource);
+
+    srmSpy.allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, samIdentifier);
+    try {
+      srmSpy.allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, samIdentifier);
+      Assert.fail("CalypsoNoSamResourceAvailableException expected");
+    } catch (CalypsoNoSamResourceAvailableException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void allocateSamResource_shouldMatchTheIdentifierOfTheRegisteredSam() {
+    SamResourceManagerDefault srmSpy = srmSpy(".*");
+    CardResource<CalypsoSam> samResource =
+        srmSpy.allocateSamResource(
+            SamResourceManager.AllocationMode.NON_BLOCKING,
+            SamIdentifier.builder().samRevision(SamRevision.AUTO).build());
+    String serialNumber = ByteArrayUtil.toHex(samResource.getSmartCard().getSerialNumber());
+    SamRevision samRevision = samResource.getSmartCard().getSamRevision();
+    srmSpy.freeSamResource(samResource);
+
+    try {
+      srmSpy.allocateSamResource(
+          SamResourceManager.AllocationMode.NON_BLOCKING,
+          SamIdentifier.builder().samRevision(SamRevision.AUTO).serialNumber("FF.*").build());
+      Assert.fail("CalypsoNoSamResourceAvailableException expected");
+    } catch (CalypsoNoSamResourceAvailableException e) {
+      // expected
+    }
+    samResource =
+        srmSpy.allocateSamResource(
+            SamResourceManager.AllocationMode.NON_BLOCKING,
+            SamIdentifier.builder()
+                .samRevision(samRevision)
+                .serialNumber(serialNumber)
+                .groupReference("any")
+                .build());
+    Assert.assertEquals(SAM_READER_NAME, samResource.getReader().getName());
+  }
+
+  @Test
+  public void allocateSamResource_stickyAffinity_shouldReallocateTheSameSam() {
+    SamResourceManagerDefault srm =
+        srm(4, SamAllocationStrategies.stickyAffinity(SamAllocationStrategies.leastRecentlyUsed()));
+    SamIdentifier samIdentifier = SamIdentifier.builder().samRevision(SamRevision.AUTO).build();
+    byte[] poSerialNumber = ByteArrayUtil.fromHex("11223344");
+
+    CardResource<CalypsoSam> samResource =
+        srm.allocateSamResource(
+            SamResourceManager.AllocationMode.BLOCKING, samIdentifier, poSerialNumber);
+    String samReaderName = samResource.getReader().getName();
+    srm.freeSamResource(samResource);
+
+    // other POs, the LRU strategy would select another SAM
+    for (int i = 0; i < 3; i++) {
+      CardResource<CalypsoSam> otherSamResource =
+          srm.allocateSamResource(
+              SamResourceManager.AllocationMode.BLOCKING,
+              samIdentifier,
+              ByteArrayUtil.fromHex("5566770" + i));
+      Assert.assertNotEquals(samReaderName, otherSamResource.getReader().getName());
+      srm.freeSamResource(otherSamResource);
+    }
+
+    samResource =
+        srm.allocateSamResource(
+            SamResourceManager.AllocationMode.BLOCKING, samIdentifier, poSerialNumber);
+    Assert.assertEquals(samReaderName, samResource.getReader().getName());
+  }
+
+  @Test
+  public void allocateSamResource_concurrentThreads_shouldNeverShareASam() throws Exception {
+    final SamResourceManagerDefault srm = srm(32, SamAllocationStrategies.throughputWeighted());
+    final SamIdentifier samIdentifier =
+        SamIdentifier.builder().samRevision(SamRevision.AUTO).build();
+    final ConcurrentMap<String, Boolean> samReadersInUse = new ConcurrentHashMap<String, Boolean>();
+    final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+    final CountDownLatch done = new CountDownLatch(128);
+    for (int i = 0; i < 128; i++) {
+      new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    for (int j = 0; j < 100; j++) {
+                      CardResource<CalypsoSam> samResource =
+                          srm.allocateSamResource(
+                              SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+                      String samReaderName = samResource.getReader().getName();
+                      if (samReadersInUse.putIfAbsent(samReaderName, true) != null) {
+                        throw new IllegalStateException("SAM allocated twice: " + samReaderName);
+                      }
+                      samReadersInUse.remove(samReaderName);
+                      srm.freeSamResource(samResource);
+                    }
+                  } catch (Throwable t) {
+                    errors.add(t);
+                  } finally {
+                    done.countDown();
+                  }
+                }
+              })
+          .start();
+    }
+    Assert.assertTrue(done.await(30, TimeUnit.SECONDS));
+    Assert.assertTrue(errors.toString(), errors.isEmpty());
+    Assert.assertEquals(128 * 100, srm.getAllocationMetrics().getAllocationsNumber());
+  }
+
   /*
    * Helpers
    */
@@ -144,7 +323,9 @@ public class ManagedSamResourceManagerDefaultTest extends CalypsoBaseTest {
     doReturn(cardSelectionResponses)
         .when(reader)
         .transmitCardSelectionRequests(
-            any(List.class), any(MultiSelectionProcessing.class), any(ChannelControl.class));
+            ArgumentMatchers.<CardSelectionRequest>anyList(),
+            any(MultiSelectionProcessing.class),
+            any(ChannelControl.class));
 
     // create a list of mock readers
     ConcurrentMap<String, Reader> readers = new ConcurrentHashMap<String, Reader>();
@@ -159,6 +340,30 @@ public class ManagedSamResourceManagerDefaultTest extends CalypsoBaseTest {
         new SamResourceManagerDefault(plugin, samFilter, MAX_BLOCKING_TIME, DEFAULT_SLEEP_TIME));
   }
 
+  // get a sam manager with several selectable sams
+  SamResourceManagerDefault srm(int samReadersNumber, SamAllocationStrategy allocationStrategy) {
+    ConcurrentMap<String, Reader> readers = new ConcurrentHashMap<String, Reader>();
+    Plugin plugin = Mockito.mock(Plugin.class);
+    for (int i = 0; i < samReadersNumber; i++) {
+      List<CardSelectionResponse> cardSelectionResponses = new ArrayList<CardSelectionResponse>();
+      cardSelectionResponses.add(samSelectionSuccess());
+      ProxyReader reader = Mockito.mock(ProxyReader.class);
+      when(reader.getName()).thenReturn(SAM_READER_NAME + i);
+      when(reader.isCardPresent()).thenReturn(true);
+      doReturn(cardSelectionResponses)
+          .when(reader)
+          .transmitCardSelectionRequests(
+              ArgumentMatchers.<CardSelectionRequest>anyList(),
+              any(MultiSelectionProcessing.class),
+              any(ChannelControl.class));
+      readers.put(reader.getName(), reader);
+      when(plugin.getReader(reader.getName())).thenReturn(reader);
+    }
+    when(plugin.getReaders()).thenReturn(readers);
+    return new SamResourceManagerDefault(
+        plugin, ".*", MAX_BLOCKING_TIME, DEFAULT_SLEEP_TIME, allocationStrategy);
+  }
+
   SamResourceManagerDefault.ManagedSamResource samResourceMock() {
     SamResourceManagerDefault.ManagedSamResource mock =
         Mockito.mock(SamResourceManagerDefault.ManagedSamResource.class);
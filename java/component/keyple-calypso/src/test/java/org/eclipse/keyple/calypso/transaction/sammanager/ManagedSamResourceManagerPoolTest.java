@@ -14,7 +14,15 @@ package org.eclipse.keyple.calypso.transaction.sammanager;
 import static org.eclipse.keyple.calypso.transaction.sammanager.SamResourceManagerFactory.DEFAULT_SLEEP_TIME;
 import static org.eclipse.keyple.calypso.transaction.sammanager.SamResourceManagerFactory.MAX_BLOCKING_TIME;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.keyple.calypso.CalypsoBaseTest;
 import org.eclipse.keyple.calypso.command.sam.SamRevision;
@@ -23,16 +31,20 @@ import org.eclipse.keyple.calypso.transaction.CalypsoSam;
 import org.eclipse.keyple.core.card.selection.CardResource;
 import org.eclipse.keyple.core.service.PoolPlugin;
 import org.eclipse.keyple.core.service.Reader;
+import org.eclipse.keyple.core.service.exception.KeypleAllocationNoReaderException;
 import org.eclipse.keyple.core.service.exception.KeypleAllocationReaderException;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+@SuppressWarnings("deprecation")
 @RunWith(MockitoJUnitRunner.class)
 public class ManagedSamResourceManagerPoolTest extends CalypsoBaseTest {
 
@@ -105,6 +117,185 @@ public class ManagedSamResourceManagerPoolTest extends CalypsoBaseTest {
     Assert.assertTrue(stop - start < MAX_BLOCKING_TIME);
   }
 
+  @Test
+  public void freeSamResource_withWaiter_shouldHandResourceOver() throws Exception {
+    // init plugin: a single reader, allocated first
+    PoolPlugin poolPlugin = Mockito.mock(PoolPlugin.class);
+    doReturn(readerMock())
+        .doThrow(new KeypleAllocationNoReaderException("no reader"))
+        .when(poolPlugin)
+        .allocateReader(any(String.class));
+    final SamResourceManagerPool srmSpy = srmSpy(poolPlugin);
+    doReturn(new SamResourceManagerDefault.ManagedSamResource(readerMock(), null))
+        .when(srmSpy)
+        .createSamResource(any(Reader.class));
+    final SamIdentifier samIdentifier =
+        SamIdentifier.builder().samRevision(SamRevision.AUTO).groupReference("group").build();
+    final CardResource<CalypsoSam> samResource =
+        srmSpy.allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+
+    final AtomicReference<CardResource<CalypsoSam>> handedResource =
+        new AtomicReference<CardResource<CalypsoSam>>();
+    Thread waiter =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                handedResource.set(
+                    srmSpy.allocateSamResource(
+                        SamResourceManager.AllocationMode.BLOCKING, samIdentifier));
+              }
+            });
+    waiter.start();
+    // let the waiter enter the queue
+    Thread.sleep(100);
+    srmSpy.freeSamResource(samResource);
+    waiter.join(MAX_BLOCKING_TIME);
+
+    // the reader has not been released to the pool but directly reused
+    Assert.assertSame(samResource, handedResource.get());
+    verify(poolPlugin, never()).releaseReader(any(Reader.class));
+    Assert.assertEquals(2, srmSpy.getAllocationMetrics().getAllocationsNumber());
+  }
+
+  @Test
+  public void allocateSamResource_whenSelectionFails_shouldReleaseTheReader() throws Exception {
+    // init plugin
+    PoolPlugin poolPlugin = Mockito.mock(PoolPlugin.class);
+    Reader reader = readerMock();
+    doReturn(reader).when(poolPlugin).allocateReader(any(String.class));
+    SamResourceManagerPool srmSpy = srmSpy(poolPlugin);
+    doThrow(new CalypsoNoSamResourceAvailableException("Failed to select a SAM"))
+        .when(srmSpy)
+        .createSamResource(any(Reader.class));
+
+    // test
+    try {
+      srmSpy.allocateSamResource(
+          SamResourceManager.AllocationMode.NON_BLOCKING,
+          SamIdentifier.builder().samRevision(SamRevision.AUTO).groupReference("group").build());
+      Assert.fail("CalypsoNoSamResourceAvailableException expected");
+    } catch (CalypsoNoSamResourceAvailableException e) {
+      // expected
+    }
+
+    // the reader is given back to the pool
+    verify(poolPlugin).releaseReader(reader);
+    Assert.assertEquals(1, srmSpy.getAllocationMetrics().getFailuresNumber());
+  }
+
+  @Test
+  public void freeSamResource_duringSelection_shouldNotWaitForTheSelection() throws Exception {
+    // init plugin
+    PoolPlugin poolPlugin = Mockito.mock(PoolPlugin.class);
+    doReturn(readerMock()).when(poolPlugin).allocateReader(any(String.class));
+    final SamResourceManagerPool srmSpy = srmSpy(poolPlugin);
+    final CountDownLatch selectionStarted = new CountDownLatch(1);
+    final CountDownLatch selectionReleased = new CountDownLatch(1);
+    doAnswer(
+            new Answer<SamResourceManagerDefault.ManagedSamResource>() {
+              @Override
+              public SamResourceManagerDefault.ManagedSamResource answer(
+                  InvocationOnMock invocation) throws Throwable {
+                selectionStarted.countDown();
+                selectionReleased.await(MAX_BLOCKING_TIME, TimeUnit.MILLISECONDS);
+                return new SamResourceManagerDefault.ManagedSamResource(
+                    (Reader) invocation.getArguments()[0], null);
+              }
+            })
+        .when(srmSpy)
+        .createSamResource(any(Reader.class));
+    final SamIdentifier samIdentifier =
+        SamIdentifier.builder().samRevision(SamRevision.AUTO).groupReference("group").build();
+    Thread allocator =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                srmSpy.allocateSamResource(
+                    SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+              }
+            });
+    allocator.start();
+    Assert.assertTrue(selectionStarted.await(MAX_BLOCKING_TIME, TimeUnit.MILLISECONDS));
+
+    // test: a release completes while the other allocation is selecting its SAM
+    final SamResourceManagerDefault.ManagedSamResource otherResource =
+        new SamResourceManagerDefault.ManagedSamResource(readerMock(), null);
+    otherResource.setSamIdentifier(samIdentifier);
+    Thread releaser =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                srmSpy.freeSamResource(otherResource);
+              }
+            });
+    releaser.start();
+    releaser.join(1000);
+    Assert.assertFalse(releaser.isAlive());
+    verify(poolPlugin).releaseReader(otherResource.getReader());
+
+    selectionReleased.countDown();
+    allocator.join(MAX_BLOCKING_TIME);
+    Assert.assertEquals(1, srmSpy.getAllocationMetrics().getAllocationsNumber());
+  }
+
+  @Test
+  public void freeSamResource_duringPoolAllocation_shouldNotWaitForThePlugin() throws Exception {
+    // init plugin
+    PoolPlugin poolPlugin = Mockito.mock(PoolPlugin.class);
+    final CountDownLatch allocationStarted = new CountDownLatch(1);
+    final CountDownLatch allocationReleased = new CountDownLatch(1);
+    doAnswer(
+            new Answer<Reader>() {
+              @Override
+              public Reader answer(InvocationOnMock invocation) throws Throwable {
+                allocationStarted.countDown();
+                allocationReleased.await(MAX_BLOCKING_TIME, TimeUnit.MILLISECONDS);
+                return readerMock();
+              }
+            })
+        .when(poolPlugin)
+        .allocateReader(any(String.class));
+    final SamResourceManagerPool srmSpy = srmSpy(poolPlugin);
+    doReturn(samResourceMock()).when(srmSpy).createSamResource(any(Reader.class));
+    final SamIdentifier samIdentifier =
+        SamIdentifier.builder().samRevision(SamRevision.AUTO).groupReference("group").build();
+    Thread allocator =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                srmSpy.allocateSamResource(
+                    SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+              }
+            });
+    allocator.start();
+    Assert.assertTrue(allocationStarted.await(MAX_BLOCKING_TIME, TimeUnit.MILLISECONDS));
+
+    // test: a release completes while the other allocation is waiting for the pool plugin
+    final SamResourceManagerDefault.ManagedSamResource otherResource =
+        new SamResourceManagerDefault.ManagedSamResource(readerMock(), null);
+    otherResource.setSamIdentifier(samIdentifier);
+    Thread releaser =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                srmSpy.freeSamResource(otherResource);
+              }
+            });
+    releaser.start();
+    releaser.join(1000);
+    Assert.assertFalse(releaser.isAlive());
+    verify(poolPlugin).releaseReader(otherResource.getReader());
+
+    allocationReleased.countDown();
+    allocator.join(MAX_BLOCKING_TIME);
+    Assert.assertEquals(1, srmSpy.getAllocationMetrics().getAllocationsNumber());
+  }
+
   /*
    * Helpers
    */
@@ -0,0 +1,60 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction.sammanager;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Test;
+
+public class SamAllocationMetricsTest {
+
+  @Test
+  public void getLatencyPercentile_noSample_shouldReturnZero() {
+    SamAllocationMetrics metrics = new SamAllocationMetrics();
+    assertThat(metrics.getLatencyPercentile(50)).isZero();
+    assertThat(metrics.getAllocationsNumber()).isZero();
+  }
+
+  @Test
+  public void getLatencyPercentile_shouldUseNearestRank() {
+    SamAllocationMetrics metrics = new SamAllocationMetrics();
+    for (int i = 100; i >= 1; i--) {
+      metrics.recordAllocation(i);
+    }
+    metrics.recordFailure();
+    assertThat(metrics.getLatencyPercentile(50)).isEqualTo(50);
+    assertThat(metrics.getLatencyPercentile(99)).isEqualTo(99);
+    assertThat(metrics.getLatencyPercentile(100)).isEqualTo(100);
+    assertThat(metrics.getLatencyPercentile(0.1)).isEqualTo(1);
+    assertThat(metrics.getAllocationsNumber()).isEqualTo(100);
+    assertThat(metrics.getFailuresNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void getLatencyPercentile_shouldOnlyKeepTheLastSamples() {
+    SamAllocationMetrics metrics = new SamAllocationMetrics();
+    for (int i = 0; i < SamAllocationMetrics.SAMPLES_WINDOW_SIZE; i++) {
+      metrics.recordAllocation(1000);
+    }
+    for (int i = 0; i < SamAllocationMetrics.SAMPLES_WINDOW_SIZE; i++) {
+      metrics.recordAllocation(1);
+    }
+    assertThat(metrics.getLatencyPercentile(100)).isEqualTo(1);
+    assertThat(metrics.getAllocationsNumber())
+        .isEqualTo(2 * SamAllocationMetrics.SAMPLES_WINDOW_SIZE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getLatencyPercentile_outOfRange_shouldThrowIAE() {
+    new SamAllocationMetrics().getLatencyPercentile(0);
+  }
+}
@@ -0,0 +1,103 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction.sammanager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keyple.calypso.transaction.CalypsoSam;
+import org.eclipse.keyple.core.card.selection.CardResource;
+import org.eclipse.keyple.core.service.Reader;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+@SuppressWarnings("deprecation")
+public class SamAllocationStrategiesTest {
+
+  @Test
+  public void leastRecentlyUsed_shouldSelectTheFirstCandidate() {
+    List<CardResource<CalypsoSam>> candidates = candidates(3);
+    assertThat(SamAllocationStrategies.leastRecentlyUsed().select(candidates, null))
+        .isSameAs(candidates.get(0));
+  }
+
+  @Test
+  public void stickyAffinity_shouldSelectTheSameSamForTheSameKey() {
+    SamAllocationStrategy strategy =
+        SamAllocationStrategies.stickyAffinity(SamAllocationStrategies.leastRecentlyUsed());
+    List<CardResource<CalypsoSam>> candidates = candidates(3);
+    assertThat(strategy.select(candidates, "PO1")).isSameAs(candidates.get(0));
+    // PO1 comes back while its SAM is the last candidate
+    candidates.add(candidates.remove(0));
+    assertThat(strategy.select(candidates, "PO1")).isSameAs(candidates.get(2));
+    assertThat(strategy.select(candidates, "PO2")).isSameAs(candidates.get(0));
+    // no affinity key
+    assertThat(strategy.select(candidates, null)).isSameAs(candidates.get(0));
+    // the affine SAM is busy
+    CardResource<CalypsoSam> affineSam = candidates.remove(2);
+    assertThat(strategy.select(candidates, "PO1")).isNotSameAs(affineSam);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void stickyAffinity_nullFallback_shouldThrowIAE() {
+    SamAllocationStrategies.stickyAffinity(null);
+  }
+
+  @Test
+  public void throughputWeighted_shouldFavorTheFastestSam() throws Exception {
+    SamResourceManagerDefault.ManagedSamResource slowSam = managedSamResource("slow");
+    SamResourceManagerDefault.ManagedSamResource fastSam = managedSamResource("fast");
+    slowSam.tryAcquire();
+    Thread.sleep(50);
+    slowSam.release();
+    fastSam.tryAcquire();
+    fastSam.release();
+    assertThat(slowSam.getAverageBusyTime()).isGreaterThan(fastSam.getAverageBusyTime());
+
+    List<CardResource<CalypsoSam>> candidates = new ArrayList<CardResource<CalypsoSam>>();
+    candidates.add(slowSam);
+    candidates.add(fastSam);
+    SamAllocationStrategy strategy = SamAllocationStrategies.throughputWeighted();
+    int fastSelections = 0;
+    for (int i = 0; i < 1000; i++) {
+      if (strategy.select(candidates, null) == fastSam) {
+        fastSelections++;
+      }
+    }
+    assertThat(fastSelections).isGreaterThan(900);
+  }
+
+  @Test
+  public void throughputWeighted_unknownSams_shouldSelectAmongCandidates() {
+    List<CardResource<CalypsoSam>> candidates = candidates(3);
+    SamAllocationStrategy strategy = SamAllocationStrategies.throughputWeighted();
+    for (int i = 0; i < 100; i++) {
+      assertThat(strategy.select(candidates, null)).isIn(candidates);
+    }
+  }
+
+  private static List<CardResource<CalypsoSam>> candidates(int number) {
+    List<CardResource<CalypsoSam>> candidates = new ArrayList<CardResource<CalypsoSam>>();
+    for (int i = 0; i < number; i++) {
+      candidates.add(managedSamResource("reader" + i));
+    }
+    return candidates;
+  }
+
+  private static SamResourceManagerDefault.ManagedSamResource managedSamResource(String name) {
+    Reader reader = Mockito.mock(Reader.class);
+    when(reader.getName()).thenReturn(name);
+    return new SamResourceManagerDefault.ManagedSamResource(reader, null);
+  }
+}
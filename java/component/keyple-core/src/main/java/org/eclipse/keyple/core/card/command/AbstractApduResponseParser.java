@@ -11,11 +11,16 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.card.command;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.eclipse.keyple.core.card.command.exception.KeypleCardCommandException;
 import org.eclipse.keyple.core.card.command.exception.KeypleCardCommandUnknownStatusException;
 import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.util.Assert;
 
 /**
  * This abstract class defines the parser used to handle APDU's response.
@@ -38,6 +43,19 @@ public abstract class AbstractApduResponseParser {
     STATUS_TABLE = m;
   }
 
+  /**
+   * Immutable counterpart of {@link #STATUS_TABLE}, to be extended by the subclasses with {@link
+   * StatusTable#builder(StatusTable)}.
+   *
+   * @since 1.1
+   */
+  protected static final StatusTable STATUS_CODE_TABLE =
+      StatusTable.builder().put(0x9000, new StatusProperties("Success")).build();
+
+  // parser classes whose getStatusTable() overrides the getStatusCodeTable() of a superclass
+  private static final ConcurrentMap<Class<?>, Boolean> mapLookupByParserClass =
+      new ConcurrentHashMap<Class<?>, Boolean>();
+
   /**
    * the {@link ApduResponse} containing response.
    *
@@ -71,11 +89,32 @@ public abstract class AbstractApduResponseParser {
   /**
    * Returns the internal status table
    *
+   * <p>By default, returns a read-only view of the table provided by {@link #getStatusCodeTable()}
+   * if any, or {@link #STATUS_TABLE} otherwise.
+   *
    * @return A not null reference
    * @since 0.9
    */
   protected Map<Integer, StatusProperties> getStatusTable() {
-    return STATUS_TABLE;
+    StatusTable statusCodeTable = getStatusCodeTable();
+    return statusCodeTable != null ? statusCodeTable.asMap() : STATUS_TABLE;
+  }
+
+  /**
+   * Returns the internal status table indexed by the primitive status code.
+   *
+   * <p>Subclasses should override this method rather than {@link #getStatusTable()} in order to
+   * avoid the boxing of the status code on each status check. When null is returned (default
+   * behaviour), the status code properties are retrieved from {@link #getStatusTable()}.
+   *
+   * <p>When a subclass overrides {@link #getStatusTable()} below the class providing this table,
+   * the status table it returns is used instead.
+   *
+   * @return A nullable reference
+   * @since 1.1
+   */
+  protected StatusTable getStatusCodeTable() {
+    return null;
   }
 
   /**
@@ -118,10 +157,61 @@ public abstract class AbstractApduResponseParser {
     return builder;
   }
 
-  private StatusProperties getStatusCodeProperties() {
+  /**
+   * Gets the properties associated to the current status code in the status table.
+   *
+   * @return null if the status code is not referenced
+   * @since 1.1
+   */
+  protected final StatusProperties getStatusProperties() {
+    StatusTable statusCodeTable = getStatusCodeTable();
+    if (statusCodeTable != null && !isStatusTableOverridden(getClass())) {
+      return statusCodeTable.get(response.getStatusCode());
+    }
     return getStatusTable().get(response.getStatusCode());
   }
 
+  /**
+   * (private)<br>
+   * Indicates whether the parser class overrides {@link #getStatusTable()} in a subclass of the
+   * class overriding {@link #getStatusCodeTable()}, the result is cached by parser class.
+   *
+   * @param parserClass the class of the parser
+   * @return true if the status table must be retrieved from {@link #getStatusTable()}.
+   */
+  private static boolean isStatusTableOverridden(Class<?> parserClass) {
+    Boolean isOverridden = mapLookupByParserClass.get(parserClass);
+    if (isOverridden == null) {
+      Class<?> statusTableClass = getDeclaringClass(parserClass, "getStatusTable");
+      Class<?> statusCodeTableClass = getDeclaringClass(parserClass, "getStatusCodeTable");
+      isOverridden =
+          statusTableClass != statusCodeTableClass
+              && statusCodeTableClass.isAssignableFrom(statusTableClass);
+      mapLookupByParserClass.put(parserClass, isOverridden);
+    }
+    return isOverridden;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the nearest class declaring the provided method without parameter.
+   *
+   * @param parserClass the class of the parser
+   * @param methodName the name of the method
+   * @return A not null reference
+   */
+  private static Class<?> getDeclaringClass(Class<?> parserClass, String methodName) {
+    for (Class<?> c = parserClass; c != AbstractApduResponseParser.class; c = c.getSuperclass()) {
+      try {
+        c.getDeclaredMethod(methodName);
+        return c;
+      } catch (NoSuchMethodException e) {
+        // not declared at this level
+      }
+    }
+    return AbstractApduResponseParser.class;
+  }
+
   /**
    * Gets true if the status is successful from the statusTable according to the current status
    * code.
@@ -130,7 +220,7 @@ public abstract class AbstractApduResponseParser {
    * @since 0.9
    */
   public boolean isSuccessful() {
-    StatusProperties props = getStatusCodeProperties();
+    StatusProperties props = getStatusProperties();
     return props != null && props.isSuccessful();
   }
 
@@ -143,7 +233,7 @@ public abstract class AbstractApduResponseParser {
    */
   public void checkStatus() {
 
-    StatusProperties props = getStatusCodeProperties();
+    StatusProperties props = getStatusProperties();
     if (props != null && props.isSuccessful()) {
       return;
     }
@@ -184,7 +274,7 @@ public abstract class AbstractApduResponseParser {
    * @since 0.9
    */
   public final String getStatusInformation() {
-    StatusProperties props = getStatusCodeProperties();
+    StatusProperties props = getStatusProperties();
     return props != null ? props.getInformation() : null;
   }
 
@@ -258,4 +348,176 @@ public abstract class AbstractApduResponseParser {
       return exceptionClass;
     }
   }
+
+  /**
+   * This internal class provides an immutable table of {@link StatusProperties} indexed by the
+   * primitive status code.
+   *
+   * <p>The lookup is performed in an open addressing table of primitive keys, without any boxing of
+   * the status code. The instances are thread safe and are intended to be shared by all the parsers
+   * of a given command.
+   *
+   * @since 1.1
+   */
+  protected static final class StatusTable {
+
+    private static final int EMPTY = -1;
+
+    private final int[] keys;
+    private final StatusProperties[] values;
+    private final int shift;
+    private final Map<Integer, StatusProperties> map;
+
+    /**
+     * (private)<br>
+     * Creates the table from the entries collected by a builder.
+     *
+     * @param entries the entries
+     */
+    private StatusTable(Map<Integer, StatusProperties> entries) {
+      // power of two capacity with a load factor of at most 0.5
+      int capacity = 2;
+      while (capacity < entries.size() * 2) {
+        capacity <<= 1;
+      }
+      keys = new int[capacity];
+      values = new StatusProperties[capacity];
+      shift = Integer.numberOfLeadingZeros(capacity - 1);
+      for (int i = 0; i < capacity; i++) {
+        keys[i] = EMPTY;
+      }
+      for (Map.Entry<Integer, StatusProperties> entry : entries.entrySet()) {
+        int index = indexOf(entry.getKey());
+        while (keys[index] != EMPTY) {
+          index = (index + 1) & (capacity - 1);
+        }
+        keys[index] = entry.getKey();
+        values[index] = entry.getValue();
+      }
+      map = Collections.unmodifiableMap(new LinkedHashMap<Integer, StatusProperties>(entries));
+    }
+
+    /**
+     * (private)<br>
+     * Computes the initial slot of a status code (Fibonacci hashing).
+     *
+     * @param statusCode the status code
+     * @return A positive value lower than the capacity
+     */
+    private int indexOf(int statusCode) {
+      return (statusCode * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Creates a builder of an empty table.
+     *
+     * @return A not null reference
+     * @since 1.1
+     */
+    public static Builder builder() {
+      return new Builder(null);
+    }
+
+    /**
+     * Creates a builder initialized with all the entries of the provided table.
+     *
+     * @param parent the table to extend (should not be null)
+     * @return A not null reference
+     * @since 1.1
+     */
+    public static Builder builder(StatusTable parent) {
+      Assert.getInstance().notNull(parent, "parent");
+      return new Builder(parent);
+    }
+
+    /**
+     * Gets the properties associated to the provided status code.
+     *
+     * @param statusCode the status code
+     * @return null if the status code is not referenced
+     * @since 1.1
+     */
+    public StatusProperties get(int statusCode) {
+      int mask = keys.length - 1;
+      int index = indexOf(statusCode) & mask;
+      int key;
+      while ((key = keys[index]) != EMPTY) {
+        if (key == statusCode) {
+          return values[index];
+        }
+        index = (index + 1) & mask;
+      }
+      return null;
+    }
+
+    /**
+     * Gets the number of referenced status codes.
+     *
+     * @return A positive value
+     * @since 1.1
+     */
+    public int size() {
+      return map.size();
+    }
+
+    /**
+     * Gets a read-only view of the table.
+     *
+     * @return A not null reference
+     * @since 1.1
+     */
+    public Map<Integer, StatusProperties> asMap() {
+      return map;
+    }
+
+    /**
+     * Builder of {@link StatusTable}.
+     *
+     * @since 1.1
+     */
+    public static final class Builder {
+
+      private final Map<Integer, StatusProperties> entries;
+
+      /**
+       * (private)<br>
+       * Creates a builder.
+       *
+       * @param parent the table to extend (nullable)
+       */
+      private Builder(StatusTable parent) {
+        entries =
+            parent != null
+                ? new LinkedHashMap<Integer, StatusProperties>(parent.map)
+                : new LinkedHashMap<Integer, StatusProperties>();
+      }
+
+      /**
+       * Adds or replaces the properties of a status code.
+       *
+       * @param statusCode the status code (in range [0..0xFFFF])
+       * @param properties the status properties (should not be null)
+       * @return The builder instance
+       * @throws IllegalArgumentException if one of the arguments is invalid
+       * @since 1.1
+       */
+      public Builder put(int statusCode, StatusProperties properties) {
+        Assert.getInstance()
+            .isInRange(statusCode, 0, 0xFFFF, "statusCode")
+            .notNull(properties, "properties");
+        entries.put(statusCode, properties);
+        return this;
+      }
+
+      /**
+       * Builds the immutable table.
+       *
+       * @return A not null reference
+       * @since 1.1
+       */
+      public StatusTable build() {
+        return new StatusTable(entries);
+      }
+    }
+  }
 }
@@ -21,6 +21,8 @@ import org.eclipse.keyple.core.service.exception.KeypleException;
  */
 public abstract class KeypleCardCommandException extends KeypleException {
 
+  private static volatile boolean stackTraceEnabled = true;
+
   private final CardCommand command;
 
   private final Integer statusCode;
@@ -58,4 +60,44 @@ public abstract class KeypleCardCommandException extends KeypleException {
   public Integer getStatusCode() {
     return statusCode;
   }
+
+  /**
+   * Enables or disables the capture of the stack trace when a card command exception is created.
+   *
+   * <p>The stack trace of a status word error is rarely useful and is costly to capture. It may be
+   * disabled by applications which expect many unsuccessful status words (e.g. probing of absent
+   * files or records). It is enabled by default.
+   *
+   * @param enabled true to capture the stack traces, false to create stackless exceptions
+   * @since 1.1
+   */
+  public static void setStackTraceEnabled(boolean enabled) {
+    stackTraceEnabled = enabled;
+  }
+
+  /**
+   * Indicates if the stack trace is captured when a card command exception is created.
+   *
+   * @return true if the stack traces are captured (default behaviour)
+   * @since 1.1
+   */
+  public static boolean isStackTraceEnabled() {
+    return stackTraceEnabled;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Does nothing if the capture of the stack trace has been disabled with {@link
+   * #setStackTraceEnabled(boolean)}.
+   *
+   * @since 1.1
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    if (stackTraceEnabled) {
+      return super.fillInStackTrace();
+    }
+    return this;
+  }
 }
@@ -122,10 +122,11 @@ public final class ApduRequest implements Serializable {
 
   @Override
   public String toString() {
-    StringBuilder string;
-    string =
-        new StringBuilder(
-            "ApduRequest: NAME = \"" + name + "\", RAWDATA = " + ByteArrayUtil.toHex(bytes));
+    StringBuilder string =
+        new StringBuilder("ApduRequest: NAME = \"").append(name).append("\", RAWDATA = ");
+    if (bytes != null) {
+      ByteArrayUtil.appendHex(string, bytes, 0, bytes.length);
+    }
     if (isCase4()) {
       string.append(", case4");
     }
@@ -12,6 +12,7 @@
 package org.eclipse.keyple.core.card.message;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Set;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
@@ -94,6 +95,10 @@ public final class ApduResponse implements Serializable {
   /**
    * Get the data received from the card excluding SW1SW2.
    *
+   * <p>A new array is returned at each call, the accessors {@link #getDataOutLength()}, {@link
+   * #getByte(int)}, {@link #getUnsignedShort(int)}, {@link #getDataOut(int, int)} and {@link
+   * #getDataOutBuffer()} allow to read the data without copying all of it.
+   *
    * @return A not null byte array.
    * @since 0.9
    */
@@ -101,6 +106,98 @@ public final class ApduResponse implements Serializable {
     return Arrays.copyOfRange(this.bytes, 0, this.bytes.length - 2);
   }
 
+  /**
+   * Gets the length of the data received from the card excluding SW1SW2.
+   *
+   * <p>The data out starts at the offset 0 of the array returned by {@link #getBytes()}.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  public int getDataOutLength() {
+    return this.bytes.length - 2;
+  }
+
+  /**
+   * Gets a byte of the data out.
+   *
+   * @param index The index of the byte in the data out.
+   * @return A byte.
+   * @throws IndexOutOfBoundsException if the index is out of the data out.
+   * @since 1.1
+   */
+  public byte getByte(int index) {
+    checkDataOutRange(index, 1);
+    return this.bytes[index];
+  }
+
+  /**
+   * Gets an unsigned byte of the data out.
+   *
+   * @param index The index of the byte in the data out.
+   * @return An int between 0 and 255.
+   * @throws IndexOutOfBoundsException if the index is out of the data out.
+   * @since 1.1
+   */
+  public int getUnsignedByte(int index) {
+    return getByte(index) & 0xFF;
+  }
+
+  /**
+   * Gets an unsigned big-endian 2-byte value of the data out.
+   *
+   * @param index The index of the first byte in the data out.
+   * @return An int between 0 and 65535.
+   * @throws IndexOutOfBoundsException if the 2 bytes are not in the data out.
+   * @since 1.1
+   */
+  public int getUnsignedShort(int index) {
+    checkDataOutRange(index, 2);
+    return ((this.bytes[index] & 0xFF) << 8) | (this.bytes[index + 1] & 0xFF);
+  }
+
+  /**
+   * Gets a copy of a part of the data out.
+   *
+   * @param offset The offset of the first byte to copy in the data out.
+   * @param length The number of bytes to copy.
+   * @return A not null byte array.
+   * @throws IndexOutOfBoundsException if the range is not in the data out.
+   * @since 1.1
+   */
+  public byte[] getDataOut(int offset, int length) {
+    checkDataOutRange(offset, length);
+    byte[] data = new byte[length];
+    System.arraycopy(this.bytes, offset, data, 0, length);
+    return data;
+  }
+
+  /**
+   * Gets a read-only view of the data out, the data is not copied.
+   *
+   * @return A not null {@link ByteBuffer} positioned at the first byte of the data out.
+   * @since 1.1
+   */
+  public ByteBuffer getDataOutBuffer() {
+    return ByteBuffer.wrap(this.bytes, 0, this.bytes.length - 2).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * (private)<br>
+   * Checks that the provided range is within the data out.
+   */
+  private void checkDataOutRange(int offset, int length) {
+    if (offset < 0 || length < 0 || offset + length > this.bytes.length - 2) {
+      throw new IndexOutOfBoundsException(
+          "Range ["
+              + offset
+              + ", "
+              + (offset + length)
+              + "[ out of data out length: "
+              + (this.bytes.length - 2));
+    }
+  }
+
   @Override
   public String toString() {
     String prefix;
@@ -109,7 +206,12 @@ public final class ApduResponse implements Serializable {
     } else {
       prefix = "ApduResponse: FAILURE, RAWDATA = ";
     }
-    return prefix + ByteArrayUtil.toHex(this.bytes);
+    return ByteArrayUtil.appendHex(
+            new StringBuilder(prefix.length() + 2 * bytes.length).append(prefix),
+            bytes,
+            0,
+            bytes.length)
+        .toString();
   }
 
   @Override
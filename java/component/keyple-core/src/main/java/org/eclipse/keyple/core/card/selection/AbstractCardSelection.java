@@ -105,4 +105,25 @@ public abstract class AbstractCardSelection<T extends AbstractApduCommandBuilder
    * @since 0.9
    */
   protected abstract AbstractSmartCard parse(CardSelectionResponse cardSelectionResponse);
+
+  /**
+   * Parsing method used when the selection is processed with a {@link CardSelectionCache}.
+   *
+   * <p>A card specific extension can override it to create its {@link AbstractSmartCard} from the
+   * one cached for the same selection data, the data collected by the additional APDU commands
+   * being processed in all cases. The cached instances must never be returned or modified.
+   *
+   * <p>By default, the cache is not used and the response is parsed with {@link
+   * #parse(CardSelectionResponse)}.
+   *
+   * @param cardSelectionResponse the card response received
+   * @param cardSelectionCache the cache of the cards already parsed
+   * @return a {@link AbstractSmartCard}
+   * @throws KeypleException if an error occurs while parsing the card response
+   * @since 1.1
+   */
+  protected AbstractSmartCard parse(
+      CardSelectionResponse cardSelectionResponse, CardSelectionCache cardSelectionCache) {
+    return parse(cardSelectionResponse);
+  }
 }
@@ -0,0 +1,233 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.card.selection;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.keyple.core.card.message.AnswerToReset;
+import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.card.message.SelectionStatus;
+import org.eclipse.keyple.core.util.Assert;
+
+/**
+ * Bounded cache of the {@link AbstractSmartCard} parsed from the selection data of the cards.
+ *
+ * <p>When the same card is presented again (e.g. repeated taps at a gate), a card selection
+ * supporting the cache (see {@link AbstractCardSelection#parse(
+ * org.eclipse.keyple.core.card.message.CardSelectionResponse, CardSelectionCache)}) creates its
+ * {@link AbstractSmartCard} from the cached one instead of parsing again the FCI and the ATR.
+ *
+ * <p>An entry is identified by the class of the card selection, the ATR and the FCI (including the
+ * application serial number and the status word) returned by the card, so that a card whose
+ * selection data has changed is never served from the cache. The entries expire after a time to
+ * live and the least recently used entry is evicted when the maximum number of entries is reached.
+ *
+ * <p>The cached {@link AbstractSmartCard} are templates which must never be returned to the
+ * application. The cache may be shared by several {@link CardSelectionsService}, it is thread safe.
+ *
+ * @since 1.1
+ */
+public final class CardSelectionCache {
+
+  private final int maxEntries;
+  private final long timeToLiveNanos;
+  private final Map<Key, CachedCard> entries;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxEntries The maximum number of cached cards (must be at least 1).
+   * @param timeToLiveMillis The time during which a cached card can be used, in milliseconds (must
+   *     be at least 1).
+   * @throws IllegalArgumentException if an argument is out of range.
+   * @since 1.1
+   */
+  public CardSelectionCache(int maxEntries, long timeToLiveMillis) {
+    Assert.getInstance()
+        .greaterOrEqual(maxEntries, 1, "maxEntries")
+        .isTrue(timeToLiveMillis >= 1, "timeToLiveMillis");
+    this.maxEntries = maxEntries;
+    this.timeToLiveNanos = timeToLiveMillis * 1000000L;
+    // access order: the eldest entry is the least recently used
+    this.entries =
+        new LinkedHashMap<Key, CachedCard>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, CachedCard> eldest) {
+            if (size() > CardSelectionCache.this.maxEntries) {
+              evictionCount++;
+              return true;
+            }
+            return false;
+          }
+        };
+  }
+
+  /**
+   * Gets the card previously parsed by a card selection from the same selection data.
+   *
+   * <p>A hit or a miss is counted. An expired entry is removed and counted as an eviction.
+   *
+   * @param cardSelection The card selection (should not be null).
+   * @param selectionStatus The selection status of the card (should not be null).
+   * @return The cached card or null if not found.
+   * @since 1.1
+   */
+  public synchronized AbstractSmartCard get(
+      AbstractCardSelection<?> cardSelection, SelectionStatus selectionStatus) {
+    Key key = new Key(cardSelection.getClass(), selectionStatus, false);
+    CachedCard entry = entries.get(key);
+    if (entry != null && System.nanoTime() - entry.creationTime >= timeToLiveNanos) {
+      entries.remove(key);
+      evictionCount++;
+      entry = null;
+    }
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    return entry.smartCard;
+  }
+
+  /**
+   * Puts the card parsed by a card selection from the provided selection data.
+   *
+   * <p>The least recently used entry is evicted if the maximum number of entries is exceeded.
+   *
+   * @param cardSelection The card selection (should not be null).
+   * @param selectionStatus The selection status of the card (should not be null).
+   * @param smartCard The parsed card, which must not be modified afterwards (should not be null).
+   * @since 1.1
+   */
+  public synchronized void put(
+      AbstractCardSelection<?> cardSelection,
+      SelectionStatus selectionStatus,
+      AbstractSmartCard smartCard) {
+    entries.put(
+        new Key(cardSelection.getClass(), selectionStatus, true),
+        new CachedCard(smartCard, System.nanoTime()));
+  }
+
+  /**
+   * Removes all the entries, the counters are kept.
+   *
+   * @since 1.1
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Gets the number of cached cards, including the expired ones not yet removed.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the number of lookups which found a card.
+   *
+   * @return A positive long.
+   * @since 1.1
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Gets the number of lookups which did not find a card.
+   *
+   * @return A positive long.
+   * @since 1.1
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Gets the number of entries removed because they were expired or the least recently used.
+   *
+   * @return A positive long.
+   * @since 1.1
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * (private)<br>
+   * Identifies the selection data of a card for a class of card selection.
+   */
+  private static final class Key {
+    private final Class<?> cardSelectionClass;
+    private final byte[] atr;
+    private final byte[] fci;
+    private final int hashCode;
+
+    /**
+     * (private)<br>
+     * Constructor, the bytes are copied when the key is kept in the cache.
+     */
+    private Key(Class<?> cardSelectionClass, SelectionStatus selectionStatus, boolean copy) {
+      this.cardSelectionClass = cardSelectionClass;
+      AnswerToReset answerToReset = selectionStatus.getAtr();
+      ApduResponse fciResponse = selectionStatus.getFci();
+      byte[] atrBytes = answerToReset != null ? answerToReset.getBytes() : null;
+      byte[] fciBytes = fciResponse != null ? fciResponse.getBytes() : null;
+      this.atr = copy && atrBytes != null ? atrBytes.clone() : atrBytes;
+      this.fci = copy && fciBytes != null ? fciBytes.clone() : fciBytes;
+      this.hashCode =
+          31 * (31 * cardSelectionClass.hashCode() + Arrays.hashCode(atr)) + Arrays.hashCode(fci);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return hashCode == key.hashCode
+          && cardSelectionClass == key.cardSelectionClass
+          && Arrays.equals(atr, key.atr)
+          && Arrays.equals(fci, key.fci);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * A cached card and its creation time.
+   */
+  private static final class CachedCard {
+    private final AbstractSmartCard smartCard;
+    private final long creationTime;
+
+    private CachedCard(AbstractSmartCard smartCard, long creationTime) {
+      this.smartCard = smartCard;
+      this.creationTime = creationTime;
+    }
+  }
+}
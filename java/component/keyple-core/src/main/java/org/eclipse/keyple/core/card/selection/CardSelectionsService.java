@@ -51,6 +51,7 @@ public final class CardSelectionsService {
       commandCardSelectionRequests =
           new ArrayList<AbstractCardSelection<? extends AbstractApduCommandBuilder>>();
   private final MultiSelectionProcessing multiSelectionProcessing;
+  private final CardSelectionCache cardSelectionCache;
   private ChannelControl channelControl = ChannelControl.KEEP_OPEN;
 
   /**
@@ -60,7 +61,24 @@ public final class CardSelectionsService {
    * @since 0.9
    */
   public CardSelectionsService(MultiSelectionProcessing multiSelectionProcessing) {
+    this(multiSelectionProcessing, null);
+  }
+
+  /**
+   * Constructor with a cache of the selected cards.
+   *
+   * <p>The selection commands are still transmitted to the card, but the cards whose selection data
+   * (ATR, FCI) was already parsed by a card selection supporting the cache are created from the
+   * cache (see {@link CardSelectionCache}).
+   *
+   * @param multiSelectionProcessing the multi card processing mode
+   * @param cardSelectionCache the cache, null to parse all the selection responses
+   * @since 1.1
+   */
+  public CardSelectionsService(
+      MultiSelectionProcessing multiSelectionProcessing, CardSelectionCache cardSelectionCache) {
     this.multiSelectionProcessing = multiSelectionProcessing;
+    this.cardSelectionCache = cardSelectionCache;
   }
 
   /** Alternate constructor for standard usages. */
@@ -134,8 +152,12 @@ public final class CardSelectionsService {
          * create a AbstractSmartCard with the class deduced from the selection request
          * during the selection preparation
          */
+        AbstractCardSelection<? extends AbstractApduCommandBuilder> cardSelection =
+            commandCardSelectionRequests.get(index);
         AbstractSmartCard smartCard =
-            commandCardSelectionRequests.get(index).parse(cardSelectionResponse);
+            cardSelectionCache != null
+                ? cardSelection.parse(cardSelectionResponse, cardSelectionCache)
+                : cardSelection.parse(cardSelectionResponse);
 
         // determine if the current matching card is selected
         SelectionStatus selectionStatus = cardSelectionResponse.getSelectionStatus();
@@ -11,7 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.plugin;
 
-import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.keyple.core.card.message.CardSelectionResponse;
 import org.eclipse.keyple.core.card.message.DefaultSelectionsRequest;
@@ -24,6 +23,7 @@ import org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler;
 import org.eclipse.keyple.core.service.exception.KeypleReaderException;
 import org.eclipse.keyple.core.service.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.ObserverRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -106,13 +106,12 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
     TIME_OUT
   }
 
-  /* The observers of this object */
-  private List<ObservableReader.ReaderObserver> observers;
-  /*
-   * this object will be used to synchronize the access to the observers list in order to be
-   * thread safe
-   */
-  private final Object sync = new Object();
+  /* The observers of this object (copy-on-write, the notification is lock-free) */
+  private final ObserverRegistry<ObservableReader.ReaderObserver> observers =
+      new ObserverRegistry<ObservableReader.ReaderObserver>();
+
+  /* Shared executor of the monitoring jobs, null if the reader uses its own thread */
+  private final ReaderMonitoringScheduler monitoringScheduler;
 
   /* Service that handles Internal Events and their impact on the current state of the reader */
   protected final ObservableReaderStateService stateService;
@@ -137,10 +136,40 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
    * @since 0.9
    */
   protected AbstractObservableLocalReader(String pluginName, String readerName) {
+    this(pluginName, readerName, null);
+  }
+
+  /**
+   * (protected)<br>
+   * Constructor.
+   *
+   * <p>Same as {@link #AbstractObservableLocalReader(String, String)} but the monitoring jobs of
+   * the reader are executed by the provided shared scheduler instead of a thread dedicated to the
+   * reader.
+   *
+   * @param pluginName the name of the plugin that instantiated the reader
+   * @param readerName the name of the reader
+   * @param monitoringScheduler the shared scheduler or null to use a dedicated thread
+   * @since 1.1
+   */
+  protected AbstractObservableLocalReader(
+      String pluginName, String readerName, ReaderMonitoringScheduler monitoringScheduler) {
     super(pluginName, readerName);
+    this.monitoringScheduler = monitoringScheduler;
     stateService = new ObservableReaderStateService(this);
   }
 
+  /**
+   * (package-private)<br>
+   * Gets the shared scheduler executing the monitoring jobs.
+   *
+   * @return null if the reader uses a dedicated thread
+   * @since 1.1
+   */
+  final ReaderMonitoringScheduler getMonitoringScheduler() {
+    return monitoringScheduler;
+  }
+
   /**
    * Add a {@link ObservableReader.ReaderObserver}.
    *
@@ -162,15 +191,10 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
           "Adding '{}' as an observer of '{}'.", observer.getClass().getSimpleName(), getName());
     }
 
-    synchronized (sync) {
-      if (observers == null) {
-        if (getObservationExceptionHandler() == null) {
-          throw new IllegalStateException("No reader observation exception handler has been set.");
-        }
-        observers = new ArrayList<ReaderObserver>(1);
-      }
-      observers.add(observer);
+    if (observers.isEmpty() && getObservationExceptionHandler() == null) {
+      throw new IllegalStateException("No reader observation exception handler has been set.");
     }
+    observers.add(observer);
   }
 
   /**
@@ -191,11 +215,7 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
       logger.trace("[{}] Deleting a reader observer", getName());
     }
 
-    synchronized (sync) {
-      if (observers != null) {
-        observers.remove(observer);
-      }
-    }
+    observers.remove(observer);
   }
 
   /**
@@ -215,17 +235,10 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
           event.getEventType().name());
     }
 
-    List<ObservableReader.ReaderObserver> observersCopy;
-
-    synchronized (sync) {
-      if (observers == null) {
-        return;
-      }
-      observersCopy = new ArrayList<ReaderObserver>(observers);
-    }
-
-    for (ObservableReader.ReaderObserver observer : observersCopy) {
-      observer.update(event);
+    // immutable snapshot, iterated by index to avoid any allocation
+    List<ObservableReader.ReaderObserver> observersSnapshot = observers.getObservers();
+    for (int i = 0; i < observersSnapshot.size(); i++) {
+      observersSnapshot.get(i).update(event);
     }
   }
 
@@ -237,15 +250,13 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
    */
   @Override
   public final int countObservers() {
-    return observers == null ? 0 : observers.size();
+    return observers.size();
   }
 
   /** Remove all observers at once */
   @Override
   public final void clearObservers() {
-    if (observers != null) {
-      this.observers.clear();
-    }
+    observers.clear();
   }
 
   /**
@@ -11,11 +11,11 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.plugin;
 
-import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.keyple.core.service.event.ObservablePlugin;
 import org.eclipse.keyple.core.service.event.PluginEvent;
 import org.eclipse.keyple.core.service.exception.KeypleReaderException;
+import org.eclipse.keyple.core.util.ObserverRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,12 +36,9 @@ public abstract class AbstractObservablePlugin extends AbstractPlugin
     implements ObservablePluginNotifier {
   private static final Logger logger = LoggerFactory.getLogger(AbstractObservablePlugin.class);
 
-  private List<ObservablePlugin.PluginObserver> observers;
-  /*
-   * this object will be used to synchronize the access to the observers list in order to be
-   * thread safe
-   */
-  private final Object sync = new Object();
+  /* The observers of this object (copy-on-write, the notification is lock-free) */
+  private final ObserverRegistry<ObservablePlugin.PluginObserver> observers =
+      new ObserverRegistry<ObservablePlugin.PluginObserver>();
 
   /**
    * Constructor.
@@ -70,12 +67,7 @@ public abstract class AbstractObservablePlugin extends AbstractPlugin
           "Adding '{}' as an observer of '{}'.", observer.getClass().getSimpleName(), getName());
     }
 
-    synchronized (sync) {
-      if (observers == null) {
-        observers = new ArrayList<PluginObserver>(1);
-      }
-      observers.add(observer);
-    }
+    observers.add(observer);
   }
 
   /**
@@ -91,11 +83,7 @@ public abstract class AbstractObservablePlugin extends AbstractPlugin
     if (logger.isTraceEnabled()) {
       logger.trace("[{}] Deleting a plugin observer", getName());
     }
-    synchronized (sync) {
-      if (observers != null) {
-        observers.remove(observer);
-      }
-    }
+    observers.remove(observer);
   }
 
   /**
@@ -105,9 +93,7 @@ public abstract class AbstractObservablePlugin extends AbstractPlugin
    */
   @Override
   public void clearObservers() {
-    if (observers != null) {
-      this.observers.clear();
-    }
+    observers.clear();
   }
 
   /**
@@ -117,7 +103,7 @@ public abstract class AbstractObservablePlugin extends AbstractPlugin
    */
   @Override
   public final int countObservers() {
-    return observers == null ? 0 : observers.size();
+    return observers.size();
   }
 
   /**
@@ -135,17 +121,10 @@ public abstract class AbstractObservablePlugin extends AbstractPlugin
           countObservers(),
           event.getEventType().name());
     }
-    List<PluginObserver> observersCopy;
-
-    synchronized (sync) {
-      if (observers == null) {
-        return;
-      }
-      observersCopy = new ArrayList<PluginObserver>(observers);
-    }
-
-    for (ObservablePlugin.PluginObserver observer : observersCopy) {
-      observer.update(event);
+    // immutable snapshot, iterated by index to avoid any allocation
+    List<PluginObserver> observersSnapshot = observers.getObservers();
+    for (int i = 0; i < observersSnapshot.size(); i++) {
+      observersSnapshot.get(i).update(event);
     }
   }
 
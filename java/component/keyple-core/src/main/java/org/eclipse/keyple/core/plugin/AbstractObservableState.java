@@ -122,10 +122,15 @@ abstract class AbstractObservableState {
     }
     // launch the monitoringJob is necessary
     if (monitoringJob != null) {
-      if (executorService == null) {
-        throw new AssertionError("ExecutorService must be set");
+      ReaderMonitoringScheduler monitoringScheduler = reader.getMonitoringScheduler();
+      if (monitoringScheduler != null) {
+        monitoringEvent = monitoringScheduler.submit(monitoringJob, this);
+      } else {
+        if (executorService == null) {
+          throw new AssertionError("ExecutorService must be set");
+        }
+        monitoringEvent = executorService.submit(monitoringJob.getMonitoringJob(this));
       }
-      monitoringEvent = executorService.submit(monitoringJob.getMonitoringJob(this));
     }
   }
 
@@ -0,0 +1,43 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.plugin;
+
+/**
+ * (package-private)<br>
+ * Monitoring job relying on a periodic check rather than on a blocking wait.
+ *
+ * <p>Such a job can be executed step by step by a {@link ReaderMonitoringScheduler}, without
+ * holding a thread between two steps.
+ *
+ * @since 1.1
+ */
+abstract class AbstractPollingMonitoringJob extends AbstractMonitoringJob {
+
+  /**
+   * (package-private)<br>
+   * Gets the delay between two polling steps.
+   *
+   * @return The polling period in milliseconds.
+   * @since 1.1
+   */
+  abstract long getPollingPeriod();
+
+  /**
+   * (package-private)<br>
+   * Performs a single polling step.
+   *
+   * @param state reference to the state the monitoring job in running against
+   * @return true if the monitoring is over, false if a new step is needed
+   * @since 1.1
+   */
+  abstract boolean poll(AbstractObservableState state);
+}
@@ -21,6 +21,7 @@ import org.eclipse.keyple.core.service.exception.KeypleReaderException;
 import org.eclipse.keyple.core.service.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.service.exception.KeypleReaderNotFoundException;
 import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.ThreadProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,13 +96,6 @@ public abstract class AbstractThreadedObservablePlugin extends AbstractObservabl
         logger.debug("Start monitoring the plugin {}", this.getName());
       }
       thread = new EventThread(this.getName());
-      thread.setName("PluginEventMonitoringThread");
-      thread.setUncaughtExceptionHandler(
-          new Thread.UncaughtExceptionHandler() {
-            public void uncaughtException(Thread t, Throwable e) {
-              getObservationExceptionHandler().onPluginObservationError(thread.pluginName, e);
-            }
-          });
       thread.start();
     }
   }
@@ -170,19 +164,47 @@ public abstract class AbstractThreadedObservablePlugin extends AbstractObservabl
    */
   protected long threadWaitTimeout = SETTING_THREAD_TIMEOUT_DEFAULT;
 
-  /** Thread in charge of reporting live events */
-  private class EventThread extends Thread {
+  /**
+   * Thread in charge of reporting live events
+   *
+   * <p>The underlying thread is created by the {@link ThreadProvider}.
+   */
+  private class EventThread implements Runnable {
     private final String pluginName;
-    private boolean running = true;
+    private final Thread worker;
+    private volatile boolean running = true;
 
-    private EventThread(String pluginName) {
+    private EventThread(final String pluginName) {
       this.pluginName = pluginName;
+      this.worker = ThreadProvider.getInstance().newThread(this, "PluginEventMonitoringThread");
+      this.worker.setUncaughtExceptionHandler(
+          new Thread.UncaughtExceptionHandler() {
+            public void uncaughtException(Thread t, Throwable e) {
+              getObservationExceptionHandler().onPluginObservationError(pluginName, e);
+            }
+          });
+    }
+
+    /**
+     * (private)<br>
+     * Starts the underlying thread
+     */
+    void start() {
+      worker.start();
+    }
+
+    /**
+     * (private)<br>
+     * Indicate whether the underlying thread is alive or not
+     */
+    boolean isAlive() {
+      return worker.isAlive();
     }
 
     /** Marks the thread as one that should end when the last threadWaitTimeout occurs */
     void end() {
       running = false;
-      this.interrupt();
+      worker.interrupt();
     }
 
     /**
@@ -33,7 +33,7 @@ import org.slf4j.LoggerFactory;
  * the application level through the {@link
  * org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler} mechanism.
  */
-class CardAbsentPingMonitoringJob extends AbstractMonitoringJob {
+class CardAbsentPingMonitoringJob extends AbstractPollingMonitoringJob {
 
   private static final Logger logger = LoggerFactory.getLogger(CardAbsentPingMonitoringJob.class);
 
@@ -82,11 +82,7 @@ class CardAbsentPingMonitoringJob extends AbstractMonitoringJob {
           // re-init loop value to true
           loop.set(true);
           while (loop.get()) {
-            if (!reader.isCardPresentPing()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] the card stopped responding", reader.getName());
-              }
-              state.onEvent(AbstractObservableLocalReader.InternalEvent.CARD_REMOVED);
+            if (poll(state)) {
               return;
             }
             retries++;
@@ -116,6 +112,34 @@ class CardAbsentPingMonitoringJob extends AbstractMonitoringJob {
     };
   }
 
+  /**
+   * (package-private)<br>
+   *
+   * @since 1.1
+   */
+  @Override
+  long getPollingPeriod() {
+    return removalWait;
+  }
+
+  /**
+   * (package-private)<br>
+   * Pings the card once and notifies the state if the card stopped responding.
+   *
+   * @since 1.1
+   */
+  @Override
+  boolean poll(AbstractObservableState state) {
+    if (!reader.isCardPresentPing()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("[{}] the card stopped responding", reader.getName());
+      }
+      state.onEvent(AbstractObservableLocalReader.InternalEvent.CARD_REMOVED);
+      return true;
+    }
+    return false;
+  }
+
   /** (package-private)<br> */
   @Override
   void stop() {
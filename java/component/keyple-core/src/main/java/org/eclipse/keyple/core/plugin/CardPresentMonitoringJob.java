@@ -25,7 +25,7 @@ import org.slf4j.LoggerFactory;
  * the application level through the {@link
  * org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler} mechanism.
  */
-class CardPresentMonitoringJob extends AbstractMonitoringJob {
+class CardPresentMonitoringJob extends AbstractPollingMonitoringJob {
 
   private static final Logger logger = LoggerFactory.getLogger(CardPresentMonitoringJob.class);
 
@@ -62,34 +62,8 @@ class CardPresentMonitoringJob extends AbstractMonitoringJob {
           // re-init loop value to true
           loop.set(true);
           while (loop.get()) {
-            // polls for CARD_INSERTED
-            if (monitorInsertion && reader.isCardPresent()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] The card is present ", reader.getName());
-              }
-              try {
-                state.onEvent(AbstractObservableLocalReader.InternalEvent.CARD_INSERTED);
-                return;
-              } catch (KeypleReaderIOException e) {
-                logger.warn(
-                    "[{}] waitForCardPresent => Error while processing card insertion event",
-                    reader.getName());
-              }
-            }
-            // polls for CARD_REMOVED
-            if (!monitorInsertion && !reader.isCardPresent()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] The card is not present ", reader.getName());
-              }
-              loop.set(false);
-              try {
-                state.onEvent(AbstractObservableLocalReader.InternalEvent.CARD_REMOVED);
-                return;
-              } catch (KeypleReaderIOException e) {
-                logger.warn(
-                    "[{}] waitForCardAbsent => Error while processing card removal event",
-                    reader.getName());
-              }
+            if (poll(state)) {
+              return;
             }
             retries++;
 
@@ -118,6 +92,55 @@ class CardPresentMonitoringJob extends AbstractMonitoringJob {
     };
   }
 
+  /**
+   * (package-private)<br>
+   *
+   * @since 1.1
+   */
+  @Override
+  long getPollingPeriod() {
+    return waitTimeout;
+  }
+
+  /**
+   * (package-private)<br>
+   * Checks the card presence once and notifies the state if the expected event occurred.
+   *
+   * @since 1.1
+   */
+  @Override
+  boolean poll(AbstractObservableState state) {
+    // polls for CARD_INSERTED
+    if (monitorInsertion && reader.isCardPresent()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("[{}] The card is present ", reader.getName());
+      }
+      try {
+        state.onEvent(AbstractObservableLocalReader.InternalEvent.CARD_INSERTED);
+        return true;
+      } catch (KeypleReaderIOException e) {
+        logger.warn(
+            "[{}] waitForCardPresent => Error while processing card insertion event",
+            reader.getName());
+      }
+    }
+    // polls for CARD_REMOVED
+    if (!monitorInsertion && !reader.isCardPresent()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("[{}] The card is not present ", reader.getName());
+      }
+      try {
+        state.onEvent(AbstractObservableLocalReader.InternalEvent.CARD_REMOVED);
+      } catch (KeypleReaderIOException e) {
+        logger.warn(
+            "[{}] waitForCardAbsent => Error while processing card removal event",
+            reader.getName());
+      }
+      return true;
+    }
+    return false;
+  }
+
   /** (package-private)<br> */
   @Override
   void stop() {
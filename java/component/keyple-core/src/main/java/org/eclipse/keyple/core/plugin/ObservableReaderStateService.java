@@ -15,6 +15,7 @@ import java.util.EnumMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.eclipse.keyple.core.service.exception.KeypleReaderIOException;
+import org.eclipse.keyple.core.util.ThreadProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,7 +34,10 @@ class ObservableReaderStateService {
   /** AbstractObservableLocalReader to manage event and states */
   private final AbstractObservableLocalReader reader;
 
-  /** Executor service to provide a unique thread used by the various monitoring jobs */
+  /**
+   * Executor service to provide a unique thread used by the various monitoring jobs, null when the
+   * jobs are executed by a shared {@link ReaderMonitoringScheduler}
+   */
   private final ExecutorService executorService;
 
   /** Map of all instantiated states possible */
@@ -53,7 +57,15 @@ class ObservableReaderStateService {
     this.states =
         new EnumMap<AbstractObservableState.MonitoringState, AbstractObservableState>(
             AbstractObservableState.MonitoringState.class);
-    this.executorService = Executors.newSingleThreadExecutor();
+    // a native blocking wait would pin the carrier of a virtual thread
+    this.executorService =
+        reader.getMonitoringScheduler() == null
+            ? Executors.newSingleThreadExecutor(
+                reader instanceof WaitForCardInsertionBlocking
+                        || reader instanceof WaitForCardRemovalBlocking
+                    ? ThreadProvider.getInstance().getPlatformThreadFactory()
+                    : ThreadProvider.getInstance().getThreadFactory())
+            : null;
 
     // initialize states for each cases:
 
@@ -212,9 +224,20 @@ class ObservableReaderStateService {
    * <p>This method should be invoked when the reader monitoring ends in order to stop any remaining
    * threads.
    *
+   * <p>When the jobs are executed by a shared {@link ReaderMonitoringScheduler}, the job of the
+   * current state is cancelled, the scheduler itself is left running.
+   *
    * @since 1.0
    */
   final void shutdown() {
-    executorService.shutdown();
+    if (executorService != null) {
+      executorService.shutdown();
+    } else {
+      synchronized (this) {
+        if (currentState != null) {
+          currentState.onDeactivate();
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,268 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.plugin;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.ThreadProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared executor of the monitoring jobs of a set of observable local readers.
+ *
+ * <p>By default, each {@link AbstractObservableLocalReader} owns a dedicated thread in which its
+ * monitoring jobs are executed, polling jobs included. When a scheduler is provided at the reader
+ * creation, the monitoring jobs are dispatched as follows:
+ *
+ * <ul>
+ *   <li>the polling jobs (card presence polling, card ping) are split into short steps executed
+ *       periodically by a bounded pool of threads shared by all readers,
+ *   <li>the jobs relying on a blocking native wait are executed in dedicated platform threads,
+ *       created on demand and reused once the wait is over. A native wait would pin the carrier of
+ *       a virtual thread, so the factory set in the {@link ThreadProvider} is not used for them.
+ * </ul>
+ *
+ * <p>A single instance is intended to be shared by all the plugins of an application; it must be
+ * shut down by the application when no longer needed.
+ *
+ * @since 1.1
+ */
+public final class ReaderMonitoringScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReaderMonitoringScheduler.class);
+
+  private static final long BLOCKING_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+  private final ScheduledThreadPoolExecutor pollingExecutor;
+  private final ThreadPoolExecutor blockingExecutor;
+
+  /**
+   * Creates a scheduler using the provided number of threads for the polling jobs.
+   *
+   * @param pollingThreadsNumber The maximum number of threads used to execute the polling jobs
+   *     (must be greater or equal to 1).
+   * @throws IllegalArgumentException if pollingThreadsNumber is less than 1.
+   * @since 1.1
+   */
+  public ReaderMonitoringScheduler(int pollingThreadsNumber) {
+    Assert.getInstance().greaterOrEqual(pollingThreadsNumber, 1, "pollingThreadsNumber");
+    pollingExecutor =
+        new ScheduledThreadPoolExecutor(
+            pollingThreadsNumber, new MonitoringThreadFactory("keyple-monitoring-polling-"));
+    blockingExecutor =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            BLOCKING_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new MonitoringThreadFactory("keyple-monitoring-blocking-"));
+  }
+
+  /**
+   * Gets the number of threads currently used for the polling jobs.
+   *
+   * @return A positive int, never greater than the number provided at the creation.
+   * @since 1.1
+   */
+  public int getPollingThreadsNumber() {
+    return pollingExecutor.getPoolSize();
+  }
+
+  /**
+   * Gets the number of threads currently dedicated to the blocking jobs, idle threads waiting to be
+   * reused included.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  public int getBlockingThreadsNumber() {
+    return blockingExecutor.getPoolSize();
+  }
+
+  /**
+   * Gets the total number of threads currently held by the scheduler.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  public int getThreadsNumber() {
+    return getPollingThreadsNumber() + getBlockingThreadsNumber();
+  }
+
+  /**
+   * Stops the scheduler, the running jobs are not interrupted but no new job is accepted.
+   *
+   * @since 1.1
+   */
+  public void shutdown() {
+    pollingExecutor.shutdown();
+    blockingExecutor.shutdown();
+  }
+
+  /**
+   * (package-private)<br>
+   * Starts the monitoring job of the provided state.
+   *
+   * <p>Polling jobs ({@link AbstractPollingMonitoringJob}) are executed step by step in the shared
+   * polling pool, the other jobs in a dedicated thread.
+   *
+   * @param monitoringJob The job to start.
+   * @param state The state the job is running against.
+   * @return A not null {@link Future} allowing to cancel the job.
+   * @since 1.1
+   */
+  Future<?> submit(AbstractMonitoringJob monitoringJob, AbstractObservableState state) {
+    if (!(monitoringJob instanceof AbstractPollingMonitoringJob)) {
+      return blockingExecutor.submit(monitoringJob.getMonitoringJob(state));
+    }
+    PollingTask pollingTask = new PollingTask((AbstractPollingMonitoringJob) monitoringJob, state);
+    pollingTask.schedule(0);
+    return pollingTask;
+  }
+
+  /**
+   * (private)<br>
+   * Executes one polling step of a job at each period until the job completes or is cancelled.
+   */
+  private final class PollingTask implements Runnable, Future<Object> {
+
+    private final AbstractPollingMonitoringJob monitoringJob;
+    private final AbstractObservableState state;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile boolean cancelled;
+    private volatile ScheduledFuture<?> nextStep;
+
+    private PollingTask(AbstractPollingMonitoringJob monitoringJob, AbstractObservableState state) {
+      this.monitoringJob = monitoringJob;
+      this.state = state;
+    }
+
+    private void schedule(long delay) {
+      nextStep = pollingExecutor.schedule(this, delay, TimeUnit.MILLISECONDS);
+      if (cancelled) {
+        nextStep.cancel(false);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (cancelled) {
+        return;
+      }
+      boolean completed;
+      try {
+        completed = monitoringJob.poll(state);
+      } catch (RuntimeException e) {
+        completed = true;
+        state
+            .reader
+            .getObservationExceptionHandler()
+            .onReaderObservationError(state.reader.getPluginName(), state.reader.getName(), e);
+      }
+      if (completed || cancelled) {
+        done.countDown();
+        return;
+      }
+      try {
+        schedule(monitoringJob.getPollingPeriod());
+      } catch (RuntimeException e) {
+        // the scheduler has been shut down
+        logger.warn("[{}] Unable to schedule the polling job", state.reader.getName());
+        done.countDown();
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (isDone()) {
+        return false;
+      }
+      cancelled = true;
+      ScheduledFuture<?> step = nextStep;
+      if (step != null) {
+        step.cancel(mayInterruptIfRunning);
+      }
+      done.countDown();
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+      return done.getCount() == 0;
+    }
+
+    @Override
+    public Object get() throws InterruptedException {
+      done.await();
+      checkNotCancelled();
+      return null;
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+      if (!done.await(timeout, unit)) {
+        throw new TimeoutException();
+      }
+      checkNotCancelled();
+      return null;
+    }
+
+    private void checkNotCancelled() {
+      if (cancelled) {
+        throw new CancellationException();
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Creates named daemon platform threads.
+   */
+  private static final class MonitoringThreadFactory implements ThreadFactory {
+
+    private final String namePrefix;
+    private final AtomicInteger threadsCounter = new AtomicInteger();
+
+    private MonitoringThreadFactory(String namePrefix) {
+      this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = ThreadProvider.getInstance().getPlatformThreadFactory().newThread(runnable);
+      thread.setName(namePrefix + threadsCounter.incrementAndGet());
+      if (!thread.isDaemon()) {
+        thread.setDaemon(true);
+      }
+      return thread;
+    }
+  }
+}
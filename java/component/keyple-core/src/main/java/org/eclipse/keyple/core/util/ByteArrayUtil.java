@@ -11,7 +11,8 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.util;
 
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Utils around byte arrays
@@ -19,33 +20,24 @@ import java.util.regex.Pattern;
  * @since 0.9
  */
 public final class ByteArrayUtil {
-  /* byte to hex string conversion table */
-  private static final String[] byteToHex =
-      new String[] {
-        "00", "01", "02", "03", "04", "05", "06", "07", "08", "09", "0A", "0B", "0C", "0D", "0E",
-        "0F", "10", "11", "12", "13", "14", "15", "16", "17", "18", "19", "1A", "1B", "1C", "1D",
-        "1E", "1F", "20", "21", "22", "23", "24", "25", "26", "27", "28", "29", "2A", "2B", "2C",
-        "2D", "2E", "2F", "30", "31", "32", "33", "34", "35", "36", "37", "38", "39", "3A", "3B",
-        "3C", "3D", "3E", "3F", "40", "41", "42", "43", "44", "45", "46", "47", "48", "49", "4A",
-        "4B", "4C", "4D", "4E", "4F", "50", "51", "52", "53", "54", "55", "56", "57", "58", "59",
-        "5A", "5B", "5C", "5D", "5E", "5F", "60", "61", "62", "63", "64", "65", "66", "67", "68",
-        "69", "6A", "6B", "6C", "6D", "6E", "6F", "70", "71", "72", "73", "74", "75", "76", "77",
-        "78", "79", "7A", "7B", "7C", "7D", "7E", "7F", "80", "81", "82", "83", "84", "85", "86",
-        "87", "88", "89", "8A", "8B", "8C", "8D", "8E", "8F", "90", "91", "92", "93", "94", "95",
-        "96", "97", "98", "99", "9A", "9B", "9C", "9D", "9E", "9F", "A0", "A1", "A2", "A3", "A4",
-        "A5", "A6", "A7", "A8", "A9", "AA", "AB", "AC", "AD", "AE", "AF", "B0", "B1", "B2", "B3",
-        "B4", "B5", "B6", "B7", "B8", "B9", "BA", "BB", "BC", "BD", "BE", "BF", "C0", "C1", "C2",
-        "C3", "C4", "C5", "C6", "C7", "C8", "C9", "CA", "CB", "CC", "CD", "CE", "CF", "D0", "D1",
-        "D2", "D3", "D4", "D5", "D6", "D7", "D8", "D9", "DA", "DB", "DC", "DD", "DE", "DF", "E0",
-        "E1", "E2", "E3", "E4", "E5", "E6", "E7", "E8", "E9", "EA", "EB", "EC", "ED", "EE", "EF",
-        "F0", "F1", "F2", "F3", "F4", "F5", "F6", "F7", "F8", "F9", "FA", "FB", "FC", "FD", "FE",
-        "FF"
-      };
 
-  /**
+  /* nibble to upper case hex digit conversion table */
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  /* ASCII char to nibble conversion table, -1 for the chars which are not hex digits */
+  private static final byte[] HEX_VALUES = new byte[128];
+
+  /*
    * Chars we will ignore when loading a sample HEX string. It allows to copy/paste the specs APDU
    */
-  private static final Pattern HEX_IGNORED_CHARS = Pattern.compile(" |h");
+  private static final char IGNORED_SPACE = ' ';
+  private static final char IGNORED_H = 'h';
+
+  static {
+    for (int i = 0; i < HEX_VALUES.length; i++) {
+      HEX_VALUES[i] = (byte) Character.digit((char) i, 16);
+    }
+  }
 
   private ByteArrayUtil() {
     throw new IllegalStateException("ByteArray utility class");
@@ -59,20 +51,66 @@ public final class ByteArrayUtil {
    * @since 0.9
    */
   public static byte[] fromHex(String hex) {
-    hex = HEX_IGNORED_CHARS.matcher(hex).replaceAll("").toUpperCase();
+    byte[] byteArray = new byte[getHexDigitsCount(hex) / 2];
+    decodeHex(hex, byteArray, 0);
+    return byteArray;
+  }
 
-    if (hex.length() % 2 != 0) {
-      throw new IllegalArgumentException("Odd numbered hex array");
-    }
+  /**
+   * Decodes an hexa string into an existing byte array. This method allows spaces and "h".
+   *
+   * @param hex Hexa string
+   * @param dest The destination byte array.
+   * @param offset The offset in the destination array from which the bytes are written.
+   * @return The number of bytes written.
+   * @throws IllegalArgumentException if the number of hex digits is odd or if the destination is
+   *     too small.
+   * @since 1.1
+   */
+  public static int fromHex(CharSequence hex, byte[] dest, int offset) {
+    int length = getHexDigitsCount(hex) / 2;
+    checkRange(dest, offset, length);
+    decodeHex(hex, dest, offset);
+    return length;
+  }
 
-    byte[] byteArray = new byte[hex.length() / 2];
-    for (int i = 0; i < hex.length(); i += 2) {
-      byteArray[i / 2] =
-          (byte)
-              ((Character.digit(hex.charAt(i), 16) << 4) + Character.digit(hex.charAt(i + 1), 16));
+  /**
+   * Decodes an hexa string into a byte buffer, from its current position. This method allows spaces
+   * and "h".
+   *
+   * <p>The position of the buffer is advanced by the number of bytes written.
+   *
+   * @param hex Hexa string
+   * @param dest The destination buffer.
+   * @return The number of bytes written.
+   * @throws IllegalArgumentException if the number of hex digits is odd or if the remaining space
+   *     of the buffer is too small.
+   * @since 1.1
+   */
+  public static int fromHex(CharSequence hex, ByteBuffer dest) {
+    int length = getHexDigitsCount(hex) / 2;
+    if (dest.remaining() < length) {
+      throw new IllegalArgumentException("Destination buffer too small.");
     }
-
-    return byteArray;
+    if (dest.hasArray()) {
+      decodeHex(hex, dest.array(), dest.arrayOffset() + dest.position());
+      dest.position(dest.position() + length);
+    } else {
+      int hexLength = hex.length();
+      int high = -1;
+      for (int i = 0; i < hexLength; i++) {
+        char c = hex.charAt(i);
+        if (c != IGNORED_SPACE && c != IGNORED_H) {
+          if (high == -1) {
+            high = i;
+          } else {
+            dest.put(toByte(hex.charAt(high), c));
+            high = -1;
+          }
+        }
+      }
+    }
+    return length;
   }
 
   /**
@@ -86,11 +124,186 @@ public final class ByteArrayUtil {
     if (byteArray == null) {
       return "";
     }
-    StringBuilder hexStringBuilder = new StringBuilder();
-    for (int i = 0; i < byteArray.length; i++) {
-      hexStringBuilder.append(byteToHex[byteArray[i] & 0xFF]);
+    return toHex(byteArray, 0, byteArray.length);
+  }
+
+  /**
+   * Represents a range of a byte array in a hexadecimal string.
+   *
+   * @param byteArray byte array to represent to hex
+   * @param offset The offset of the first byte to represent.
+   * @param length The number of bytes to represent.
+   * @return Hex representation of the range of the byte array
+   * @throws IllegalArgumentException if the range is out of the byte array.
+   * @since 1.1
+   */
+  public static String toHex(byte[] byteArray, int offset, int length) {
+    checkRange(byteArray, offset, length);
+    char[] chars = new char[length * 2];
+    for (int i = 0, j = 0; i < length; i++) {
+      int b = byteArray[offset + i];
+      chars[j++] = HEX_DIGITS[(b >> 4) & 0x0F];
+      chars[j++] = HEX_DIGITS[b & 0x0F];
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Represents the remaining bytes of a byte buffer in a hexadecimal string.
+   *
+   * <p>The position of the buffer is not modified.
+   *
+   * @param buffer The byte buffer.
+   * @return Hex representation of the bytes between the position and the limit of the buffer
+   * @since 1.1
+   */
+  public static String remainingToHex(ByteBuffer buffer) {
+    if (buffer == null) {
+      return "";
+    }
+    if (buffer.hasArray()) {
+      return toHex(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    int position = buffer.position();
+    char[] chars = new char[buffer.remaining() * 2];
+    for (int i = position, j = 0; i < buffer.limit(); i++) {
+      int b = buffer.get(i);
+      chars[j++] = HEX_DIGITS[(b >> 4) & 0x0F];
+      chars[j++] = HEX_DIGITS[b & 0x0F];
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Appends the hexadecimal representation of a range of a byte array to a string builder.
+   *
+   * @param sb The string builder.
+   * @param byteArray byte array to represent to hex
+   * @param offset The offset of the first byte to represent.
+   * @param length The number of bytes to represent.
+   * @return The provided string builder.
+   * @throws IllegalArgumentException if the range is out of the byte array.
+   * @since 1.1
+   */
+  public static StringBuilder appendHex(
+      StringBuilder sb, byte[] byteArray, int offset, int length) {
+    checkRange(byteArray, offset, length);
+    sb.ensureCapacity(sb.length() + length * 2);
+    for (int i = offset; i < offset + length; i++) {
+      int b = byteArray[i];
+      sb.append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+    }
+    return sb;
+  }
+
+  /**
+   * Appends the hexadecimal representation of a range of a byte array to an {@link Appendable}.
+   *
+   * @param out The appendable.
+   * @param byteArray byte array to represent to hex
+   * @param offset The offset of the first byte to represent.
+   * @param length The number of bytes to represent.
+   * @return The provided appendable.
+   * @throws IllegalArgumentException if the range is out of the byte array.
+   * @throws IOException if an I/O error occurs while appending.
+   * @since 1.1
+   */
+  public static Appendable appendHex(Appendable out, byte[] byteArray, int offset, int length)
+      throws IOException {
+    checkRange(byteArray, offset, length);
+    for (int i = offset; i < offset + length; i++) {
+      int b = byteArray[i];
+      out.append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+    }
+    return out;
+  }
+
+  /**
+   * (private)<br>
+   * Counts the hex digits of an hexa string, ignoring the spaces and "h".
+   *
+   * @param hex Hexa string
+   * @return An even number.
+   * @throws IllegalArgumentException if the number of hex digits is odd.
+   */
+  private static int getHexDigitsCount(CharSequence hex) {
+    int hexLength = hex.length();
+    int count = hexLength;
+    for (int i = 0; i < hexLength; i++) {
+      char c = hex.charAt(i);
+      if (c == IGNORED_SPACE || c == IGNORED_H) {
+        count--;
+      }
+    }
+    if (count % 2 != 0) {
+      throw new IllegalArgumentException("Odd numbered hex array");
+    }
+    return count;
+  }
+
+  /**
+   * (private)<br>
+   * Decodes an hexa string whose hex digits count has already been checked.
+   *
+   * @param hex Hexa string
+   * @param dest The destination byte array.
+   * @param offset The offset in the destination array.
+   */
+  private static void decodeHex(CharSequence hex, byte[] dest, int offset) {
+    int hexLength = hex.length();
+    int high = -1;
+    for (int i = 0; i < hexLength; i++) {
+      char c = hex.charAt(i);
+      if (c != IGNORED_SPACE && c != IGNORED_H) {
+        if (high == -1) {
+          high = i;
+        } else {
+          dest[offset++] = toByte(hex.charAt(high), c);
+          high = -1;
+        }
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Converts two hex digits into a byte.
+   *
+   * <p>No verification is carried out: as previously done with {@link Character#digit(char, int)},
+   * a char which is not an hex digit is considered as the value -1.
+   *
+   * @param high The most significant hex digit.
+   * @param low The least significant hex digit.
+   * @return The byte.
+   */
+  private static byte toByte(char high, char low) {
+    return (byte) ((toNibble(high) << 4) + toNibble(low));
+  }
+
+  /**
+   * (private)<br>
+   * Converts an hex digit into its value.
+   *
+   * @param c The hex digit.
+   * @return -1 if the char is not an hex digit.
+   */
+  private static int toNibble(char c) {
+    return c < HEX_VALUES.length ? HEX_VALUES[c] : Character.digit(c, 16);
+  }
+
+  /**
+   * (private)<br>
+   * Checks that a range is within a byte array.
+   *
+   * @param byteArray The byte array.
+   * @param offset The offset of the range.
+   * @param length The length of the range.
+   * @throws IllegalArgumentException if the range is out of the byte array.
+   */
+  private static void checkRange(byte[] byteArray, int offset, int length) {
+    if (byteArray == null || offset < 0 || length < 0 || offset > byteArray.length - length) {
+      throw new IllegalArgumentException("Bad offset or length for the byte array.");
     }
-    return hexStringBuilder.toString();
   }
 
   /**
@@ -0,0 +1,108 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Copy-on-write registry of observers.
+ *
+ * <p>The registered observers are kept in an immutable snapshot which is replaced on each
+ * modification. Reading the observers for an event dispatch is therefore lock-free and
+ * allocation-free: the snapshot returned by {@link #getObservers()} can be iterated by index
+ * without copy, it is not affected by the modifications made during the dispatch.
+ *
+ * <p>The modifications (rare) are serialized.
+ *
+ * @param <T> the type of the observers
+ * @since 1.1
+ */
+public final class ObserverRegistry<T> {
+
+  private volatile List<T> observers = Collections.emptyList();
+
+  /**
+   * Adds an observer.
+   *
+   * @param observer the observer to add (must be not null)
+   * @return true
+   * @throws IllegalArgumentException if the observer is null
+   * @since 1.1
+   */
+  public synchronized boolean add(T observer) {
+    Assert.getInstance().notNull(observer, "observer");
+    List<T> newObservers = new ArrayList<T>(observers.size() + 1);
+    newObservers.addAll(observers);
+    newObservers.add(observer);
+    observers = Collections.unmodifiableList(newObservers);
+    return true;
+  }
+
+  /**
+   * Removes an observer.
+   *
+   * @param observer the observer to remove
+   * @return true if the observer was registered
+   * @since 1.1
+   */
+  public synchronized boolean remove(T observer) {
+    int index = observers.indexOf(observer);
+    if (index < 0) {
+      return false;
+    }
+    List<T> newObservers = new ArrayList<T>(observers);
+    newObservers.remove(index);
+    observers = Collections.unmodifiableList(newObservers);
+    return true;
+  }
+
+  /**
+   * Removes all the observers.
+   *
+   * @since 1.1
+   */
+  public synchronized void clear() {
+    observers = Collections.emptyList();
+  }
+
+  /**
+   * Gets the number of registered observers.
+   *
+   * @return a positive int
+   * @since 1.1
+   */
+  public int size() {
+    return observers.size();
+  }
+
+  /**
+   * Indicates whether no observer is registered.
+   *
+   * @return true if there is no observer
+   * @since 1.1
+   */
+  public boolean isEmpty() {
+    return observers.isEmpty();
+  }
+
+  /**
+   * Gets the current snapshot of the observers.
+   *
+   * @return a not null immutable list, in the registration order
+   * @since 1.1
+   */
+  public List<T> getObservers() {
+    return observers;
+  }
+}
@@ -0,0 +1,99 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides the threads created by Keyple to run its background tasks (reader monitoring jobs,
+ * plugin monitoring thread, etc.).
+ *
+ * <p>By default, platform threads are created. Another {@link ThreadFactory} can be set by the
+ * application before the registration of the plugins, for example to run the polling waits on
+ * virtual threads when the runtime supports them (see the keyple-virtual-thread module).
+ *
+ * <p>The tasks blocked in native code (e.g. the smartcard.io waits for a card insertion or removal)
+ * are not affected: a virtual thread blocked in native code pins its carrier thread, such tasks are
+ * thus always run by the platform threads of {@link #getPlatformThreadFactory()}.
+ *
+ * @since 1.1
+ */
+public final class ThreadProvider {
+
+  private static final ThreadFactory DEFAULT_THREAD_FACTORY = Executors.defaultThreadFactory();
+
+  /** Singleton pattern */
+  private static final ThreadProvider INSTANCE = new ThreadProvider();
+
+  private volatile ThreadFactory threadFactory = DEFAULT_THREAD_FACTORY;
+
+  /** Private Constructor */
+  private ThreadProvider() {}
+
+  /**
+   * Gets the unique instance.
+   *
+   * @return the instance
+   * @since 1.1
+   */
+  public static ThreadProvider getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Sets the factory used to create the Keyple threads from now on.
+   *
+   * <p>The threads already created are not affected.
+   *
+   * @param threadFactory The factory to use or null to restore the default platform threads.
+   * @since 1.1
+   */
+  public void setThreadFactory(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory != null ? threadFactory : DEFAULT_THREAD_FACTORY;
+  }
+
+  /**
+   * Gets the factory currently used to create the Keyple threads.
+   *
+   * @return A not null reference.
+   * @since 1.1
+   */
+  public ThreadFactory getThreadFactory() {
+    return threadFactory;
+  }
+
+  /**
+   * Gets the factory of the platform threads used for the tasks blocked in native code, whatever
+   * the factory set with {@link #setThreadFactory(ThreadFactory)}.
+   *
+   * @return A not null reference.
+   * @since 1.1
+   */
+  public ThreadFactory getPlatformThreadFactory() {
+    return DEFAULT_THREAD_FACTORY;
+  }
+
+  /**
+   * Creates a new unstarted thread with the current factory.
+   *
+   * @param task The task to be executed by the thread.
+   * @param name The name of the thread.
+   * @return A not null reference.
+   * @since 1.1
+   */
+  public Thread newThread(Runnable task, String name) {
+    Thread thread = threadFactory.newThread(task);
+    thread.setName(name);
+    return thread;
+  }
+}
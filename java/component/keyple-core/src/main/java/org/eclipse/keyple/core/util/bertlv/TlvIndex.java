@@ -0,0 +1,406 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util.bertlv;
+
+import java.nio.ByteBuffer;
+import org.eclipse.keyple.core.util.Assert;
+
+/**
+ * Index of the data objects of a BER-TLV structure (ITU-T X.690 / ISO 8825).
+ *
+ * <p>The structure is parsed in one pass, constructed data objects included, and each data object
+ * found is referenced by its position in the index (in the order of appearance in the structure).
+ * The data objects can then be looked up by tag and their values read in place through their offset
+ * and length in the indexed array, without any copy.
+ *
+ * <p>The tags are handled as the int made of their bytes (e.g. {@code 0x6F}, {@code 0xBF0C}), up to
+ * 4 bytes. The lengths are handled up to 3 bytes (long form). The padding bytes {@code 00h} and
+ * {@code FFh} found between the data objects are ignored (ISO 7816-4).
+ *
+ * <p>An instance may be reused to index several structures. The internal table only grows when a
+ * structure containing more data objects than the previous ones is indexed, so that the indexing is
+ * free of allocation in steady state. This class is not thread safe.
+ *
+ * @since 1.1
+ */
+public final class TlvIndex {
+
+  /**
+   * The index of the virtual parent of the top level data objects.
+   *
+   * @since 1.1
+   */
+  public static final int ROOT = -1;
+
+  private static final int DEFAULT_CAPACITY = 8;
+
+  // each data object is described by 5 consecutive ints in the entries table
+  private static final int TAG = 0;
+  private static final int OFFSET = 1;
+  private static final int VALUE_OFFSET = 2;
+  private static final int VALUE_LENGTH = 3;
+  private static final int PARENT = 4;
+  private static final int ENTRY_SIZE = 5;
+
+  private byte[] data;
+  private int[] entries;
+  private int size;
+  private boolean lenient;
+
+  /**
+   * Creates an empty index with a default initial capacity.
+   *
+   * @since 1.1
+   */
+  public TlvIndex() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates an empty index with the provided initial capacity.
+   *
+   * @param initialCapacity The number of data objects which can be indexed before the internal
+   *     table grows.
+   * @throws IllegalArgumentException if the capacity is lower than 1.
+   * @since 1.1
+   */
+  public TlvIndex(int initialCapacity) {
+    Assert.getInstance().greaterOrEqual(initialCapacity, 1, "initialCapacity");
+    entries = new int[initialCapacity * ENTRY_SIZE];
+  }
+
+  /**
+   * Sets the lenient mode, disabled by default.
+   *
+   * <p>In lenient mode, the lengths of the constructed data objects are not checked: the value of a
+   * constructed data object is considered to extend up to the end of the value of its enclosing
+   * data object (or up to the end of the indexed range). This allows to read the structures whose
+   * constructed lengths are inconsistent, as long as the data objects are nested in sequence (e.g.
+   * an FCI). The lengths of the primitive data objects are always checked.
+   *
+   * @param lenient True to enable the lenient mode.
+   * @return The current instance.
+   * @since 1.1
+   */
+  public TlvIndex setLenient(boolean lenient) {
+    this.lenient = lenient;
+    return this;
+  }
+
+  /**
+   * Indexes all the data objects of a BER-TLV structure.
+   *
+   * <p>The previous content of the index is discarded. The array is referenced, not copied, and
+   * must not be modified as long as the index is used.
+   *
+   * <p>If the structure is malformed, the data objects preceding the malformed one remain indexed
+   * when the exception is thrown, so that the well-formed beginning of a structure can still be
+   * read.
+   *
+   * @param data The array containing the structure (should not be null).
+   * @param offset The offset of the first byte of the structure.
+   * @param length The length of the structure.
+   * @return The current instance.
+   * @throws IllegalArgumentException if the range is not within the array or if the structure is
+   *     malformed.
+   * @since 1.1
+   */
+  public TlvIndex index(byte[] data, int offset, int length) {
+    Assert.getInstance().notNull(data, "data");
+    size = 0;
+    if (offset < 0 || length < 0 || offset + length > data.length) {
+      throw new IllegalArgumentException(
+          "BER-TLV indexing: range [" + offset + ", " + (offset + length) + "[ out of the data.");
+    }
+    this.data = data;
+    int end = offset + length;
+    int parent = ROOT;
+    int parentEnd = end;
+    int position = offset;
+    while (true) {
+      // leave the constructed data objects whose value has been fully indexed
+      while (position == parentEnd && parent != ROOT) {
+        parent = entries[parent * ENTRY_SIZE + PARENT];
+        parentEnd = parent == ROOT ? end : getValueEnd(parent);
+      }
+      if (position == parentEnd) {
+        break;
+      }
+      int b = data[position] & 0xFF;
+      if (b == 0x00 || b == 0xFF) {
+        position++;
+        continue;
+      }
+      // tag field
+      int tagOffset = position++;
+      int tag = b;
+      if ((b & 0x1F) == 0x1F) {
+        int tagSize = 1;
+        do {
+          if (position == parentEnd || ++tagSize > 4) {
+            throw malformed("invalid tag", tagOffset);
+          }
+          b = data[position++] & 0xFF;
+          tag = (tag << 8) | b;
+        } while ((b & 0x80) != 0);
+      }
+      // length field
+      if (position == parentEnd) {
+        throw malformed("missing length", tagOffset);
+      }
+      int valueLength = data[position++] & 0xFF;
+      if (valueLength > 0x7F) {
+        int lengthSize = valueLength & 0x7F;
+        if (lengthSize == 0 || lengthSize > 3) {
+          throw malformed("unsupported length", tagOffset);
+        }
+        if (lengthSize > parentEnd - position) {
+          throw malformed("missing length", tagOffset);
+        }
+        valueLength = 0;
+        while (lengthSize-- > 0) {
+          valueLength = (valueLength << 8) | (data[position++] & 0xFF);
+        }
+      }
+      boolean constructed = (data[tagOffset] & 0x20) != 0;
+      if (constructed && lenient) {
+        valueLength = parentEnd - position;
+      } else if (valueLength > parentEnd - position) {
+        throw malformed("value out of the enclosing data", tagOffset);
+      }
+      add(tag, tagOffset, position, valueLength, parent);
+      if (constructed) {
+        // its value is indexed before the following data objects
+        parent = size - 1;
+        parentEnd = position + valueLength;
+      } else {
+        position += valueLength;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * (private)<br>
+   * Adds a data object to the index, growing the table if needed.
+   */
+  private void add(int tag, int offset, int valueOffset, int valueLength, int parent) {
+    int entry = size * ENTRY_SIZE;
+    if (entry == entries.length) {
+      int[] newEntries = new int[entries.length * 2];
+      System.arraycopy(entries, 0, newEntries, 0, entries.length);
+      entries = newEntries;
+    }
+    entries[entry + TAG] = tag;
+    entries[entry + OFFSET] = offset;
+    entries[entry + VALUE_OFFSET] = valueOffset;
+    entries[entry + VALUE_LENGTH] = valueLength;
+    entries[entry + PARENT] = parent;
+    size++;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the offset following the value of an indexed data object.
+   */
+  private int getValueEnd(int index) {
+    return entries[index * ENTRY_SIZE + VALUE_OFFSET] + entries[index * ENTRY_SIZE + VALUE_LENGTH];
+  }
+
+  /**
+   * (private)<br>
+   * Builds the exception thrown when the structure is malformed.
+   */
+  private static IllegalArgumentException malformed(String reason, int offset) {
+    return new IllegalArgumentException(
+        "BER-TLV indexing: " + reason + " (data object at offset " + offset + ").");
+  }
+
+  /**
+   * Gets the number of indexed data objects.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the index of the first data object having the provided tag, whatever its level.
+   *
+   * @param tag The tag (e.g. {@code 0xBF0C}).
+   * @return The index of the data object, -1 if not found.
+   * @since 1.1
+   */
+  public int indexOf(int tag) {
+    for (int i = 0; i < size; i++) {
+      if (entries[i * ENTRY_SIZE + TAG] == tag) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the index of the first data object having the provided tag among the data objects directly
+   * contained in the value of a constructed data object.
+   *
+   * @param parent The index of the constructed data object, or {@link #ROOT} to search among the
+   *     top level data objects.
+   * @param tag The tag (e.g. {@code 0x84}).
+   * @return The index of the data object, -1 if not found.
+   * @throws IndexOutOfBoundsException if the parent index is out of range.
+   * @since 1.1
+   */
+  public int indexOf(int parent, int tag) {
+    if (parent != ROOT) {
+      checkIndex(parent);
+    }
+    // the contained data objects follow their parent in the index
+    int parentEnd = parent != ROOT ? getValueEnd(parent) : Integer.MAX_VALUE;
+    for (int i = parent + 1; i < size; i++) {
+      int entry = i * ENTRY_SIZE;
+      if (entries[entry + OFFSET] >= parentEnd) {
+        break;
+      }
+      if (entries[entry + PARENT] == parent && entries[entry + TAG] == tag) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the tag of a data object.
+   *
+   * @param index The index of the data object.
+   * @return The bytes of the tag as an int.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public int getTag(int index) {
+    checkIndex(index);
+    return entries[index * ENTRY_SIZE + TAG];
+  }
+
+  /**
+   * Tells if a data object is constructed.
+   *
+   * @param index The index of the data object.
+   * @return True if the data object is constructed, false if it is primitive.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public boolean isConstructed(int index) {
+    checkIndex(index);
+    return (data[entries[index * ENTRY_SIZE + OFFSET]] & 0x20) != 0;
+  }
+
+  /**
+   * Gets the index of the constructed data object containing a data object.
+   *
+   * @param index The index of the data object.
+   * @return The index of the parent, {@link #ROOT} for a top level data object.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public int getParent(int index) {
+    checkIndex(index);
+    return entries[index * ENTRY_SIZE + PARENT];
+  }
+
+  /**
+   * Gets the offset of the first byte (tag) of a data object in the indexed array.
+   *
+   * @param index The index of the data object.
+   * @return A positive int.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public int getOffset(int index) {
+    checkIndex(index);
+    return entries[index * ENTRY_SIZE + OFFSET];
+  }
+
+  /**
+   * Gets the offset of the value of a data object in the indexed array.
+   *
+   * @param index The index of the data object.
+   * @return A positive int.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public int getValueOffset(int index) {
+    checkIndex(index);
+    return entries[index * ENTRY_SIZE + VALUE_OFFSET];
+  }
+
+  /**
+   * Gets the length of the value of a data object.
+   *
+   * <p>In lenient mode, the length of a constructed data object is the length of the data actually
+   * indexed as its value.
+   *
+   * @param index The index of the data object.
+   * @return A positive int.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public int getValueLength(int index) {
+    checkIndex(index);
+    return entries[index * ENTRY_SIZE + VALUE_LENGTH];
+  }
+
+  /**
+   * Gets a copy of the value of a data object.
+   *
+   * @param index The index of the data object.
+   * @return A not null byte array.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public byte[] getValue(int index) {
+    checkIndex(index);
+    int entry = index * ENTRY_SIZE;
+    byte[] value = new byte[entries[entry + VALUE_LENGTH]];
+    System.arraycopy(data, entries[entry + VALUE_OFFSET], value, 0, value.length);
+    return value;
+  }
+
+  /**
+   * Gets a read-only view of the value of a data object, the value is not copied.
+   *
+   * @param index The index of the data object.
+   * @return A not null {@link ByteBuffer} positioned at the first byte of the value.
+   * @throws IndexOutOfBoundsException if the index is out of range.
+   * @since 1.1
+   */
+  public ByteBuffer getValueBuffer(int index) {
+    checkIndex(index);
+    int entry = index * ENTRY_SIZE;
+    return ByteBuffer.wrap(data, entries[entry + VALUE_OFFSET], entries[entry + VALUE_LENGTH])
+        .slice()
+        .asReadOnlyBuffer();
+  }
+
+  /**
+   * (private)<br>
+   * Checks that the provided index references an indexed data object.
+   */
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+          "Index " + index + " out of the indexed data objects: " + size);
+    }
+  }
+}
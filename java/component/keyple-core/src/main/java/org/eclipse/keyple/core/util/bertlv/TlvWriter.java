@@ -0,0 +1,283 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util.bertlv;
+
+import org.eclipse.keyple.core.util.Assert;
+
+/**
+ * Encoder of BER-TLV structures (ITU-T X.690 / ISO 8825), counterpart of {@link TlvIndex}.
+ *
+ * <p>The data objects are written in an internal growable buffer: the primitive data objects with
+ * {@link #put(int, byte[])}, the constructed ones by enclosing their content between {@link
+ * #begin(int)} and {@link #end()}. The length fields use the shortest form, up to 3 bytes.
+ *
+ * <p>An instance may be reused with {@link #reset()}, the buffer only grows when a larger structure
+ * is written. This class is not thread safe.
+ *
+ * @since 1.1
+ */
+public final class TlvWriter {
+
+  private static final int DEFAULT_CAPACITY = 64;
+  private static final int MAX_DEPTH = 16;
+  private static final int MAX_LENGTH = 0xFFFFFF;
+
+  private byte[] buffer;
+  private int position;
+  private final int[] openValueOffsets;
+  private int depth;
+
+  /**
+   * Creates a writer with a default initial capacity.
+   *
+   * @since 1.1
+   */
+  public TlvWriter() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Creates a writer with the provided initial capacity.
+   *
+   * @param initialCapacity The initial capacity of the buffer (in bytes).
+   * @throws IllegalArgumentException if the capacity is negative.
+   * @since 1.1
+   */
+  public TlvWriter(int initialCapacity) {
+    Assert.getInstance().greaterOrEqual(initialCapacity, 0, "initialCapacity");
+    buffer = new byte[initialCapacity];
+    openValueOffsets = new int[MAX_DEPTH];
+  }
+
+  /**
+   * Writes a primitive data object.
+   *
+   * @param tag The tag (e.g. {@code 0x84}).
+   * @param value The value (should not be null).
+   * @return The current instance.
+   * @throws IllegalArgumentException if an argument is invalid.
+   * @since 1.1
+   */
+  public TlvWriter put(int tag, byte[] value) {
+    Assert.getInstance().notNull(value, "value");
+    return put(tag, value, 0, value.length);
+  }
+
+  /**
+   * Writes a data object whose value is a part of the provided array.
+   *
+   * @param tag The tag (e.g. {@code 0x84}).
+   * @param value The array containing the value (should not be null).
+   * @param offset The offset of the value in the array.
+   * @param length The length of the value.
+   * @return The current instance.
+   * @throws IllegalArgumentException if an argument is invalid.
+   * @since 1.1
+   */
+  public TlvWriter put(int tag, byte[] value, int offset, int length) {
+    Assert.getInstance().notNull(value, "value");
+    if (offset < 0 || length < 0 || offset + length > value.length) {
+      throw new IllegalArgumentException(
+          "BER-TLV writing: range [" + offset + ", " + (offset + length) + "[ out of the value.");
+    }
+    if (length > MAX_LENGTH) {
+      throw new IllegalArgumentException("BER-TLV writing: value too long.");
+    }
+    ensureCapacity(tagSize(tag) + lengthSize(length) + length);
+    writeTag(tag);
+    writeLength(length);
+    System.arraycopy(value, offset, buffer, position, length);
+    position += length;
+    return this;
+  }
+
+  /**
+   * Starts a constructed data object, the following data objects are written in its value until
+   * {@link #end()} is called.
+   *
+   * @param tag The tag of a constructed data object (e.g. {@code 0x6F}).
+   * @return The current instance.
+   * @throws IllegalArgumentException if the tag is not the tag of a constructed data object.
+   * @throws IllegalStateException if too many constructed data objects are nested.
+   * @since 1.1
+   */
+  public TlvWriter begin(int tag) {
+    int tagSize = tagSize(tag);
+    if (((tag >>> (8 * (tagSize - 1))) & 0x20) == 0) {
+      throw new IllegalArgumentException(
+          "BER-TLV writing: " + Integer.toHexString(tag) + " is not a constructed tag.");
+    }
+    if (depth == MAX_DEPTH) {
+      throw new IllegalStateException("BER-TLV writing: too many nesting levels.");
+    }
+    ensureCapacity(tagSize + 1);
+    writeTag(tag);
+    // one byte is reserved for the length, the value is moved by end() if more are needed
+    position++;
+    openValueOffsets[depth++] = position;
+    return this;
+  }
+
+  /**
+   * Ends the last constructed data object started with {@link #begin(int)}.
+   *
+   * @return The current instance.
+   * @throws IllegalStateException if no constructed data object is started.
+   * @since 1.1
+   */
+  public TlvWriter end() {
+    if (depth == 0) {
+      throw new IllegalStateException("BER-TLV writing: no constructed data object started.");
+    }
+    int valueOffset = openValueOffsets[--depth];
+    int length = position - valueOffset;
+    if (length > MAX_LENGTH) {
+      throw new IllegalStateException("BER-TLV writing: value too long.");
+    }
+    int extraLengthSize = lengthSize(length) - 1;
+    if (extraLengthSize > 0) {
+      ensureCapacity(extraLengthSize);
+      System.arraycopy(buffer, valueOffset, buffer, valueOffset + extraLengthSize, length);
+    }
+    int end = position + extraLengthSize;
+    position = valueOffset - 1;
+    writeLength(length);
+    position = end;
+    return this;
+  }
+
+  /**
+   * Gets the number of bytes written.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  public int size() {
+    return position;
+  }
+
+  /**
+   * Gets a copy of the encoded structure.
+   *
+   * @return A not null byte array.
+   * @throws IllegalStateException if a constructed data object is not ended.
+   * @since 1.1
+   */
+  public byte[] toByteArray() {
+    checkComplete();
+    byte[] bytes = new byte[position];
+    System.arraycopy(buffer, 0, bytes, 0, position);
+    return bytes;
+  }
+
+  /**
+   * Copies the encoded structure into the provided array.
+   *
+   * @param dest The destination array (should not be null).
+   * @param offset The offset in the destination array.
+   * @return The number of bytes copied.
+   * @throws IllegalStateException if a constructed data object is not ended.
+   * @throws IndexOutOfBoundsException if the destination array is too small.
+   * @since 1.1
+   */
+  public int copyTo(byte[] dest, int offset) {
+    checkComplete();
+    System.arraycopy(buffer, 0, dest, offset, position);
+    return position;
+  }
+
+  /**
+   * Discards the content written so far, the buffer is kept for a new structure.
+   *
+   * @return The current instance.
+   * @since 1.1
+   */
+  public TlvWriter reset() {
+    position = 0;
+    depth = 0;
+    return this;
+  }
+
+  /**
+   * (private)<br>
+   * Checks that all the constructed data objects are ended.
+   */
+  private void checkComplete() {
+    if (depth != 0) {
+      throw new IllegalStateException(
+          "BER-TLV writing: " + depth + " constructed data object(s) not ended.");
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Makes room for the provided number of bytes after the current position.
+   */
+  private void ensureCapacity(int count) {
+    if (position + count > buffer.length) {
+      byte[] newBuffer = new byte[Math.max(buffer.length * 2, position + count)];
+      System.arraycopy(buffer, 0, newBuffer, 0, position);
+      buffer = newBuffer;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Gets the number of bytes of a tag.
+   */
+  private static int tagSize(int tag) {
+    if (tag == 0) {
+      throw new IllegalArgumentException("BER-TLV writing: invalid tag 0.");
+    }
+    return 4 - Integer.numberOfLeadingZeros(tag) / 8;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the number of bytes of the length field.
+   */
+  private static int lengthSize(int length) {
+    if (length < 0x80) {
+      return 1;
+    }
+    if (length < 0x100) {
+      return 2;
+    }
+    return length < 0x10000 ? 3 : 4;
+  }
+
+  /**
+   * (private)<br>
+   * Writes the bytes of a tag at the current position.
+   */
+  private void writeTag(int tag) {
+    for (int shift = 8 * (tagSize(tag) - 1); shift >= 0; shift -= 8) {
+      buffer[position++] = (byte) (tag >>> shift);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Writes a length field at the current position.
+   */
+  private void writeLength(int length) {
+    int lengthSize = lengthSize(length);
+    if (lengthSize == 1) {
+      buffer[position++] = (byte) length;
+      return;
+    }
+    buffer[position++] = (byte) (0x80 | (lengthSize - 1));
+    for (int shift = 8 * (lengthSize - 2); shift >= 0; shift -= 8) {
+      buffer[position++] = (byte) (length >>> shift);
+    }
+  }
+}
@@ -0,0 +1,59 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+
+/**
+ * (package-private)<br>
+ * Streaming adapter of a byte array to an hex string.
+ *
+ * <p>Produces the same JSON as {@link ByteArrayJsonAdapter} without going through an intermediate
+ * {@link com.google.gson.JsonPrimitive}.
+ *
+ * @since 1.1
+ */
+final class ByteArrayTypeAdapter extends TypeAdapter<byte[]> {
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public void write(JsonWriter out, byte[] value) throws IOException {
+    if (value == null) {
+      out.nullValue();
+      return;
+    }
+    out.value(ByteArrayUtil.toHex(value));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public byte[] read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    return ByteArrayUtil.fromHex(in.nextString());
+  }
+}
@@ -0,0 +1,515 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util.json;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.card.message.ApduRequest;
+import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.card.message.CardRequest;
+import org.eclipse.keyple.core.card.message.CardResponse;
+import org.eclipse.keyple.core.card.message.CardSelectionRequest;
+import org.eclipse.keyple.core.card.message.DefaultSelectionsResponse;
+import org.eclipse.keyple.core.card.selection.CardSelector;
+import org.eclipse.keyple.core.service.event.ReaderEvent;
+
+/**
+ * (package-private)<br>
+ * Factory of the streaming adapters of the card messages exchanged on the hot path of the
+ * distributed layer.
+ *
+ * <p>The adapters read and write the JSON token by token, without reflection nor intermediate tree,
+ * and produce exactly the same JSON as the reflective serialization used previously. The nested
+ * objects which are not handled here (byte arrays, card selectors, default selections responses,
+ * enums) are delegated to the adapters registered in the {@link Gson} instance, so that any custom
+ * adapter registered by the user is still honored.
+ *
+ * <p>When reading, the fields may appear in any order and the unknown fields are skipped.
+ *
+ * @since 1.1
+ */
+final class CardMessageTypeAdapterFactory implements TypeAdapterFactory {
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    Class<? super T> rawType = type.getRawType();
+    if (rawType == ApduRequest.class) {
+      return (TypeAdapter<T>) new ApduRequestAdapter(gson);
+    } else if (rawType == ApduResponse.class) {
+      return (TypeAdapter<T>) new ApduResponseAdapter(gson);
+    } else if (rawType == CardRequest.class) {
+      return (TypeAdapter<T>) new CardRequestAdapter(gson);
+    } else if (rawType == CardResponse.class) {
+      return (TypeAdapter<T>) new CardResponseAdapter(gson);
+    } else if (rawType == CardSelectionRequest.class) {
+      return (TypeAdapter<T>) new CardSelectionRequestAdapter(gson);
+    } else if (rawType == ReaderEvent.class) {
+      return (TypeAdapter<T>) new ReaderEventAdapter(gson);
+    }
+    return null;
+  }
+
+  /**
+   * (private)<br>
+   * Reads a JSON null if present.
+   *
+   * @param in The reader.
+   * @return True if a null has been consumed.
+   * @throws IOException If the reading fails.
+   */
+  private static boolean readNull(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * (private)<br>
+   * Writes a list of elements using the provided element adapter.
+   *
+   * @param out The writer.
+   * @param elements The list to write (may be null).
+   * @param elementAdapter The adapter of the elements.
+   * @param <E> The type of the elements.
+   * @throws IOException If the writing fails.
+   */
+  private static <E> void writeList(JsonWriter out, List<E> elements, TypeAdapter<E> elementAdapter)
+      throws IOException {
+    if (elements == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginArray();
+    for (E element : elements) {
+      elementAdapter.write(out, element);
+    }
+    out.endArray();
+  }
+
+  /**
+   * (private)<br>
+   * Reads a list of elements using the provided element adapter.
+   *
+   * @param in The reader.
+   * @param elementAdapter The adapter of the elements.
+   * @param <E> The type of the elements.
+   * @return Null if the JSON value is null.
+   * @throws IOException If the reading fails.
+   */
+  private static <E> List<E> readList(JsonReader in, TypeAdapter<E> elementAdapter)
+      throws IOException {
+    if (readNull(in)) {
+      return null;
+    }
+    List<E> elements = new ArrayList<E>();
+    in.beginArray();
+    while (in.hasNext()) {
+      elements.add(elementAdapter.read(in));
+    }
+    in.endArray();
+    return elements;
+  }
+
+  /**
+   * (private)<br>
+   * Base class of the streaming adapters, handling the null values and the values whose runtime
+   * class differs from the adapted class.
+   *
+   * <p>Like the reflective serialization, such values are written using the adapter of their
+   * runtime class. This may happen when a collection is serialized with a loose element type.
+   *
+   * @param <T> The adapted class.
+   */
+  private abstract static class StreamingAdapter<T> extends TypeAdapter<T> {
+
+    private final Gson gson;
+    private final Class<T> adaptedClass;
+
+    private StreamingAdapter(Gson gson, Class<T> adaptedClass) {
+      this.gson = gson;
+      this.adaptedClass = adaptedClass;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public final void write(JsonWriter out, T value) throws IOException {
+      if (value == null) {
+        out.nullValue();
+      } else if (value.getClass() != adaptedClass) {
+        ((TypeAdapter<Object>) gson.getAdapter(value.getClass())).write(out, value);
+      } else {
+        writeObject(out, value);
+      }
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+      return readNull(in) ? null : readObject(in);
+    }
+
+    /**
+     * Writes a not null value of the adapted class.
+     *
+     * @param out The writer.
+     * @param value The value.
+     * @throws IOException If the writing fails.
+     */
+    abstract void writeObject(JsonWriter out, T value) throws IOException;
+
+    /**
+     * Reads a not null value.
+     *
+     * @param in The reader.
+     * @return A not null value.
+     * @throws IOException If the reading fails.
+     */
+    abstract T readObject(JsonReader in) throws IOException;
+  }
+
+  /**
+   * (private)<br>
+   * Streaming adapter of {@link ApduRequest}.
+   */
+  private static final class ApduRequestAdapter extends StreamingAdapter<ApduRequest> {
+
+    private final TypeAdapter<byte[]> bytesAdapter;
+
+    private ApduRequestAdapter(Gson gson) {
+      super(gson, ApduRequest.class);
+      bytesAdapter = gson.getAdapter(byte[].class);
+    }
+
+    @Override
+    void writeObject(JsonWriter out, ApduRequest value) throws IOException {
+      out.beginObject();
+      out.name("bytes");
+      bytesAdapter.write(out, value.getBytes());
+      out.name("case4").value(value.isCase4());
+      out.name("successfulStatusCodes");
+      Set<Integer> successfulStatusCodes = value.getSuccessfulStatusCodes();
+      if (successfulStatusCodes == null) {
+        out.nullValue();
+      } else {
+        out.beginArray();
+        for (Integer statusCode : successfulStatusCodes) {
+          out.value(statusCode);
+        }
+        out.endArray();
+      }
+      out.name("name").value(value.getName());
+      out.endObject();
+    }
+
+    @Override
+    ApduRequest readObject(JsonReader in) throws IOException {
+      byte[] bytes = null;
+      boolean case4 = false;
+      Set<Integer> successfulStatusCodes = null;
+      String name = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        String field = in.nextName();
+        if ("bytes".equals(field)) {
+          bytes = bytesAdapter.read(in);
+        } else if ("case4".equals(field)) {
+          case4 = in.nextBoolean();
+        } else if ("successfulStatusCodes".equals(field)) {
+          if (!readNull(in)) {
+            successfulStatusCodes = new LinkedHashSet<Integer>();
+            in.beginArray();
+            while (in.hasNext()) {
+              successfulStatusCodes.add(in.nextInt());
+            }
+            in.endArray();
+          }
+        } else if ("name".equals(field)) {
+          name = readNull(in) ? null : in.nextString();
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      return new ApduRequest(bytes, case4)
+          .setSuccessfulStatusCodes(successfulStatusCodes)
+          .setName(name);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Streaming adapter of {@link ApduResponse}.
+   *
+   * <p>The status code is recomputed from the bytes by the constructor. The successful flag is
+   * restored by providing the status code as an additional successful status code when it differs
+   * from 9000h.
+   */
+  private static final class ApduResponseAdapter extends StreamingAdapter<ApduResponse> {
+
+    private final TypeAdapter<byte[]> bytesAdapter;
+
+    private ApduResponseAdapter(Gson gson) {
+      super(gson, ApduResponse.class);
+      bytesAdapter = gson.getAdapter(byte[].class);
+    }
+
+    @Override
+    void writeObject(JsonWriter out, ApduResponse value) throws IOException {
+      out.beginObject();
+      out.name("bytes");
+      bytesAdapter.write(out, value.getBytes());
+      out.name("statusCode").value(value.getStatusCode());
+      out.name("successful").value(value.isSuccessful());
+      out.endObject();
+    }
+
+    @Override
+    ApduResponse readObject(JsonReader in) throws IOException {
+      byte[] bytes = null;
+      boolean successful = false;
+      in.beginObject();
+      while (in.hasNext()) {
+        String field = in.nextName();
+        if ("bytes".equals(field)) {
+          bytes = bytesAdapter.read(in);
+        } else if ("successful".equals(field)) {
+          successful = in.nextBoolean();
+        } else {
+          // the status code is deduced from the bytes
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      if (bytes == null) {
+        throw new JsonParseException("Missing APDU response bytes at " + in.getPath());
+      }
+      Set<Integer> successfulStatusCodes = null;
+      if (successful && bytes.length >= 2) {
+        int statusCode = ((bytes[bytes.length - 2] & 0xFF) << 8) + (bytes[bytes.length - 1] & 0xFF);
+        if (statusCode != 0x9000) {
+          successfulStatusCodes = Collections.singleton(statusCode);
+        }
+      }
+      return new ApduResponse(bytes, successfulStatusCodes);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Streaming adapter of {@link CardRequest}.
+   */
+  private static final class CardRequestAdapter extends StreamingAdapter<CardRequest> {
+
+    private final TypeAdapter<ApduRequest> apduRequestAdapter;
+
+    private CardRequestAdapter(Gson gson) {
+      super(gson, CardRequest.class);
+      apduRequestAdapter = gson.getAdapter(ApduRequest.class);
+    }
+
+    @Override
+    void writeObject(JsonWriter out, CardRequest value) throws IOException {
+      out.beginObject();
+      out.name("apduRequests");
+      writeList(out, value.getApduRequests(), apduRequestAdapter);
+      out.endObject();
+    }
+
+    @Override
+    CardRequest readObject(JsonReader in) throws IOException {
+      List<ApduRequest> apduRequests = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        if ("apduRequests".equals(in.nextName())) {
+          apduRequests = readList(in, apduRequestAdapter);
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      return new CardRequest(apduRequests);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Streaming adapter of {@link CardResponse}.
+   */
+  private static final class CardResponseAdapter extends StreamingAdapter<CardResponse> {
+
+    private final TypeAdapter<ApduResponse> apduResponseAdapter;
+
+    private CardResponseAdapter(Gson gson) {
+      super(gson, CardResponse.class);
+      apduResponseAdapter = gson.getAdapter(ApduResponse.class);
+    }
+
+    @Override
+    void writeObject(JsonWriter out, CardResponse value) throws IOException {
+      out.beginObject();
+      out.name("logicalChannelStatus").value(value.isLogicalChannelOpen());
+      out.name("apduResponses");
+      writeList(out, value.getApduResponses(), apduResponseAdapter);
+      out.endObject();
+    }
+
+    @Override
+    CardResponse readObject(JsonReader in) throws IOException {
+      boolean logicalChannelStatus = false;
+      List<ApduResponse> apduResponses = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        String field = in.nextName();
+        if ("logicalChannelStatus".equals(field)) {
+          logicalChannelStatus = in.nextBoolean();
+        } else if ("apduResponses".equals(field)) {
+          apduResponses = readList(in, apduResponseAdapter);
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      return new CardResponse(logicalChannelStatus, apduResponses);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Streaming adapter of {@link CardSelectionRequest}.
+   *
+   * <p>The card selector is written with the adapter of its runtime class, as done by the
+   * reflective serialization.
+   */
+  private static final class CardSelectionRequestAdapter
+      extends StreamingAdapter<CardSelectionRequest> {
+
+    private final Gson gson;
+    private final TypeAdapter<CardSelector> cardSelectorAdapter;
+    private final TypeAdapter<CardRequest> cardRequestAdapter;
+
+    private CardSelectionRequestAdapter(Gson gson) {
+      super(gson, CardSelectionRequest.class);
+      this.gson = gson;
+      cardSelectorAdapter = gson.getAdapter(CardSelector.class);
+      cardRequestAdapter = gson.getAdapter(CardRequest.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void writeObject(JsonWriter out, CardSelectionRequest value) throws IOException {
+      out.beginObject();
+      out.name("cardSelector");
+      CardSelector cardSelector = value.getCardSelector();
+      if (cardSelector == null || cardSelector.getClass() == CardSelector.class) {
+        cardSelectorAdapter.write(out, cardSelector);
+      } else {
+        ((TypeAdapter<CardSelector>) gson.getAdapter(cardSelector.getClass()))
+            .write(out, cardSelector);
+      }
+      out.name("cardRequest");
+      cardRequestAdapter.write(out, value.getCardRequest());
+      out.endObject();
+    }
+
+    @Override
+    CardSelectionRequest readObject(JsonReader in) throws IOException {
+      CardSelector cardSelector = null;
+      CardRequest cardRequest = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        String field = in.nextName();
+        if ("cardSelector".equals(field)) {
+          cardSelector = cardSelectorAdapter.read(in);
+        } else if ("cardRequest".equals(field)) {
+          cardRequest = cardRequestAdapter.read(in);
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      return new CardSelectionRequest(cardSelector, cardRequest);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Streaming adapter of {@link ReaderEvent}.
+   */
+  private static final class ReaderEventAdapter extends StreamingAdapter<ReaderEvent> {
+
+    private final TypeAdapter<DefaultSelectionsResponse> defaultResponsesAdapter;
+    private final TypeAdapter<ReaderEvent.EventType> eventTypeAdapter;
+
+    private ReaderEventAdapter(Gson gson) {
+      super(gson, ReaderEvent.class);
+      defaultResponsesAdapter = gson.getAdapter(DefaultSelectionsResponse.class);
+      eventTypeAdapter = gson.getAdapter(ReaderEvent.EventType.class);
+    }
+
+    @Override
+    void writeObject(JsonWriter out, ReaderEvent value) throws IOException {
+      out.beginObject();
+      out.name("pluginName").value(value.getPluginName());
+      out.name("readerName").value(value.getReaderName());
+      out.name("defaultResponses");
+      defaultResponsesAdapter.write(
+          out, (DefaultSelectionsResponse) value.getDefaultSelectionsResponse());
+      out.name("eventType");
+      eventTypeAdapter.write(out, value.getEventType());
+      out.endObject();
+    }
+
+    @Override
+    ReaderEvent readObject(JsonReader in) throws IOException {
+      String pluginName = null;
+      String readerName = null;
+      DefaultSelectionsResponse defaultResponses = null;
+      ReaderEvent.EventType eventType = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        String field = in.nextName();
+        if ("pluginName".equals(field)) {
+          pluginName = readNull(in) ? null : in.nextString();
+        } else if ("readerName".equals(field)) {
+          readerName = readNull(in) ? null : in.nextString();
+        } else if ("defaultResponses".equals(field)) {
+          defaultResponses = defaultResponsesAdapter.read(in);
+        } else if ("eventType".equals(field)) {
+          eventType = eventTypeAdapter.read(in);
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      return new ReaderEvent(pluginName, readerName, eventType, defaultResponses);
+    }
+  }
+}
@@ -56,7 +56,8 @@ public final class KeypleGsonParser {
    */
   private static GsonBuilder initGsonBuilder() {
     GsonBuilder init = new GsonBuilder();
-    init.registerTypeAdapter(byte[].class, new ByteArrayJsonAdapter())
+    init.registerTypeAdapter(byte[].class, new ByteArrayTypeAdapter())
+        .registerTypeAdapterFactory(new CardMessageTypeAdapterFactory())
         .registerTypeAdapter(CardCommand.class, new CardCommandJsonAdapter())
         .registerTypeAdapter(BodyError.class, new BodyErrorJsonSerializer())
         .registerTypeHierarchyAdapter(Throwable.class, new ThrowableJsonSerializer())
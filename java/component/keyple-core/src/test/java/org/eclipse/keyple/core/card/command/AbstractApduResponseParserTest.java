@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.card.command;
 
+import java.util.HashMap;
 import java.util.Map;
 import org.eclipse.keyple.core.CoreBaseTest;
 import org.eclipse.keyple.core.card.command.exception.KeypleCardCommandException;
@@ -90,6 +91,119 @@ public class AbstractApduResponseParserTest extends CoreBaseTest {
     Assert.assertFalse(statusTable.get(0x6400).isSuccessful());
   }
 
+  @Test
+  public void testStatusCodeTable_lookup() {
+    TableResponseParser parser =
+        new TableResponseParser(new ApduResponse(ByteArrayUtil.fromHex("6982"), null));
+    Assert.assertFalse(parser.isSuccessful());
+    Assert.assertEquals("sw 6982", parser.getStatusInformation());
+
+    parser = new TableResponseParser(new ApduResponse(ByteArrayUtil.fromHex("9000"), null));
+    Assert.assertTrue(parser.isSuccessful());
+    Assert.assertEquals("Success", parser.getStatusInformation());
+    parser.checkStatus();
+
+    parser = new TableResponseParser(new ApduResponse(ByteArrayUtil.fromHex("6283"), null));
+    Assert.assertFalse(parser.isSuccessful());
+    Assert.assertNull(parser.getStatusInformation());
+  }
+
+  @Test(expected = KeypleCardCommandException.class)
+  public void testStatusCodeTable_checkStatus_unsuccessful() {
+    new TableResponseParser(new ApduResponse(ByteArrayUtil.fromHex("6A82"), null)).checkStatus();
+  }
+
+  @Test
+  public void testStatusCodeTable_getStatusTable_shouldReturnAReadOnlyView() {
+    Map<Integer, AbstractApduResponseParser.StatusProperties> statusTable =
+        new TableResponseParser(Mockito.mock(ApduResponse.class)).getStatusTable();
+
+    Assert.assertEquals(TableResponseParser.STATUS_CODE_TABLE.size(), statusTable.size());
+    Assert.assertEquals("sw 6A82", statusTable.get(0x6A82).getInformation());
+    try {
+      statusTable.remove(0x9000);
+      Assert.fail();
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testStatusCodeTable_builder_shouldNotModifyTheParent() {
+    AbstractApduResponseParser.StatusTable parent = TableResponseParser.STATUS_CODE_TABLE;
+    AbstractApduResponseParser.StatusTable child =
+        AbstractApduResponseParser.StatusTable.builder(parent)
+            .put(0x6A82, new AbstractApduResponseParser.StatusProperties("overridden"))
+            .put(0x6B00, new AbstractApduResponseParser.StatusProperties("sw 6B00"))
+            .build();
+
+    Assert.assertEquals(parent.size() + 1, child.size());
+    Assert.assertEquals("overridden", child.get(0x6A82).getInformation());
+    Assert.assertTrue(child.get(0x6A82).isSuccessful());
+    Assert.assertEquals("sw 6A82", parent.get(0x6A82).getInformation());
+    Assert.assertNull(parent.get(0x6B00));
+  }
+
+  @Test
+  public void testStatusCodeTable_shouldFindAllTheStatusCodes() {
+    AbstractApduResponseParser.StatusTable.Builder builder =
+        AbstractApduResponseParser.StatusTable.builder();
+    for (int statusCode = 0x6100; statusCode <= 0x6FFF; statusCode += 0x13) {
+      builder.put(statusCode, new AbstractApduResponseParser.StatusProperties("sw " + statusCode));
+    }
+    AbstractApduResponseParser.StatusTable table = builder.build();
+
+    for (int statusCode = 0; statusCode <= 0xFFFF; statusCode++) {
+      AbstractApduResponseParser.StatusProperties props = table.get(statusCode);
+      if (statusCode >= 0x6100 && statusCode <= 0x6FFF && (statusCode - 0x6100) % 0x13 == 0) {
+        Assert.assertEquals("sw " + statusCode, props.getInformation());
+      } else {
+        Assert.assertNull(props);
+      }
+    }
+  }
+
+  @Test
+  public void testCheckStatus_stackTraceDisabled_shouldThrowAStacklessException() {
+    TableResponseParser parser =
+        new TableResponseParser(new ApduResponse(ByteArrayUtil.fromHex("6A82"), null));
+    KeypleCardCommandException.setStackTraceEnabled(false);
+    try {
+      parser.checkStatus();
+      Assert.fail();
+    } catch (KeypleCardCommandException e) {
+      Assert.assertEquals(0, e.getStackTrace().length);
+      Assert.assertEquals(Integer.valueOf(0x6A82), e.getStatusCode());
+    } finally {
+      KeypleCardCommandException.setStackTraceEnabled(true);
+    }
+    try {
+      parser.checkStatus();
+      Assert.fail();
+    } catch (KeypleCardCommandException e) {
+      Assert.assertTrue(e.getStackTrace().length > 0);
+    }
+  }
+
+  @Test
+  public void testStatusCodeTable_statusTableOverriddenInSubclass_shouldUseTheStatusTable() {
+    OverridingTableResponseParser parser =
+        new OverridingTableResponseParser(new ApduResponse(ByteArrayUtil.fromHex("6A82"), null));
+    Assert.assertTrue(parser.isSuccessful());
+    Assert.assertEquals("overridden", parser.getStatusInformation());
+    parser.checkStatus();
+
+    parser =
+        new OverridingTableResponseParser(new ApduResponse(ByteArrayUtil.fromHex("6982"), null));
+    Assert.assertEquals("sw 6982", parser.getStatusInformation());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testStatusCodeTable_builder_put_outOfRange_shouldThrowIAE() {
+    AbstractApduResponseParser.StatusTable.builder()
+        .put(0x10000, new AbstractApduResponseParser.StatusProperties("invalid"));
+  }
+
   /**
    * Build a custom and simple AbstractApduResponseParser
    *
@@ -109,4 +223,43 @@ public class AbstractApduResponseParserTest extends CoreBaseTest {
       STATUS_TABLE.put(0x6400, new StatusProperties("sw 6400", KeypleCardCommandException.class));
     }
   }
+
+  public static class TableResponseParser extends AbstractApduResponseParser {
+
+    static final StatusTable STATUS_CODE_TABLE =
+        StatusTable.builder(AbstractApduResponseParser.STATUS_CODE_TABLE)
+            .put(0x6982, new StatusProperties("sw 6982", KeypleCardCommandException.class))
+            .put(0x6A82, new StatusProperties("sw 6A82", KeypleCardCommandException.class))
+            .build();
+
+    public TableResponseParser(ApduResponse response) {
+      super(response, null);
+    }
+
+    @Override
+    protected StatusTable getStatusCodeTable() {
+      return STATUS_CODE_TABLE;
+    }
+  }
+
+  public static final class OverridingTableResponseParser extends TableResponseParser {
+
+    private static final Map<Integer, StatusProperties> STATUS_TABLE;
+
+    static {
+      Map<Integer, StatusProperties> m =
+          new HashMap<Integer, StatusProperties>(TableResponseParser.STATUS_CODE_TABLE.asMap());
+      m.put(0x6A82, new StatusProperties("overridden"));
+      STATUS_TABLE = m;
+    }
+
+    public OverridingTableResponseParser(ApduResponse response) {
+      super(response);
+    }
+
+    @Override
+    protected Map<Integer, StatusProperties> getStatusTable() {
+      return STATUS_TABLE;
+    }
+  }
 }
@@ -13,6 +13,7 @@ package org.eclipse.keyple.core.card.message;
 
 import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -72,6 +73,36 @@ public class ApduResponseTest {
     assertFalse(response.isSuccessful());
   }
 
+  @Test
+  public void dataOutAccessors_shouldReadTheDataOutWithoutTheStatusWord() {
+    ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null);
+    assertEquals(4, response.getDataOutLength());
+    assertEquals((byte) 0xFE, response.getByte(0));
+    assertEquals(0x98, response.getUnsignedByte(3));
+    assertEquals(0xDCBA, response.getUnsignedShort(1));
+    assertArrayEquals(ByteArrayUtil.fromHex("DCBA"), response.getDataOut(1, 2));
+  }
+
+  @Test
+  public void getDataOutBuffer_shouldBeAReadOnlyViewOfTheDataOut() {
+    ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null);
+    ByteBuffer buffer = response.getDataOutBuffer();
+    assertTrue(buffer.isReadOnly());
+    assertEquals(4, buffer.remaining());
+    assertEquals((short) 0xFEDC, buffer.getShort(0));
+    assertEquals((byte) 0x98, buffer.get(3));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getUnsignedShort_overTheStatusWord_shouldThrowIOOBE() {
+    new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null).getUnsignedShort(3);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getDataOut_badRange_shouldThrowIOOBE() {
+    new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null).getDataOut(2, 3);
+  }
+
   /*
    * HELPERS
    */
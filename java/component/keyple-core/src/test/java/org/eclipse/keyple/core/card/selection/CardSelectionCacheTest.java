@@ -0,0 +1,161 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.card.selection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import org.eclipse.keyple.core.card.command.AbstractApduCommandBuilder;
+import org.eclipse.keyple.core.card.message.AnswerToReset;
+import org.eclipse.keyple.core.card.message.ApduResponse;
+import org.eclipse.keyple.core.card.message.CardResponse;
+import org.eclipse.keyple.core.card.message.CardSelectionResponse;
+import org.eclipse.keyple.core.card.message.DefaultSelectionsResponse;
+import org.eclipse.keyple.core.card.message.SelectionStatus;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Test;
+
+public class CardSelectionCacheTest {
+  private static final String ATR = "3B8F8001805A08030400020011223344829000F3";
+  private static final String FCI1 =
+      "6F238409315449432E49434131A516BF0C13C708000000001122334453070A3C2F051410019000";
+  private static final String FCI2 =
+      "6F238409315449432E49434131A516BF0C13C708000000005566778853070A3C2F051410019000";
+
+  private final TestCardSelection cardSelection = new TestCardSelection();
+
+  @Test
+  public void get_afterPut_shouldReturnTheCachedCard() {
+    CardSelectionCache cache = new CardSelectionCache(10, 60000);
+    TestSmartCard smartCard = new TestSmartCard(newCardSelectionResponse(FCI1));
+    assertThat(cache.get(cardSelection, newSelectionStatus(FCI1))).isNull();
+    cache.put(cardSelection, newSelectionStatus(FCI1), smartCard);
+    // same data in other arrays
+    assertThat(cache.get(cardSelection, newSelectionStatus(FCI1))).isSameAs(smartCard);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void get_otherFciOrOtherCardSelectionClass_shouldMiss() {
+    CardSelectionCache cache = new CardSelectionCache(10, 60000);
+    cache.put(
+        cardSelection, newSelectionStatus(FCI1), new TestSmartCard(newCardSelectionResponse(FCI1)));
+    assertThat(cache.get(cardSelection, newSelectionStatus(FCI2))).isNull();
+    assertThat(cache.get(new OtherCardSelection(), newSelectionStatus(FCI1))).isNull();
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void put_shouldCopyTheSelectionData() {
+    CardSelectionCache cache = new CardSelectionCache(10, 60000);
+    SelectionStatus selectionStatus = newSelectionStatus(FCI1);
+    cache.put(cardSelection, selectionStatus, new TestSmartCard(newCardSelectionResponse(FCI1)));
+    selectionStatus.getFci().getBytes()[0] = 0;
+    assertThat(cache.get(cardSelection, newSelectionStatus(FCI1))).isNotNull();
+  }
+
+  @Test
+  public void put_beyondMaxEntries_shouldEvictTheLeastRecentlyUsed() {
+    CardSelectionCache cache = new CardSelectionCache(1, 60000);
+    cache.put(
+        cardSelection, newSelectionStatus(FCI1), new TestSmartCard(newCardSelectionResponse(FCI1)));
+    cache.put(
+        cardSelection, newSelectionStatus(FCI2), new TestSmartCard(newCardSelectionResponse(FCI2)));
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+    assertThat(cache.get(cardSelection, newSelectionStatus(FCI1))).isNull();
+    assertThat(cache.get(cardSelection, newSelectionStatus(FCI2))).isNotNull();
+  }
+
+  @Test
+  public void get_expiredEntry_shouldMissAndEvict() throws InterruptedException {
+    CardSelectionCache cache = new CardSelectionCache(10, 1);
+    cache.put(
+        cardSelection, newSelectionStatus(FCI1), new TestSmartCard(newCardSelectionResponse(FCI1)));
+    Thread.sleep(10);
+    assertThat(cache.get(cardSelection, newSelectionStatus(FCI1))).isNull();
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_zeroTimeToLive_shouldThrowIAE() {
+    new CardSelectionCache(10, 0);
+  }
+
+  @Test
+  public void processDefaultSelectionsResponse_withCache_shouldUseTheCache() {
+    CardSelectionCache cache = new CardSelectionCache(10, 60000);
+    CardSelectionsService cardSelectionsService =
+        new CardSelectionsService(MultiSelectionProcessing.FIRST_MATCH, cache);
+    cardSelectionsService.prepareSelection(cardSelection);
+    ArrayList<CardSelectionResponse> cardSelectionResponses =
+        new ArrayList<CardSelectionResponse>();
+    cardSelectionResponses.add(newCardSelectionResponse(FCI1));
+    DefaultSelectionsResponse defaultSelectionsResponse =
+        new DefaultSelectionsResponse(cardSelectionResponses);
+    AbstractSmartCard smartCard1 =
+        cardSelectionsService
+            .processDefaultSelectionsResponse(defaultSelectionsResponse)
+            .getActiveSmartCard();
+    AbstractSmartCard smartCard2 =
+        cardSelectionsService
+            .processDefaultSelectionsResponse(defaultSelectionsResponse)
+            .getActiveSmartCard();
+    assertThat(smartCard2).isNotSameAs(smartCard1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+  }
+
+  private static SelectionStatus newSelectionStatus(String fci) {
+    return new SelectionStatus(
+        new AnswerToReset(ByteArrayUtil.fromHex(ATR)),
+        new ApduResponse(ByteArrayUtil.fromHex(fci), null),
+        true);
+  }
+
+  private static CardSelectionResponse newCardSelectionResponse(String fci) {
+    return new CardSelectionResponse(
+        newSelectionStatus(fci), new CardResponse(true, new ArrayList<ApduResponse>()));
+  }
+
+  private static class TestCardSelection extends AbstractCardSelection<AbstractApduCommandBuilder> {
+    TestCardSelection() {
+      super(CardSelector.builder().build());
+    }
+
+    @Override
+    protected AbstractSmartCard parse(CardSelectionResponse cardSelectionResponse) {
+      return new TestSmartCard(cardSelectionResponse);
+    }
+
+    @Override
+    protected AbstractSmartCard parse(
+        CardSelectionResponse cardSelectionResponse, CardSelectionCache cardSelectionCache) {
+      if (cardSelectionCache.get(this, cardSelectionResponse.getSelectionStatus()) == null) {
+        cardSelectionCache.put(
+            this, cardSelectionResponse.getSelectionStatus(), parse(cardSelectionResponse));
+      }
+      return parse(cardSelectionResponse);
+    }
+  }
+
+  private static class OtherCardSelection extends TestCardSelection {}
+
+  private static class TestSmartCard extends AbstractSmartCard {
+    TestSmartCard(CardSelectionResponse cardSelectionResponse) {
+      super(cardSelectionResponse);
+    }
+  }
+}
@@ -0,0 +1,259 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.plugin;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.CoreBaseTest;
+import org.eclipse.keyple.core.service.event.ObservableReader;
+import org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler;
+import org.eclipse.keyple.core.util.ThreadProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReaderMonitoringSchedulerTest extends CoreBaseTest {
+
+  private static final int NB_READERS = 50;
+  private static final int NB_POLLING_THREADS = 2;
+
+  private ReaderMonitoringScheduler scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler = new ReaderMonitoringScheduler(NB_POLLING_THREADS);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdown();
+    ThreadProvider.getInstance().setThreadFactory(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_withoutPollingThread_shouldThrowIAE() {
+    new ReaderMonitoringScheduler(0);
+  }
+
+  @Test
+  public void pollingReaders_shouldShareTheBoundedPool() throws Exception {
+    List<PollingReader> readers = new ArrayList<PollingReader>();
+    for (int i = 0; i < NB_READERS; i++) {
+      PollingReader reader = new PollingReader("reader" + i, scheduler);
+      reader.register();
+      reader.startCardDetection(ObservableReader.PollingMode.REPEATING);
+      readers.add(reader);
+    }
+
+    Thread.sleep(100);
+    assertThat(scheduler.getPollingThreadsNumber()).isLessThanOrEqualTo(NB_POLLING_THREADS);
+    assertThat(scheduler.getBlockingThreadsNumber()).isZero();
+    for (PollingReader reader : readers) {
+      assertThat(reader.getCurrentMonitoringState())
+          .isEqualTo(AbstractObservableState.MonitoringState.WAIT_FOR_SE_INSERTION);
+      assertThat(reader.presenceChecksNumber).isGreaterThan(0);
+    }
+
+    for (PollingReader reader : readers) {
+      reader.cardPresent = true;
+    }
+    Thread.sleep(500);
+
+    for (PollingReader reader : readers) {
+      assertThat(reader.getCurrentMonitoringState())
+          .isEqualTo(AbstractObservableState.MonitoringState.WAIT_FOR_SE_PROCESSING);
+    }
+    assertThat(scheduler.getThreadsNumber()).isLessThanOrEqualTo(NB_POLLING_THREADS);
+  }
+
+  @Test
+  public void stopCardDetection_shouldStopThePolling() throws Exception {
+    PollingReader reader = new PollingReader("reader", scheduler);
+    reader.register();
+    reader.startCardDetection(ObservableReader.PollingMode.REPEATING);
+    Thread.sleep(50);
+    reader.stopCardDetection();
+    Thread.sleep(50);
+    int presenceChecksNumber = reader.presenceChecksNumber;
+
+    Thread.sleep(100);
+
+    assertThat(reader.presenceChecksNumber).isEqualTo(presenceChecksNumber);
+    assertThat(reader.getCurrentMonitoringState())
+        .isEqualTo(AbstractObservableState.MonitoringState.WAIT_FOR_START_DETECTION);
+  }
+
+  @Test
+  public void blockingReader_shouldUseADedicatedThread() throws Exception {
+    BlockingReader reader = new BlockingReader("reader", scheduler);
+    reader.register();
+    reader.startCardDetection(ObservableReader.PollingMode.REPEATING);
+    Thread.sleep(50);
+
+    assertThat(scheduler.getBlockingThreadsNumber()).isEqualTo(1);
+    assertThat(scheduler.getPollingThreadsNumber()).isZero();
+
+    reader.stopCardDetection();
+    assertThat(reader.waitStopped.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void blockingReader_shouldNotWaitOnAProvidedThread() throws Exception {
+    ThreadProvider.getInstance().setThreadFactory(new ProvidedThreadFactory());
+    BlockingReader sharedReader = new BlockingReader("sharedReader", scheduler);
+    BlockingReader ownReader = new BlockingReader("ownReader", null);
+    sharedReader.register();
+    ownReader.register();
+    sharedReader.startCardDetection(ObservableReader.PollingMode.REPEATING);
+    ownReader.startCardDetection(ObservableReader.PollingMode.REPEATING);
+
+    assertThat(sharedReader.waitStarted.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(ownReader.waitStarted.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(sharedReader.waitingThread).isNotInstanceOf(ProvidedThread.class);
+    assertThat(ownReader.waitingThread).isNotInstanceOf(ProvidedThread.class);
+
+    sharedReader.stopCardDetection();
+    ownReader.stopCardDetection();
+  }
+
+  /** Minimal reader whose card removal is reported by the reader itself */
+  private abstract static class TestReader extends AbstractObservableLocalReader
+      implements DontWaitForCardRemovalDuringProcessing, WaitForCardRemovalAutonomous {
+
+    TestReader(String readerName, ReaderMonitoringScheduler scheduler) {
+      super("plugin", readerName, scheduler);
+    }
+
+    @Override
+    protected ReaderObservationExceptionHandler getObservationExceptionHandler() {
+      return new ReaderObservationExceptionHandler() {
+        @Override
+        public void onReaderObservationError(String pluginName, String readerName, Throwable e) {}
+      };
+    }
+
+    @Override
+    public boolean checkCardPresence() {
+      return false;
+    }
+
+    @Override
+    public byte[] getATR() {
+      return new byte[0];
+    }
+
+    @Override
+    public void openPhysicalChannel() {}
+
+    @Override
+    public void closePhysicalChannel() {}
+
+    @Override
+    public boolean isPhysicalChannelOpen() {
+      return false;
+    }
+
+    @Override
+    protected boolean isCurrentProtocol(String readerProtocolName) {
+      return false;
+    }
+
+    @Override
+    public byte[] transmitApdu(byte[] apduIn) {
+      return new byte[0];
+    }
+
+    @Override
+    protected void activateReaderProtocol(String readerProtocolName) {}
+
+    @Override
+    protected void deactivateReaderProtocol(String readerProtocolName) {}
+
+    @Override
+    public boolean isContactless() {
+      return true;
+    }
+
+    @Override
+    protected void onStartDetection() {}
+
+    @Override
+    protected void onStopDetection() {}
+  }
+
+  /** Reader polling a card presence flag */
+  private static class PollingReader extends TestReader implements WaitForCardInsertionNonBlocking {
+
+    volatile boolean cardPresent;
+    volatile int presenceChecksNumber;
+
+    PollingReader(String readerName, ReaderMonitoringScheduler scheduler) {
+      super(readerName, scheduler);
+    }
+
+    @Override
+    public boolean checkCardPresence() {
+      presenceChecksNumber++;
+      return cardPresent;
+    }
+  }
+
+  /** Reader blocked in waitForCardPresent until stopWaitForCard is invoked */
+  private static class BlockingReader extends TestReader implements WaitForCardInsertionBlocking {
+
+    final CountDownLatch waitStarted = new CountDownLatch(1);
+    final CountDownLatch waitStopped = new CountDownLatch(1);
+    volatile Thread waitingThread;
+
+    BlockingReader(String readerName, ReaderMonitoringScheduler scheduler) {
+      super(readerName, scheduler);
+    }
+
+    @Override
+    public boolean waitForCardPresent() {
+      waitingThread = Thread.currentThread();
+      waitStarted.countDown();
+      try {
+        waitStopped.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return false;
+    }
+
+    @Override
+    public void stopWaitForCard() {
+      waitStopped.countDown();
+    }
+  }
+
+  /** Thread created by the factory set in the thread provider */
+  private static class ProvidedThread extends Thread {
+
+    ProvidedThread(Runnable runnable) {
+      super(runnable);
+    }
+  }
+
+  private static class ProvidedThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      return new ProvidedThread(runnable);
+    }
+  }
+}
@@ -13,6 +13,10 @@ package org.eclipse.keyple.core.util;
 
 import static org.assertj.core.api.Java6Assertions.assertThat;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.junit.Test;
 
 public class ByteArrayUtilTest {
@@ -73,6 +77,75 @@ public class ByteArrayUtilTest {
     assertThat(bytes).isEqualTo(BYTEARRAY_GOOD);
   }
 
+  @Test
+  public void fromHex_with_spaces_and_h() {
+    byte[] bytes = ByteArrayUtil.fromHex("12 34 56h 78");
+    assertThat(bytes).isEqualTo(new byte[] {(byte) 0x12, (byte) 0x34, (byte) 0x56, (byte) 0x78});
+  }
+
+  @Test
+  public void fromHex_lower_case() {
+    byte[] bytes = ByteArrayUtil.fromHex(HEXSTRING_GOOD.toLowerCase());
+    assertThat(bytes).isEqualTo(BYTEARRAY_GOOD);
+  }
+
+  @Test
+  public void fromHex_into_array() {
+    byte[] dest = new byte[BYTEARRAY_GOOD.length + 2];
+    int length = ByteArrayUtil.fromHex(HEXSTRING_GOOD, dest, 1);
+    assertThat(length).isEqualTo(BYTEARRAY_GOOD.length);
+    assertThat(dest[0]).isEqualTo((byte) 0);
+    assertThat(Arrays.copyOfRange(dest, 1, 1 + length)).isEqualTo(BYTEARRAY_GOOD);
+    assertThat(dest[dest.length - 1]).isEqualTo((byte) 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromHex_into_too_short_array() {
+    ByteArrayUtil.fromHex(HEXSTRING_GOOD, new byte[BYTEARRAY_GOOD.length], 1);
+  }
+
+  @Test
+  public void fromHex_into_byte_buffer() {
+    ByteBuffer heap = ByteBuffer.allocate(BYTEARRAY_GOOD.length + 1);
+    heap.put((byte) 0x55);
+    ByteBuffer direct = ByteBuffer.allocateDirect(BYTEARRAY_GOOD.length);
+    assertThat(ByteArrayUtil.fromHex(HEXSTRING_GOOD, heap)).isEqualTo(BYTEARRAY_GOOD.length);
+    assertThat(ByteArrayUtil.fromHex(HEXSTRING_GOOD, direct)).isEqualTo(BYTEARRAY_GOOD.length);
+    assertThat(heap.position()).isEqualTo(heap.limit());
+    assertThat(direct.position()).isEqualTo(direct.limit());
+    heap.position(1);
+    direct.flip();
+    assertThat(ByteArrayUtil.remainingToHex(heap)).isEqualTo(HEXSTRING_GOOD);
+    assertThat(ByteArrayUtil.remainingToHex(direct)).isEqualTo(HEXSTRING_GOOD);
+    assertThat(heap.position()).isEqualTo(1);
+  }
+
+  @Test
+  public void toHex_range() {
+    String hex = ByteArrayUtil.toHex(BYTEARRAY_GOOD, 2, 3);
+    assertThat(hex).isEqualTo("567890");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void toHex_bad_range() {
+    ByteArrayUtil.toHex(BYTEARRAY_GOOD, 15, 2);
+  }
+
+  @Test
+  public void appendHex_string_builder() {
+    StringBuilder sb = new StringBuilder("APDU: ");
+    assertThat(ByteArrayUtil.appendHex(sb, BYTEARRAY_GOOD, 0, 2)).isSameAs(sb);
+    assertThat(sb.toString()).isEqualTo("APDU: 1234");
+  }
+
+  @Test
+  public void appendHex_appendable() throws IOException {
+    StringWriter writer = new StringWriter();
+    Appendable out = writer;
+    assertThat(ByteArrayUtil.appendHex(out, BYTEARRAY_GOOD, 14, 2)).isSameAs(writer);
+    assertThat(writer.toString()).isEqualTo("4321");
+  }
+
   @Test
   public void toHex_null() {
     String hex = ByteArrayUtil.toHex(null);
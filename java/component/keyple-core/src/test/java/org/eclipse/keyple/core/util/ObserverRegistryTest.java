@@ -0,0 +1,61 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.Test;
+
+public class ObserverRegistryTest {
+
+  @Test
+  public void add_remove_shouldUpdateTheObservers() {
+    ObserverRegistry<String> registry = new ObserverRegistry<String>();
+    assertThat(registry.isEmpty()).isTrue();
+    registry.add("o1");
+    registry.add("o2");
+    registry.add("o1");
+    assertThat(registry.getObservers()).containsExactly("o1", "o2", "o1");
+    assertThat(registry.remove("o1")).isTrue();
+    assertThat(registry.getObservers()).containsExactly("o2", "o1");
+    assertThat(registry.remove("o3")).isFalse();
+    assertThat(registry.size()).isEqualTo(2);
+    registry.clear();
+    assertThat(registry.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void getObservers_shouldReturnAnImmutableSnapshot() {
+    ObserverRegistry<String> registry = new ObserverRegistry<String>();
+    registry.add("o1");
+    List<String> snapshot = registry.getObservers();
+    registry.add("o2");
+    registry.remove("o1");
+    assertThat(snapshot).containsExactly("o1");
+    assertThat(registry.getObservers()).containsExactly("o2");
+    // the snapshot is not copied when nothing changes
+    assertThat(registry.getObservers()).isSameAs(registry.getObservers());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void getObservers_modification_shouldThrowUOE() {
+    ObserverRegistry<String> registry = new ObserverRegistry<String>();
+    registry.add("o1");
+    registry.getObservers().add("o2");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void add_null_shouldThrowIAE() {
+    new ObserverRegistry<String>().add(null);
+  }
+}
@@ -0,0 +1,85 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.ThreadFactory;
+import org.junit.After;
+import org.junit.Test;
+
+public class ThreadProviderTest {
+
+  @After
+  public void tearDown() {
+    ThreadProvider.getInstance().setThreadFactory(null);
+  }
+
+  @Test
+  public void newThread_shouldUseTheCurrentFactory() {
+    ThreadFactory threadFactory =
+        new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          }
+        };
+    ThreadProvider.getInstance().setThreadFactory(threadFactory);
+
+    Thread thread = ThreadProvider.getInstance().newThread(new NoOp(), "keyple");
+
+    assertThat(ThreadProvider.getInstance().getThreadFactory()).isSameAs(threadFactory);
+    assertThat(thread.getName()).isEqualTo("keyple");
+    assertThat(thread.getPriority()).isEqualTo(Thread.MIN_PRIORITY);
+  }
+
+  @Test
+  public void setThreadFactory_null_shouldRestoreTheDefaultFactory() {
+    ThreadFactory defaultThreadFactory = ThreadProvider.getInstance().getThreadFactory();
+    ThreadProvider.getInstance()
+        .setThreadFactory(
+            new ThreadFactory() {
+              @Override
+              public Thread newThread(Runnable r) {
+                return new Thread(r);
+              }
+            });
+
+    ThreadProvider.getInstance().setThreadFactory(null);
+
+    assertThat(ThreadProvider.getInstance().getThreadFactory()).isSameAs(defaultThreadFactory);
+  }
+
+  @Test
+  public void getPlatformThreadFactory_shouldNotBeAffectedBySetThreadFactory() {
+    ThreadFactory platformThreadFactory = ThreadProvider.getInstance().getPlatformThreadFactory();
+    ThreadProvider.getInstance()
+        .setThreadFactory(
+            new ThreadFactory() {
+              @Override
+              public Thread newThread(Runnable r) {
+                return new Thread(r);
+              }
+            });
+
+    assertThat(ThreadProvider.getInstance().getPlatformThreadFactory())
+        .isSameAs(platformThreadFactory)
+        .isNotSameAs(ThreadProvider.getInstance().getThreadFactory());
+  }
+
+  private static class NoOp implements Runnable {
+    @Override
+    public void run() {}
+  }
+}
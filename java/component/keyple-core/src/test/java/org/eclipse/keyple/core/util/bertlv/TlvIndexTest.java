@@ -0,0 +1,172 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util.bertlv;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Test;
+
+public class TlvIndexTest {
+
+  private static final byte[] FCI =
+      ByteArrayUtil.fromHex(
+          "6F238409315449432E49434131A516BF0C13C708000000001122334453070A3C2305141001");
+
+  @Test
+  public void index_fci_shouldIndexTheNestedDataObjects() {
+    TlvIndex index = new TlvIndex().index(FCI, 0, FCI.length);
+
+    assertThat(index.size()).isEqualTo(6);
+    int fciTemplate = index.indexOf(TlvIndex.ROOT, 0x6F);
+    assertThat(fciTemplate).isZero();
+    assertThat(index.isConstructed(fciTemplate)).isTrue();
+    assertThat(index.getParent(fciTemplate)).isEqualTo(TlvIndex.ROOT);
+
+    int dfName = index.indexOf(fciTemplate, 0x84);
+    assertThat(index.isConstructed(dfName)).isFalse();
+    assertThat(index.getValue(dfName)).isEqualTo(ByteArrayUtil.fromHex("315449432E49434131"));
+
+    int issuerData = index.indexOf(index.indexOf(fciTemplate, 0xA5), 0xBF0C);
+    assertThat(index.getTag(issuerData)).isEqualTo(0xBF0C);
+    int serialNumber = index.indexOf(issuerData, 0xC7);
+    assertThat(index.getValue(serialNumber)).isEqualTo(ByteArrayUtil.fromHex("0000000011223344"));
+    int startupInfo = index.indexOf(0x53);
+    assertThat(index.getParent(startupInfo)).isEqualTo(issuerData);
+    assertThat(index.getValueOffset(startupInfo)).isEqualTo(FCI.length - 7);
+    assertThat(index.getValueLength(startupInfo)).isEqualTo(7);
+    assertThat(index.getOffset(startupInfo)).isEqualTo(FCI.length - 9);
+  }
+
+  @Test
+  public void indexOf_shouldOnlyReturnTheDirectChildrenOfTheParent() {
+    TlvIndex index = new TlvIndex().index(FCI, 0, FCI.length);
+
+    assertThat(index.indexOf(TlvIndex.ROOT, 0x84)).isEqualTo(-1);
+    assertThat(index.indexOf(index.indexOf(0x6F), 0xC7)).isEqualTo(-1);
+    assertThat(index.indexOf(0x99)).isEqualTo(-1);
+  }
+
+  @Test
+  public void indexOf_shouldNotSearchBeyondTheValueOfTheParent() {
+    // A1 { 81 } A2 { 81 }
+    byte[] data = ByteArrayUtil.fromHex("A1038101AAA2038101BB");
+    TlvIndex index = new TlvIndex().index(data, 0, data.length);
+
+    int first = index.indexOf(TlvIndex.ROOT, 0xA1);
+    int second = index.indexOf(TlvIndex.ROOT, 0xA2);
+    assertThat(index.getValue(index.indexOf(first, 0x81))).isEqualTo(new byte[] {(byte) 0xAA});
+    assertThat(index.getValue(index.indexOf(second, 0x81))).isEqualTo(new byte[] {(byte) 0xBB});
+  }
+
+  @Test
+  public void index_longFormLengthAndPadding() {
+    byte[] value = new byte[300];
+    value[299] = 0x55;
+    byte[] data = new byte[2 + 4 + 300 + 1];
+    data[0] = 0x00;
+    data[1] = (byte) 0xFF;
+    System.arraycopy(ByteArrayUtil.fromHex("C782012C"), 0, data, 2, 4);
+    System.arraycopy(value, 0, data, 6, value.length);
+    data[data.length - 1] = 0x00;
+
+    TlvIndex index = new TlvIndex().index(data, 0, data.length);
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.getValueLength(0)).isEqualTo(300);
+    assertThat(index.getValueBuffer(0).get(299)).isEqualTo((byte) 0x55);
+    assertThat(index.getValueBuffer(0).isReadOnly()).isTrue();
+  }
+
+  @Test
+  public void index_shouldBeReusable() {
+    TlvIndex index = new TlvIndex(1);
+    index.index(FCI, 0, FCI.length);
+    byte[] data = ByteArrayUtil.fromHex("8401AA");
+    index.index(data, 0, data.length);
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.indexOf(0x6F)).isEqualTo(-1);
+    assertThat(index.getValue(0)).isEqualTo(new byte[] {(byte) 0xAA});
+  }
+
+  @Test
+  public void index_emptyConstructed() {
+    byte[] data = ByteArrayUtil.fromHex("A5008401AA");
+    TlvIndex index = new TlvIndex().index(data, 0, data.length);
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.getParent(1)).isEqualTo(TlvIndex.ROOT);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void index_valueOutOfTheEnclosingData_shouldThrowIAE() {
+    byte[] data = ByteArrayUtil.fromHex("A503840299");
+    new TlvIndex().index(data, 0, data.length);
+  }
+
+  @Test
+  public void index_lenient_shouldIgnoreTheConstructedLengths() {
+    // A5 and BF0C declare lengths shorter than their actual content
+    byte[] data = ByteArrayUtil.fromHex("6F09A502BF0C02C70111530199");
+    TlvIndex index = new TlvIndex().setLenient(true).index(data, 0, data.length);
+    int bf0c = index.indexOf(index.indexOf(index.indexOf(TlvIndex.ROOT, 0x6F), 0xA5), 0xBF0C);
+    assertThat(index.getValue(index.indexOf(bf0c, 0xC7))).isEqualTo(ByteArrayUtil.fromHex("11"));
+    assertThat(index.getValue(index.indexOf(bf0c, 0x53))).isEqualTo(ByteArrayUtil.fromHex("99"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void index_lenient_primitiveValueOutOfTheData_shouldThrowIAE() {
+    byte[] data = ByteArrayUtil.fromHex("A501840299");
+    new TlvIndex().setLenient(true).index(data, 0, data.length);
+  }
+
+  @Test
+  public void index_malformedDataObject_shouldKeepThePrecedingDataObjects() {
+    // the value of the data object following A5 exceeds the data
+    byte[] data = ByteArrayUtil.fromHex("A5078401AA8502BBCCDD0599");
+    TlvIndex tlvIndex = new TlvIndex();
+    try {
+      tlvIndex.index(data, 0, data.length);
+      failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertThat(tlvIndex.size()).isEqualTo(3);
+    assertThat(tlvIndex.getValue(tlvIndex.indexOf(0, 0x84))).isEqualTo(ByteArrayUtil.fromHex("AA"));
+    assertThat(tlvIndex.getValue(tlvIndex.indexOf(0, 0x85)))
+        .isEqualTo(ByteArrayUtil.fromHex("BBCC"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void index_missingLength_shouldThrowIAE() {
+    byte[] data = ByteArrayUtil.fromHex("BF0C");
+    new TlvIndex().index(data, 0, data.length);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void index_indefiniteLength_shouldThrowIAE() {
+    byte[] data = ByteArrayUtil.fromHex("A5808401AA0000");
+    new TlvIndex().index(data, 0, data.length);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void index_rangeOutOfTheData_shouldThrowIAE() {
+    new TlvIndex().index(FCI, 1, FCI.length);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getTag_indexOutOfRange_shouldThrowIOOBE() {
+    byte[] data = ByteArrayUtil.fromHex("8401AA");
+    new TlvIndex().index(data, 0, data.length).getTag(1);
+  }
+}
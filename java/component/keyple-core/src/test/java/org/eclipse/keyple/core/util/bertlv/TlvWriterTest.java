@@ -0,0 +1,85 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util.bertlv;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Test;
+
+public class TlvWriterTest {
+
+  private static final String FCI =
+      "6F238409315449432E49434131A516BF0C13C708000000001122334453070A3C2305141001";
+
+  @Test
+  public void write_fci_shouldProduceTheExpectedStructure() {
+    TlvWriter writer =
+        new TlvWriter(4)
+            .begin(0x6F)
+            .put(0x84, ByteArrayUtil.fromHex("315449432E49434131"))
+            .begin(0xA5)
+            .begin(0xBF0C)
+            .put(0xC7, ByteArrayUtil.fromHex("0000000011223344"))
+            .put(0x53, ByteArrayUtil.fromHex("000A3C2305141001"), 1, 7)
+            .end()
+            .end()
+            .end();
+
+    assertThat(ByteArrayUtil.toHex(writer.toByteArray())).isEqualTo(FCI);
+    assertThat(writer.size()).isEqualTo(FCI.length() / 2);
+  }
+
+  @Test
+  public void write_longValues_shouldUseTheLongFormLengths() {
+    byte[] value = new byte[300];
+    value[0] = 0x11;
+    value[299] = 0x22;
+    TlvWriter writer = new TlvWriter().begin(0xA5).put(0x84, value, 0, 200).put(0xC7, value).end();
+    byte[] bytes = writer.toByteArray();
+
+    // A5 82 01FB { 84 81 C8 (200 bytes) C7 82 012C (300 bytes) }
+    assertThat(bytes).hasSize(4 + 3 + 200 + 4 + 300);
+    assertThat(ByteArrayUtil.toHex(bytes, 0, 7)).isEqualTo("A58201FB8481C8");
+
+    TlvIndex index = new TlvIndex().index(bytes, 0, bytes.length);
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.getValueLength(index.indexOf(0xA5))).isEqualTo(507);
+    assertThat(index.getValue(index.indexOf(0xC7))).isEqualTo(value);
+  }
+
+  @Test
+  public void reset_copyTo_shouldReuseTheWriter() {
+    TlvWriter writer = new TlvWriter();
+    writer.put(0x84, new byte[] {1, 2, 3});
+    writer.reset().put(0x5F2D, new byte[] {0x65, 0x6E});
+    byte[] dest = new byte[6];
+
+    assertThat(writer.copyTo(dest, 1)).isEqualTo(5);
+    assertThat(ByteArrayUtil.toHex(dest)).isEqualTo("005F2D02656E");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void begin_primitiveTag_shouldThrowIAE() {
+    new TlvWriter().begin(0x84);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void end_notStarted_shouldThrowISE() {
+    new TlvWriter().end();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void toByteArray_notEnded_shouldThrowISE() {
+    new TlvWriter().begin(0x6F).put(0x84, new byte[1]).toByteArray();
+  }
+}
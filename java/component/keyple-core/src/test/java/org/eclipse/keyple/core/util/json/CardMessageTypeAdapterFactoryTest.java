@@ -0,0 +1,127 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.eclipse.keyple.core.card.message.*;
+import org.eclipse.keyple.core.service.event.ReaderEvent;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Test;
+
+public class CardMessageTypeAdapterFactoryTest {
+
+  /** Same configuration as the parser without the streaming adapters. */
+  private static final Gson reflectiveParser =
+      new GsonBuilder().registerTypeAdapter(byte[].class, new ByteArrayJsonAdapter()).create();
+
+  private static final Gson streamingParser = KeypleGsonParser.getParser();
+
+  private static ApduRequest getAnApduRequest() {
+    return new ApduRequest(ByteArrayUtil.fromHex("00B2014400"), true)
+        .setSuccessfulStatusCodes(new HashSet<Integer>(Arrays.asList(0x6283, 0x6200)))
+        .setName("Read Records");
+  }
+
+  private static CardResponse getACardResponse() {
+    List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+    apduResponses.add(
+        new ApduResponse(
+            ByteArrayUtil.fromHex("11223344556283"), new HashSet<Integer>(Arrays.asList(0x6283))));
+    apduResponses.add(new ApduResponse(ByteArrayUtil.fromHex("6A82"), null));
+    apduResponses.add(null);
+    return new CardResponse(true, apduResponses);
+  }
+
+  private static void assertSameJsonAndRoundTrip(Object source, Class<?> objectClass) {
+    String json = streamingParser.toJson(source);
+    assertThat(json).isEqualTo(reflectiveParser.toJson(source));
+    Object target = streamingParser.fromJson(json, objectClass);
+    assertThat(target).isEqualToComparingFieldByFieldRecursively(source);
+    assertThat(streamingParser.toJson(target)).isEqualTo(json);
+  }
+
+  @Test
+  public void apduRequest_shouldProduceTheReflectiveJson() {
+    assertSameJsonAndRoundTrip(getAnApduRequest(), ApduRequest.class);
+    assertSameJsonAndRoundTrip(
+        new ApduRequest(ByteArrayUtil.fromHex("00A4040000"), false), ApduRequest.class);
+  }
+
+  @Test
+  public void apduResponse_shouldRestoreTheSuccessfulFlag() {
+    ApduResponse source =
+        new ApduResponse(
+            ByteArrayUtil.fromHex("6283"), new HashSet<Integer>(Arrays.asList(0x6283)));
+    assertSameJsonAndRoundTrip(source, ApduResponse.class);
+    ApduResponse target =
+        streamingParser.fromJson(streamingParser.toJson(source), ApduResponse.class);
+    assertThat(target.isSuccessful()).isTrue();
+    assertThat(target.getStatusCode()).isEqualTo(0x6283);
+  }
+
+  @Test
+  public void cardRequest_shouldProduceTheReflectiveJson() {
+    assertSameJsonAndRoundTrip(
+        new CardRequest(Arrays.asList(getAnApduRequest(), getAnApduRequest())), CardRequest.class);
+  }
+
+  @Test
+  public void cardResponse_withNullElements_shouldProduceTheReflectiveJson() {
+    assertSameJsonAndRoundTrip(getACardResponse(), CardResponse.class);
+  }
+
+  @Test
+  public void cardSelectionRequest_shouldProduceTheReflectiveJson() {
+    for (CardSelectionRequest cardSelectionRequest : SampleFactory.getCompleteRequestList()) {
+      assertSameJsonAndRoundTrip(cardSelectionRequest, CardSelectionRequest.class);
+    }
+  }
+
+  @Test
+  public void readerEvent_shouldProduceTheReflectiveJson() {
+    assertSameJsonAndRoundTrip(
+        new ReaderEvent(
+            "PLUGIN",
+            "READER",
+            ReaderEvent.EventType.CARD_MATCHED,
+            new DefaultSelectionsResponse(SampleFactory.getCompleteResponseSet())),
+        ReaderEvent.class);
+    assertSameJsonAndRoundTrip(
+        new ReaderEvent("PLUGIN", "READER", ReaderEvent.EventType.CARD_REMOVED, null),
+        ReaderEvent.class);
+  }
+
+  @Test
+  public void read_withFieldsInAnyOrderAndUnknownFields_shouldIgnoreThem() {
+    CardResponse target =
+        streamingParser.fromJson(
+            "{\"unknown\":{\"a\":[1,2]},\"apduResponses\":[{\"successful\":false,\"bytes\":\"6A82\"}],"
+                + "\"logicalChannelStatus\":true}",
+            CardResponse.class);
+    assertThat(target.isLogicalChannelOpen()).isTrue();
+    assertThat(target.getApduResponses()).hasSize(1);
+    assertThat(target.getApduResponses().get(0).getStatusCode()).isEqualTo(0x6A82);
+  }
+
+  @Test(expected = JsonParseException.class)
+  public void read_apduResponseWithoutBytes_shouldThrowJPE() {
+    streamingParser.fromJson("{\"statusCode\":36864,\"successful\":true}", ApduResponse.class);
+  }
+}
@@ -160,16 +160,16 @@ abstract class AbstractLocalService extends AbstractMessageHandler {
      */
     private MessageDto transmit() {
 
-      // Extract info from the message
-      JsonObject bodyObject =
-          KeypleGsonParser.getParser().fromJson(msg.getBody(), JsonObject.class);
-
-      ChannelControl channelControl =
-          ChannelControl.valueOf(bodyObject.get("channelControl").getAsString());
+      // Extract info from the message, the card request being a nested object or a JSON string
+      // when sent by a 1.0 remote plugin
+      JsonBodyReader bodyReader =
+          new JsonBodyReader()
+              .expect("cardRequest", CardRequest.class)
+              .expect("channelControl", ChannelControl.class)
+              .read(msg.getBody());
 
-      CardRequest cardRequest =
-          KeypleGsonParser.getParser()
-              .fromJson(bodyObject.get("cardRequest").getAsString(), CardRequest.class);
+      CardRequest cardRequest = bodyReader.get("cardRequest");
+      ChannelControl channelControl = bodyReader.get("channelControl");
 
       if (logger.isTraceEnabled()) {
         logger.trace(
@@ -196,20 +196,21 @@ abstract class AbstractLocalService extends AbstractMessageHandler {
      */
     private MessageDto transmitCardSelectionRequests() {
 
-      // Extract info from the message
-      JsonObject bodyJsonO = KeypleGsonParser.getParser().fromJson(msg.getBody(), JsonObject.class);
-
-      List<CardSelectionRequest> cardSelectionRequests =
-          KeypleGsonParser.getParser()
-              .fromJson(
-                  bodyJsonO.get("cardSelectionRequests").getAsString(),
-                  new TypeToken<ArrayList<CardSelectionRequest>>() {}.getType());
-
+      // Extract info from the message, the card selection requests being a nested array or a JSON
+      // string when sent by a 1.0 remote plugin
+      JsonBodyReader bodyReader =
+          new JsonBodyReader()
+              .expect(
+                  "cardSelectionRequests",
+                  new TypeToken<ArrayList<CardSelectionRequest>>() {}.getType())
+              .expect("multiSelectionProcessing", MultiSelectionProcessing.class)
+              .expect("channelControl", ChannelControl.class)
+              .read(msg.getBody());
+
+      List<CardSelectionRequest> cardSelectionRequests = bodyReader.get("cardSelectionRequests");
       MultiSelectionProcessing multiSelectionProcessing =
-          MultiSelectionProcessing.valueOf(bodyJsonO.get("multiSelectionProcessing").getAsString());
-
-      ChannelControl channelControl =
-          ChannelControl.valueOf(bodyJsonO.get("channelControl").getAsString());
+          bodyReader.get("multiSelectionProcessing");
+      ChannelControl channelControl = bodyReader.get("channelControl");
 
       if (logger.isTraceEnabled()) {
         logger.trace(
@@ -376,16 +376,17 @@ final class LocalServiceClientImpl extends AbstractLocalService
   private MessageDto buildEventMessage(
       ReaderEvent readerEvent, Object userInputData, String sessionId) {
 
-    JsonObject body = new JsonObject();
-
-    body.add("readerEvent", KeypleGsonParser.getParser().toJsonTree(readerEvent));
-    body.add("userInputData", KeypleGsonParser.getParser().toJsonTree(userInputData));
+    String body =
+        new JsonBodyWriter()
+            .add("readerEvent", readerEvent, ReaderEvent.class)
+            .add("userInputData", userInputData)
+            .toJson();
 
     return new MessageDto()
         .setSessionId(sessionId)
         .setAction(MessageDto.Action.READER_EVENT.name())
         .setLocalReaderName(readerEvent.getReaderName())
         .setRemoteReaderName(remoteReaderByLocalName.get(readerEvent.getReaderName()))
-        .setBody(body.toString());
+        .setBody(body);
   }
 }
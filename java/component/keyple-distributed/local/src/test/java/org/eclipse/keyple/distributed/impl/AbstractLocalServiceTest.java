@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.distributed.impl;
 
+import com.google.gson.JsonObject;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
@@ -125,6 +126,25 @@ public class AbstractLocalServiceTest extends BaseLocalTest {
         .isEqualToComparingFieldByField(cardResponse);
   }
 
+  @Test
+  public void transmit_withNestedCardRequest_returnsCardResponseDto() {
+    // init
+    doReturn(cardResponse)
+        .when(readerMocked)
+        .transmitCardRequest(any(CardRequest.class), any(ChannelControl.class));
+    JsonObject body = new JsonObject();
+    body.addProperty("channelControl", ChannelControl.CLOSE_AFTER.name());
+    body.add("cardRequest", KeypleGsonParser.getParser().toJsonTree(getACardRequest()));
+    MessageDto requestDto = getTransmitDto("aSessionId").setBody(body.toString());
+    // execute
+    MessageDto responseDto = service.executeLocally(readerMocked, requestDto);
+    // results
+    assertMetadataMatches(requestDto, responseDto);
+    assertThat(responseDto.getAction()).isEqualTo(MessageDto.Action.TRANSMIT.name());
+    assertThat(KeypleGsonParser.getParser().fromJson(responseDto.getBody(), CardResponse.class))
+        .isEqualToComparingFieldByField(cardResponse);
+  }
+
   @Test
   public void transmit_returnsIoException() {
     // init
@@ -83,4 +83,16 @@ public interface AsyncNodeClient {
    * @since 1.0
    */
   void onError(String sessionId, Throwable error);
+
+  /**
+   * Should be invoked by the {@link AsyncEndpointClient} endpoint when the codec has been
+   * negotiated with the server (see {@code MessageDtoCodecs}).
+   *
+   * <p>The message bodies sent to the server then use the most compact format supported by the
+   * codec. Without this call, the format compatible with all the versions is used.
+   *
+   * @param codecName The name of the negotiated codec.
+   * @since 1.1
+   */
+  void onCodecNegotiated(String codecName);
 }
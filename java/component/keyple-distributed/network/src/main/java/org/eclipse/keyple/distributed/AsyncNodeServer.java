@@ -73,4 +73,20 @@ public interface AsyncNodeServer {
    * @since 1.0
    */
   void onError(String sessionId, Throwable error);
+
+  /**
+   * Should be invoked by the {@link AsyncEndpointServer} endpoint when the codec has been
+   * negotiated with a client (see {@code MessageDtoCodecs}), before the first message received from
+   * this client is processed.
+   *
+   * <p>The message bodies sent to the client then use the most compact format supported by the
+   * codec. Without this call, the format compatible with all the versions is used.
+   *
+   * @param clientNodeId The client node id, available in all the messages received from the client
+   *     (see {@link MessageDto#getClientNodeId()}).
+   * @param codecName The name of the negotiated codec.
+   * @throws IllegalArgumentException if the client node id is null or empty.
+   * @since 1.1
+   */
+  void onCodecNegotiated(String clientNodeId, String codecName);
 }
@@ -36,6 +36,8 @@ public class MessageDto {
   private String localReaderName;
   private String remoteReaderName;
   private String body;
+  private String requestId;
+  private String parentRequestId;
 
   /**
    * Action enum (for internal use only).
@@ -72,7 +74,8 @@ public class MessageDto {
   public MessageDto() {}
 
   /**
-   * Constructor by copy.
+   * Constructor by copy.<br>
+   * The parent request id is not copied, it is set by the node sending the message.
    *
    * @param from The source dto to copy.
    * @since 1.0
@@ -85,6 +88,7 @@ public class MessageDto {
     localReaderName = from.getLocalReaderName();
     remoteReaderName = from.getRemoteReaderName();
     body = from.getBody();
+    requestId = from.getRequestId();
   }
 
   /**
@@ -246,4 +250,55 @@ public class MessageDto {
     this.body = body;
     return this;
   }
+
+  /**
+   * Gets the request id.<br>
+   * In case of a full duplex communication, this field permits to correlate a response with its
+   * request, so that several requests may be in progress at the same time in the same session. The
+   * response to a request must contain the same request id as the request.
+   *
+   * @return a null string if the message is not correlated to a request.
+   * @since 1.1
+   */
+  public final String getRequestId() {
+    return requestId;
+  }
+
+  /**
+   * This setter method must only be used during the deserialization process.
+   *
+   * @param requestId The request id to set.
+   * @return the object instance.
+   * @since 1.1
+   */
+  public final MessageDto setRequestId(String requestId) {
+    this.requestId = requestId;
+    return this;
+  }
+
+  /**
+   * Gets the parent request id.<br>
+   * In case of a full duplex communication, this field contains the id of the peer request during
+   * the processing of which the message was sent (e.g. a request sent by the server while
+   * processing a client request). It permits to deliver the message to the peer task awaiting the
+   * response of the parent request.
+   *
+   * @return a null string if the message was not sent during the processing of a peer request.
+   * @since 1.1
+   */
+  public final String getParentRequestId() {
+    return parentRequestId;
+  }
+
+  /**
+   * This setter method must only be used during the deserialization process.
+   *
+   * @param parentRequestId The parent request id to set.
+   * @return the object instance.
+   * @since 1.1
+   */
+  public final MessageDto setParentRequestId(String parentRequestId) {
+    this.parentRequestId = parentRequestId;
+    return this;
+  }
 }
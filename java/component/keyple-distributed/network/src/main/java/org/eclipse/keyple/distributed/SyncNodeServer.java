@@ -63,7 +63,90 @@ public interface SyncNodeServer {
    * @param msg The message to process.
    * @return not null but empty list if there is no result.
    * @throws IllegalArgumentException if some arguments are incorrect.
+   * @throws NodeCommunicationException if the message opens a new session (or registers a new
+   *     client for the events) while the maximum number of sessions is reached (see {@link
+   *     #setMaxSessionsNumber(int)}). The controller should then ask the client to retry later
+   *     (e.g. HTTP status 503).
    * @since 1.0
    */
   List<MessageDto> onRequest(MessageDto msg);
+
+  /**
+   * Sets the time after which a session (or the events sendbox of a client) that is not used
+   * anymore is closed and removed from the node.
+   *
+   * <p>This allows the node to release the sessions abandoned by the clients (network failure,
+   * client stopped, ...). The default value is 300 seconds.
+   *
+   * @param maxIdleTimeInSeconds The max idle time in seconds (strictly positive).
+   * @throws IllegalArgumentException if the value is out of range.
+   * @since 1.1
+   */
+  void setMaxSessionIdleTime(int maxIdleTimeInSeconds);
+
+  /**
+   * Sets the maximum number of sessions (and of clients registered for the events) managed at the
+   * same time by the node.
+   *
+   * <p>The limit applies to the total of the sessions and of the event clients (see {@link
+   * #getSessionsNumber()} and {@link #getEventClientsNumber()}).
+   *
+   * <p>When the limit is reached, the idle sessions are removed first; if this is not enough, then
+   * the new sessions are rejected by {@link #onRequest(MessageDto)}. The default value is 10000.
+   *
+   * @param maxSessionsNumber The maximum number of sessions (strictly positive).
+   * @throws IllegalArgumentException if the value is out of range.
+   * @since 1.1
+   */
+  void setMaxSessionsNumber(int maxSessionsNumber);
+
+  /**
+   * Gets the number of sessions currently managed by the node.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  int getSessionsNumber();
+
+  /**
+   * Gets the number of clients currently registered by the node for the plugin and reader events.
+   *
+   * @return A positive int.
+   * @since 1.1
+   */
+  int getEventClientsNumber();
+
+  /**
+   * Gets the number of sessions and event clients removed by the node because they were idle since
+   * the creation of the node.
+   *
+   * @return A positive number.
+   * @since 1.1
+   */
+  long getEvictedSessionsNumber();
+
+  /**
+   * Gets the number of new sessions and event clients rejected by the node because the maximum
+   * number of sessions was reached, since the creation of the node.
+   *
+   * @return A positive number.
+   * @since 1.1
+   */
+  long getRejectedSessionsNumber();
+
+  /**
+   * Should be invoked by the server controller endpoint when the codec has been negotiated with a
+   * client (see {@code MessageDtoCodecs}), before the first message received from this client is
+   * processed.
+   *
+   * <p>The message bodies sent to the client then use the most compact format supported by the
+   * codec. Without this call, the format compatible with all the versions is used.
+   *
+   * @param clientNodeId The client node id, available in all the messages received from the client
+   *     (see {@link MessageDto#getClientNodeId()}).
+   * @param codecName The name of the negotiated codec.
+   * @throws IllegalArgumentException if the client node id is null or empty.
+   * @since 1.1
+   */
+  void onCodecNegotiated(String clientNodeId, String codecName);
 }
@@ -12,8 +12,21 @@
 package org.eclipse.keyple.distributed.impl;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.keyple.distributed.MessageDto;
 import org.eclipse.keyple.distributed.NodeCommunicationException;
 import org.slf4j.Logger;
@@ -51,6 +64,32 @@ abstract class AbstractNode {
    */
   private final int timeout;
 
+  /**
+   * (private)<br>
+   * Counter used to generate the ids of the requests sent by this node.
+   */
+  private final AtomicLong requestCounter;
+
+  /**
+   * (private)<br>
+   * Maximum number of client nodes whose support of the nested bodies is kept.
+   */
+  private static final int MAX_NESTED_BODY_CLIENT_NODES = 10000;
+
+  /**
+   * (private)<br>
+   * Ids of the client nodes which negotiated a codec supporting the nested bodies, the least
+   * recently registered being forgotten first (they then fall back to the compatible format).
+   */
+  private final Map<String, Boolean> nestedBodyClientNodeIds =
+      Collections.synchronizedMap(
+          new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+              return size() > MAX_NESTED_BODY_CLIENT_NODES;
+            }
+          });
+
   /**
    * (package-private)<br>
    *
@@ -62,6 +101,49 @@ abstract class AbstractNode {
     this.nodeId = UUID.randomUUID().toString();
     this.handler = handler;
     this.timeout = timeoutInSecond * 1000;
+    this.requestCounter = new AtomicLong();
+  }
+
+  /**
+   * (package-private)<br>
+   * Registers the codec negotiated with a client node.
+   *
+   * @param clientNodeId The id of the client node (must be not null).
+   * @param codecName The name of the negotiated codec (optional).
+   * @since 1.1
+   */
+  void registerNegotiatedCodec(String clientNodeId, String codecName) {
+    if (MessageDtoCodecs.isNestedBodySupported(codecName)) {
+      nestedBodyClientNodeIds.put(clientNodeId, Boolean.TRUE);
+    } else {
+      nestedBodyClientNodeIds.remove(clientNodeId);
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Tells if the message bodies sent in the context of a client node may contain nested JSON
+   * objects, i.e. if a codec supporting them has been negotiated (see {@link
+   * MessageDtoCodecs#isNestedBodySupported(String)}).
+   *
+   * @param clientNodeId The id of the client node (optional).
+   * @return False if no such codec has been negotiated, the nested objects must then be written as
+   *     JSON strings.
+   * @since 1.1
+   */
+  boolean isNestedBodySupported(String clientNodeId) {
+    return clientNodeId != null && nestedBodyClientNodeIds.containsKey(clientNodeId);
+  }
+
+  /**
+   * (package-private)<br>
+   * Generates a new request id, unique among all the requests sent by all the nodes.
+   *
+   * @return A not empty string.
+   * @since 1.1
+   */
+  String generateRequestId() {
+    return nodeId + ":" + requestCounter.incrementAndGet();
   }
 
   /**
@@ -178,6 +260,32 @@ abstract class AbstractNode {
      */
     Throwable error;
 
+    /**
+     * (package-private)<br>
+     * The lock guarding the state of the session.
+     *
+     * <p>An explicit lock is used rather than the object monitor so that a waiting virtual thread
+     * does not pin its carrier thread.
+     *
+     * @since 1.1
+     */
+    final Lock lock;
+
+    /** The condition signaled on each state change. */
+    private final Condition stateChanged;
+
+    /**
+     * (package-private)<br>
+     * The requests awaiting a response, indexed by request id in their sending order.<br>
+     * Guarded by the {@link #lock}.
+     *
+     * @since 1.1
+     */
+    final Map<String, ResponseFuture> pendingRequests;
+
+    /** The id of the peer request being processed by the current thread, if any. */
+    private final ThreadLocal<String> peerRequestId;
+
     /**
      * (package-private)<br>
      * Constructor
@@ -190,6 +298,10 @@ abstract class AbstractNode {
       this.state = SessionManagerState.INITIALIZED;
       this.response = null;
       this.error = null;
+      this.lock = new ReentrantLock();
+      this.stateChanged = lock.newCondition();
+      this.pendingRequests = new LinkedHashMap<String, ResponseFuture>();
+      this.peerRequestId = new ThreadLocal<String>();
     }
 
     /**
@@ -200,17 +312,18 @@ abstract class AbstractNode {
      * @param targetStates The target states.
      * @since 1.0
      */
-    synchronized void waitForState(SessionManagerState... targetStates) {
-      for (SessionManagerState targetState : targetStates) {
-        if (state == targetState) {
-          return;
-        }
-      }
-      checkIfExternalErrorOccurred();
+    void waitForState(SessionManagerState... targetStates) {
+      lock.lock();
       try {
+        for (SessionManagerState targetState : targetStates) {
+          if (state == targetState) {
+            return;
+          }
+        }
+        checkIfExternalErrorOccurred();
         long deadline = new Date().getTime() + timeout;
         while (new Date().getTime() < deadline) {
-          wait(timeout);
+          stateChanged.await(timeout, TimeUnit.MILLISECONDS);
           for (SessionManagerState targetState : targetStates) {
             if (state == targetState) {
               return;
@@ -225,9 +338,22 @@ abstract class AbstractNode {
             sessionId,
             e);
         Thread.currentThread().interrupt();
+      } finally {
+        lock.unlock();
       }
     }
 
+    /**
+     * (package-private)<br>
+     * Wakes up the tasks waiting for a state change.<br>
+     * The caller must hold the {@link #lock}.
+     *
+     * @since 1.1
+     */
+    void signalStateChanged() {
+      stateChanged.signalAll();
+    }
+
     /**
      * (package-private)<br>
      * Check if an external error was received from the endpoint or the handler, regardless to the
@@ -261,6 +387,183 @@ abstract class AbstractNode {
               + state);
     }
 
+    /**
+     * (package-private)<br>
+     * Registers the response awaited for the provided request.<br>
+     * A new request id is assigned to the message, unless it already carries the id of a request
+     * received from the peer that it answers, in which case the id is kept so that the peer can
+     * correlate it.<br>
+     * The caller must hold the {@link #lock}.
+     *
+     * @param msg The request to send.
+     * @return A not null reference.
+     * @since 1.1
+     */
+    ResponseFuture registerRequest(MessageDto msg) {
+      if (msg.getRequestId() == null || pendingRequests.containsKey(msg.getRequestId())) {
+        msg.setRequestId(generateRequestId());
+      }
+      setParentRequestId(msg);
+      ResponseFuture future = new ResponseFuture();
+      pendingRequests.put(msg.getRequestId(), future);
+      state = SessionManagerState.SEND_REQUEST_BEGIN;
+      return future;
+    }
+
+    /**
+     * (package-private)<br>
+     * Sets the id of the peer request being processed by the current thread as the parent request
+     * id of the provided message, so that the peer can deliver it to the task awaiting the response
+     * of this request.
+     *
+     * @param msg The message to send.
+     * @since 1.1
+     */
+    void setParentRequestId(MessageDto msg) {
+      String parentRequestId = peerRequestId.get();
+      if (parentRequestId != null) {
+        msg.setParentRequestId(parentRequestId);
+      }
+    }
+
+    /**
+     * (package-private)<br>
+     * Marks the provided peer request as being processed by the current thread.<br>
+     * The messages sent by the thread until {@link #endPeerRequest(String)} carry its id as parent
+     * request id.
+     *
+     * @param requestId The id of the peer request (may be null).
+     * @return The id of the peer request previously processed by the thread (may be null).
+     * @since 1.1
+     */
+    String beginPeerRequest(String requestId) {
+      String previousRequestId = peerRequestId.get();
+      peerRequestId.set(requestId);
+      return previousRequestId;
+    }
+
+    /**
+     * (package-private)<br>
+     * Ends the processing of a peer request by the current thread.
+     *
+     * @param previousRequestId The value returned by {@link #beginPeerRequest(String)}.
+     * @since 1.1
+     */
+    void endPeerRequest(String previousRequestId) {
+      if (previousRequestId == null) {
+        peerRequestId.remove();
+      } else {
+        peerRequestId.set(previousRequestId);
+      }
+    }
+
+    /**
+     * (package-private)<br>
+     * Completes the pending request matching the request id of the provided message, or else its
+     * parent request id.<br>
+     * If the message has neither request id nor parent request id (peer using a previous version),
+     * then the oldest pending request is completed. If its ids are unknown and {@code isResponse}
+     * is true, then the pending request is completed only if it is the only one, in order to never
+     * deliver the message to a wrong task.<br>
+     * The caller must hold the {@link #lock}.
+     *
+     * @param msg The received message.
+     * @param isResponse True if the message can only be a response.
+     * @return false if the message does not match any pending request.
+     * @since 1.1
+     */
+    boolean completeRequest(MessageDto msg, boolean isResponse) {
+      ResponseFuture future = null;
+      if (msg.getRequestId() != null) {
+        future = pendingRequests.remove(msg.getRequestId());
+      }
+      if (future == null && msg.getParentRequestId() != null) {
+        future = pendingRequests.remove(msg.getParentRequestId());
+      }
+      boolean isLegacyMessage = msg.getRequestId() == null && msg.getParentRequestId() == null;
+      if (future == null
+          && (isLegacyMessage || (isResponse && pendingRequests.size() == 1))
+          && !pendingRequests.isEmpty()) {
+        Iterator<ResponseFuture> it = pendingRequests.values().iterator();
+        future = it.next();
+        it.remove();
+      }
+      if (future == null) {
+        return false;
+      }
+      if (pendingRequests.isEmpty()) {
+        state = SessionManagerState.SEND_REQUEST_END;
+      }
+      future.complete(msg);
+      return true;
+    }
+
+    /**
+     * (package-private)<br>
+     * Fails all the pending requests with the provided error.<br>
+     * The caller must hold the {@link #lock}.
+     *
+     * @param e The error.
+     * @since 1.1
+     */
+    void failPendingRequests(Throwable e) {
+      for (ResponseFuture future : pendingRequests.values()) {
+        future.fail(e);
+      }
+      pendingRequests.clear();
+    }
+
+    /**
+     * (package-private)<br>
+     * Waits for the response of a registered request, without holding the {@link #lock} so that
+     * several requests may be in progress at the same time on the session.
+     *
+     * @param requestId The request id.
+     * @param future The future returned by {@link #registerRequest(MessageDto)}.
+     * @return null if the waiting task was interrupted.
+     * @throws NodeCommunicationException if a timeout or an external error occurs.
+     * @since 1.1
+     */
+    MessageDto awaitResponse(String requestId, ResponseFuture future) {
+      try {
+        MessageDto response = future.get(timeout, TimeUnit.MILLISECONDS);
+        if (peerRequestId.get() != null && response.getRequestId() != null) {
+          // the next messages of the thread are sent during the processing of the response
+          peerRequestId.set(response.getRequestId());
+        }
+        return response;
+      } catch (TimeoutException e) {
+        lock.lock();
+        try {
+          pendingRequests.remove(requestId);
+          timeoutOccurred();
+        } finally {
+          lock.unlock();
+        }
+      } catch (ExecutionException e) {
+        lock.lock();
+        try {
+          checkIfExternalErrorOccurred();
+        } finally {
+          lock.unlock();
+        }
+        throw new NodeCommunicationException(e.getCause().getMessage(), e.getCause());
+      } catch (InterruptedException e) {
+        logger.error(
+            "Unexpected interruption of the task associated with the node's session {}",
+            sessionId,
+            e);
+        Thread.currentThread().interrupt();
+        lock.lock();
+        try {
+          pendingRequests.remove(requestId);
+        } finally {
+          lock.unlock();
+        }
+      }
+      return null;
+    }
+
     /**
      * (package-private)<br>
      * The timeout case : request the cancelling of the session and throws an exception.
@@ -276,4 +579,49 @@ abstract class AbstractNode {
           "Timeout occurs for the task associated with the node's session [" + sessionId + "]");
     }
   }
+  /**
+   * (package-private)<br>
+   * The response awaited for a request, completed by the thread receiving it.
+   *
+   * @since 1.1
+   */
+  static final class ResponseFuture extends FutureTask<MessageDto> {
+
+    /** The task of the future, never run. */
+    private static final Callable<MessageDto> NO_TASK =
+        new Callable<MessageDto>() {
+          @Override
+          public MessageDto call() {
+            return null;
+          }
+        };
+
+    /**
+     * (private)<br>
+     * Constructor.
+     */
+    private ResponseFuture() {
+      super(NO_TASK);
+    }
+
+    /**
+     * (private)<br>
+     * Completes the future with the provided response.
+     *
+     * @param response The response.
+     */
+    private void complete(MessageDto response) {
+      set(response);
+    }
+
+    /**
+     * (private)<br>
+     * Completes the future with the provided error.
+     *
+     * @param error The error.
+     */
+    private void fail(Throwable error) {
+      setException(error);
+    }
+  }
 }
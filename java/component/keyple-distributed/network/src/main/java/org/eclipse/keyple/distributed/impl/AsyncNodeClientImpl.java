@@ -144,6 +144,17 @@ final class AsyncNodeClientImpl extends AbstractNode implements AsyncNodeClient
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public void onCodecNegotiated(String codecName) {
+    // the messages sent by this node all have its id as client node id
+    registerNegotiatedCodec(nodeId, codecName);
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -223,10 +234,15 @@ final class AsyncNodeClientImpl extends AbstractNode implements AsyncNodeClient
      * (private)<br>
      * Called by the handler to open the session by calling the endpoint and awaiting the result.
      */
-    private synchronized void openSession() {
-      state = SessionManagerState.OPEN_SESSION_BEGIN;
-      endpoint.openSession(sessionId);
-      waitForState(SessionManagerState.OPEN_SESSION_END);
+    private void openSession() {
+      lock.lock();
+      try {
+        state = SessionManagerState.OPEN_SESSION_BEGIN;
+        endpoint.openSession(sessionId);
+        waitForState(SessionManagerState.OPEN_SESSION_END);
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -235,40 +251,66 @@ final class AsyncNodeClientImpl extends AbstractNode implements AsyncNodeClient
      *
      * @throws IllegalStateException in case of bad use.
      */
-    private synchronized void onOpen() {
-      checkState(SessionManagerState.OPEN_SESSION_BEGIN);
-      state = SessionManagerState.OPEN_SESSION_END;
-      notifyAll();
+    private void onOpen() {
+      lock.lock();
+      try {
+        checkState(SessionManagerState.OPEN_SESSION_BEGIN);
+        state = SessionManagerState.OPEN_SESSION_END;
+        signalStateChanged();
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
      * (private)<br>
-     * Called by the handler to send a request to the endpoint and await a response.
+     * Called by the handler to send a request to the endpoint and await a response.<br>
+     * The lock is only held during the sending, so that several requests may be in progress at the
+     * same time on the session.
      *
      * @param msg The message to send.
      * @return The response.
      */
-    private synchronized MessageDto sendRequest(MessageDto msg) {
-      checkIfExternalErrorOccurred();
-      state = SessionManagerState.SEND_REQUEST_BEGIN;
-      response = null;
-      endpoint.sendMessage(msg);
-      waitForState(SessionManagerState.SEND_REQUEST_END);
-      return response;
+    private MessageDto sendRequest(MessageDto msg) {
+      ResponseFuture future;
+      lock.lock();
+      try {
+        checkIfExternalErrorOccurred();
+        future = registerRequest(msg);
+        try {
+          endpoint.sendMessage(msg);
+        } catch (RuntimeException e) {
+          pendingRequests.remove(msg.getRequestId());
+          throw e;
+        }
+      } finally {
+        lock.unlock();
+      }
+      return awaitResponse(msg.getRequestId(), future);
     }
 
     /**
      * (private)<br>
-     * Called by the endpoint and notify the awaiting thread if necessary.
+     * Called by the endpoint and notify the thread awaiting the response.
      *
      * @param msg The response received from the endpoint.
      * @throws IllegalStateException in case of bad use.
      */
-    private synchronized void onResponse(MessageDto msg) {
-      checkState(SessionManagerState.SEND_REQUEST_BEGIN);
-      response = msg;
-      state = SessionManagerState.SEND_REQUEST_END;
-      notifyAll();
+    private void onResponse(MessageDto msg) {
+      lock.lock();
+      try {
+        if (!completeRequest(msg, true)) {
+          throw new IllegalStateException(
+              "The node's session manager ["
+                  + sessionId
+                  + "] is not awaiting a response for the request ["
+                  + msg.getRequestId()
+                  + "], current state is "
+                  + state);
+        }
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -288,11 +330,16 @@ final class AsyncNodeClientImpl extends AbstractNode implements AsyncNodeClient
      * @param msg The message to send.
      * @throws RuntimeException if an error occurs.
      */
-    private synchronized void sendMessage(MessageDto msg) {
-      checkIfExternalErrorOccurred();
-      state = SessionManagerState.SEND_MESSAGE;
-      endpoint.sendMessage(msg);
-      checkIfExternalErrorOccurred();
+    private void sendMessage(MessageDto msg) {
+      lock.lock();
+      try {
+        checkIfExternalErrorOccurred();
+        state = SessionManagerState.SEND_MESSAGE;
+        endpoint.sendMessage(msg);
+        checkIfExternalErrorOccurred();
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -300,11 +347,16 @@ final class AsyncNodeClientImpl extends AbstractNode implements AsyncNodeClient
      * Called by the handler or by the node to close the current session by calling the endpoint and
      * awaiting the result.
      */
-    private synchronized void closeSession() {
-      checkIfExternalErrorOccurred();
-      state = SessionManagerState.CLOSE_SESSION_BEGIN;
-      endpoint.closeSession(sessionId);
-      waitForState(SessionManagerState.CLOSE_SESSION_END);
+    private void closeSession() {
+      lock.lock();
+      try {
+        checkIfExternalErrorOccurred();
+        state = SessionManagerState.CLOSE_SESSION_BEGIN;
+        endpoint.closeSession(sessionId);
+        waitForState(SessionManagerState.CLOSE_SESSION_END);
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -313,10 +365,15 @@ final class AsyncNodeClientImpl extends AbstractNode implements AsyncNodeClient
      *
      * @throws IllegalStateException in case of bad use.
      */
-    private synchronized void onClose() {
-      checkState(SessionManagerState.CLOSE_SESSION_BEGIN);
-      state = SessionManagerState.CLOSE_SESSION_END;
-      notifyAll();
+    private void onClose() {
+      lock.lock();
+      try {
+        checkState(SessionManagerState.CLOSE_SESSION_BEGIN);
+        state = SessionManagerState.CLOSE_SESSION_END;
+        signalStateChanged();
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -325,15 +382,24 @@ final class AsyncNodeClientImpl extends AbstractNode implements AsyncNodeClient
      *
      * @throws IllegalStateException in case of bad use.
      */
-    private synchronized void onError(Throwable e) {
-      checkState(
-          SessionManagerState.OPEN_SESSION_BEGIN, //
-          SessionManagerState.SEND_REQUEST_BEGIN, //
-          SessionManagerState.SEND_MESSAGE, //
-          SessionManagerState.CLOSE_SESSION_BEGIN);
-      error = e;
-      state = SessionManagerState.EXTERNAL_ERROR_OCCURRED;
-      notifyAll();
+    private void onError(Throwable e) {
+      lock.lock();
+      try {
+        if (pendingRequests.isEmpty()) {
+          checkState(
+              SessionManagerState.OPEN_SESSION_BEGIN, //
+              SessionManagerState.SEND_REQUEST_BEGIN, //
+              SessionManagerState.SEND_MESSAGE, //
+              SessionManagerState.CLOSE_SESSION_BEGIN);
+        } else {
+          failPendingRequests(e);
+        }
+        error = e;
+        state = SessionManagerState.EXTERNAL_ERROR_OCCURRED;
+        signalStateChanged();
+      } finally {
+        lock.unlock();
+      }
     }
   }
 }
@@ -155,6 +155,17 @@ final class AsyncNodeServerImpl extends AbstractNode implements AsyncNodeServer
     Assert.getInstance().notNull(manager, SESSION_ID);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public void onCodecNegotiated(String clientNodeId, String codecName) {
+    Assert.getInstance().notEmpty(clientNodeId, "clientNodeId");
+    registerNegotiatedCodec(clientNodeId, codecName);
+  }
+
   /**
    * (private)<br>
    * The inner session manager class.<br>
@@ -192,37 +203,56 @@ final class AsyncNodeServerImpl extends AbstractNode implements AsyncNodeServer
      * @param msg The message received from the endpoint.
      * @throws IllegalStateException in case of bad use.
      */
-    private synchronized void onMessage(MessageDto msg) {
-      checkState(
-          SessionManagerState.INITIALIZED, //
-          SessionManagerState.ON_MESSAGE, //
-          SessionManagerState.SEND_REQUEST_BEGIN, //
-          SessionManagerState.SEND_REQUEST_END, //
-          SessionManagerState.SEND_MESSAGE);
-      if (state == SessionManagerState.SEND_REQUEST_BEGIN) {
-        response = msg;
-        state = SessionManagerState.SEND_REQUEST_END;
-        notifyAll();
-      } else {
+    private void onMessage(MessageDto msg) {
+      lock.lock();
+      try {
+        checkState(
+            SessionManagerState.INITIALIZED, //
+            SessionManagerState.ON_MESSAGE, //
+            SessionManagerState.SEND_REQUEST_BEGIN, //
+            SessionManagerState.SEND_REQUEST_END, //
+            SessionManagerState.SEND_MESSAGE);
+        if (completeRequest(msg, false)) {
+          return;
+        }
         state = SessionManagerState.ON_MESSAGE;
+      } finally {
+        lock.unlock();
+      }
+      // the handler is called outside the lock because it may send requests on the session
+      String previousRequestId = beginPeerRequest(msg.getRequestId());
+      try {
         handler.onMessage(msg);
+      } finally {
+        endPeerRequest(previousRequestId);
       }
     }
 
     /**
      * (private)<br>
-     * Called by the handler to send a request to the endpoint and await a response.
+     * Called by the handler to send a request to the endpoint and await a response.<br>
+     * The lock is only held during the sending, so that several requests may be in progress at the
+     * same time on the session.
      *
      * @param msg The message to send.
      * @return The response.
      */
-    private synchronized MessageDto sendRequest(MessageDto msg) {
-      checkIfExternalErrorOccurred();
-      state = SessionManagerState.SEND_REQUEST_BEGIN;
-      response = null;
-      endpoint.sendMessage(msg);
-      waitForState(SessionManagerState.SEND_REQUEST_END);
-      return response;
+    private MessageDto sendRequest(MessageDto msg) {
+      ResponseFuture future;
+      lock.lock();
+      try {
+        checkIfExternalErrorOccurred();
+        future = registerRequest(msg);
+        try {
+          endpoint.sendMessage(msg);
+        } catch (RuntimeException e) {
+          pendingRequests.remove(msg.getRequestId());
+          throw e;
+        }
+      } finally {
+        lock.unlock();
+      }
+      return awaitResponse(msg.getRequestId(), future);
     }
 
     /**
@@ -231,11 +261,17 @@ final class AsyncNodeServerImpl extends AbstractNode implements AsyncNodeServer
      *
      * @param msg The message to send.
      */
-    private synchronized void sendMessage(MessageDto msg) {
-      checkIfExternalErrorOccurred();
-      state = SessionManagerState.SEND_MESSAGE;
-      endpoint.sendMessage(msg);
-      checkIfExternalErrorOccurred();
+    private void sendMessage(MessageDto msg) {
+      lock.lock();
+      try {
+        checkIfExternalErrorOccurred();
+        state = SessionManagerState.SEND_MESSAGE;
+        setParentRequestId(msg);
+        endpoint.sendMessage(msg);
+        checkIfExternalErrorOccurred();
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -244,11 +280,20 @@ final class AsyncNodeServerImpl extends AbstractNode implements AsyncNodeServer
      *
      * @throws IllegalStateException in case of bad use.
      */
-    private synchronized void onError(Throwable e) {
-      checkState(SessionManagerState.SEND_REQUEST_BEGIN, SessionManagerState.SEND_MESSAGE);
-      error = e;
-      state = SessionManagerState.EXTERNAL_ERROR_OCCURRED;
-      notifyAll();
+    private void onError(Throwable e) {
+      lock.lock();
+      try {
+        if (pendingRequests.isEmpty()) {
+          checkState(SessionManagerState.SEND_REQUEST_BEGIN, SessionManagerState.SEND_MESSAGE);
+        } else {
+          failPendingRequests(e);
+        }
+        error = e;
+        state = SessionManagerState.EXTERNAL_ERROR_OCCURRED;
+        signalStateChanged();
+      } finally {
+        lock.unlock();
+      }
     }
   }
 }
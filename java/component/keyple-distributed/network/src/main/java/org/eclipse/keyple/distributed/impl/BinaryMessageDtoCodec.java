@@ -0,0 +1,550 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.impl;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.distributed.MessageDto;
+import org.eclipse.keyple.distributed.spi.MessageDtoCodec;
+
+/**
+ * (package-private)<br>
+ * Compact binary codec of the {@link MessageDto}.
+ *
+ * <p>Only the envelope of the message is binary: the body is not interpreted and is carried as the
+ * JSON string built by the nodes. The APDUs of a {@code TRANSMIT} message thus remain hexadecimal
+ * strings inside the body, the gain comes from the framing of the fields and from the nested card
+ * request which is no longer escaped (see {@link MessageDtoCodecs#isNestedBodySupported(String)}).
+ *
+ * <p>Format (version 1):
+ *
+ * <ul>
+ *   <li>header: the magic byte {@code 'K'} followed by the format byte ({@code 0x01} for a single
+ *       message, {@code 0x02} for a list of messages followed by the number of messages as a
+ *       varint, {@code 0x03} and {@code 0x04} respectively when the messages contain a request id
+ *       or a parent request id),
+ *   <li>message: the action as a single byte ({@code 0} if null, the ordinal of the {@link
+ *       MessageDto.Action} + 1, or {@code 0xFF} followed by the action as a string if it is not a
+ *       known action), followed by the strings session id, client node id, server node id, local
+ *       reader name, remote reader name, body and, for the formats {@code 0x03} and {@code 0x04}
+ *       only, request id and parent request id,
+ *   <li>string: the UTF-8 length + 1 as a varint ({@code 0} if null) followed by the UTF-8 bytes.
+ * </ul>
+ *
+ * The size of the output is computed before the encoding so that a single array is allocated. The
+ * formats {@code 0x01} and {@code 0x02} are still used when no message contains a request id nor a
+ * parent request id, so that the output remains readable by the previous decoders.
+ *
+ * @since 1.1
+ */
+final class BinaryMessageDtoCodec implements MessageDtoCodec {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final byte MAGIC = 'K';
+  private static final byte FORMAT_MESSAGE = 0x01;
+  private static final byte FORMAT_LIST = 0x02;
+  private static final byte FORMAT_MESSAGE_WITH_REQUEST_ID = 0x03;
+  private static final byte FORMAT_LIST_WITH_REQUEST_ID = 0x04;
+  private static final int HEADER_SIZE = 2;
+  private static final int ACTION_NULL = 0;
+  private static final int ACTION_OTHER = 0xFF;
+  private static final MessageDto.Action[] ACTIONS = MessageDto.Action.values();
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public String getName() {
+    return MessageDtoCodecs.BINARY_CODEC_NAME;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public byte[] encode(MessageDto msg) {
+    Assert.getInstance().notNull(msg, "msg");
+    boolean withRequestId = isCorrelated(msg);
+    Output out = new Output(HEADER_SIZE + sizeOf(msg, withRequestId));
+    out.writeByte(MAGIC);
+    out.writeByte(withRequestId ? FORMAT_MESSAGE_WITH_REQUEST_ID : FORMAT_MESSAGE);
+    write(out, msg, withRequestId);
+    return out.buffer;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public MessageDto decode(byte[] data) {
+    Assert.getInstance().notNull(data, "data");
+    Input in = new Input(data);
+    boolean withRequestId = readHeader(in, FORMAT_MESSAGE, FORMAT_MESSAGE_WITH_REQUEST_ID);
+    MessageDto msg = read(in, withRequestId);
+    in.checkEnd();
+    return msg;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public byte[] encodeList(List<MessageDto> msgs) {
+    Assert.getInstance().notNull(msgs, "msgs");
+    boolean withRequestId = false;
+    for (MessageDto msg : msgs) {
+      if (isCorrelated(msg)) {
+        withRequestId = true;
+        break;
+      }
+    }
+    int size = HEADER_SIZE + sizeOfVarInt(msgs.size());
+    for (MessageDto msg : msgs) {
+      size += sizeOf(msg, withRequestId);
+    }
+    Output out = new Output(size);
+    out.writeByte(MAGIC);
+    out.writeByte(withRequestId ? FORMAT_LIST_WITH_REQUEST_ID : FORMAT_LIST);
+    out.writeVarInt(msgs.size());
+    for (MessageDto msg : msgs) {
+      write(out, msg, withRequestId);
+    }
+    return out.buffer;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public List<MessageDto> decodeList(byte[] data) {
+    Assert.getInstance().notNull(data, "data");
+    Input in = new Input(data);
+    boolean withRequestId = readHeader(in, FORMAT_LIST, FORMAT_LIST_WITH_REQUEST_ID);
+    int count = in.readVarInt();
+    // each message takes at least 7 bytes, this prevents from allocating a huge list
+    if (count > in.remaining() / 7) {
+      throw new IllegalArgumentException("Malformed message: invalid number of messages.");
+    }
+    List<MessageDto> msgs = new ArrayList<MessageDto>(count);
+    for (int i = 0; i < count; i++) {
+      msgs.add(read(in, withRequestId));
+    }
+    in.checkEnd();
+    return msgs;
+  }
+
+  /**
+   * (private)<br>
+   * Indicates whether the message contains a request id or a parent request id.
+   *
+   * @param msg The message.
+   * @return true if one of the ids is set.
+   */
+  private static boolean isCorrelated(MessageDto msg) {
+    return msg.getRequestId() != null || msg.getParentRequestId() != null;
+  }
+
+  /**
+   * (private)<br>
+   * Computes the encoded size of a message.
+   *
+   * @param msg The message.
+   * @param withRequestId True if the request id and the parent request id are encoded.
+   * @return The size in bytes.
+   */
+  private static int sizeOf(MessageDto msg, boolean withRequestId) {
+    int size = 1;
+    if (msg.getAction() != null && actionCode(msg.getAction()) == ACTION_OTHER) {
+      size += sizeOf(msg.getAction());
+    }
+    return size
+        + sizeOf(msg.getSessionId())
+        + sizeOf(msg.getClientNodeId())
+        + sizeOf(msg.getServerNodeId())
+        + sizeOf(msg.getLocalReaderName())
+        + sizeOf(msg.getRemoteReaderName())
+        + sizeOf(msg.getBody())
+        + (withRequestId ? sizeOf(msg.getRequestId()) + sizeOf(msg.getParentRequestId()) : 0);
+  }
+
+  /**
+   * (private)<br>
+   * Writes a message.
+   *
+   * @param out The output.
+   * @param msg The message.
+   * @param withRequestId True if the request id and the parent request id are encoded.
+   */
+  private static void write(Output out, MessageDto msg, boolean withRequestId) {
+    if (msg.getAction() == null) {
+      out.writeByte(ACTION_NULL);
+    } else {
+      int actionCode = actionCode(msg.getAction());
+      out.writeByte(actionCode);
+      if (actionCode == ACTION_OTHER) {
+        out.writeString(msg.getAction());
+      }
+    }
+    out.writeString(msg.getSessionId());
+    out.writeString(msg.getClientNodeId());
+    out.writeString(msg.getServerNodeId());
+    out.writeString(msg.getLocalReaderName());
+    out.writeString(msg.getRemoteReaderName());
+    out.writeString(msg.getBody());
+    if (withRequestId) {
+      out.writeString(msg.getRequestId());
+      out.writeString(msg.getParentRequestId());
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Reads a message.
+   *
+   * @param in The input.
+   * @param withRequestId True if the request id and the parent request id are encoded.
+   * @return A not null reference.
+   */
+  private static MessageDto read(Input in, boolean withRequestId) {
+    int actionCode = in.readByte();
+    String action;
+    if (actionCode == ACTION_NULL) {
+      action = null;
+    } else if (actionCode == ACTION_OTHER) {
+      action = in.readString();
+    } else if (actionCode <= ACTIONS.length) {
+      action = ACTIONS[actionCode - 1].name();
+    } else {
+      throw new IllegalArgumentException("Malformed message: unknown action code " + actionCode);
+    }
+    MessageDto msg =
+        new MessageDto()
+            .setAction(action)
+            .setSessionId(in.readString())
+            .setClientNodeId(in.readString())
+            .setServerNodeId(in.readString())
+            .setLocalReaderName(in.readString())
+            .setRemoteReaderName(in.readString())
+            .setBody(in.readString());
+    if (withRequestId) {
+      msg.setRequestId(in.readString()).setParentRequestId(in.readString());
+    }
+    return msg;
+  }
+
+  /**
+   * (private)<br>
+   * Gets the code of the provided action.
+   *
+   * @param action The not null action name.
+   * @return The ordinal + 1 of the action, or {@link #ACTION_OTHER} if the action is not known.
+   */
+  private static int actionCode(String action) {
+    for (MessageDto.Action value : ACTIONS) {
+      if (value.name().equals(action)) {
+        return value.ordinal() + 1;
+      }
+    }
+    return ACTION_OTHER;
+  }
+
+  /**
+   * (private)<br>
+   * Checks the header of the provided input.
+   *
+   * @param in The input positioned at the beginning of the encoded data.
+   * @param expectedFormat The expected format byte.
+   * @param expectedFormatWithRequestId The expected format byte when the request id is encoded.
+   * @return True if the request id is encoded.
+   */
+  private static boolean readHeader(
+      Input in, byte expectedFormat, byte expectedFormatWithRequestId) {
+    if (in.readByte() != MAGIC) {
+      throw new IllegalArgumentException("Malformed message: invalid header.");
+    }
+    int format = in.readByte();
+    if (format != expectedFormat && format != expectedFormatWithRequestId) {
+      throw new IllegalArgumentException("Malformed message: invalid header.");
+    }
+    return format == expectedFormatWithRequestId;
+  }
+
+  /**
+   * (private)<br>
+   * Computes the encoded size of a string.
+   *
+   * @param s The string.
+   * @return The size in bytes, including the length prefix.
+   */
+  private static int sizeOf(String s) {
+    if (s == null) {
+      return 1;
+    }
+    int length = utf8Length(s);
+    return sizeOfVarInt(length + 1) + length;
+  }
+
+  /**
+   * (private)<br>
+   * Computes the size of a varint.
+   *
+   * @param value The positive value.
+   * @return The size in bytes.
+   */
+  private static int sizeOfVarInt(int value) {
+    int size = 1;
+    while ((value >>>= 7) != 0) {
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * (private)<br>
+   * Computes the UTF-8 length of a string, unpaired surrogates are encoded as {@code '?'} like
+   * {@link String#getBytes(Charset)} does.
+   *
+   * @param s The string.
+   * @return The length in bytes.
+   */
+  private static int utf8Length(String s) {
+    int length = 0;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (isSurrogate(c)) {
+        if (isSurrogatePair(s, i)) {
+          length += 4;
+          i++;
+        } else {
+          length++;
+        }
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * (private)<br>
+   * Indicates if the provided char is a surrogate.
+   *
+   * @param c The char.
+   * @return true if it is a high or low surrogate.
+   */
+  private static boolean isSurrogate(char c) {
+    return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+  }
+
+  /**
+   * (private)<br>
+   * Indicates if the char at the provided index starts a valid surrogate pair.
+   *
+   * @param s The string.
+   * @param i The index.
+   * @return true if it is a valid surrogate pair.
+   */
+  private static boolean isSurrogatePair(String s, int i) {
+    return Character.isHighSurrogate(s.charAt(i))
+        && i + 1 < s.length()
+        && Character.isLowSurrogate(s.charAt(i + 1));
+  }
+
+  /**
+   * (private)<br>
+   * Output in a pre-sized byte array.
+   */
+  private static final class Output {
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * (private)<br>
+     * Constructor.
+     *
+     * @param size The exact size of the output.
+     */
+    private Output(int size) {
+      buffer = new byte[size];
+    }
+
+    /**
+     * (private)<br>
+     * Writes a byte.
+     *
+     * @param value The byte value.
+     */
+    private void writeByte(int value) {
+      buffer[position++] = (byte) value;
+    }
+
+    /**
+     * (private)<br>
+     * Writes an unsigned varint (7 bits per byte, the most significant bit set if more bytes
+     * follow).
+     *
+     * @param value The positive value.
+     */
+    private void writeVarInt(int value) {
+      while ((value & ~0x7F) != 0) {
+        writeByte((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      writeByte(value);
+    }
+
+    /**
+     * (private)<br>
+     * Writes a nullable string.
+     *
+     * @param s The string.
+     */
+    private void writeString(String s) {
+      if (s == null) {
+        writeByte(0);
+        return;
+      }
+      writeVarInt(utf8Length(s) + 1);
+      for (int i = 0; i < s.length(); i++) {
+        char c = s.charAt(i);
+        if (c < 0x80) {
+          writeByte(c);
+        } else if (c < 0x800) {
+          writeByte(0xC0 | (c >> 6));
+          writeByte(0x80 | (c & 0x3F));
+        } else if (isSurrogate(c)) {
+          if (isSurrogatePair(s, i)) {
+            int codePoint = Character.toCodePoint(c, s.charAt(++i));
+            writeByte(0xF0 | (codePoint >> 18));
+            writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+            writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+            writeByte(0x80 | (codePoint & 0x3F));
+          } else {
+            writeByte('?');
+          }
+        } else {
+          writeByte(0xE0 | (c >> 12));
+          writeByte(0x80 | ((c >> 6) & 0x3F));
+          writeByte(0x80 | (c & 0x3F));
+        }
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Bounds-checked input from a byte array.
+   */
+  private static final class Input {
+    private final byte[] data;
+    private int position;
+
+    /**
+     * (private)<br>
+     * Constructor.
+     *
+     * @param data The encoded data.
+     */
+    private Input(byte[] data) {
+      this.data = data;
+    }
+
+    /**
+     * (private)<br>
+     * Gets the number of remaining bytes.
+     *
+     * @return A positive int.
+     */
+    private int remaining() {
+      return data.length - position;
+    }
+
+    /**
+     * (private)<br>
+     * Reads an unsigned byte.
+     *
+     * @return The byte value.
+     */
+    private int readByte() {
+      if (position >= data.length) {
+        throw new IllegalArgumentException("Malformed message: unexpected end of data.");
+      }
+      return data[position++] & 0xFF;
+    }
+
+    /**
+     * (private)<br>
+     * Reads an unsigned varint.
+     *
+     * @return The positive value.
+     */
+    private int readVarInt() {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        int b = readByte();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          if (value < 0) {
+            break;
+          }
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed message: invalid length.");
+    }
+
+    /**
+     * (private)<br>
+     * Reads a nullable string.
+     *
+     * @return The string or null.
+     */
+    private String readString() {
+      int length = readVarInt() - 1;
+      if (length < 0) {
+        return null;
+      }
+      if (length > remaining()) {
+        throw new IllegalArgumentException("Malformed message: unexpected end of data.");
+      }
+      String s = new String(data, position, length, UTF_8);
+      position += length;
+      return s;
+    }
+
+    /**
+     * (private)<br>
+     * Checks that all the data has been read.
+     */
+    private void checkEnd() {
+      if (position != data.length) {
+        throw new IllegalArgumentException("Malformed message: unexpected trailing data.");
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.impl;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.keyple.core.util.json.KeypleGsonParser;
+import org.eclipse.keyple.distributed.MessageDto;
+
+/**
+ * (package-private)<br>
+ * Reader of the JSON body of a {@link MessageDto} in a single pass.
+ *
+ * <p>The expected properties are declared with their type before reading. Their values are streamed
+ * directly from the body using the adapters of the {@link KeypleGsonParser}, without building an
+ * intermediate tree. The other properties are skipped.
+ *
+ * <p>For compatibility with the version 1.0 of the distributed components, a nested object or array
+ * may also be provided as a JSON string containing its JSON representation.
+ *
+ * @since 1.1
+ */
+final class JsonBodyReader {
+
+  private final Map<String, Type> typeByName;
+  private final Map<String, Object> valueByName;
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @since 1.1
+   */
+  JsonBodyReader() {
+    typeByName = new HashMap<String, Type>();
+    valueByName = new HashMap<String, Object>();
+  }
+
+  /**
+   * (package-private)<br>
+   * Declares an expected property.
+   *
+   * @param name The property name (must be not null).
+   * @param type The type of the value (must be not null).
+   * @return the current instance.
+   * @since 1.1
+   */
+  JsonBodyReader expect(String name, Type type) {
+    typeByName.put(name, type);
+    return this;
+  }
+
+  /**
+   * (package-private)<br>
+   * Reads the provided body.
+   *
+   * @param body The JSON body (must be not null).
+   * @return the current instance.
+   * @throws JsonSyntaxException if the body is malformed.
+   * @since 1.1
+   */
+  JsonBodyReader read(String body) {
+    Gson parser = KeypleGsonParser.getParser();
+    JsonReader reader = new JsonReader(new StringReader(body));
+    try {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+        Type type = typeByName.get(name);
+        if (type == null) {
+          reader.skipValue();
+        } else if (reader.peek() == JsonToken.STRING && isNestedJson(type)) {
+          valueByName.put(name, parser.fromJson(reader.nextString(), type));
+        } else {
+          valueByName.put(name, parser.getAdapter(TypeToken.get(type)).read(reader));
+        }
+      }
+      reader.endObject();
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return this;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the value of a property.
+   *
+   * @param name The property name.
+   * @param <T> The expected type of the value.
+   * @return null if the property is absent or null.
+   * @since 1.1
+   */
+  @SuppressWarnings("unchecked")
+  <T> T get(String name) {
+    return (T) valueByName.get(name);
+  }
+
+  /**
+   * (package-private)<br>
+   * Indicates if a property is present in the body read.
+   *
+   * @param name The property name.
+   * @return true if the property is present, even with a null value.
+   * @since 1.1
+   */
+  boolean has(String name) {
+    return valueByName.containsKey(name);
+  }
+
+  /**
+   * (private)<br>
+   * Indicates if the values of the provided type are JSON objects or arrays.
+   *
+   * @param type The type.
+   * @return true if a JSON string is not a legal value of this type.
+   */
+  private static boolean isNestedJson(Type type) {
+    Class<?> rawType = TypeToken.get(type).getRawType();
+    return !(rawType.isPrimitive()
+        || rawType.isEnum()
+        || rawType == String.class
+        || Number.class.isAssignableFrom(rawType)
+        || rawType == Boolean.class
+        || rawType == Character.class
+        || JsonElement.class.isAssignableFrom(rawType));
+  }
+}
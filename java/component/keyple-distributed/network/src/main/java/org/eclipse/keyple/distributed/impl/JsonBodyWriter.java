@@ -0,0 +1,133 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.impl;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import org.eclipse.keyple.core.util.json.KeypleGsonParser;
+import org.eclipse.keyple.distributed.MessageDto;
+
+/**
+ * (package-private)<br>
+ * Writer of the JSON body of a {@link MessageDto} in a single pass.
+ *
+ * <p>Each property value is streamed directly into the body using the adapters of the {@link
+ * KeypleGsonParser}, without building an intermediate tree. The nested objects are written either
+ * as JSON objects, or as JSON strings for the peers which only support this format.
+ *
+ * <p>A property having a null value is written as an explicit JSON null.
+ *
+ * @since 1.1
+ */
+final class JsonBodyWriter {
+
+  private final StringWriter buffer;
+  private final JsonWriter writer;
+
+  /**
+   * (package-private)<br>
+   * Constructor of an empty body.
+   *
+   * @since 1.1
+   */
+  JsonBodyWriter() {
+    buffer = new StringWriter();
+    writer = new JsonWriter(buffer);
+    try {
+      writer.beginObject();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * (package-private)<br>
+   * Adds a property whose value is serialized using the adapter of its runtime class.
+   *
+   * @param name The property name (must be not null).
+   * @param value The property value (optional).
+   * @return the current instance.
+   * @since 1.1
+   */
+  JsonBodyWriter add(String name, Object value) {
+    return add(name, value, value != null ? value.getClass() : Object.class);
+  }
+
+  /**
+   * (package-private)<br>
+   * Adds a property whose value is serialized using the adapter of the provided type.
+   *
+   * @param name The property name (must be not null).
+   * @param value The property value (optional).
+   * @param type The type of the value (must be not null).
+   * @return the current instance.
+   * @since 1.1
+   */
+  JsonBodyWriter add(String name, Object value, Type type) {
+    try {
+      writer.name(name);
+      if (value == null) {
+        writer.nullValue();
+      } else {
+        KeypleGsonParser.getParser().toJson(value, type, writer);
+      }
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return this;
+  }
+
+  /**
+   * (package-private)<br>
+   * Adds a property whose value is serialized using the adapter of the provided type, then written
+   * as a JSON string (format of the nested objects expected by the 1.0 peers).
+   *
+   * @param name The property name (must be not null).
+   * @param value The property value (optional).
+   * @param type The type of the value (must be not null).
+   * @return the current instance.
+   * @since 1.1
+   */
+  JsonBodyWriter addAsString(String name, Object value, Type type) {
+    try {
+      writer.name(name);
+      if (value == null) {
+        writer.nullValue();
+      } else {
+        writer.value(KeypleGsonParser.getParser().toJson(value, type));
+      }
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return this;
+  }
+
+  /**
+   * (package-private)<br>
+   * Closes the body and returns its JSON representation.
+   *
+   * @return a not null reference.
+   * @since 1.1
+   */
+  String toJson() {
+    try {
+      writer.endObject();
+      writer.close();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return buffer.toString();
+  }
+}
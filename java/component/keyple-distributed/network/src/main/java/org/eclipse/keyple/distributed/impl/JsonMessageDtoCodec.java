@@ -0,0 +1,134 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.impl;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.json.KeypleGsonParser;
+import org.eclipse.keyple.distributed.MessageDto;
+import org.eclipse.keyple.distributed.spi.MessageDtoCodec;
+
+/**
+ * (package-private)<br>
+ * JSON codec of the {@link MessageDto}, compatible with the messages serialized using the {@link
+ * KeypleGsonParser}.
+ *
+ * @since 1.1
+ */
+final class JsonMessageDtoCodec implements MessageDtoCodec {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final String name;
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * <p>The same encoding is used under several names, which tell the format of the bodies supported
+   * by the peer (see {@link MessageDtoCodecs#isNestedBodySupported(String)}).
+   *
+   * @param name The name of the codec.
+   * @since 1.1
+   */
+  JsonMessageDtoCodec(String name) {
+    this.name = name;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public byte[] encode(MessageDto msg) {
+    Assert.getInstance().notNull(msg, "msg");
+    return KeypleGsonParser.getParser().toJson(msg, MessageDto.class).getBytes(UTF_8);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public MessageDto decode(byte[] data) {
+    MessageDto msg = fromJson(data, MessageDto.class);
+    if (msg == null) {
+      throw new IllegalArgumentException("Malformed message: empty JSON data.");
+    }
+    return msg;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public byte[] encodeList(List<MessageDto> msgs) {
+    Assert.getInstance().notNull(msgs, "msgs");
+    return KeypleGsonParser.getParser()
+        .toJson(msgs, new TypeToken<List<MessageDto>>() {}.getType())
+        .getBytes(UTF_8);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public List<MessageDto> decodeList(byte[] data) {
+    MessageDto[] msgs = fromJson(data, MessageDto[].class);
+    List<MessageDto> result = new ArrayList<MessageDto>();
+    if (msgs != null) {
+      for (MessageDto msg : msgs) {
+        result.add(msg);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * (private)<br>
+   * Parses the provided UTF-8 JSON data.
+   *
+   * @param data The JSON data.
+   * @param classOfT The expected class.
+   * @param <T> The expected type.
+   * @return null if the data is empty.
+   * @throws IllegalArgumentException If the data is null or is not valid JSON.
+   */
+  private static <T> T fromJson(byte[] data, Class<T> classOfT) {
+    Assert.getInstance().notNull(data, "data");
+    try {
+      return KeypleGsonParser.getParser().fromJson(new String(data, UTF_8), classOfT);
+    } catch (JsonParseException e) {
+      throw new IllegalArgumentException("Malformed message: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,197 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.distributed.MessageDto;
+import org.eclipse.keyple.distributed.spi.MessageDtoCodec;
+
+/**
+ * Utility class providing the standard {@link MessageDtoCodec} implementations.
+ *
+ * <p>Three codecs are available :
+ *
+ * <ul>
+ *   <li>the <b>JSON</b> codec (name {@value #JSON_CODEC_NAME}), compatible with the messages
+ *       serialized using the {@code KeypleGsonParser}, which should be supported by all endpoints,
+ *   <li>the <b>JSON nested body</b> codec (name {@value #JSON_NESTED_BODY_CODEC_NAME}), the same
+ *       encoding, negotiated by the peers supporting the bodies with nested JSON objects,
+ *   <li>the <b>binary</b> codec (name {@value #BINARY_CODEC_NAME}), a compact format using length
+ *       prefixed UTF-8 fields and a single byte for the {@link MessageDto.Action}, the body being
+ *       still the JSON string built by the nodes.
+ * </ul>
+ *
+ * <p>To negotiate the codec, the client endpoint sends the list of the names of the codecs it
+ * supports (e.g. {@link #getSupportedCodecNames()}) when it connects, then the server endpoint
+ * selects the codec with {@link #negotiate(List)} and sends back its name. Both sides then use
+ * {@link #getCodec(String)} to retrieve it, and report the name to their node ({@code
+ * onCodecNegotiated}) so that the message bodies are written in a format the peer can read.
+ *
+ * <p>All the provided codecs are stateless and thread-safe.
+ *
+ * @since 1.1
+ */
+public final class MessageDtoCodecs {
+
+  /**
+   * Name of the JSON codec.
+   *
+   * @since 1.1
+   */
+  public static final String JSON_CODEC_NAME = "json";
+
+  /**
+   * Name of the binary codec.
+   *
+   * @since 1.1
+   */
+  public static final String BINARY_CODEC_NAME = "keyple-binary-1";
+
+  /**
+   * Name of the JSON codec of the peers supporting the bodies with nested JSON objects.
+   *
+   * @since 1.1
+   */
+  public static final String JSON_NESTED_BODY_CODEC_NAME = "keyple-json-2";
+
+  private static final MessageDtoCodec JSON_CODEC = new JsonMessageDtoCodec(JSON_CODEC_NAME);
+  private static final MessageDtoCodec JSON_NESTED_BODY_CODEC =
+      new JsonMessageDtoCodec(JSON_NESTED_BODY_CODEC_NAME);
+  private static final MessageDtoCodec BINARY_CODEC = new BinaryMessageDtoCodec();
+
+  // codecs by order of preference
+  private static final List<MessageDtoCodec> CODECS =
+      Collections.unmodifiableList(Arrays.asList(BINARY_CODEC, JSON_NESTED_BODY_CODEC, JSON_CODEC));
+
+  private MessageDtoCodecs() {}
+
+  /**
+   * Gets the JSON codec.
+   *
+   * @return A not null reference.
+   * @since 1.1
+   */
+  public static MessageDtoCodec getJsonCodec() {
+    return JSON_CODEC;
+  }
+
+  /**
+   * Gets the JSON codec of the peers supporting the bodies with nested JSON objects.
+   *
+   * <p>The messages are encoded exactly as with the {@link #getJsonCodec() JSON codec}, only the
+   * name differs.
+   *
+   * @return A not null reference.
+   * @since 1.1
+   */
+  public static MessageDtoCodec getJsonNestedBodyCodec() {
+    return JSON_NESTED_BODY_CODEC;
+  }
+
+  /**
+   * Gets the binary codec.
+   *
+   * @return A not null reference.
+   * @since 1.1
+   */
+  public static MessageDtoCodec getBinaryCodec() {
+    return BINARY_CODEC;
+  }
+
+  /**
+   * Gets the names of the standard codecs, by order of preference.
+   *
+   * @return A not empty list.
+   * @since 1.1
+   */
+  public static List<String> getSupportedCodecNames() {
+    String[] names = new String[CODECS.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = CODECS.get(i).getName();
+    }
+    return Arrays.asList(names);
+  }
+
+  /**
+   * Gets the standard codec having the provided name.
+   *
+   * @param name The codec name.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the name is null or if there is no codec with this name.
+   * @since 1.1
+   */
+  public static MessageDtoCodec getCodec(String name) {
+    Assert.getInstance().notNull(name, "name");
+    for (MessageDtoCodec codec : CODECS) {
+      if (codec.getName().equals(name)) {
+        return codec;
+      }
+    }
+    throw new IllegalArgumentException("Unknown codec : " + name);
+  }
+
+  /**
+   * Selects the first standard codec of the provided list which is supported.
+   *
+   * @param peerCodecNames The names of the codecs supported by the peer endpoint, by order of
+   *     preference (null or empty if the peer did not provide it).
+   * @return The selected codec, or the JSON codec if none of the peer codecs is supported.
+   * @since 1.1
+   */
+  public static MessageDtoCodec negotiate(List<String> peerCodecNames) {
+    return negotiate(peerCodecNames, CODECS);
+  }
+
+  /**
+   * Selects the first codec of the provided list which is supported, including custom codecs.
+   *
+   * @param peerCodecNames The names of the codecs supported by the peer endpoint, by order of
+   *     preference (null or empty if the peer did not provide it).
+   * @param localCodecs The codecs supported by the local endpoint.
+   * @return The selected codec, or the JSON codec if none of the peer codecs is supported.
+   * @throws IllegalArgumentException If the local codecs list is null.
+   * @since 1.1
+   */
+  public static MessageDtoCodec negotiate(
+      List<String> peerCodecNames, List<? extends MessageDtoCodec> localCodecs) {
+    Assert.getInstance().notNull(localCodecs, "localCodecs");
+    if (peerCodecNames != null) {
+      for (String name : peerCodecNames) {
+        for (MessageDtoCodec codec : localCodecs) {
+          if (codec.getName().equals(name)) {
+            return codec;
+          }
+        }
+      }
+    }
+    return JSON_CODEC;
+  }
+
+  /**
+   * Tells if the peer having negotiated the provided codec supports the message bodies containing
+   * nested JSON objects (e.g. the card request of a {@code TRANSMIT} message).
+   *
+   * <p>The peers which do not negotiate the codec (e.g. 1.0 peers), or which negotiated the {@value
+   * #JSON_CODEC_NAME} codec or a custom codec, only read the nested objects as JSON strings.
+   *
+   * @param codecName The name of the negotiated codec (optional).
+   * @return True if the codec is {@value #JSON_NESTED_BODY_CODEC_NAME} or {@value
+   *     #BINARY_CODEC_NAME}.
+   * @since 1.1
+   */
+  public static boolean isNestedBodySupported(String codecName) {
+    return JSON_NESTED_BODY_CODEC_NAME.equals(codecName) || BINARY_CODEC_NAME.equals(codecName);
+  }
+}
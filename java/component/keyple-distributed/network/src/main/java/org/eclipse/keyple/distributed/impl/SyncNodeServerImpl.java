@@ -13,10 +13,22 @@ package org.eclipse.keyple.distributed.impl;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.keyple.core.util.Assert;
 import org.eclipse.keyple.distributed.MessageDto;
+import org.eclipse.keyple.distributed.NodeCommunicationException;
 import org.eclipse.keyple.distributed.SyncNodeServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,11 +43,22 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
 
   private static final Logger logger = LoggerFactory.getLogger(SyncNodeServerImpl.class);
 
-  private final Map<String, SessionManager> sessionManagers;
-  private final Map<String, ServerPushEventManager> pluginManagers;
-  private final Map<String, ServerPushEventManager> readerManagers;
+  private static final int DEFAULT_MAX_IDLE_TIME_MILLIS = 300000;
+  private static final int DEFAULT_MAX_SESSIONS_NUMBER = 10000;
+  private static final long MAX_EVICTION_PERIOD_MILLIS = 60000;
+
+  private final ConcurrentMap<String, SessionManager> sessionManagers;
+  private final ConcurrentMap<String, ServerPushEventManager> pluginManagers;
+  private final ConcurrentMap<String, ServerPushEventManager> readerManagers;
   private final JsonParser jsonParser;
 
+  private final AtomicInteger managersNumber;
+  private final AtomicLong evictedSessionsNumber;
+  private final AtomicLong rejectedSessionsNumber;
+  private volatile long maxIdleTimeMillis;
+  private volatile int maxSessionsNumber;
+  private ScheduledFuture<?> evictionTask;
+
   /**
    * (package-private)<br>
    *
@@ -44,11 +67,263 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
    * @since 1.0
    */
   SyncNodeServerImpl(AbstractMessageHandler handler, int timeoutInSecond) {
+    this(handler, timeoutInSecond, DEFAULT_MAX_IDLE_TIME_MILLIS, DEFAULT_MAX_SESSIONS_NUMBER);
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @param handler The associated handler (must be not null).
+   * @param timeoutInSecond The default timeout (in seconds) to use.
+   * @param maxIdleTimeMillis The max idle time of the sessions (in milliseconds).
+   * @param maxSessionsNumber The maximum number of sessions.
+   * @since 1.1
+   */
+  SyncNodeServerImpl(
+      AbstractMessageHandler handler,
+      int timeoutInSecond,
+      long maxIdleTimeMillis,
+      int maxSessionsNumber) {
     super(handler, timeoutInSecond);
     jsonParser = new JsonParser();
     this.sessionManagers = new ConcurrentHashMap<String, SessionManager>();
     this.pluginManagers = new ConcurrentHashMap<String, ServerPushEventManager>();
     this.readerManagers = new ConcurrentHashMap<String, ServerPushEventManager>();
+    this.managersNumber = new AtomicInteger();
+    this.evictedSessionsNumber = new AtomicLong();
+    this.rejectedSessionsNumber = new AtomicLong();
+    this.maxSessionsNumber = maxSessionsNumber;
+    setMaxIdleTimeMillis(maxIdleTimeMillis);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public void setMaxSessionIdleTime(int maxIdleTimeInSeconds) {
+    Assert.getInstance().greaterOrEqual(maxIdleTimeInSeconds, 1, "maxIdleTimeInSeconds");
+    setMaxIdleTimeMillis(maxIdleTimeInSeconds * 1000L);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public void setMaxSessionsNumber(int maxSessionsNumber) {
+    Assert.getInstance().greaterOrEqual(maxSessionsNumber, 1, "maxSessionsNumber");
+    this.maxSessionsNumber = maxSessionsNumber;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public void onCodecNegotiated(String clientNodeId, String codecName) {
+    Assert.getInstance().notEmpty(clientNodeId, "clientNodeId");
+    registerNegotiatedCodec(clientNodeId, codecName);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public int getSessionsNumber() {
+    return sessionManagers.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public int getEventClientsNumber() {
+    return pluginManagers.size() + readerManagers.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public long getEvictedSessionsNumber() {
+    return evictedSessionsNumber.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 1.1
+   */
+  @Override
+  public long getRejectedSessionsNumber() {
+    return rejectedSessionsNumber.get();
+  }
+
+  /**
+   * (private)<br>
+   * Sets the max idle time and (re)schedules the periodic eviction of the idle managers on the
+   * shared timer.<br>
+   * The eviction task only keeps a weak reference to the node, and cancels itself once the node is
+   * garbage collected.
+   *
+   * @param maxIdleTimeMillis The max idle time in milliseconds.
+   */
+  private synchronized void setMaxIdleTimeMillis(long maxIdleTimeMillis) {
+    this.maxIdleTimeMillis = maxIdleTimeMillis;
+    if (evictionTask != null) {
+      evictionTask.cancel(false);
+    }
+    long period = Math.max(1, Math.min(maxIdleTimeMillis / 2, MAX_EVICTION_PERIOD_MILLIS));
+    evictionTask =
+        EvictionTimer.INSTANCE.scheduleWithFixedDelay(
+            new EvictionTask(this), period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * (package-private)<br>
+   * Removes the session managers and the event managers which are not used since more than the max
+   * idle time.<br>
+   * This method is periodically invoked by the shared eviction timer.
+   *
+   * @return The number of removed managers.
+   * @since 1.1
+   */
+  int evictIdleManagers() {
+    long now = System.nanoTime();
+    long maxIdleTimeNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleTimeMillis);
+    int evicted = evictIdleManagers(sessionManagers, now, maxIdleTimeNanos);
+    evicted += evictIdleManagers(pluginManagers, now, maxIdleTimeNanos);
+    evicted += evictIdleManagers(readerManagers, now, maxIdleTimeNanos);
+    if (evicted > 0) {
+      evictedSessionsNumber.addAndGet(evicted);
+      logger.warn("{} idle node's session(s) or event client(s) evicted", evicted);
+    }
+    return evicted;
+  }
+
+  /**
+   * (private)<br>
+   * Removes the idle managers of the provided map.
+   *
+   * @param managers The managers map.
+   * @param now The current time (see {@link System#nanoTime()}).
+   * @param maxIdleTimeNanos The max idle time in nanoseconds.
+   * @return The number of removed managers.
+   */
+  private <T extends ManagerActivity> int evictIdleManagers(
+      ConcurrentMap<String, T> managers, long now, long maxIdleTimeNanos) {
+    int evicted = 0;
+    for (Map.Entry<String, T> entry : managers.entrySet()) {
+      if (entry.getValue().tryEvict(now, maxIdleTimeNanos)
+          && removeManager(managers, entry.getKey(), entry.getValue())) {
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * (private)<br>
+   * Reserves a slot for a new manager.<br>
+   * The sessions and the event clients share the same maximum number of sessions. If it is reached,
+   * then the idle managers are evicted first.<br>
+   * The slot must be released with {@link #releaseSlot()} if the manager is not inserted, otherwise
+   * it is released when the manager is removed (see {@link #removeManager(ConcurrentMap, String,
+   * ManagerActivity)}).
+   *
+   * @throws NodeCommunicationException if the maximum number of sessions is still reached.
+   */
+  private void reserveSlot() {
+    if (tryReserveSlot()) {
+      return;
+    }
+    evictIdleManagers();
+    if (!tryReserveSlot()) {
+      rejectedSessionsNumber.incrementAndGet();
+      throw new NodeCommunicationException(
+          "The maximum number of node's sessions ("
+              + maxSessionsNumber
+              + ") is reached, please retry later.");
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Atomically increments the number of managers if the maximum number of sessions is not reached.
+   *
+   * @return true if a slot has been reserved.
+   */
+  private boolean tryReserveSlot() {
+    while (true) {
+      int current = managersNumber.get();
+      if (current >= maxSessionsNumber) {
+        return false;
+      }
+      if (managersNumber.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Releases a slot previously reserved with {@link #reserveSlot()}.
+   */
+  private void releaseSlot() {
+    managersNumber.decrementAndGet();
+  }
+
+  /**
+   * (private)<br>
+   * Inserts a new manager in the provided map if no manager is already associated to the key.<br>
+   * A slot is reserved before the insertion, and released if another manager has been inserted in
+   * the meantime.
+   *
+   * @param managers The managers map.
+   * @param key The session id or the client node id.
+   * @param newManager The new manager.
+   * @param <T> The type of manager.
+   * @return The manager associated to the key.
+   * @throws NodeCommunicationException if the maximum number of sessions is reached.
+   */
+  private <T extends ManagerActivity> T addManager(
+      ConcurrentMap<String, T> managers, String key, T newManager) {
+    reserveSlot();
+    T manager = managers.putIfAbsent(key, newManager);
+    if (manager != null) {
+      releaseSlot();
+      return manager;
+    }
+    return newManager;
+  }
+
+  /**
+   * (private)<br>
+   * Removes a manager from the provided map and releases its slot.
+   *
+   * @param managers The managers map.
+   * @param key The session id or the client node id.
+   * @param manager The manager to remove.
+   * @param <T> The type of manager.
+   * @return true if the manager has been removed by this call.
+   */
+  private <T extends ManagerActivity> boolean removeManager(
+      ConcurrentMap<String, T> managers, String key, T manager) {
+    if (managers.remove(key, manager)) {
+      releaseSlot();
+      return true;
+    }
+    return false;
   }
 
   /**
@@ -100,9 +375,13 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
    * @return a null list or a not empty list
    */
   private List<MessageDto> checkEvents(
-      MessageDto msg, Map<String, ServerPushEventManager> eventManagers) {
+      MessageDto msg, ConcurrentMap<String, ServerPushEventManager> eventManagers) {
     ServerPushEventManager manager = getEventManager(msg, eventManagers);
-    return manager.checkEvents(msg);
+    try {
+      return manager.checkEvents(msg);
+    } finally {
+      manager.end();
+    }
   }
 
   /**
@@ -114,15 +393,40 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
    * @return a nullable list or which contains at most one element.
    */
   private List<MessageDto> processOnRequest(MessageDto msg) {
-    SessionManager manager = sessionManagers.get(msg.getSessionId());
-    if (manager == null) {
-      manager = new SessionManager(msg.getSessionId());
-      sessionManagers.put(msg.getSessionId(), manager);
+    SessionManager manager = getSessionManager(msg.getSessionId());
+    MessageDto response;
+    try {
+      response = manager.onRequest(msg);
+    } finally {
+      manager.end();
     }
-    MessageDto response = manager.onRequest(msg);
     return response != null ? Collections.singletonList(response) : null;
   }
 
+  /**
+   * (private)<br>
+   * Get or create atomically the session manager associated to a session id, and marks it as in
+   * use.<br>
+   * The caller must invoke {@link ManagerActivity#end()} when the manager is no longer used.
+   *
+   * @param sessionId The session id.
+   * @return a not null reference.
+   * @throws NodeCommunicationException if the maximum number of sessions is reached.
+   */
+  private SessionManager getSessionManager(String sessionId) {
+    while (true) {
+      SessionManager manager = sessionManagers.get(sessionId);
+      if (manager == null) {
+        manager = addManager(sessionManagers, sessionId, new SessionManager(sessionId));
+      }
+      if (manager.begin()) {
+        return manager;
+      }
+      // The manager has just been evicted, a new one has to be created.
+      removeManager(sessionManagers, sessionId, manager);
+    }
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -132,11 +436,18 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
   MessageDto sendRequest(MessageDto msg) {
     msg.setServerNodeId(nodeId);
     SessionManager manager = sessionManagers.get(msg.getSessionId());
+    if (manager == null || !manager.begin()) {
+      // The session has been evicted or closed in the meantime.
+      throw new NodeCommunicationException(
+          "The node's session [" + msg.getSessionId() + "] is closed.");
+    }
     try {
       return manager.sendRequest(msg);
     } catch (RuntimeException e) {
-      sessionManagers.remove(msg.getSessionId());
+      removeManager(sessionManagers, msg.getSessionId(), manager);
       throw e;
+    } finally {
+      manager.end();
     }
   }
 
@@ -179,27 +490,42 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
    * @param msg The message containing the event to post (must be not null).
    * @param eventManagers The event managers map.
    */
-  private void postEvent(MessageDto msg, Map<String, ServerPushEventManager> eventManagers) {
+  private void postEvent(
+      MessageDto msg, ConcurrentMap<String, ServerPushEventManager> eventManagers) {
     ServerPushEventManager manager = getEventManager(msg, eventManagers);
-    manager.postEvent(msg);
+    try {
+      manager.postEvent(msg);
+    } finally {
+      manager.end();
+    }
   }
 
   /**
    * (private)<br>
-   * Get or create an event manager associated to a client node id.
+   * Get or create atomically an event manager associated to a client node id, and marks it as in
+   * use.<br>
+   * The caller must invoke {@link ManagerActivity#end()} when the manager is no longer used.
    *
    * @param msg The message containing the client's information
    * @param eventManagers The event managers map.
    * @return a not null reference.
+   * @throws NodeCommunicationException if the maximum number of sessions is reached.
    */
   private ServerPushEventManager getEventManager(
-      MessageDto msg, Map<String, ServerPushEventManager> eventManagers) {
-    ServerPushEventManager manager = eventManagers.get(msg.getClientNodeId());
-    if (manager == null) {
-      manager = new ServerPushEventManager(msg.getClientNodeId());
-      eventManagers.put(msg.getClientNodeId(), manager);
+      MessageDto msg, ConcurrentMap<String, ServerPushEventManager> eventManagers) {
+    String clientNodeId = msg.getClientNodeId();
+    while (true) {
+      ServerPushEventManager manager = eventManagers.get(clientNodeId);
+      if (manager == null) {
+        manager =
+            addManager(eventManagers, clientNodeId, new ServerPushEventManager(clientNodeId));
+      }
+      if (manager.begin()) {
+        return manager;
+      }
+      // The manager has just been evicted, a new one has to be created.
+      removeManager(eventManagers, clientNodeId, manager);
     }
-    return manager;
   }
 
   /**
@@ -217,7 +543,7 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
     try {
       manager.sendMessage(msg);
     } finally {
-      sessionManagers.remove(msg.getSessionId());
+      removeManager(sessionManagers, msg.getSessionId(), manager);
     }
   }
 
@@ -226,7 +552,9 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
    * The inner session manager class.<br>
    * There is one manager by session id.
    */
-  private class SessionManager extends AbstractSessionManager {
+  private class SessionManager extends AbstractSessionManager implements ManagerActivity {
+
+    private final ActivityTracker activity = new ActivityTracker();
 
     /**
      * (private)<br>
@@ -238,6 +566,36 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
       super(sessionId);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1
+     */
+    @Override
+    public boolean begin() {
+      return activity.begin();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1
+     */
+    @Override
+    public void end() {
+      activity.end();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1
+     */
+    @Override
+    public boolean tryEvict(long now, long maxIdleTimeNanos) {
+      return activity.tryEvict(now, maxIdleTimeNanos);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -255,19 +613,24 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
      * @param msg The message to process.
      * @return a not null reference on a message to return to the client.
      */
-    private synchronized MessageDto onRequest(MessageDto msg) {
-      checkState(SessionManagerState.INITIALIZED, SessionManagerState.SEND_REQUEST_BEGIN);
-      if (state == SessionManagerState.INITIALIZED) {
-        // Process the message as a client request
-        state = SessionManagerState.ON_REQUEST;
-        handler.onMessage(msg);
-      } else {
-        // State is SEND_REQUEST_BEGIN
-        // Process the message as a client response
-        postMessageAndNotify(msg, SessionManagerState.SEND_REQUEST_END);
+    private MessageDto onRequest(MessageDto msg) {
+      lock.lock();
+      try {
+        checkState(SessionManagerState.INITIALIZED, SessionManagerState.SEND_REQUEST_BEGIN);
+        if (state == SessionManagerState.INITIALIZED) {
+          // Process the message as a client request
+          state = SessionManagerState.ON_REQUEST;
+          handler.onMessage(msg);
+        } else {
+          // State is SEND_REQUEST_BEGIN
+          // Process the message as a client response
+          postMessageAndNotify(msg, SessionManagerState.SEND_REQUEST_END);
+        }
+        waitForState(SessionManagerState.SEND_MESSAGE, SessionManagerState.SEND_REQUEST_BEGIN);
+        return response;
+      } finally {
+        lock.unlock();
       }
-      waitForState(SessionManagerState.SEND_MESSAGE, SessionManagerState.SEND_REQUEST_BEGIN);
-      return response;
     }
 
     /**
@@ -277,10 +640,15 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
      * @param msg The message to send.
      * @return The response.
      */
-    private synchronized MessageDto sendRequest(MessageDto msg) {
-      postMessageAndNotify(msg, SessionManagerState.SEND_REQUEST_BEGIN);
-      waitForState(SessionManagerState.SEND_REQUEST_END);
-      return response;
+    private MessageDto sendRequest(MessageDto msg) {
+      lock.lock();
+      try {
+        postMessageAndNotify(msg, SessionManagerState.SEND_REQUEST_BEGIN);
+        waitForState(SessionManagerState.SEND_REQUEST_END);
+        return response;
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -289,8 +657,13 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
      *
      * @param msg The message to send.
      */
-    private synchronized void sendMessage(MessageDto msg) {
-      postMessageAndNotify(msg, SessionManagerState.SEND_MESSAGE);
+    private void sendMessage(MessageDto msg) {
+      lock.lock();
+      try {
+        postMessageAndNotify(msg, SessionManagerState.SEND_MESSAGE);
+      } finally {
+        lock.unlock();
+      }
     }
 
     /**
@@ -300,11 +673,15 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
      * @param msg The message to post.
      * @param targetState The new state to set before to notify the waiting task.
      */
-    private synchronized void postMessageAndNotify(
-        MessageDto msg, SessionManagerState targetState) {
-      response = msg;
-      state = targetState;
-      notifyAll();
+    private void postMessageAndNotify(MessageDto msg, SessionManagerState targetState) {
+      lock.lock();
+      try {
+        response = msg;
+        state = targetState;
+        signalStateChanged();
+      } finally {
+        lock.unlock();
+      }
     }
   }
 
@@ -312,9 +689,12 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
    * (private)<br>
    * This inner class is a manager for server push events.
    */
-  private class ServerPushEventManager {
+  private class ServerPushEventManager implements ManagerActivity {
 
     private final String clientNodeId;
+    private final Lock lock = new ReentrantLock();
+    private final Condition eventPosted = lock.newCondition();
+    private final ActivityTracker activity = new ActivityTracker();
 
     private List<MessageDto> events;
     private ServerPushEventStrategy strategy;
@@ -331,6 +711,36 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
       this.strategy = null;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1
+     */
+    @Override
+    public boolean begin() {
+      return activity.begin();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1
+     */
+    @Override
+    public void end() {
+      activity.end();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1
+     */
+    @Override
+    public boolean tryEvict(long now, long maxIdleTimeNanos) {
+      return activity.tryEvict(now, maxIdleTimeNanos);
+    }
+
     /**
      * (private)<br>
      * Post an event into the sendbox, analyse the client strategy, and eventually try to wake up
@@ -338,18 +748,22 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
      *
      * @param msg The message containing the event to post (must be not null).
      */
-    private synchronized void postEvent(MessageDto msg) {
-
-      // Post the event
-      if (events == null) {
-        events = new ArrayList<MessageDto>(1);
-      }
-      events.add(msg);
+    private void postEvent(MessageDto msg) {
+      lock.lock();
+      try {
+        // Post the event
+        if (events == null) {
+          events = new ArrayList<MessageDto>(1);
+        }
+        events.add(msg);
 
-      // Gets the client's strategy
-      // If strategy is long polling, then try to wake up the associated awaiting task.
-      if (strategy != null && strategy.getType() == ServerPushEventStrategy.Type.LONG_POLLING) {
-        notifyAll();
+        // Gets the client's strategy
+        // If strategy is long polling, then try to wake up the associated awaiting task.
+        if (strategy != null && strategy.getType() == ServerPushEventStrategy.Type.LONG_POLLING) {
+          eventPosted.signalAll();
+        }
+      } finally {
+        lock.unlock();
       }
     }
 
@@ -360,23 +774,28 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
      * @param msg The client message containing all client info (node id, strategy, ...)
      * @return a null list or a not empty list
      */
-    private synchronized List<MessageDto> checkEvents(MessageDto msg) {
+    private List<MessageDto> checkEvents(MessageDto msg) {
+      lock.lock();
       try {
-        // We're checking to see if any events are already present
-        if (events != null) {
-          return events;
-        }
+        try {
+          // We're checking to see if any events are already present
+          if (events != null) {
+            return events;
+          }
 
-        // If none, then gets the client's strategy
-        registerClientStrategy(msg);
+          // If none, then gets the client's strategy
+          registerClientStrategy(msg);
 
-        // If is a long polling strategy, then await for an event notification.
-        if (strategy.getType() == ServerPushEventStrategy.Type.LONG_POLLING) {
-          waitAtMost(strategy.getDuration());
+          // If is a long polling strategy, then await for an event notification.
+          if (strategy.getType() == ServerPushEventStrategy.Type.LONG_POLLING) {
+            waitAtMost(strategy.getDuration());
+          }
+          return events;
+        } finally {
+          events = null;
         }
-        return events;
       } finally {
-        events = null;
+        lock.unlock();
       }
     }
 
@@ -421,19 +840,176 @@ final class SyncNodeServerImpl extends AbstractNode implements SyncNodeServer {
      *
      * @param maxAwaitingTime The max awaiting time.
      */
-    private synchronized void waitAtMost(int maxAwaitingTime) {
+    private void waitAtMost(int maxAwaitingTime) {
+      lock.lock();
       try {
-        long deadline = new Date().getTime() + maxAwaitingTime;
-        while (events == null && new Date().getTime() < deadline) {
-          wait(maxAwaitingTime);
+        try {
+          long deadline = new Date().getTime() + maxAwaitingTime;
+          while (events == null && new Date().getTime() < deadline) {
+            eventPosted.await(maxAwaitingTime, TimeUnit.MILLISECONDS);
+          }
+        } catch (InterruptedException e) {
+          logger.error(
+              "Unexpected interruption of the task associated with the node's id {}",
+              clientNodeId,
+              e);
+          Thread.currentThread().interrupt();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * The activity of a session manager or an event manager, used to evict the idle managers.
+   */
+  private interface ManagerActivity {
+
+    /**
+     * (private)<br>
+     * Marks the manager as in use.
+     *
+     * @return false if the manager was evicted and must not be used anymore.
+     */
+    boolean begin();
+
+    /**
+     * (private)<br>
+     * Marks the end of a use of the manager started by {@link #begin()}.
+     */
+    void end();
+
+    /**
+     * (private)<br>
+     * Marks the manager as evicted if it is not in use and not used since more than the provided
+     * max idle time.
+     *
+     * @param now The current time (see {@link System#nanoTime()}).
+     * @param maxIdleTimeNanos The max idle time in nanoseconds.
+     * @return true if the manager is evicted.
+     */
+    boolean tryEvict(long now, long maxIdleTimeNanos);
+  }
+
+  /**
+   * (private)<br>
+   * Tracks the number of tasks using a manager and the time of its last use.<br>
+   * An evicted manager has a negative number of tasks, so that it can not be used anymore.
+   */
+  private static final class ActivityTracker {
+
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private volatile long lastAccessTime = System.nanoTime();
+
+    /**
+     * (private)<br>
+     * See {@link ManagerActivity#begin()}.
+     */
+    private boolean begin() {
+      while (true) {
+        int tasks = activeTasks.get();
+        if (tasks < 0) {
+          return false;
+        }
+        if (activeTasks.compareAndSet(tasks, tasks + 1)) {
+          lastAccessTime = System.nanoTime();
+          return true;
         }
-      } catch (InterruptedException e) {
-        logger.error(
-            "Unexpected interruption of the task associated with the node's id {}",
-            clientNodeId,
-            e);
-        Thread.currentThread().interrupt();
       }
     }
+
+    /**
+     * (private)<br>
+     * See {@link ManagerActivity#end()}.
+     */
+    private void end() {
+      lastAccessTime = System.nanoTime();
+      activeTasks.decrementAndGet();
+    }
+
+    /**
+     * (private)<br>
+     * See {@link ManagerActivity#tryEvict(long, long)}.
+     */
+    private boolean tryEvict(long now, long maxIdleTimeNanos) {
+      return now - lastAccessTime >= maxIdleTimeNanos && activeTasks.compareAndSet(0, -1);
+    }
+  }
+
+  /**
+   * (private)<br>
+   * The periodic eviction task of a node.
+   */
+  private static final class EvictionTask implements Runnable {
+
+    private final WeakReference<SyncNodeServerImpl> nodeReference;
+
+    /**
+     * (private)<br>
+     * Constructor
+     *
+     * @param node The node.
+     */
+    private EvictionTask(SyncNodeServerImpl node) {
+      this.nodeReference = new WeakReference<SyncNodeServerImpl>(node);
+    }
+
+    /**
+     * (private)<br>
+     * Evicts the idle managers of the node, or stops the task if the node no longer exists.
+     */
+    @Override
+    public void run() {
+      SyncNodeServerImpl node = nodeReference.get();
+      if (node == null) {
+        throw new IllegalStateException("Node garbage collected, stopping the eviction task.");
+      }
+      try {
+        node.evictIdleManagers();
+      } catch (RuntimeException e) {
+        logger.error("Unexpected error during the eviction of the idle sessions", e);
+      }
+    }
+  }
+
+  /**
+   * (private)<br>
+   * The timer shared by all the sync server nodes, lazily started.<br>
+   * The cancelled tasks are removed from the queue at once so that the rescheduling of the eviction
+   * does not accumulate them.
+   */
+  private static final class EvictionTimer {
+
+    private static final ScheduledThreadPoolExecutor INSTANCE = createInstance();
+
+    /**
+     * (private)<br>
+     * Creates the single thread executor of the timer.
+     *
+     * @return A not null reference.
+     */
+    private static ScheduledThreadPoolExecutor createInstance() {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                  Thread thread = new Thread(r, "keyple-sync-node-server-eviction");
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+
+    /**
+     * (private)<br>
+     * Not instantiable.
+     */
+    private EvictionTimer() {}
   }
 }
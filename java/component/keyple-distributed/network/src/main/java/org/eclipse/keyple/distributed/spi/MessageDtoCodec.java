@@ -0,0 +1,80 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.spi;
+
+import java.util.List;
+import org.eclipse.keyple.distributed.MessageDto;
+
+/**
+ * <b>Message Codec</b> API.
+ *
+ * <p>Serializes and deserializes the {@link MessageDto} exchanged between the network endpoints.
+ *
+ * <p>The standard codecs are provided by the utility class {@code MessageDtoCodecs}. You can also
+ * provide your own implementation.
+ *
+ * <p>The endpoints may negotiate the codec to use when the connection is established, by exchanging
+ * the names of the codecs they support (e.g. in a HTTP header or as a websocket sub-protocol).
+ *
+ * @since 1.1
+ */
+public interface MessageDtoCodec {
+
+  /**
+   * Gets the name of the codec, which identifies the wire format during the negotiation.
+   *
+   * @return A not empty string.
+   * @since 1.1
+   */
+  String getName();
+
+  /**
+   * Encodes the provided message.
+   *
+   * @param msg The message to encode.
+   * @return A not empty byte array.
+   * @throws IllegalArgumentException If the message is null.
+   * @since 1.1
+   */
+  byte[] encode(MessageDto msg);
+
+  /**
+   * Decodes a message encoded by {@link #encode(MessageDto)}.
+   *
+   * @param data The encoded message.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the data is null or is not a valid encoded message.
+   * @since 1.1
+   */
+  MessageDto decode(byte[] data);
+
+  /**
+   * Encodes the provided list of messages (e.g. the response of a {@link SyncEndpointClient}
+   * request).
+   *
+   * @param msgs The messages to encode.
+   * @return A not empty byte array.
+   * @throws IllegalArgumentException If the list is null.
+   * @since 1.1
+   */
+  byte[] encodeList(List<MessageDto> msgs);
+
+  /**
+   * Decodes a list of messages encoded by {@link #encodeList(List)}.
+   *
+   * @param data The encoded messages.
+   * @return A not null list, eventually empty.
+   * @throws IllegalArgumentException If the data is null or is not a valid encoded list.
+   * @since 1.1
+   */
+  List<MessageDto> decodeList(byte[] data);
+}
@@ -15,6 +15,12 @@ import static org.assertj.core.api.Assertions.*;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.distributed.MessageDto;
 import org.eclipse.keyple.distributed.NodeCommunicationException;
@@ -648,4 +654,132 @@ public class AsyncNodeClientTest extends AbstractAsyncNodeTest {
     } catch (NullPointerException e) {
     }
   }
+
+  @Test
+  public void onMessage_whenSeveralRequestsInProgress_shouldEndEachRequestWithItsResponse()
+      throws Exception {
+    doEndpointToReturnAnswer(true, false, false);
+    openSessionInSafeMode();
+    final BlockingQueue<MessageDto> sentMessages = new LinkedBlockingQueue<MessageDto>();
+    doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                sentMessages.add((MessageDto) invocation.getArguments()[0]);
+                return null;
+              }
+            })
+        .when(endpoint)
+        .sendMessage(any(MessageDto.class));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<MessageDto> result1 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      MessageDto request1 = sentMessages.poll(5, TimeUnit.SECONDS);
+      Future<MessageDto> result2 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      MessageDto request2 = sentMessages.poll(5, TimeUnit.SECONDS);
+      assertThat(request1.getRequestId()).isNotNull().isNotEqualTo(request2.getRequestId());
+      MessageDto response2 = new MessageDto(response).setRequestId(request2.getRequestId());
+      MessageDto response1 = new MessageDto(response).setRequestId(request1.getRequestId());
+      node.onMessage(response2);
+      node.onMessage(response1);
+      assertThat(result1.get(5, TimeUnit.SECONDS)).isSameAs(response1);
+      assertThat(result2.get(5, TimeUnit.SECONDS)).isSameAs(response2);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void onMessage_whenServerRequestWithParentRequestId_shouldEndTheParentRequest()
+      throws Exception {
+    doEndpointToReturnAnswer(true, false, false);
+    openSessionInSafeMode();
+    final BlockingQueue<MessageDto> sentMessages = collectSentMessages();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<MessageDto> result1 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      MessageDto request1 = sentMessages.poll(5, TimeUnit.SECONDS);
+      Future<MessageDto> result2 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      MessageDto request2 = sentMessages.poll(5, TimeUnit.SECONDS);
+      MessageDto serverRequest =
+          new MessageDto(response)
+              .setRequestId("serverNodeId:1")
+              .setParentRequestId(request2.getRequestId());
+      node.onMessage(serverRequest);
+      assertThat(result2.get(5, TimeUnit.SECONDS)).isSameAs(serverRequest);
+      assertThat(result1.isDone()).isFalse();
+      MessageDto response1 = new MessageDto(response).setRequestId(request1.getRequestId());
+      node.onMessage(response1);
+      assertThat(result1.get(5, TimeUnit.SECONDS)).isSameAs(response1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void onMessage_whenUnknownRequestIdAndSeveralRequestsInProgress_shouldThrowISE()
+      throws Exception {
+    doEndpointToReturnAnswer(true, false, false);
+    openSessionInSafeMode();
+    final BlockingQueue<MessageDto> sentMessages = collectSentMessages();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<MessageDto> result1 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      sentMessages.poll(5, TimeUnit.SECONDS);
+      Future<MessageDto> result2 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      sentMessages.poll(5, TimeUnit.SECONDS);
+      try {
+        node.onMessage(new MessageDto(response).setRequestId("serverNodeId:1"));
+        shouldHaveThrown(IllegalStateException.class);
+      } catch (IllegalStateException e) {
+      }
+      assertThat(result1.isDone()).isFalse();
+      assertThat(result2.isDone()).isFalse();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void onMessage_whenResponseAfterTimeout_shouldThrowISE() {
+    doEndpointToReturnAnswer(true, false, false);
+    openSessionInSafeMode();
+    try {
+      node.sendRequest(msg);
+      shouldHaveThrown(NodeCommunicationException.class);
+    } catch (NodeCommunicationException e) {
+    }
+    node.onMessage(new MessageDto(response).setRequestId(msg.getRequestId()));
+  }
+
+  BlockingQueue<MessageDto> collectSentMessages() {
+    final BlockingQueue<MessageDto> sentMessages = new LinkedBlockingQueue<MessageDto>();
+    doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                sentMessages.add((MessageDto) invocation.getArguments()[0]);
+                return null;
+              }
+            })
+        .when(endpoint)
+        .sendMessage(any(MessageDto.class));
+    return sentMessages;
+  }
+
+  Callable<MessageDto> sendRequestTask(final MessageDto request) {
+    return new Callable<MessageDto>() {
+      @Override
+      public MessageDto call() {
+        return node.sendRequest(request);
+      }
+    };
+  }
+
+  @Test
+  public void onCodecNegotiated_shouldApplyToTheMessagesOfThisNode() {
+    assertThat(node.isNestedBodySupported(node.nodeId)).isFalse();
+    node.onCodecNegotiated(MessageDtoCodecs.JSON_NESTED_BODY_CODEC_NAME);
+    assertThat(node.isNestedBodySupported(node.nodeId)).isTrue();
+  }
 }
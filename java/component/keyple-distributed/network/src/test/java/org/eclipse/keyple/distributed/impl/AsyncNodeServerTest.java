@@ -15,6 +15,12 @@ import static org.assertj.core.api.Assertions.*;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.distributed.MessageDto;
 import org.eclipse.keyple.distributed.NodeCommunicationException;
@@ -377,4 +383,108 @@ public class AsyncNodeServerTest extends AbstractAsyncNodeTest {
     } catch (IllegalStateException e) {
     }
   }
+
+  @Test
+  public void onMessage_whenSeveralRequestsInProgress_shouldEndEachRequestWithItsResponse()
+      throws Exception {
+    initSession();
+    final BlockingQueue<MessageDto> sentMessages = new LinkedBlockingQueue<MessageDto>();
+    doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                sentMessages.add((MessageDto) invocation.getArguments()[0]);
+                return null;
+              }
+            })
+        .when(endpoint)
+        .sendMessage(any(MessageDto.class));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<MessageDto> result1 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      MessageDto request1 = sentMessages.poll(5, TimeUnit.SECONDS);
+      Future<MessageDto> result2 = executor.submit(sendRequestTask(new MessageDto(msg)));
+      MessageDto request2 = sentMessages.poll(5, TimeUnit.SECONDS);
+      assertThat(request1.getRequestId()).isNotNull().isNotEqualTo(request2.getRequestId());
+      MessageDto response2 = new MessageDto(response).setRequestId(request2.getRequestId());
+      MessageDto response1 = new MessageDto(response).setRequestId(request1.getRequestId());
+      node.onMessage(response2);
+      node.onMessage(response1);
+      assertThat(result1.get(5, TimeUnit.SECONDS)).isSameAs(response1);
+      assertThat(result2.get(5, TimeUnit.SECONDS)).isSameAs(response2);
+      verify(handler).onMessage(msg);
+      verifyNoMoreInteractions(handler);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void onMessage_whenRequestIdIsUnknownDuringSendRequest_shouldCallHandler() {
+    initSession();
+    final MessageDto clientRequest = new MessageDto(msg).setRequestId("clientNodeId:1");
+    doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                node.onMessage(clientRequest);
+                node.onMessage(response);
+                return null;
+              }
+            })
+        .when(endpoint)
+        .sendMessage(msg);
+    MessageDto result = node.sendRequest(msg);
+    assertThat(result).isSameAs(response);
+    verify(handler).onMessage(clientRequest);
+  }
+
+  @Test
+  public void sendMessage_whenCalledByTheHandler_shouldSetTheParentRequestId() {
+    initSession();
+    final MessageDto clientRequest = new MessageDto(msg).setRequestId("clientNodeId:1");
+    final MessageDto serverMessage = new MessageDto(msg);
+    doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) {
+                node.sendMessage(serverMessage);
+                return null;
+              }
+            })
+        .when(handler)
+        .onMessage(clientRequest);
+    node.onMessage(clientRequest);
+    assertThat(serverMessage.getParentRequestId()).isEqualTo("clientNodeId:1");
+    MessageDto otherMessage = new MessageDto(msg);
+    node.sendMessage(otherMessage);
+    assertThat(otherMessage.getParentRequestId()).isNull();
+  }
+
+  Callable<MessageDto> sendRequestTask(final MessageDto request) {
+    return new Callable<MessageDto>() {
+      @Override
+      public MessageDto call() {
+        return node.sendRequest(request);
+      }
+    };
+  }
+
+  @Test
+  public void onCodecNegotiated_shouldTellIfTheClientSupportsTheNestedBodies() {
+    assertThat(node.isNestedBodySupported("client1")).isFalse();
+    node.onCodecNegotiated("client1", MessageDtoCodecs.BINARY_CODEC_NAME);
+    node.onCodecNegotiated("client2", MessageDtoCodecs.JSON_CODEC_NAME);
+    assertThat(node.isNestedBodySupported("client1")).isTrue();
+    assertThat(node.isNestedBodySupported("client2")).isFalse();
+    assertThat(node.isNestedBodySupported(null)).isFalse();
+    // renegotiation
+    node.onCodecNegotiated("client1", MessageDtoCodecs.JSON_CODEC_NAME);
+    assertThat(node.isNestedBodySupported("client1")).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void onCodecNegotiated_whenClientNodeIdIsNull_shouldThrowIAE() {
+    node.onCodecNegotiated(null, MessageDtoCodecs.BINARY_CODEC_NAME);
+  }
 }
@@ -0,0 +1,103 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.keyple.core.card.message.ApduRequest;
+import org.eclipse.keyple.core.card.message.CardRequest;
+import org.eclipse.keyple.core.card.message.ChannelControl;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.json.KeypleGsonParser;
+import org.junit.Test;
+
+public class JsonBodyReaderTest {
+
+  CardRequest cardRequest =
+      new CardRequest(
+          Arrays.asList(new ApduRequest(ByteArrayUtil.fromHex("00B2014400"), false).setName("R")));
+
+  @Test
+  public void write_shouldProduceTheSameJsonAsTheTreeModel() {
+    JsonObject expected = new JsonObject();
+    expected.add("cardRequest", KeypleGsonParser.getParser().toJsonTree(cardRequest));
+    expected.addProperty("channelControl", ChannelControl.KEEP_OPEN.name());
+    expected.add("userInputData", KeypleGsonParser.getParser().toJsonTree(null));
+
+    String body =
+        new JsonBodyWriter()
+            .add("cardRequest", cardRequest, CardRequest.class)
+            .add("channelControl", ChannelControl.KEEP_OPEN.name())
+            .add("userInputData", null)
+            .toJson();
+
+    assertThat(body).isEqualTo(expected.toString());
+  }
+
+  @Test
+  public void read_shouldReturnTheExpectedValuesAndSkipTheOthers() {
+    String body =
+        new JsonBodyWriter()
+            .add("unknown", Arrays.asList(1, 2, 3))
+            .add("cardRequest", cardRequest, CardRequest.class)
+            .add("channelControl", ChannelControl.CLOSE_AFTER.name())
+            .add("userInputData", null)
+            .toJson();
+
+    JsonBodyReader reader =
+        new JsonBodyReader()
+            .expect("cardRequest", CardRequest.class)
+            .expect("channelControl", ChannelControl.class)
+            .expect("userInputData", JsonElement.class)
+            .expect("missing", String.class)
+            .read(body);
+
+    assertThat(reader.<CardRequest>get("cardRequest"))
+        .isEqualToComparingFieldByFieldRecursively(cardRequest);
+    assertThat(reader.<ChannelControl>get("channelControl")).isEqualTo(ChannelControl.CLOSE_AFTER);
+    assertThat(reader.has("userInputData")).isTrue();
+    assertThat(reader.<JsonElement>get("userInputData").toString()).isEqualTo("null");
+    assertThat(reader.has("missing")).isFalse();
+    assertThat(reader.has("unknown")).isFalse();
+  }
+
+  @Test
+  public void read_whenNestedObjectIsAJsonString_shouldDecodeIt() {
+    JsonObject legacy = new JsonObject();
+    legacy.addProperty(
+        "cardRequests",
+        KeypleGsonParser.getParser()
+            .toJson(
+                Arrays.asList(cardRequest), new TypeToken<ArrayList<CardRequest>>() {}.getType()));
+
+    JsonBodyReader reader =
+        new JsonBodyReader()
+            .expect("cardRequests", new TypeToken<ArrayList<CardRequest>>() {}.getType())
+            .read(legacy.toString());
+
+    List<CardRequest> cardRequests = reader.get("cardRequests");
+    assertThat(cardRequests).hasSize(1);
+    assertThat(cardRequests.get(0)).isEqualToComparingFieldByFieldRecursively(cardRequest);
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void read_whenBodyIsNotAnObject_shouldThrowJSE() {
+    new JsonBodyReader().expect("cardRequest", CardRequest.class).read("[]");
+  }
+}
@@ -0,0 +1,226 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.distributed.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.distributed.MessageDto;
+import org.eclipse.keyple.distributed.spi.MessageDtoCodec;
+import org.junit.Test;
+
+public class MessageDtoCodecsTest {
+
+  static final String body =
+      "{\"cardRequest\":{\"apduRequests\":[{\"bytes\":\"00B2014400\",\"successfulStatusCodes\":"
+          + "[36864],\"info\":\"Read Records - SFI: 8h, REC: 1\",\"isCase4\":false}],"
+          + "\"isStatusCodesVerificationEnabled\":true},\"channelControl\":\"KEEP_OPEN\"}";
+
+  MessageDto msg =
+      new MessageDto() //
+          .setSessionId("5f3a2b1c-9d8e-4f7a-b6c5-d4e3f2a1b0c9") //
+          .setAction(MessageDto.Action.TRANSMIT.name()) //
+          .setClientNodeId("clientNodeId") //
+          .setServerNodeId("serverNodeId") //
+          .setLocalReaderName("localReaderName") //
+          .setRemoteReaderName("remoteReaderName") //
+          .setBody(body);
+
+  @Test
+  public void encode_decode_shouldReturnAnEqualMessage() {
+    for (MessageDto.Action action : MessageDto.Action.values()) {
+      msg.setAction(action.name());
+      assertEqual(codecRoundTrip(MessageDtoCodecs.getBinaryCodec(), msg), msg);
+      assertEqual(codecRoundTrip(MessageDtoCodecs.getJsonCodec(), msg), msg);
+    }
+  }
+
+  @Test
+  public void binaryCodec_encode_decode_whenFieldsAreNull_shouldReturnNullFields() {
+    MessageDto empty = new MessageDto();
+    MessageDto decoded = codecRoundTrip(MessageDtoCodecs.getBinaryCodec(), empty);
+    assertEqual(decoded, empty);
+    assertThat(MessageDtoCodecs.getBinaryCodec().encode(empty)).hasSize(9);
+  }
+
+  @Test
+  public void binaryCodec_encode_decode_whenActionIsUnknown_shouldKeepTheActionName() {
+    msg.setAction("CUSTOM_ACTION");
+    assertEqual(codecRoundTrip(MessageDtoCodecs.getBinaryCodec(), msg), msg);
+  }
+
+  @Test
+  public void binaryCodec_encode_decode_whenNonAsciiChars_shouldBeUtf8Encoded() {
+    msg.setBody("é€😀").setLocalReaderName("lecteur-à-l'accueil");
+    MessageDto decoded = codecRoundTrip(MessageDtoCodecs.getBinaryCodec(), msg);
+    assertEqual(decoded, msg);
+  }
+
+  @Test
+  public void binaryCodec_encode_decode_whenLongBody_shouldUseMultiBytesLength() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      sb.append((char) ('A' + i % 26));
+    }
+    msg.setBody(sb.toString());
+    assertEqual(codecRoundTrip(MessageDtoCodecs.getBinaryCodec(), msg), msg);
+  }
+
+  @Test
+  public void binaryCodec_shouldBeSmallerThanJsonCodec() {
+    int binarySize = MessageDtoCodecs.getBinaryCodec().encode(msg).length;
+    int jsonSize = MessageDtoCodecs.getJsonCodec().encode(msg).length;
+    assertThat(binarySize).isLessThan(jsonSize);
+  }
+
+  @Test
+  public void encodeList_decodeList_shouldReturnEqualMessages() {
+    List<MessageDto> msgs = new ArrayList<MessageDto>();
+    msgs.add(msg);
+    msgs.add(new MessageDto(msg).setAction(MessageDto.Action.ERROR.name()).setBody(null));
+    for (MessageDtoCodec codec :
+        Arrays.asList(MessageDtoCodecs.getBinaryCodec(), MessageDtoCodecs.getJsonCodec())) {
+      List<MessageDto> decoded = codec.decodeList(codec.encodeList(msgs));
+      assertThat(decoded).hasSize(2);
+      assertEqual(decoded.get(0), msgs.get(0));
+      assertEqual(decoded.get(1), msgs.get(1));
+      assertThat(codec.decodeList(codec.encodeList(new ArrayList<MessageDto>()))).isEmpty();
+    }
+  }
+
+  @Test
+  public void encode_decode_whenRequestIdIsSet_shouldKeepTheRequestId() {
+    msg.setRequestId("clientNodeId:1");
+    for (MessageDtoCodec codec :
+        Arrays.asList(MessageDtoCodecs.getBinaryCodec(), MessageDtoCodecs.getJsonCodec())) {
+      MessageDto decoded = codecRoundTrip(codec, msg);
+      assertThat(decoded.getRequestId()).isEqualTo("clientNodeId:1");
+      assertEqual(decoded, msg);
+    }
+  }
+
+  @Test
+  public void binaryCodec_encode_whenRequestIdIsNull_shouldNotIncreaseTheSize() {
+    int sizeWithoutRequestId = MessageDtoCodecs.getBinaryCodec().encode(msg).length;
+    msg.setRequestId("");
+    // the empty request id and the null parent request id take one byte each
+    assertThat(MessageDtoCodecs.getBinaryCodec().encode(msg)).hasSize(sizeWithoutRequestId + 2);
+  }
+
+  @Test
+  public void encode_decode_whenParentRequestIdIsSet_shouldKeepTheParentRequestId() {
+    msg.setParentRequestId("clientNodeId:1");
+    for (MessageDtoCodec codec :
+        Arrays.asList(MessageDtoCodecs.getBinaryCodec(), MessageDtoCodecs.getJsonCodec())) {
+      MessageDto decoded = codecRoundTrip(codec, msg);
+      assertThat(decoded.getParentRequestId()).isEqualTo("clientNodeId:1");
+      assertThat(decoded.getRequestId()).isNull();
+      assertEqual(decoded, msg);
+    }
+  }
+
+  @Test
+  public void binaryCodec_encodeList_decodeList_whenSomeRequestIdsAreSet_shouldKeepThem() {
+    List<MessageDto> msgs = new ArrayList<MessageDto>();
+    msgs.add(msg);
+    msgs.add(new MessageDto(msg).setRequestId("serverNodeId:2"));
+    MessageDtoCodec codec = MessageDtoCodecs.getBinaryCodec();
+    List<MessageDto> decoded = codec.decodeList(codec.encodeList(msgs));
+    assertThat(decoded).hasSize(2);
+    assertEqual(decoded.get(0), msgs.get(0));
+    assertEqual(decoded.get(1), msgs.get(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void binaryCodec_decodeList_whenSingleMessageWithRequestId_shouldThrowIAE() {
+    msg.setRequestId("clientNodeId:1");
+    MessageDtoCodecs.getBinaryCodec().decodeList(MessageDtoCodecs.getBinaryCodec().encode(msg));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void binaryCodec_decode_whenTruncated_shouldThrowIAE() {
+    byte[] data = MessageDtoCodecs.getBinaryCodec().encode(msg);
+    MessageDtoCodecs.getBinaryCodec().decode(Arrays.copyOf(data, data.length - 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void binaryCodec_decode_whenJsonData_shouldThrowIAE() {
+    MessageDtoCodecs.getBinaryCodec().decode(MessageDtoCodecs.getJsonCodec().encode(msg));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void binaryCodec_decodeList_whenSingleMessage_shouldThrowIAE() {
+    MessageDtoCodecs.getBinaryCodec().decodeList(MessageDtoCodecs.getBinaryCodec().encode(msg));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void jsonCodec_decode_whenMalformed_shouldThrowIAE() {
+    MessageDtoCodecs.getJsonCodec().decode("{\"sessionId\":".getBytes());
+  }
+
+  @Test
+  public void getCodec_shouldReturnTheCodecHavingTheName() {
+    for (String name : MessageDtoCodecs.getSupportedCodecNames()) {
+      assertThat(MessageDtoCodecs.getCodec(name).getName()).isEqualTo(name);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getCodec_whenUnknown_shouldThrowIAE() {
+    MessageDtoCodecs.getCodec("xml");
+  }
+
+  @Test
+  public void negotiate_shouldReturnTheFirstSupportedCodecOfThePeer() {
+    assertThat(
+            MessageDtoCodecs.negotiate(
+                Arrays.asList("xml", MessageDtoCodecs.JSON_CODEC_NAME, "keyple-binary-1")))
+        .isSameAs(MessageDtoCodecs.getJsonCodec());
+    assertThat(MessageDtoCodecs.negotiate(MessageDtoCodecs.getSupportedCodecNames()))
+        .isSameAs(MessageDtoCodecs.getBinaryCodec());
+  }
+
+  @Test
+  public void isNestedBodySupported_shouldBeTrueOnlyForTheNewCodecs() {
+    assertThat(MessageDtoCodecs.isNestedBodySupported(MessageDtoCodecs.BINARY_CODEC_NAME)).isTrue();
+    assertThat(MessageDtoCodecs.isNestedBodySupported(MessageDtoCodecs.JSON_NESTED_BODY_CODEC_NAME))
+        .isTrue();
+    assertThat(MessageDtoCodecs.isNestedBodySupported(MessageDtoCodecs.JSON_CODEC_NAME)).isFalse();
+    assertThat(MessageDtoCodecs.isNestedBodySupported("xml")).isFalse();
+    assertThat(MessageDtoCodecs.isNestedBodySupported(null)).isFalse();
+  }
+
+  @Test
+  public void jsonNestedBodyCodec_shouldEncodeAsTheJsonCodec() {
+    MessageDto msg = new MessageDto().setSessionId("s1").setAction("TRANSMIT").setBody("{}");
+    assertThat(MessageDtoCodecs.getJsonNestedBodyCodec().encode(msg))
+        .isEqualTo(MessageDtoCodecs.getJsonCodec().encode(msg));
+  }
+
+  @Test
+  public void negotiate_whenNoCommonCodec_shouldReturnTheJsonCodec() {
+    assertThat(MessageDtoCodecs.negotiate(null)).isSameAs(MessageDtoCodecs.getJsonCodec());
+    assertThat(MessageDtoCodecs.negotiate(Collections.singletonList("xml")))
+        .isSameAs(MessageDtoCodecs.getJsonCodec());
+  }
+
+  MessageDto codecRoundTrip(MessageDtoCodec codec, MessageDto msg) {
+    return codec.decode(codec.encode(msg));
+  }
+
+  void assertEqual(MessageDto actual, MessageDto expected) {
+    assertThat(actual).isEqualToComparingFieldByField(expected);
+  }
+}
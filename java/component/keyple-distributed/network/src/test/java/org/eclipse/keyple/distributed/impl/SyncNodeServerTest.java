@@ -12,10 +12,16 @@
 package org.eclipse.keyple.distributed.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.distributed.MessageDto;
 import org.eclipse.keyple.distributed.NodeCommunicationException;
@@ -439,10 +445,15 @@ public class SyncNodeServerTest extends AbstractSyncNodeTest {
     node.sendRequest(msg2);
   }
 
-  @Test(expected = NullPointerException.class)
-  public void sendRequest_whenNoPendingClientTaskNoClientTimeout_shouldNPE() {
+  @Test
+  public void sendRequest_whenSessionIsClosed_shouldThrowNCE() {
     node = new SyncNodeServerImpl(handler, 1);
-    node.sendRequest(msg);
+    try {
+      node.sendRequest(msg);
+      fail("Request should have been rejected");
+    } catch (NodeCommunicationException e) {
+      assertThat(e.getMessage()).contains(msg.getSessionId());
+    }
   }
 
   @Test(expected = NodeCommunicationException.class)
@@ -551,4 +562,177 @@ public class SyncNodeServerTest extends AbstractSyncNodeTest {
     await().atMost(5, TimeUnit.SECONDS).until(threadHasStateTerminated(clientTask));
     assertThat(clientTask.responses).containsExactly(msg2);
   }
+
+  MessageDto buildMessageForSession(String sessionId) {
+    return buildMinimalMessage().setSessionId(sessionId);
+  }
+
+  void openSessionWithHandlerError(String sessionId) {
+    try {
+      node.onRequest(buildMessageForSession(sessionId));
+      fail("Handler error should have been thrown");
+    } catch (NodeCommunicationException e) {
+      assertThat(e).hasMessage("TEST");
+    }
+  }
+
+  @Test
+  public void onRequest_whenHandlerError_shouldEvictTheSessionAfterMaxIdleTime() {
+    node = new SyncNodeServerImpl(handler, 1, 50, 10);
+    setHandlerError();
+    openSessionWithHandlerError(sessionId1);
+    assertThat(node.getSessionsNumber()).isEqualTo(1);
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .until(
+            new Callable<Boolean>() {
+              @Override
+              public Boolean call() {
+                return node.getSessionsNumber() == 0;
+              }
+            });
+    assertThat(node.getEvictedSessionsNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void evictIdleManagers_whenSessionIsInUse_shouldNotEvictTheSession() throws Exception {
+    node = new SyncNodeServerImpl(handler, 1, 1, 10);
+    Thread clientTask = callOnRequestFromAnotherThread(msg);
+    await().atMost(5, TimeUnit.SECONDS).until(threadHasStateTimedWaiting(clientTask));
+    Thread.sleep(10);
+    assertThat(node.evictIdleManagers()).isZero();
+    assertThat(node.getSessionsNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void onRequest_whenMaxSessionsNumberIsReached_shouldRejectNewSessions() {
+    node = new SyncNodeServerImpl(handler, 1, 60000, 2);
+    setHandlerError();
+    openSessionWithHandlerError("sessionId1");
+    openSessionWithHandlerError("sessionId2");
+    try {
+      node.onRequest(buildMessageForSession("sessionId3"));
+      fail("Session should have been rejected");
+    } catch (NodeCommunicationException e) {
+      assertThat(e.getMessage()).contains("maximum number");
+    }
+    assertThat(node.getSessionsNumber()).isEqualTo(2);
+    assertThat(node.getRejectedSessionsNumber()).isEqualTo(1);
+    verify(handler, times(2)).onMessage(any(MessageDto.class));
+  }
+
+  @Test
+  public void onRequest_whenMaxSessionsNumberIsReachedWithIdleSessions_shouldEvictThemFirst()
+      throws Exception {
+    node = new SyncNodeServerImpl(handler, 1, 60000, 1);
+    setHandlerError();
+    openSessionWithHandlerError("sessionId1");
+    node.setMaxSessionIdleTime(1);
+    Thread.sleep(1100);
+    openSessionWithHandlerError("sessionId2");
+    assertThat(node.getSessionsNumber()).isEqualTo(1);
+    assertThat(node.getEvictedSessionsNumber()).isEqualTo(1);
+    assertThat(node.getRejectedSessionsNumber()).isZero();
+  }
+
+  @Test
+  public void onRequest_whenMaxSessionsNumberIsReached_shouldRejectNewEventClients() {
+    node = new SyncNodeServerImpl(handler, 1, 60000, 1);
+    node.onRequest(pluginCheckPollingClient1);
+    node.onRequest(pluginCheckPollingClient1);
+    try {
+      node.onRequest(buildCheckEventMessage(clientNodeId2, true, false, false));
+      fail("Event client should have been rejected");
+    } catch (NodeCommunicationException e) {
+      assertThat(e.getMessage()).contains("maximum number");
+    }
+    assertThat(node.getEventClientsNumber()).isEqualTo(1);
+    assertThat(node.getRejectedSessionsNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void onRequest_whenMaxSessionsNumberIsReachedByEventClients_shouldRejectNewSessions() {
+    node = new SyncNodeServerImpl(handler, 1, 60000, 2);
+    node.onRequest(pluginCheckPollingClient1);
+    node.onRequest(readerCheckPollingClient1);
+    try {
+      node.onRequest(buildMessageForSession("sessionId1"));
+      fail("Session should have been rejected");
+    } catch (NodeCommunicationException e) {
+      assertThat(e.getMessage()).contains("maximum number");
+    }
+    assertThat(node.getSessionsNumber()).isZero();
+    assertThat(node.getEventClientsNumber()).isEqualTo(2);
+    assertThat(node.getRejectedSessionsNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void onRequest_whenConcurrentRequestsOfANewEventClient_shouldCreateASingleManager()
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<MessageDto>>> results = new ArrayList<Future<List<MessageDto>>>();
+      for (int i = 0; i < 32; i++) {
+        results.add(
+            executor.submit(
+                new Callable<List<MessageDto>>() {
+                  @Override
+                  public List<MessageDto> call() {
+                    return node.onRequest(readerCheckPollingClient1);
+                  }
+                }));
+      }
+      for (Future<List<MessageDto>> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEmpty();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(node.getEventClientsNumber()).isEqualTo(1);
+  }
+
+  @Test
+  public void onRequest_whenConcurrentRequestsOfNewEventClients_shouldNotExceedMaxSessionsNumber()
+      throws Exception {
+    node = new SyncNodeServerImpl(handler, 1, 60000, 4);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    int rejected = 0;
+    try {
+      List<Future<List<MessageDto>>> results = new ArrayList<Future<List<MessageDto>>>();
+      for (int i = 0; i < 32; i++) {
+        final MessageDto request = buildCheckEventMessage("clientNodeId" + i, false, false, false);
+        results.add(
+            executor.submit(
+                new Callable<List<MessageDto>>() {
+                  @Override
+                  public List<MessageDto> call() {
+                    return node.onRequest(request);
+                  }
+                }));
+      }
+      for (Future<List<MessageDto>> result : results) {
+        try {
+          result.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+          assertThat(e.getCause()).isInstanceOf(NodeCommunicationException.class);
+          rejected++;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(node.getEventClientsNumber()).isEqualTo(4);
+    assertThat(rejected).isEqualTo(28);
+    assertThat(node.getRejectedSessionsNumber()).isEqualTo(28);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setMaxSessionIdleTime_whenZero_shouldThrowIAE() {
+    node.setMaxSessionIdleTime(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setMaxSessionsNumber_whenZero_shouldThrowIAE() {
+    node.setMaxSessionsNumber(0);
+  }
 }
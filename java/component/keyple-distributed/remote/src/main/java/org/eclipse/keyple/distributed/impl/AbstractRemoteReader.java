@@ -11,8 +11,8 @@
  ************************************************************************************** */
 package org.eclipse.keyple.distributed.impl;
 
-import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
 import java.util.*;
 import org.eclipse.keyple.core.card.message.*;
 import org.eclipse.keyple.core.card.selection.MultiSelectionProcessing;
@@ -70,16 +70,20 @@ abstract class AbstractRemoteReader extends AbstractReader {
       MultiSelectionProcessing multiSelectionProcessing,
       ChannelControl channelControl) {
 
-    // Build the message
-    JsonObject body = new JsonObject();
-    body.addProperty(
-        "cardSelectionRequests",
-        KeypleGsonParser.getParser()
-            .toJson(
-                cardSelectionRequests,
-                new TypeToken<ArrayList<CardSelectionRequest>>() {}.getType()));
-    body.addProperty("multiSelectionProcessing", multiSelectionProcessing.name());
-    body.addProperty("channelControl", channelControl.name());
+    // Build the message, the requests are nested as a string unless the peer supports objects
+    JsonBodyWriter bodyWriter = new JsonBodyWriter();
+    Type cardSelectionRequestsType = new TypeToken<ArrayList<CardSelectionRequest>>() {}.getType();
+    if (node.isNestedBodySupported(clientNodeId)) {
+      bodyWriter.add("cardSelectionRequests", cardSelectionRequests, cardSelectionRequestsType);
+    } else {
+      bodyWriter.addAsString(
+          "cardSelectionRequests", cardSelectionRequests, cardSelectionRequestsType);
+    }
+    String body =
+        bodyWriter
+            .add("multiSelectionProcessing", multiSelectionProcessing.name())
+            .add("channelControl", channelControl.name())
+            .toJson();
 
     // Send the message as a request
     MessageDto response = sendRequest(MessageDto.Action.TRANSMIT_CARD_SELECTION, body);
@@ -99,11 +103,14 @@ abstract class AbstractRemoteReader extends AbstractReader {
   protected CardResponse processCardRequest(
       CardRequest cardRequest, ChannelControl channelControl) {
 
-    // Build the message
-    JsonObject body = new JsonObject();
-    body.addProperty(
-        "cardRequest", KeypleGsonParser.getParser().toJson(cardRequest, CardRequest.class));
-    body.addProperty("channelControl", channelControl.name());
+    // Build the message, the card request is nested as a string unless the peer supports objects
+    JsonBodyWriter bodyWriter = new JsonBodyWriter();
+    if (node.isNestedBodySupported(clientNodeId)) {
+      bodyWriter.add("cardRequest", cardRequest, CardRequest.class);
+    } else {
+      bodyWriter.addAsString("cardRequest", cardRequest, CardRequest.class);
+    }
+    String body = bodyWriter.add("channelControl", channelControl.name()).toJson();
 
     // Send the message as a request
     MessageDto response = sendRequest(MessageDto.Action.TRANSMIT, body);
@@ -185,7 +192,7 @@ abstract class AbstractRemoteReader extends AbstractReader {
    * @return a not null reference.
    * @since 1.0
    */
-  MessageDto sendRequest(MessageDto.Action action, JsonObject body) {
+  MessageDto sendRequest(MessageDto.Action action, String body) {
 
     // Build the message
     MessageDto message =
@@ -195,7 +202,7 @@ abstract class AbstractRemoteReader extends AbstractReader {
             .setRemoteReaderName(getName()) //
             .setLocalReaderName(localReaderName) //
             .setClientNodeId(clientNodeId) //
-            .setBody(body != null ? body.toString() : null);
+            .setBody(body);
 
     // Send the message as a request
     MessageDto response = node.sendRequest(message);
@@ -12,7 +12,6 @@
 package org.eclipse.keyple.distributed.impl;
 
 import com.google.gson.JsonObject;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import org.eclipse.keyple.core.plugin.ObservableReaderNotifier;
@@ -20,6 +19,7 @@ import org.eclipse.keyple.core.service.event.AbstractDefaultSelectionsRequest;
 import org.eclipse.keyple.core.service.event.ObservableReader;
 import org.eclipse.keyple.core.service.event.ReaderEvent;
 import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.ObserverRegistry;
 import org.eclipse.keyple.core.util.json.KeypleGsonParser;
 import org.eclipse.keyple.distributed.MessageDto;
 import org.slf4j.Logger;
@@ -38,7 +38,7 @@ final class ObservableRemoteReaderImpl extends AbstractRemoteReader
 
   private static final Logger logger = LoggerFactory.getLogger(ObservableRemoteReaderImpl.class);
 
-  private final List<ReaderObserver> observers;
+  private final ObserverRegistry<ReaderObserver> observers;
   private final ExecutorService eventNotificationPool;
 
   /**
@@ -60,7 +60,7 @@ final class ObservableRemoteReaderImpl extends AbstractRemoteReader
       String clientNodeId,
       ExecutorService eventNotificationPool) {
     super(pluginName, localReaderName, node, sessionId, clientNodeId);
-    this.observers = new ArrayList<ReaderObserver>();
+    this.observers = new ObserverRegistry<ReaderObserver>();
     this.eventNotificationPool = eventNotificationPool;
   }
 
@@ -79,10 +79,11 @@ final class ObservableRemoteReaderImpl extends AbstractRemoteReader
           event.getEventType().name());
     }
 
-    List<ReaderObserver> observersCopy = new ArrayList<ReaderObserver>(observers);
+    List<ReaderObserver> observersSnapshot = observers.getObservers();
 
     /* Notify each observer of the readerEvent in a separate thread */
-    for (final ObservableReader.ReaderObserver observer : observersCopy) {
+    for (int i = 0; i < observersSnapshot.size(); i++) {
+      final ObservableReader.ReaderObserver observer = observersSnapshot.get(i);
       eventNotificationPool.execute(
           new Runnable() {
             @Override
@@ -157,7 +158,7 @@ final class ObservableRemoteReaderImpl extends AbstractRemoteReader
 
     body.addProperty("pollingMode", pollingMode.name());
 
-    sendRequest(MessageDto.Action.START_CARD_DETECTION, body);
+    sendRequest(MessageDto.Action.START_CARD_DETECTION, body.toString());
   }
 
   /**
@@ -209,7 +210,7 @@ final class ObservableRemoteReaderImpl extends AbstractRemoteReader
       body.addProperty("pollingMode", pollingMode.name());
     }
 
-    sendRequest(MessageDto.Action.SET_DEFAULT_SELECTION, body);
+    sendRequest(MessageDto.Action.SET_DEFAULT_SELECTION, body.toString());
   }
 
   /**
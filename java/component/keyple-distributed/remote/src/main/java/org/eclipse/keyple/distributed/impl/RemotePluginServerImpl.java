@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.distributed.impl;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -96,17 +97,18 @@ final class RemotePluginServerImpl extends AbstractRemotePlugin implements Remot
       case READER_EVENT:
         Assert.getInstance().notNull(message.getRemoteReaderName(), "remoteReaderName");
 
-        ObservableRemoteReaderServerImpl delegateRemoteReader = createSlaveReader(message);
+        // parse the body once for both the reader event and the user input data
+        JsonBodyReader body =
+            new JsonBodyReader()
+                .expect("readerEvent", ReaderEvent.class)
+                .expect(USER_INPUT_DATA, JsonElement.class)
+                .read(message.getBody());
+
+        ObservableRemoteReaderServerImpl delegateRemoteReader = createSlaveReader(message, body);
         readers.put(delegateRemoteReader.getName(), delegateRemoteReader);
 
         // notify observers of this event
-        ReaderEvent readerEvent =
-            KeypleGsonParser.getParser()
-                .fromJson(
-                    KeypleGsonParser.getParser()
-                        .fromJson(message.getBody(), JsonObject.class)
-                        .get("readerEvent"),
-                    ReaderEvent.class);
+        ReaderEvent readerEvent = body.get("readerEvent");
 
         delegateRemoteReader.notifyObservers(
             new ReaderEvent(
@@ -312,16 +314,17 @@ final class RemotePluginServerImpl extends AbstractRemotePlugin implements Remot
    * Create a reader to handle the communication in the session of the event notification
    *
    * @param message incoming reader event message
+   * @param body The body of the message already read.
    * @return non null instance of a ObservableRemoteReaderServerImpl
    */
-  private ObservableRemoteReaderServerImpl createSlaveReader(MessageDto message) {
+  private ObservableRemoteReaderServerImpl createSlaveReader(
+      MessageDto message, JsonBodyReader body) {
 
     final ObservableRemoteReaderServerImpl observableRemoteReaderServer =
         (ObservableRemoteReaderServerImpl) getReader(message.getRemoteReaderName());
-    final JsonObject body =
-        KeypleGsonParser.getParser().fromJson(message.getBody(), JsonObject.class);
 
-    String userInputData = body.has(USER_INPUT_DATA) ? body.get(USER_INPUT_DATA).toString() : null;
+    String userInputData =
+        body.has(USER_INPUT_DATA) ? body.<JsonElement>get(USER_INPUT_DATA).toString() : null;
 
     ObservableRemoteReaderImpl observableRemoteReader =
         new ObservableRemoteReaderImpl(
@@ -15,6 +15,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import java.util.*;
 import org.eclipse.keyple.core.card.message.*;
@@ -27,6 +29,8 @@ import org.eclipse.keyple.distributed.NodeCommunicationException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.junit.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -75,6 +79,23 @@ public class RemoteReaderImplTest {
     assertThat(cardResponseReturned).isEqualToComparingFieldByField(cardResponse);
   }
 
+  @Test
+  public void processCardRequest_whenNestedBodyNotNegotiated_shouldSendTheCardRequestAsAString() {
+    JsonObject body = transmitCardRequestAndGetBody();
+    assertThat(body.get("cardRequest").isJsonPrimitive()).isTrue();
+    assertThat(
+            KeypleGsonParser.getParser()
+                .fromJson(body.get("cardRequest").getAsString(), CardRequest.class))
+        .isEqualToComparingFieldByFieldRecursively(SampleFactory.getACardRequest());
+  }
+
+  @Test
+  public void processCardRequest_whenNestedBodyNegotiated_shouldSendTheCardRequestAsAnObject() {
+    doReturn(true).when(node).isNestedBodySupported(ArgumentMatchers.<String>isNull());
+    JsonObject body = transmitCardRequestAndGetBody();
+    assertThat(body.get("cardRequest").isJsonObject()).isTrue();
+  }
+
   @Test(expected = NodeCommunicationException.class)
   public void processCardRequest_whenNodeTimeout_shouldThrowNCE() {
 
@@ -135,6 +156,28 @@ public class RemoteReaderImplTest {
     assertThat(cardResponsesReturned).hasSameElementsAs(cardResponses);
   }
 
+  @Test
+  public void
+      processCardRequests_whenNestedBodyNotNegotiated_shouldSendTheSelectionRequestsAsAString() {
+    JsonObject body = transmitCardSelectionRequestsAndGetBody();
+    assertThat(body.get("cardSelectionRequests").isJsonPrimitive()).isTrue();
+    List<CardSelectionRequest> cardSelectionRequests =
+        KeypleGsonParser.getParser()
+            .fromJson(
+                body.get("cardSelectionRequests").getAsString(),
+                new TypeToken<ArrayList<CardSelectionRequest>>() {}.getType());
+    assertThat(cardSelectionRequests)
+        .hasSize(SampleFactory.getACardRequestList_ISO14443_4().size());
+  }
+
+  @Test
+  public void
+      processCardRequests_whenNestedBodyNegotiated_shouldSendTheSelectionRequestsAsAnArray() {
+    doReturn(true).when(node).isNestedBodySupported(ArgumentMatchers.<String>isNull());
+    JsonObject body = transmitCardSelectionRequestsAndGetBody();
+    assertThat(body.get("cardSelectionRequests").isJsonArray()).isTrue();
+  }
+
   @Test(expected = NodeCommunicationException.class)
   public void processCardRequests_whenNodeTimeout_shouldThrowNCE() {
 
@@ -291,6 +334,37 @@ public class RemoteReaderImplTest {
     reader.deactivateProtocol("any");
   }
 
+  private JsonObject transmitCardRequestAndGetBody() {
+    MessageDto responseDto =
+        new MessageDto() //
+            .setAction(MessageDto.Action.TRANSMIT.name()) //
+            .setBody(
+                KeypleGsonParser.getParser()
+                    .toJson(SampleFactory.getACardResponse(), CardResponse.class));
+    ArgumentCaptor<MessageDto> requestCaptor = ArgumentCaptor.forClass(MessageDto.class);
+    doReturn(responseDto).when(node).sendRequest(requestCaptor.capture());
+    reader.processCardRequest(SampleFactory.getACardRequest(), ChannelControl.KEEP_OPEN);
+    return new JsonParser().parse(requestCaptor.getValue().getBody()).getAsJsonObject();
+  }
+
+  private JsonObject transmitCardSelectionRequestsAndGetBody() {
+    MessageDto responseDto =
+        new MessageDto() //
+            .setAction(MessageDto.Action.TRANSMIT_CARD_SELECTION.name()) //
+            .setBody(
+                KeypleGsonParser.getParser()
+                    .toJson(
+                        SampleFactory.getCompleteResponseList(),
+                        new TypeToken<ArrayList<CardResponse>>() {}.getType()));
+    ArgumentCaptor<MessageDto> requestCaptor = ArgumentCaptor.forClass(MessageDto.class);
+    doReturn(responseDto).when(node).sendRequest(requestCaptor.capture());
+    reader.processCardSelectionRequests(
+        SampleFactory.getACardRequestList_ISO14443_4(),
+        MultiSelectionProcessing.FIRST_MATCH,
+        ChannelControl.KEEP_OPEN);
+    return new JsonParser().parse(requestCaptor.getValue().getBody()).getAsJsonObject();
+  }
+
   private void mockTimeout() {
     doThrow(new NodeCommunicationException("test")).when(node).sendRequest(any(MessageDto.class));
   }
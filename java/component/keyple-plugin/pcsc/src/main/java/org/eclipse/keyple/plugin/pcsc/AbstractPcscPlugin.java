@@ -22,6 +22,7 @@ import javax.smartcardio.CardTerminal;
 import javax.smartcardio.CardTerminals;
 import org.eclipse.keyple.core.plugin.AbstractReader;
 import org.eclipse.keyple.core.plugin.AbstractThreadedObservablePlugin;
+import org.eclipse.keyple.core.plugin.ReaderMonitoringScheduler;
 import org.eclipse.keyple.core.service.Reader;
 import org.eclipse.keyple.core.service.event.PluginObservationExceptionHandler;
 import org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler;
@@ -42,10 +43,15 @@ abstract class AbstractPcscPlugin extends AbstractThreadedObservablePlugin imple
 
   private static final Logger logger = LoggerFactory.getLogger(AbstractPcscPlugin.class);
 
+  // the max duration (in ms) of each wait for a change of the terminals by the terminals monitor
+  private static final long MONITORING_LATENCY = 500;
+
   private String contactReaderRegexFilter;
   private String contactlessReaderRegexFilter;
   private PluginObservationExceptionHandler pluginObservationExceptionHandler;
   private ReaderObservationExceptionHandler readerObservationExceptionHandler;
+  private ReaderMonitoringScheduler monitoringScheduler;
+  private PcscTerminalsMonitor terminalsMonitor;
 
   protected AbstractPcscPlugin() {
     super(PcscPluginFactory.PLUGIN_NAME);
@@ -259,6 +265,53 @@ abstract class AbstractPcscPlugin extends AbstractThreadedObservablePlugin imple
     this.readerObservationExceptionHandler = readerObservationExceptionHandler;
   }
 
+  /**
+   * (package-private) Sets the shared scheduler of the monitoring jobs of the readers created from
+   * now on
+   *
+   * @param monitoringScheduler The shared scheduler or null to use a thread dedicated to each
+   *     reader
+   * @since 1.1
+   */
+  void setMonitoringScheduler(ReaderMonitoringScheduler monitoringScheduler) {
+    this.monitoringScheduler = monitoringScheduler;
+  }
+
+  /**
+   * (package-private) Gets the shared scheduler of the monitoring jobs
+   *
+   * @return null if each reader uses a dedicated thread
+   * @since 1.1
+   */
+  ReaderMonitoringScheduler getMonitoringScheduler() {
+    return monitoringScheduler;
+  }
+
+  /**
+   * (package-private) Gets the monitor of the card presence shared by all the readers of the
+   * plugin, which waits for the changes on all the terminals with a single thread
+   *
+   * <p>The monitor is created lazily because the readers are created by the constructor of the
+   * parent class.
+   *
+   * @return A not null reference
+   * @since 1.1
+   */
+  synchronized PcscTerminalsMonitor getTerminalsMonitor() {
+    if (terminalsMonitor == null) {
+      terminalsMonitor =
+          new PcscTerminalsMonitor(
+              new PcscTerminalsMonitor.TerminalsProvider() {
+                @Override
+                public CardTerminals getCardTerminals() {
+                  return AbstractPcscPlugin.this.getCardTerminals();
+                }
+              },
+              MONITORING_LATENCY);
+    }
+    return terminalsMonitor;
+  }
+
   /**
    * {@inheritDoc}
    *
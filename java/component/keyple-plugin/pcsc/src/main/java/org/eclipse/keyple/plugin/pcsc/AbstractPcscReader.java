@@ -20,6 +20,7 @@ import javax.smartcardio.CardTerminal;
 import javax.smartcardio.CommandAPDU;
 import javax.smartcardio.ResponseAPDU;
 import org.eclipse.keyple.core.plugin.AbstractObservableLocalReader;
+import org.eclipse.keyple.core.plugin.ReaderMonitoringScheduler;
 import org.eclipse.keyple.core.plugin.WaitForCardInsertionBlocking;
 import org.eclipse.keyple.core.plugin.WaitForCardRemovalBlocking;
 import org.eclipse.keyple.core.plugin.WaitForCardRemovalDuringProcessing;
@@ -72,20 +73,28 @@ abstract class AbstractPcscReader extends AbstractObservableLocalReader
 
   private final AtomicBoolean loopWaitCardRemoval = new AtomicBoolean();
 
+  private final PcscTerminalsMonitor terminalsMonitor;
+
   /**
    * This constructor should only be called by PcscPlugin PCSC reader parameters are initialized
    * with their default values as defined in setParameter.
    *
    * @param pluginName the name of the plugin
    * @param terminal the PC/SC terminal
+   * @param monitoringScheduler the shared scheduler of the monitoring jobs or null to use a thread
+   *     dedicated to the reader
+   * @param terminalsMonitor the monitor of the card presence shared by the readers of the plugin or
+   *     null to wait for the card presence changes directly on the terminal
    * @since 0.9
    */
   protected AbstractPcscReader(
       String pluginName,
       CardTerminal terminal,
-      ReaderObservationExceptionHandler readerObservationExceptionHandler) {
+      ReaderObservationExceptionHandler readerObservationExceptionHandler,
+      ReaderMonitoringScheduler monitoringScheduler,
+      PcscTerminalsMonitor terminalsMonitor) {
 
-    super(pluginName, terminal.getName());
+    super(pluginName, terminal.getName(), monitoringScheduler);
 
     this.terminal = terminal;
     this.card = null;
@@ -95,6 +104,7 @@ abstract class AbstractPcscReader extends AbstractObservableLocalReader
     this.cardReset = false;
     this.isContactless = null;
     this.readerObservationExceptionHandler = readerObservationExceptionHandler;
+    this.terminalsMonitor = terminalsMonitor;
 
     logger.debug("[{}] constructor => using terminal ", terminal);
   }
@@ -164,7 +174,7 @@ abstract class AbstractPcscReader extends AbstractObservableLocalReader
         if (logger.isTraceEnabled()) {
           logger.trace("[{}] waitForCardAbsentNative => looping", this.getName());
         }
-        if (terminal.waitForCardAbsent(REMOVAL_LATENCY)) {
+        if (waitForTerminalCardAbsent(REMOVAL_LATENCY)) {
           // card removed
           return true;
         } else {
@@ -183,6 +193,11 @@ abstract class AbstractPcscReader extends AbstractObservableLocalReader
               + "] Exception occurred in waitForCardAbsentNative. "
               + "Message: "
               + e.getMessage());
+    } catch (InterruptedException e) {
+      logger.debug("[{}] waitForCardAbsentNative => task has been cancelled", this.getName());
+      // task has been cancelled
+      Thread.currentThread().interrupt();
+      return false;
     } catch (Throwable t) {
       // can or can not happen depending on terminal.waitForCardAbsent
       logger.debug("[{}] waitForCardAbsentNative => Throwable caught.", this.getName(), t);
@@ -190,6 +205,42 @@ abstract class AbstractPcscReader extends AbstractObservableLocalReader
     }
   }
 
+  /**
+   * (package-private)<br>
+   * Waits at most the provided time for a card to be present in the terminal, using the shared
+   * terminals monitor if any.
+   *
+   * @param timeout the max waiting time in milliseconds
+   * @return true if a card is present
+   * @throws CardException if the terminal can not be accessed
+   * @throws InterruptedException if the waiting thread is interrupted
+   * @since 1.1
+   */
+  boolean waitForTerminalCardPresent(long timeout) throws CardException, InterruptedException {
+    if (terminalsMonitor != null) {
+      return terminalsMonitor.waitForCardPresent(terminal.getName(), timeout);
+    }
+    return terminal.waitForCardPresent(timeout);
+  }
+
+  /**
+   * (private)<br>
+   * Waits at most the provided time for the card to be removed from the terminal, using the shared
+   * terminals monitor if any.
+   *
+   * @param timeout the max waiting time in milliseconds
+   * @return true if the card was removed
+   * @throws CardException if the terminal can not be accessed
+   * @throws InterruptedException if the waiting thread is interrupted
+   */
+  private boolean waitForTerminalCardAbsent(long timeout)
+      throws CardException, InterruptedException {
+    if (terminalsMonitor != null) {
+      return terminalsMonitor.waitForCardAbsent(terminal.getName(), timeout);
+    }
+    return terminal.waitForCardAbsent(timeout);
+  }
+
   /**
    * Implements from {@link WaitForCardRemovalBlocking}<br>
    * {@inheritDoc}
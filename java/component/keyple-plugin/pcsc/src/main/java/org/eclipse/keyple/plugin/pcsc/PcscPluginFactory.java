@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.pcsc;
 
+import org.eclipse.keyple.core.plugin.ReaderMonitoringScheduler;
 import org.eclipse.keyple.core.service.PluginFactory;
 import org.eclipse.keyple.core.service.event.PluginObservationExceptionHandler;
 import org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler;
@@ -31,6 +32,7 @@ public class PcscPluginFactory implements PluginFactory {
 
   private final PluginObservationExceptionHandler pluginObservationExceptionHandler;
   private final ReaderObservationExceptionHandler readerObservationExceptionHandler;
+  private final ReaderMonitoringScheduler monitoringScheduler;
   private final boolean isOsWin;
 
   /**
@@ -61,8 +63,31 @@ public class PcscPluginFactory implements PluginFactory {
   public PcscPluginFactory(
       PluginObservationExceptionHandler pluginObservationExceptionHandler,
       ReaderObservationExceptionHandler readerObservationExceptionHandler) {
+    this(pluginObservationExceptionHandler, readerObservationExceptionHandler, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * <p>Same as {@link #PcscPluginFactory(PluginObservationExceptionHandler,
+   * ReaderObservationExceptionHandler)} but the monitoring jobs of the readers are executed by the
+   * provided shared scheduler instead of a thread dedicated to each reader.
+   *
+   * @param pluginObservationExceptionHandler A reference to an object implementing the {@link
+   *     PluginObservationExceptionHandler} interface or null if the plugin will not be observed.
+   * @param readerObservationExceptionHandler A reference to an object implementing the {@link
+   *     ReaderObservationExceptionHandler} interface or null if no reader will be observed.
+   * @param monitoringScheduler The shared {@link ReaderMonitoringScheduler} or null to use a thread
+   *     dedicated to each reader.
+   * @since 1.1
+   */
+  public PcscPluginFactory(
+      PluginObservationExceptionHandler pluginObservationExceptionHandler,
+      ReaderObservationExceptionHandler readerObservationExceptionHandler,
+      ReaderMonitoringScheduler monitoringScheduler) {
     this.pluginObservationExceptionHandler = pluginObservationExceptionHandler;
     this.readerObservationExceptionHandler = readerObservationExceptionHandler;
+    this.monitoringScheduler = monitoringScheduler;
     isOsWin = System.getProperty("os.name").toLowerCase().contains("win");
   }
 
@@ -93,6 +118,7 @@ public class PcscPluginFactory implements PluginFactory {
       }
       pcscPlugin.setPluginObservationExceptionHandler(pluginObservationExceptionHandler);
       pcscPlugin.setReaderObservationExceptionHandler(readerObservationExceptionHandler);
+      pcscPlugin.setMonitoringScheduler(monitoringScheduler);
       return pcscPlugin;
     } catch (Exception e) {
       throw new KeyplePluginInstantiationException("Can not access smartcard.io readers", e);
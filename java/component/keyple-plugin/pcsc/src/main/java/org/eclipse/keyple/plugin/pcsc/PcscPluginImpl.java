@@ -85,9 +85,15 @@ final class PcscPluginImpl extends AbstractPcscPlugin {
       CardTerminal terminal,
       ReaderObservationExceptionHandler readerObservationExceptionHandler) {
     if (isOsMac) {
-      return new PcscReaderMacOsImpl(name, terminal, readerObservationExceptionHandler);
+      return new PcscReaderMacOsImpl(
+          name, terminal, readerObservationExceptionHandler, getMonitoringScheduler());
     } else {
-      return new PcscReaderImpl(name, terminal, readerObservationExceptionHandler);
+      return new PcscReaderImpl(
+          name,
+          terminal,
+          readerObservationExceptionHandler,
+          getMonitoringScheduler(),
+          getTerminalsMonitor());
     }
   }
 }
@@ -131,6 +131,11 @@ final class PcscPluginWinImpl extends AbstractPcscPlugin {
       String name,
       CardTerminal terminal,
       ReaderObservationExceptionHandler readerObservationExceptionHandler) {
-    return new PcscReaderImpl(name, terminal, readerObservationExceptionHandler);
+    return new PcscReaderImpl(
+        name,
+        terminal,
+        readerObservationExceptionHandler,
+        getMonitoringScheduler(),
+        getTerminalsMonitor());
   }
 }
@@ -13,6 +13,7 @@ package org.eclipse.keyple.plugin.pcsc;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.smartcardio.*;
+import org.eclipse.keyple.core.plugin.ReaderMonitoringScheduler;
 import org.eclipse.keyple.core.plugin.WaitForCardInsertionBlocking;
 import org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler;
 import org.eclipse.keyple.core.service.exception.KeypleReaderIOException;
@@ -46,13 +47,24 @@ final class PcscReaderImpl extends AbstractPcscReader implements WaitForCardInse
    * @param terminal the PC/SC terminal
    * @param readerObservationExceptionHandler A reference to an object implementing the {@link
    *     ReaderObservationExceptionHandler} interface or null if the reader are not observed.
+   * @param monitoringScheduler The shared scheduler of the monitoring jobs or null to use a thread
+   *     dedicated to the reader.
+   * @param terminalsMonitor The monitor of the card presence shared by the readers of the plugin or
+   *     null to wait for the card presence changes directly on the terminal.
    * @since 0.9
    */
   protected PcscReaderImpl(
       String pluginName,
       CardTerminal terminal,
-      ReaderObservationExceptionHandler readerObservationExceptionHandler) {
-    super(pluginName, terminal, readerObservationExceptionHandler);
+      ReaderObservationExceptionHandler readerObservationExceptionHandler,
+      ReaderMonitoringScheduler monitoringScheduler,
+      PcscTerminalsMonitor terminalsMonitor) {
+    super(
+        pluginName,
+        terminal,
+        readerObservationExceptionHandler,
+        monitoringScheduler,
+        terminalsMonitor);
   }
 
   /**
@@ -75,7 +87,7 @@ final class PcscReaderImpl extends AbstractPcscReader implements WaitForCardInse
         if (logger.isTraceEnabled()) {
           logger.trace("[{}] waitForCardPresent => looping", this.getName());
         }
-        if (terminal.waitForCardPresent(INSERT_LATENCY)) {
+        if (waitForTerminalCardPresent(INSERT_LATENCY)) {
           // card inserted
           return true;
         } else {
@@ -95,6 +107,11 @@ final class PcscReaderImpl extends AbstractPcscReader implements WaitForCardInse
               + "] Exception occurred in waitForCardPresent. "
               + "Message: "
               + e.getMessage());
+    } catch (InterruptedException e) {
+      logger.debug("[{}] waitForCardPresent => task has been cancelled", this.getName());
+      // task has been cancelled
+      Thread.currentThread().interrupt();
+      return false;
     } catch (Throwable t) {
       // can or can not happen depending on terminal.waitForCardPresent
       logger.debug("[{}] waitForCardPresent => Throwable caught.", this.getName(), t);
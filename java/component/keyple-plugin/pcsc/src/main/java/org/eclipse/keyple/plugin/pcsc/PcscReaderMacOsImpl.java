@@ -12,6 +12,7 @@
 package org.eclipse.keyple.plugin.pcsc;
 
 import javax.smartcardio.CardTerminal;
+import org.eclipse.keyple.core.plugin.ReaderMonitoringScheduler;
 import org.eclipse.keyple.core.plugin.WaitForCardInsertionNonBlocking;
 import org.eclipse.keyple.core.service.event.ReaderObservationExceptionHandler;
 
@@ -34,12 +35,15 @@ final class PcscReaderMacOsImpl extends AbstractPcscReader
    * @param terminal the PC/SC terminal
    * @param readerObservationExceptionHandler A not null reference to an object implementing the
    *     {@link ReaderObservationExceptionHandler} interface.
+   * @param monitoringScheduler The shared scheduler of the monitoring jobs or null to use a thread
+   *     dedicated to the reader.
    * @since 1.0
    */
   protected PcscReaderMacOsImpl(
       String pluginName,
       CardTerminal terminal,
-      ReaderObservationExceptionHandler readerObservationExceptionHandler) {
-    super(pluginName, terminal, readerObservationExceptionHandler);
+      ReaderObservationExceptionHandler readerObservationExceptionHandler,
+      ReaderMonitoringScheduler monitoringScheduler) {
+    super(pluginName, terminal, readerObservationExceptionHandler, monitoringScheduler, null);
   }
 }
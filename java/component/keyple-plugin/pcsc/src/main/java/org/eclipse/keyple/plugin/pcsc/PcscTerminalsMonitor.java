@@ -0,0 +1,361 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.pcsc;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.smartcardio.CardException;
+import javax.smartcardio.CardTerminal;
+import javax.smartcardio.CardTerminals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * (package-private)<br>
+ * Monitors the card presence in all the terminals of a plugin with a single thread.
+ *
+ * <p>Instead of having each reader blocked in {@link CardTerminal#waitForCardPresent(long)} or
+ * {@link CardTerminal#waitForCardAbsent(long)} on its own terminal, a single thread waits for a
+ * change on all the terminals with {@link CardTerminals#waitForChange(long)}, then dispatches the
+ * insertions and removals reported by {@link CardTerminals#list(CardTerminals.State)} to the
+ * readers waiting for them. The card detection latency is therefore independent of the number of
+ * readers.
+ *
+ * <p>The monitoring thread is started when a reader begins to wait and stops by itself when no
+ * reader is waiting anymore.
+ *
+ * @since 1.1
+ */
+final class PcscTerminalsMonitor {
+
+  private static final Logger logger = LoggerFactory.getLogger(PcscTerminalsMonitor.class);
+
+  /**
+   * (package-private)<br>
+   * Provides the {@link CardTerminals} to monitor.
+   *
+   * @since 1.1
+   */
+  interface TerminalsProvider {
+
+    /**
+     * (package-private)<br>
+     * Gets the terminals.<br>
+     * It is invoked again after a communication error, which allows the provider to re-establish
+     * the PC/SC context if needed.
+     *
+     * @return A not null reference.
+     * @since 1.1
+     */
+    CardTerminals getCardTerminals();
+  }
+
+  private final TerminalsProvider terminalsProvider;
+  private final long waitTimeout;
+  private final Lock lock = new ReentrantLock();
+  private final Map<String, TerminalState> terminalStates = new HashMap<String, TerminalState>();
+  private int waitersCount;
+  private boolean running;
+
+  /**
+   * (package-private)<br>
+   * Constructor.
+   *
+   * @param terminalsProvider The provider of the terminals to monitor.
+   * @param waitTimeout The max time (in milliseconds) of each wait for a change, which determines
+   *     the time needed by the monitoring thread to stop once no reader is waiting anymore.
+   * @since 1.1
+   */
+  PcscTerminalsMonitor(TerminalsProvider terminalsProvider, long waitTimeout) {
+    this.terminalsProvider = terminalsProvider;
+    this.waitTimeout = waitTimeout;
+  }
+
+  /**
+   * (package-private)<br>
+   * Waits until a card is present in the provided terminal.
+   *
+   * @param terminalName The terminal name.
+   * @param timeout The max waiting time (in milliseconds).
+   * @return true if a card is present, false if the timeout expired.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   * @since 1.1
+   */
+  boolean waitForCardPresent(String terminalName, long timeout) throws InterruptedException {
+    return waitFor(terminalName, true, timeout);
+  }
+
+  /**
+   * (package-private)<br>
+   * Waits until no card is present in the provided terminal.<br>
+   * A removal followed by a new insertion during the waiting is also considered as a removal.
+   *
+   * @param terminalName The terminal name.
+   * @param timeout The max waiting time (in milliseconds).
+   * @return true if the card was removed, false if the timeout expired.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   * @since 1.1
+   */
+  boolean waitForCardAbsent(String terminalName, long timeout) throws InterruptedException {
+    return waitFor(terminalName, false, timeout);
+  }
+
+  /**
+   * (package-private)<br>
+   * Tells if the monitoring thread is running.
+   *
+   * @return true if it is running.
+   * @since 1.1
+   */
+  boolean isRunning() {
+    lock.lock();
+    try {
+      return running;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Waits for the expected card presence in a terminal, starting the monitoring thread if needed.
+   *
+   * @param terminalName The terminal name.
+   * @param present The expected card presence.
+   * @param timeout The max waiting time (in milliseconds).
+   * @return true if the expected state is reached, false if the timeout expired.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  private boolean waitFor(String terminalName, boolean present, long timeout)
+      throws InterruptedException {
+    lock.lock();
+    try {
+      TerminalState terminalState = getTerminalState(terminalName);
+      long events = present ? terminalState.insertionsCount : terminalState.removalsCount;
+      waitersCount++;
+      try {
+        if (!running) {
+          running = true;
+          Thread thread = new MonitoringThread();
+          thread.start();
+        }
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (true) {
+          if (terminalState.isCardPresent != null && terminalState.isCardPresent == present) {
+            return true;
+          }
+          long newEvents = present ? terminalState.insertionsCount : terminalState.removalsCount;
+          if (newEvents != events) {
+            return true;
+          }
+          if (nanos <= 0) {
+            return false;
+          }
+          nanos = terminalState.changed.awaitNanos(nanos);
+        }
+      } finally {
+        waitersCount--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Updates the state of the terminals and wakes up the readers waiting on the terminals whose
+   * state has changed.
+   *
+   * @param removals The terminals in which a card was removed since the previous update.
+   * @param insertions The terminals in which a card was inserted since the previous update.
+   * @param terminalsWithCard The terminals currently containing a card.
+   */
+  private void updateTerminals(
+      List<CardTerminal> removals,
+      List<CardTerminal> insertions,
+      List<CardTerminal> terminalsWithCard) {
+    lock.lock();
+    try {
+      Set<TerminalState> changedStates = new HashSet<TerminalState>();
+      for (CardTerminal terminal : removals) {
+        TerminalState terminalState = getTerminalState(terminal.getName());
+        terminalState.removalsCount++;
+        changedStates.add(terminalState);
+      }
+      for (CardTerminal terminal : insertions) {
+        TerminalState terminalState = getTerminalState(terminal.getName());
+        terminalState.insertionsCount++;
+        changedStates.add(terminalState);
+      }
+      Set<String> names = new HashSet<String>();
+      for (CardTerminal terminal : terminalsWithCard) {
+        names.add(terminal.getName());
+        getTerminalState(terminal.getName());
+      }
+      for (Map.Entry<String, TerminalState> entry : terminalStates.entrySet()) {
+        TerminalState terminalState = entry.getValue();
+        Boolean isCardPresent = names.contains(entry.getKey());
+        if (!isCardPresent.equals(terminalState.isCardPresent)) {
+          terminalState.isCardPresent = isCardPresent;
+          changedStates.add(terminalState);
+        }
+      }
+      for (TerminalState terminalState : changedStates) {
+        terminalState.changed.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * Gets or creates the state of a terminal.<br>
+   * The caller must hold the lock.
+   *
+   * @param terminalName The terminal name.
+   * @return A not null reference.
+   */
+  private TerminalState getTerminalState(String terminalName) {
+    TerminalState terminalState = terminalStates.get(terminalName);
+    if (terminalState == null) {
+      terminalState = new TerminalState(lock.newCondition());
+      terminalStates.put(terminalName, terminalState);
+    }
+    return terminalState;
+  }
+
+  /**
+   * (private)<br>
+   * Stops the monitoring if no reader is waiting anymore.
+   *
+   * @return true if the monitoring is stopped.
+   */
+  private boolean stopIfUnused() {
+    lock.lock();
+    try {
+      if (waitersCount == 0) {
+        running = false;
+        // the state of the terminals will not be updated anymore
+        for (TerminalState terminalState : terminalStates.values()) {
+          terminalState.isCardPresent = null;
+        }
+        return true;
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * (private)<br>
+   * The card presence of a terminal.<br>
+   * Guarded by the lock of the monitor.
+   */
+  private static final class TerminalState {
+
+    private final Condition changed;
+    private Boolean isCardPresent;
+    private long insertionsCount;
+    private long removalsCount;
+
+    /**
+     * (private)<br>
+     * Constructor.
+     *
+     * @param changed The condition signaled when the state changes.
+     */
+    private TerminalState(Condition changed) {
+      this.changed = changed;
+    }
+  }
+
+  /**
+   * (private)<br>
+   * The monitoring thread.
+   */
+  private final class MonitoringThread extends Thread {
+
+    /**
+     * (private)<br>
+     * Constructor.
+     */
+    private MonitoringThread() {
+      super("pcsc-terminals-monitor");
+      setDaemon(true);
+    }
+
+    /**
+     * (private)<br>
+     * Waits for the changes on all the terminals until no reader is waiting anymore.
+     */
+    @Override
+    public void run() {
+      CardTerminals terminals = null;
+      try {
+        while (!stopIfUnused()) {
+          try {
+            if (terminals == null) {
+              terminals = terminalsProvider.getCardTerminals();
+              updateTerminals(
+                  Collections.<CardTerminal>emptyList(),
+                  Collections.<CardTerminal>emptyList(),
+                  terminals.list(CardTerminals.State.CARD_PRESENT));
+            }
+            if (terminals.waitForChange(waitTimeout)) {
+              updateTerminals(
+                  terminals.list(CardTerminals.State.CARD_REMOVAL),
+                  terminals.list(CardTerminals.State.CARD_INSERTION),
+                  terminals.list(CardTerminals.State.CARD_PRESENT));
+            }
+          } catch (CardException e) {
+            // no reader connected or lost PC/SC context: the terminals are fetched again later
+            logger.trace("Unable to wait for a change on the terminals: {}", e.getMessage());
+            terminals = null;
+            Thread.sleep(waitTimeout);
+          } catch (IllegalStateException e) {
+            // thrown by waitForChange when no terminal is available
+            logger.trace("Unable to wait for a change on the terminals: {}", e.getMessage());
+            terminals = null;
+            Thread.sleep(waitTimeout);
+          }
+        }
+      } catch (InterruptedException e) {
+        logger.debug("The terminals monitoring has been interrupted");
+        lock.lock();
+        try {
+          running = false;
+        } finally {
+          lock.unlock();
+        }
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        logger.error("Unexpected error during the terminals monitoring", e);
+        lock.lock();
+        try {
+          running = false;
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+}
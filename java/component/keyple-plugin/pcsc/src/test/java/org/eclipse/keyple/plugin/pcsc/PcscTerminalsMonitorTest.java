@@ -0,0 +1,297 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.pcsc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.security.Provider;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.smartcardio.Card;
+import javax.smartcardio.CardException;
+import javax.smartcardio.CardTerminal;
+import javax.smartcardio.CardTerminals;
+import javax.smartcardio.TerminalFactory;
+import javax.smartcardio.TerminalFactorySpi;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PcscTerminalsMonitorTest {
+
+  private static final int TERMINALS_NUMBER = 50;
+
+  private FakeCardTerminals fakeTerminals;
+  private PcscTerminalsMonitor monitor;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws Exception {
+    fakeTerminals = new FakeCardTerminals();
+    for (int i = 0; i < TERMINALS_NUMBER; i++) {
+      fakeTerminals.addTerminal("Reader " + i);
+    }
+    // the terminals are obtained through a TerminalFactory provider, as smartcard.io does
+    final TerminalFactory factory =
+        TerminalFactory.getInstance("Fake", fakeTerminals, new FakeProvider());
+    monitor =
+        new PcscTerminalsMonitor(
+            new PcscTerminalsMonitor.TerminalsProvider() {
+              @Override
+              public CardTerminals getCardTerminals() {
+                return factory.terminals();
+              }
+            },
+            50);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void waitForCardPresent_whenNoCard_shouldReturnFalseAfterTimeout() throws Exception {
+    assertThat(monitor.waitForCardPresent("Reader 0", 200)).isFalse();
+  }
+
+  @Test
+  public void waitForCardPresent_whenCardAlreadyPresent_shouldReturnTrue() throws Exception {
+    fakeTerminals.insertCard("Reader 1");
+    assertThat(monitor.waitForCardPresent("Reader 1", 2000)).isTrue();
+    assertThat(monitor.waitForCardAbsent("Reader 1", 200)).isFalse();
+  }
+
+  @Test
+  public void waitForCardPresent_whenCardInserted_shouldWakeUpOnlyTheReaderOfTheTerminal()
+      throws Exception {
+    List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+    for (int i = 0; i < TERMINALS_NUMBER; i++) {
+      results.add(executor.submit(waitForCardPresentTask("Reader " + i, 1000)));
+    }
+    Thread.sleep(100);
+    fakeTerminals.insertCard("Reader 7");
+    assertThat(results.get(7).get(500, TimeUnit.MILLISECONDS)).isTrue();
+    for (int i = 0; i < TERMINALS_NUMBER; i++) {
+      if (i != 7) {
+        assertThat(results.get(i).get(2, TimeUnit.SECONDS)).isFalse();
+      }
+    }
+    // a single thread has waited for the changes of all the terminals
+    assertThat(fakeTerminals.waitingThreads).hasSize(1);
+    assertThat(fakeTerminals.terminalWaitsCount).isEqualTo(0);
+  }
+
+  @Test
+  public void waitForCardAbsent_whenCardRemovedAndInsertedAgain_shouldReturnTrue()
+      throws Exception {
+    fakeTerminals.insertCard("Reader 2");
+    assertThat(monitor.waitForCardPresent("Reader 2", 2000)).isTrue();
+    Future<Boolean> result = executor.submit(waitForCardAbsentTask("Reader 2", 2000));
+    Thread.sleep(100);
+    fakeTerminals.removeAndInsertCard("Reader 2");
+    assertThat(result.get(2, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void waitForCardPresent_whenNoMoreWaitingReader_shouldStopTheMonitoring()
+      throws Exception {
+    monitor.waitForCardPresent("Reader 3", 100);
+    assertThat(monitor.isRunning()).isTrue();
+    long deadline = System.currentTimeMillis() + 2000;
+    while (monitor.isRunning() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(monitor.isRunning()).isFalse();
+    fakeTerminals.insertCard("Reader 3");
+    assertThat(monitor.waitForCardPresent("Reader 3", 2000)).isTrue();
+  }
+
+  @Test
+  public void waitForCardPresent_whenTerminalsNotAvailable_shouldRetry() throws Exception {
+    fakeTerminals.failuresCount = 2;
+    Future<Boolean> result = executor.submit(waitForCardPresentTask("Reader 4", 2000));
+    fakeTerminals.insertCard("Reader 4");
+    assertThat(result.get(3, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private Callable<Boolean> waitForCardPresentTask(final String name, final long timeout) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return monitor.waitForCardPresent(name, timeout);
+      }
+    };
+  }
+
+  private Callable<Boolean> waitForCardAbsentTask(final String name, final long timeout) {
+    return new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return monitor.waitForCardAbsent(name, timeout);
+      }
+    };
+  }
+
+  /** Provider registering the fake terminal factory. */
+  private static final class FakeProvider extends Provider {
+
+    FakeProvider() {
+      super("FakePcsc", 1.0, "Fake PC/SC provider");
+      put("TerminalFactory.Fake", FakeTerminalFactorySpi.class.getName());
+    }
+  }
+
+  /** Fake terminal factory returning the terminals provided as parameter. */
+  public static final class FakeTerminalFactorySpi extends TerminalFactorySpi {
+
+    private final FakeCardTerminals terminals;
+
+    public FakeTerminalFactorySpi(Object params) {
+      this.terminals = (FakeCardTerminals) params;
+    }
+
+    @Override
+    protected CardTerminals engineTerminals() {
+      return terminals;
+    }
+  }
+
+  /** Fake terminals whose card presence is driven by the test. */
+  static final class FakeCardTerminals extends CardTerminals {
+
+    private final Map<String, FakeCardTerminal> terminals =
+        new LinkedHashMap<String, FakeCardTerminal>();
+    private final List<CardTerminal> insertions = new ArrayList<CardTerminal>();
+    private final List<CardTerminal> removals = new ArrayList<CardTerminal>();
+    private List<CardTerminal> lastInsertions = new ArrayList<CardTerminal>();
+    private List<CardTerminal> lastRemovals = new ArrayList<CardTerminal>();
+    final Set<Thread> waitingThreads = new CopyOnWriteArraySet<Thread>();
+    volatile int terminalWaitsCount;
+    volatile int failuresCount;
+
+    void addTerminal(String name) {
+      terminals.put(name, new FakeCardTerminal(this, name));
+    }
+
+    synchronized void insertCard(String name) {
+      FakeCardTerminal terminal = terminals.get(name);
+      terminal.present = true;
+      insertions.add(terminal);
+      notifyAll();
+    }
+
+    synchronized void removeAndInsertCard(String name) {
+      FakeCardTerminal terminal = terminals.get(name);
+      removals.add(terminal);
+      insertions.add(terminal);
+      notifyAll();
+    }
+
+    @Override
+    public synchronized List<CardTerminal> list(State state) throws CardException {
+      switch (state) {
+        case CARD_INSERTION:
+          return new ArrayList<CardTerminal>(lastInsertions);
+        case CARD_REMOVAL:
+          return new ArrayList<CardTerminal>(lastRemovals);
+        default:
+          List<CardTerminal> result = new ArrayList<CardTerminal>();
+          for (FakeCardTerminal terminal : terminals.values()) {
+            if (state == State.ALL || (state == State.CARD_PRESENT) == terminal.present) {
+              result.add(terminal);
+            }
+          }
+          return result;
+      }
+    }
+
+    @Override
+    public synchronized boolean waitForChange(long timeout) throws CardException {
+      waitingThreads.add(Thread.currentThread());
+      if (failuresCount > 0) {
+        failuresCount--;
+        throw new CardException("SCARD_E_NO_READERS_AVAILABLE");
+      }
+      long deadline = System.currentTimeMillis() + timeout;
+      try {
+        while (insertions.isEmpty() && removals.isEmpty()) {
+          long remaining = deadline - System.currentTimeMillis();
+          if (remaining <= 0) {
+            lastInsertions = new ArrayList<CardTerminal>();
+            lastRemovals = new ArrayList<CardTerminal>();
+            return false;
+          }
+          wait(remaining);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CardException(e);
+      }
+      lastInsertions = new ArrayList<CardTerminal>(insertions);
+      lastRemovals = new ArrayList<CardTerminal>(removals);
+      insertions.clear();
+      removals.clear();
+      return true;
+    }
+  }
+
+  /** Fake terminal, waiting directly on it is counted. */
+  static final class FakeCardTerminal extends CardTerminal {
+
+    private final FakeCardTerminals terminals;
+    private final String name;
+    volatile boolean present;
+
+    FakeCardTerminal(FakeCardTerminals terminals, String name) {
+      this.terminals = terminals;
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public Card connect(String protocol) throws CardException {
+      throw new CardException("Not supported");
+    }
+
+    @Override
+    public boolean isCardPresent() {
+      return present;
+    }
+
+    @Override
+    public boolean waitForCardPresent(long timeout) {
+      terminals.terminalWaitsCount++;
+      return present;
+    }
+
+    @Override
+    public boolean waitForCardAbsent(long timeout) {
+      terminals.terminalWaitsCount++;
+      return !present;
+    }
+  }
+}
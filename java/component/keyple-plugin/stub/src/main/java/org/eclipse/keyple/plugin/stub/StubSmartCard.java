@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.stub;
 
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
@@ -47,11 +48,21 @@ public abstract class StubSmartCard {
    */
   public abstract String getCardProtocol();
 
-  Map<String, String> hexCommands = new ConcurrentHashMap<String, String>();
+  /** exact commands, indexed by their binary value */
+  private final Map<ByteBuffer, byte[]> exactCommands = new ConcurrentHashMap<ByteBuffer, byte[]>();
+
+  /** commands containing regular expressions, compiled once */
+  private final Map<String, RegexCommand> regexCommands =
+      new ConcurrentHashMap<String, RegexCommand>();
 
   /**
    * Add more simulated commands to the card Stub
    *
+   * <p>A command made only of uppercase hexadecimal digits is matched exactly using a binary
+   * lookup; any other command is considered as a regular expression applied to the uppercase
+   * hexadecimal representation of the APDU. The exact commands take precedence over the regular
+   * expressions.
+   *
    * @param command hexadecimal command to react to
    * @param response hexadecimal response to be sent in reaction to command
    */
@@ -60,7 +71,13 @@ public abstract class StubSmartCard {
       throw new IllegalArgumentException("Command and Response should not be null");
     }
     // add commands without space
-    hexCommands.put(command.replace(" ", ""), response.replace(" ", ""));
+    command = command.replace(" ", "");
+    byte[] responseBytes = ByteArrayUtil.fromHex(response);
+    if (isExactCommand(command)) {
+      exactCommands.put(ByteBuffer.wrap(ByteArrayUtil.fromHex(command)), responseBytes);
+    } else {
+      regexCommands.put(command, new RegexCommand(Pattern.compile(command), responseBytes));
+    }
   }
 
   /**
@@ -72,7 +89,12 @@ public abstract class StubSmartCard {
     if (command == null) {
       throw new IllegalArgumentException("Command should not be null");
     }
-    hexCommands.remove(command.trim());
+    command = command.replace(" ", "");
+    if (isExactCommand(command)) {
+      exactCommands.remove(ByteBuffer.wrap(ByteArrayUtil.fromHex(command)));
+    } else {
+      regexCommands.remove(command);
+    }
   }
 
   /**
@@ -88,19 +110,58 @@ public abstract class StubSmartCard {
       return null;
     }
 
+    // return the response of the exact command if any
+    byte[] response = exactCommands.get(ByteBuffer.wrap(apduIn));
+    if (response != null) {
+      return response.clone();
+    }
+
     // convert apduIn to hexa
     String hexApdu = ByteArrayUtil.toHex(apduIn);
 
     // return matching hexa response if the provided APDU matches the regex
-    Pattern p;
-    for (Map.Entry<String, String> hexCommand : hexCommands.entrySet()) {
-      p = Pattern.compile(hexCommand.getKey());
-      if (p.matcher(hexApdu).matches()) {
-        return ByteArrayUtil.fromHex(hexCommand.getValue());
+    for (RegexCommand regexCommand : regexCommands.values()) {
+      if (regexCommand.pattern.matcher(hexApdu).matches()) {
+        return regexCommand.response.clone();
       }
     }
 
     // throw a KeypleReaderIOException if not found
     throw new KeypleReaderIOException("No response available for this request: " + hexApdu);
   }
+
+  /**
+   * (private)<br>
+   * Tells if the provided command is a plain hexadecimal string, i.e. that can only match a single
+   * APDU.
+   *
+   * @param command A not null String without spaces.
+   * @return true if the command has an even number of uppercase hexadecimal digits.
+   */
+  private static boolean isExactCommand(String command) {
+    if (command.length() % 2 != 0) {
+      return false;
+    }
+    for (int i = 0; i < command.length(); i++) {
+      char c = command.charAt(i);
+      if ((c < '0' || c > '9') && (c < 'A' || c > 'F')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * (private)<br>
+   * Command defined by a regular expression along with its response.
+   */
+  private static final class RegexCommand {
+    private final Pattern pattern;
+    private final byte[] response;
+
+    private RegexCommand(Pattern pattern, byte[] response) {
+      this.pattern = pattern;
+      this.response = response;
+    }
+  }
 }
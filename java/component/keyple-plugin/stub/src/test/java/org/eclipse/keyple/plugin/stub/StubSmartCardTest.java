@@ -0,0 +1,91 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.stub;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.keyple.core.service.exception.KeypleReaderIOException;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StubSmartCardTest {
+
+  private StubSmartCard stubSmartCard;
+
+  @Before
+  public void setUp() {
+    stubSmartCard =
+        new StubSmartCard() {
+          @Override
+          public byte[] getATR() {
+            return ByteArrayUtil.fromHex("3B8880010000000000718100F9");
+          }
+
+          @Override
+          public String getCardProtocol() {
+            return "ISO_14443_4";
+          }
+        };
+  }
+
+  @Test
+  public void processApdu_exactCommand_shouldReturnResponse() {
+    stubSmartCard.addHexCommand("00B2 013C 00", "1122 9000");
+    assertArrayEquals(
+        ByteArrayUtil.fromHex("11229000"),
+        stubSmartCard.processApdu(ByteArrayUtil.fromHex("00B2013C00")));
+  }
+
+  @Test
+  public void processApdu_regexCommand_shouldReturnResponse() {
+    stubSmartCard.addHexCommand("00B201..00", "6A82");
+    assertArrayEquals(
+        ByteArrayUtil.fromHex("6A82"),
+        stubSmartCard.processApdu(ByteArrayUtil.fromHex("00B2014400")));
+  }
+
+  @Test
+  public void processApdu_exactAndRegexCommands_shouldPreferExactCommand() {
+    stubSmartCard.addHexCommand("00B201..00", "6A82");
+    stubSmartCard.addHexCommand("00B2014400", "9000");
+    assertArrayEquals(
+        ByteArrayUtil.fromHex("9000"),
+        stubSmartCard.processApdu(ByteArrayUtil.fromHex("00B2014400")));
+    assertArrayEquals(
+        ByteArrayUtil.fromHex("6A82"),
+        stubSmartCard.processApdu(ByteArrayUtil.fromHex("00B2013C00")));
+  }
+
+  @Test
+  public void processApdu_modifiedResponse_shouldNotAlterNextResponses() {
+    stubSmartCard.addHexCommand("00B2013C00", "9000");
+    stubSmartCard.processApdu(ByteArrayUtil.fromHex("00B2013C00"))[0] = 0;
+    assertArrayEquals(
+        ByteArrayUtil.fromHex("9000"),
+        stubSmartCard.processApdu(ByteArrayUtil.fromHex("00B2013C00")));
+  }
+
+  @Test(expected = KeypleReaderIOException.class)
+  public void processApdu_removedCommand_shouldThrowKRIOE() {
+    stubSmartCard.addHexCommand("00B2013C00", "9000");
+    stubSmartCard.addHexCommand("00B201..00", "6A82");
+    stubSmartCard.removeHexCommand("00B2 013C 00");
+    stubSmartCard.removeHexCommand("00B201..00");
+    stubSmartCard.processApdu(ByteArrayUtil.fromHex("00B2013C00"));
+  }
+
+  @Test
+  public void processApdu_nullApdu_shouldReturnNull() {
+    assertNull(stubSmartCard.processApdu(null));
+  }
+}
@@ -0,0 +1,68 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.virtualthread;
+
+import java.util.concurrent.ThreadFactory;
+import org.eclipse.keyple.core.util.ThreadProvider;
+
+/**
+ * Enables the execution of the Keyple background tasks on virtual threads (JDK 21 or later).
+ *
+ * <p>Once enabled, the threads created by Keyple through the {@link ThreadProvider} are virtual
+ * threads: monitoring jobs of the polling readers, plugin monitoring threads. The polling sleeps of
+ * these tasks then no longer hold a platform thread.
+ *
+ * <p>The tasks blocked in native code (e.g. the smartcard.io waits for a card insertion or removal)
+ * are still run by platform threads, a virtual thread blocked in native code pinning its carrier
+ * thread.
+ *
+ * <p>The mode must be enabled before the registration of the plugins, the threads already created
+ * are not affected.
+ *
+ * @since 1.1
+ */
+public final class VirtualThreadMode {
+
+  private static final ThreadFactory VIRTUAL_THREAD_FACTORY =
+      Thread.ofVirtual().name("keyple-virtual-", 0).factory();
+
+  /** Private Constructor */
+  private VirtualThreadMode() {}
+
+  /**
+   * Makes Keyple create virtual threads from now on.
+   *
+   * @since 1.1
+   */
+  public static void enable() {
+    ThreadProvider.getInstance().setThreadFactory(VIRTUAL_THREAD_FACTORY);
+  }
+
+  /**
+   * Restores the default platform threads.
+   *
+   * @since 1.1
+   */
+  public static void disable() {
+    ThreadProvider.getInstance().setThreadFactory(null);
+  }
+
+  /**
+   * Indicates whether Keyple currently creates virtual threads.
+   *
+   * @return true if the mode is enabled.
+   * @since 1.1
+   */
+  public static boolean isEnabled() {
+    return ThreadProvider.getInstance().getThreadFactory() == VIRTUAL_THREAD_FACTORY;
+  }
+}
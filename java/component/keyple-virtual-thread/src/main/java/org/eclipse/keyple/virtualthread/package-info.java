@@ -0,0 +1,6 @@
+/**
+ * Virtual thread execution mode of Keyple, requires a JDK 21 runtime.
+ *
+ * @since 1.1
+ */
+package org.eclipse.keyple.virtualthread;
@@ -0,0 +1,90 @@
+/* **************************************************************************************
+ * Copyright (c) 2021 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.virtualthread;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.keyple.core.util.ThreadProvider;
+import org.junit.After;
+import org.junit.Test;
+
+public class VirtualThreadModeTest {
+
+  @After
+  public void tearDown() {
+    VirtualThreadMode.disable();
+  }
+
+  @Test
+  public void enable_shouldProvideVirtualThreads() {
+    VirtualThreadMode.enable();
+
+    assertThat(VirtualThreadMode.isEnabled()).isTrue();
+    Thread thread = ThreadProvider.getInstance().newThread(new NoOp(), "monitoring");
+    assertThat(thread.isVirtual()).isTrue();
+    assertThat(thread.getName()).isEqualTo("monitoring");
+  }
+
+  @Test
+  public void disable_shouldRestorePlatformThreads() {
+    VirtualThreadMode.enable();
+    VirtualThreadMode.disable();
+
+    assertThat(VirtualThreadMode.isEnabled()).isFalse();
+    assertThat(ThreadProvider.getInstance().newThread(new NoOp(), "monitoring").isVirtual())
+        .isFalse();
+  }
+
+  @Test
+  public void enable_shouldKeepThePlatformThreadFactory() {
+    VirtualThreadMode.enable();
+
+    assertThat(
+            ThreadProvider.getInstance()
+                .getPlatformThreadFactory()
+                .newThread(new NoOp())
+                .isVirtual())
+        .isFalse();
+  }
+
+  @Test
+  public void executor_fromThreadProvider_shouldRunTasksOnVirtualThreads() throws Exception {
+    VirtualThreadMode.enable();
+    ExecutorService executorService =
+        Executors.newSingleThreadExecutor(ThreadProvider.getInstance().getThreadFactory());
+    final AtomicBoolean isVirtual = new AtomicBoolean();
+    final CountDownLatch done = new CountDownLatch(1);
+
+    executorService.submit(
+        new Runnable() {
+          @Override
+          public void run() {
+            isVirtual.set(Thread.currentThread().isVirtual());
+            done.countDown();
+          }
+        });
+
+    assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(isVirtual.get()).isTrue();
+    executorService.shutdown();
+  }
+
+  private static class NoOp implements Runnable {
+    @Override
+    public void run() {}
+  }
+}